@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.basicdata.copier.CoraDataCopierFactoryImp;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.copier.DataCopierFactory;
+
+/**
+ * CopierBenchmark measures copying of record trees, of a group that can be changed and of a frozen
+ * group, and the update flow of copying a frozen group and changing one value in the copy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopierBenchmark {
+	@Param({ "SMALL", "MEDIUM", "LARGE", "WIDE", "DEEP" })
+	public RecordShape shape;
+	private DataCopierFactory copierFactory;
+	private CoraDataRecordGroup recordGroup;
+	private CoraDataGroup frozenRecordGroup;
+
+	@Setup
+	public void setUp() {
+		copierFactory = new CoraDataCopierFactoryImp();
+		recordGroup = shape.createRecordGroup();
+		frozenRecordGroup = recordGroup.freeze();
+	}
+
+	@Benchmark
+	public DataChild copy() {
+		return copierFactory.factorForDataElement(recordGroup).copy();
+	}
+
+	@Benchmark
+	public DataChild copyFrozen() {
+		return copierFactory.factorForDataElement(frozenRecordGroup).copy();
+	}
+
+	@Benchmark
+	public DataChild copyFrozenAndChangeTsUpdated() {
+		DataGroup copy = (DataGroup) copierFactory.factorForDataElement(frozenRecordGroup).copy();
+		DataGroup updated = copy.getFirstGroupWithNameInData("recordInfo")
+				.getFirstGroupWithNameInData("updated");
+		updated.removeFirstChildWithNameInData("tsUpdated");
+		updated.addChild(
+				CoraDataAtomic.withNameInDataAndValue("tsUpdated", "2026-02-01T12:00:00.000000Z"));
+		return copy;
+	}
+}
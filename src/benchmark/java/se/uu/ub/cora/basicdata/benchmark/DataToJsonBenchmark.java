@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.benchmark;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.basicdata.converter.datatojson.BasicDataToJsonConverterFactory;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
+
+/**
+ * DataToJsonBenchmark measures conversion of record trees to json, both by building a json object
+ * and by streaming the json to a writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataToJsonBenchmark {
+	@Param({ "SMALL", "MEDIUM", "LARGE", "WIDE", "DEEP" })
+	public RecordShape shape;
+	private BasicDataToJsonConverterFactory converterFactory;
+	private CoraDataRecordGroup recordGroup;
+
+	@Setup
+	public void setUp() {
+		converterFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter());
+		recordGroup = shape.createRecordGroup();
+	}
+
+	@Benchmark
+	public String toJsonCompactFormat() {
+		return converterFactory.factorUsingConvertible(recordGroup).toJsonCompactFormat();
+	}
+
+	@Benchmark
+	public StringWriter streamingWriteTo() {
+		StringWriter writer = new StringWriter();
+		converterFactory.factorStreamingUsingConvertible(recordGroup).writeTo(writer);
+		return writer;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.benchmark;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.basicdata.converter.datatojson.BasicDataToJsonConverterFactory;
+import se.uu.ub.cora.basicdata.converter.jsontodata.JsonToDataConverterFactoryImp;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
+import se.uu.ub.cora.json.parser.JsonValue;
+import se.uu.ub.cora.json.parser.org.OrgJsonParser;
+
+/**
+ * JsonToDataBenchmark measures conversion of json to record trees, by parsing the json into a json
+ * object and converting it, by converting an already parsed json object and by converting directly
+ * from a reader.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonToDataBenchmark {
+	@Param({ "SMALL", "MEDIUM", "LARGE", "WIDE", "DEEP" })
+	public RecordShape shape;
+	private JsonToDataConverterFactoryImp converterFactory;
+	private OrgJsonParser jsonParser;
+	private String json;
+	private JsonValue parsedJson;
+
+	@Setup
+	public void setUp() {
+		converterFactory = new JsonToDataConverterFactoryImp();
+		jsonParser = new OrgJsonParser();
+		json = BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter())
+				.factorUsingConvertible(shape.createRecordGroup()).toJsonCompactFormat();
+		parsedJson = jsonParser.parseString(json);
+	}
+
+	@Benchmark
+	public Convertible parseAndConvert() {
+		JsonValue jsonValue = jsonParser.parseString(json);
+		return converterFactory.createForJsonObject(jsonValue).toInstance();
+	}
+
+	@Benchmark
+	public Convertible convertParsedJson() {
+		return converterFactory.createForJsonObject(parsedJson).toInstance();
+	}
+
+	@Benchmark
+	public Convertible streamingConvert() {
+		return converterFactory.createForReader(new StringReader(json)).toInstance();
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordLink;
+
+/**
+ * LookupBenchmark measures finding children by nameInData, in recordInfo, for the last child of
+ * the last group in the record, and for a name that is not present.
+ * <p>
+ * Lookups that find a child should not allocate, run with the GC profiler (-prof gc) and check
+ * that gc.alloc.rate.norm is 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+	@Param({ "SMALL", "MEDIUM", "LARGE", "WIDE", "DEEP" })
+	public RecordShape shape;
+	private CoraDataRecordGroup recordGroup;
+	private DataGroup recordInfo;
+	private DataGroup lastGroup;
+	private String lastChildNameInData;
+
+	@Setup
+	public void setUp() {
+		recordGroup = shape.createRecordGroup();
+		recordInfo = recordGroup.getFirstGroupWithNameInData("recordInfo");
+		List<DataChild> children = recordGroup.getChildren();
+		lastGroup = (DataGroup) children.get(children.size() - 1);
+		List<DataChild> lastGroupChildren = lastGroup.getChildren();
+		lastChildNameInData = lastGroupChildren.get(lastGroupChildren.size() - 1).getNameInData();
+	}
+
+	@Benchmark
+	public String getFirstAtomicValueInRecordInfo() {
+		return recordGroup.getFirstGroupWithNameInData("recordInfo")
+				.getFirstAtomicValueWithNameInData("id");
+	}
+
+	@Benchmark
+	public DataGroup getFirstGroupWithNameInData() {
+		return recordGroup.getFirstGroupWithNameInData("recordInfo");
+	}
+
+	@Benchmark
+	public boolean containsChildOfTypeAndName() {
+		return recordInfo.containsChildOfTypeAndName(DataRecordLink.class, "dataDivider");
+	}
+
+	@Benchmark
+	public DataRecordLink getFirstChildOfTypeAndName() {
+		return recordInfo.getFirstChildOfTypeAndName(DataRecordLink.class, "createdBy");
+	}
+
+	@Benchmark
+	public String getId() {
+		return recordGroup.getId();
+	}
+
+	@Benchmark
+	public String getFirstAtomicValueOfLastChild() {
+		return lastGroup.getFirstAtomicValueWithNameInData(lastChildNameInData);
+	}
+
+	@Benchmark
+	public boolean containsChildNotPresent() {
+		return lastGroup.containsChildWithNameInData("notPresent");
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.benchmark;
+
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.data.DataGroup;
+
+/**
+ * RecordShape creates synthetic record trees of different shapes for the benchmarks. All shapes
+ * start with a recordInfo like the ones stored by Cora, followed by the record data.
+ * <ul>
+ * <li>SMALL, a record with a few titles, about 30 nodes</li>
+ * <li>MEDIUM, a record with 50 repeated groups, about 500 nodes</li>
+ * <li>LARGE, a record with 1000 repeated groups, about 10000 nodes</li>
+ * <li>WIDE, a record with 5000 atomic children in one group</li>
+ * <li>DEEP, a record with 500 groups nested in each other</li>
+ * </ul>
+ */
+public enum RecordShape {
+	SMALL, MEDIUM, LARGE, WIDE, DEEP;
+
+	private static final int MEDIUM_NO_OF_PARTS = 50;
+	private static final int LARGE_NO_OF_PARTS = 1000;
+	private static final int WIDE_NO_OF_CHILDREN = 5000;
+	private static final int DEEP_NO_OF_LEVELS = 500;
+	private static final int SMALL_NO_OF_TITLES = 3;
+
+	/**
+	 * createRecordGroup creates a new record tree with this shape
+	 *
+	 * @return a new {@link CoraDataRecordGroup} with this shape
+	 */
+	public CoraDataRecordGroup createRecordGroup() {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData("book");
+		recordGroup.addChild(createRecordInfo());
+		switch (this) {
+			case SMALL -> addTitles(recordGroup, SMALL_NO_OF_TITLES);
+			case MEDIUM -> addParts(recordGroup, MEDIUM_NO_OF_PARTS);
+			case LARGE -> addParts(recordGroup, LARGE_NO_OF_PARTS);
+			case WIDE -> addWideGroup(recordGroup);
+			case DEEP -> addDeepGroup(recordGroup);
+		}
+		return recordGroup;
+	}
+
+	private static DataGroup createRecordInfo() {
+		DataGroup recordInfo = CoraDataGroup.withNameInData("recordInfo");
+		recordInfo.addChild(CoraDataAtomic.withNameInDataAndValue("id", "book:1234"));
+		recordInfo.addChild(createLink("type", "recordType", "book"));
+		recordInfo.addChild(createLink("validationType", "validationType", "book"));
+		recordInfo.addChild(createLink("dataDivider", "system", "cora"));
+		recordInfo.addChild(createLink("createdBy", "user", "user:1"));
+		recordInfo.addChild(
+				CoraDataAtomic.withNameInDataAndValue("tsCreated", "2026-01-01T12:00:00.000000Z"));
+		DataGroup updated = CoraDataGroup.withNameInData("updated");
+		updated.setRepeatId("0");
+		updated.addChild(createLink("updatedBy", "user", "user:1"));
+		updated.addChild(
+				CoraDataAtomic.withNameInDataAndValue("tsUpdated", "2026-01-01T12:00:00.000000Z"));
+		recordInfo.addChild(updated);
+		return recordInfo;
+	}
+
+	private static CoraDataRecordLink createLink(String nameInData, String type, String id) {
+		return CoraDataRecordLink.usingNameInDataAndTypeAndId(nameInData, type, id);
+	}
+
+	private static void addTitles(DataGroup parent, int noOfTitles) {
+		for (int i = 0; i < noOfTitles; i++) {
+			DataGroup title = CoraDataGroup.withNameInData("title");
+			title.setRepeatId(String.valueOf(i));
+			title.addAttributeByIdWithValue("language", "en");
+			title.addChild(CoraDataAtomic.withNameInDataAndValue("mainTitle", "Some title " + i));
+			title.addChild(CoraDataAtomic.withNameInDataAndValue("subTitle", "Some subtitle"));
+			parent.addChild(title);
+		}
+	}
+
+	private static void addParts(DataGroup parent, int noOfParts) {
+		addTitles(parent, SMALL_NO_OF_TITLES);
+		for (int i = 0; i < noOfParts; i++) {
+			DataGroup part = CoraDataGroup.withNameInData("part");
+			part.setRepeatId(String.valueOf(i));
+			part.addAttributeByIdWithValue("type", "chapter");
+			part.addChild(CoraDataAtomic.withNameInDataAndValue("number", String.valueOf(i)));
+			part.addChild(CoraDataAtomic.withNameInDataAndValue("name", "Chapter " + i));
+			part.addChild(CoraDataAtomic.withNameInDataAndValue("startPage", "1"));
+			part.addChild(CoraDataAtomic.withNameInDataAndValue("endPage", "10"));
+			part.addChild(createLink("author", "person", "person:" + i));
+			part.addChild(CoraDataAtomic.withNameInDataAndValue("note", "Some note on a part"));
+			parent.addChild(part);
+		}
+	}
+
+	private static void addWideGroup(DataGroup parent) {
+		DataGroup keywords = CoraDataGroup.withNameInData("keywords");
+		for (int i = 0; i < WIDE_NO_OF_CHILDREN; i++) {
+			CoraDataAtomic keyword = CoraDataAtomic.withNameInDataAndValue("keyword" + i % 100,
+					"Keyword " + i);
+			keyword.setRepeatId(String.valueOf(i));
+			keywords.addChild(keyword);
+		}
+		keywords.addChild(CoraDataAtomic.withNameInDataAndValue("lastKeyword", "last"));
+		parent.addChild(keywords);
+	}
+
+	private static void addDeepGroup(DataGroup parent) {
+		DataGroup level = createLevel(DEEP_NO_OF_LEVELS - 1);
+		for (int i = DEEP_NO_OF_LEVELS - 2; i >= 0; i--) {
+			DataGroup outerLevel = CoraDataGroup.withNameInData("level");
+			outerLevel.addChild(level);
+			outerLevel.addChild(CoraDataAtomic.withNameInDataAndValue("depth", String.valueOf(i)));
+			level = outerLevel;
+		}
+		parent.addChild(level);
+	}
+
+	private static DataGroup createLevel(int depth) {
+		DataGroup level = CoraDataGroup.withNameInData("level");
+		level.addChild(CoraDataAtomic.withNameInDataAndValue("depth", String.valueOf(depth)));
+		return level;
+	}
+}
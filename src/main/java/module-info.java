@@ -8,8 +8,11 @@ module se.uu.ub.cora.basicdata {
 	requires transitive se.uu.ub.cora.data;
 
 	exports se.uu.ub.cora.basicdata.converter;
+	exports se.uu.ub.cora.basicdata.converter.binary;
 	exports se.uu.ub.cora.basicdata.converter.datatojson;
 	exports se.uu.ub.cora.basicdata.converter.jsontodata;
+	exports se.uu.ub.cora.basicdata.metrics;
+	exports se.uu.ub.cora.basicdata.recordstore;
 
 	provides se.uu.ub.cora.data.DataFactory with CoraDataFactory;
 
@@ -18,4 +21,6 @@ module se.uu.ub.cora.basicdata {
 	provides se.uu.ub.cora.data.converter.DataToJsonConverterFactoryCreator
 			with BasicDataToJsonConverterFactoryCreator;
 	provides se.uu.ub.cora.data.copier.DataCopierFactory with CoraDataCopierFactoryImp;
+
+	uses se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2022 Uppsala University Library
+ * Copyright 2019, 2022, 2026 Uppsala University Library
  * Copyright 2022 Olov McKie
  * 
  * This file is part of Cora.
@@ -19,6 +19,8 @@
  */
 package se.uu.ub.cora.basicdata;
 
+import java.util.List;
+
 import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
 import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
 import se.uu.ub.cora.basicdata.data.CoraDataChildFilter;
@@ -28,8 +30,10 @@ import se.uu.ub.cora.basicdata.data.CoraDataRecord;
 import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
 import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
 import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.data.NameInData;
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataChildFilter;
 import se.uu.ub.cora.data.DataFactory;
 import se.uu.ub.cora.data.DataGroup;
@@ -53,24 +57,44 @@ public class CoraDataFactory implements DataFactory {
 
 	@Override
 	public DataRecordGroup factorRecordGroupUsingNameInData(String nameInData) {
-		return CoraDataRecordGroup.withNameInData(nameInData);
+		return CoraDataRecordGroup.withNameInData(NameInData.canonicalize(nameInData));
 	}
 
+	/**
+	 * factorRecordGroupFromDataGroup returns a view of the specified group if it is a
+	 * {@link CoraDataGroup}, see {@link CoraDataGroup#viewAsRecordGroup()}, so that changes to the
+	 * children or attributes of the returned group are seen in the specified group and the other
+	 * way around. Other implementations of DataGroup have their children and attributes copied.
+	 */
 	@Override
 	public DataRecordGroup factorRecordGroupFromDataGroup(DataGroup dataGroup) {
+		if (dataGroup instanceof CoraDataGroup) {
+			return ((CoraDataGroup) dataGroup).viewAsRecordGroup();
+		}
+		List<DataChild> children = dataGroup.getChildren();
 		CoraDataRecordGroup recordGroup = CoraDataRecordGroup
-				.withNameInData(dataGroup.getNameInData());
-		recordGroup.addChildren(dataGroup.getChildren());
+				.withNameInDataAndExpectedNoOfChildren(dataGroup.getNameInData(), children.size());
+		recordGroup.addChildren(children);
 		for (DataAttribute attribute : dataGroup.getAttributes()) {
 			recordGroup.addAttributeByIdWithValue(attribute.getNameInData(), attribute.getValue());
 		}
 		return recordGroup;
 	}
 
+	/**
+	 * factorGroupFromDataRecordGroup returns a view of the specified record group if it is a
+	 * {@link CoraDataRecordGroup}, see {@link CoraDataGroup#viewAsGroup()}, other implementations
+	 * of DataRecordGroup have their children and attributes copied.
+	 */
 	@Override
 	public DataGroup factorGroupFromDataRecordGroup(DataRecordGroup dataRecordGroup) {
-		CoraDataGroup group = CoraDataGroup.withNameInData(dataRecordGroup.getNameInData());
-		group.addChildren(dataRecordGroup.getChildren());
+		if (dataRecordGroup instanceof CoraDataRecordGroup) {
+			return ((CoraDataRecordGroup) dataRecordGroup).viewAsGroup();
+		}
+		List<DataChild> children = dataRecordGroup.getChildren();
+		CoraDataGroup group = CoraDataGroup.withNameInDataAndExpectedNoOfChildren(
+				dataRecordGroup.getNameInData(), children.size());
+		group.addChildren(children);
 		for (DataAttribute attribute : dataRecordGroup.getAttributes()) {
 			group.addAttributeByIdWithValue(attribute.getNameInData(), attribute.getValue());
 		}
@@ -79,41 +103,43 @@ public class CoraDataFactory implements DataFactory {
 
 	@Override
 	public DataGroup factorGroupUsingNameInData(String nameInData) {
-		return CoraDataGroup.withNameInData(nameInData);
+		return CoraDataGroup.withNameInData(NameInData.canonicalize(nameInData));
 	}
 
 	@Override
 	public DataRecordLink factorRecordLinkUsingNameInData(String nameInData) {
-		return CoraDataRecordLink.withNameInData(nameInData);
+		return CoraDataRecordLink.withNameInData(NameInData.canonicalize(nameInData));
 	}
 
 	@Override
 	public DataRecordLink factorRecordLinkUsingNameInDataAndTypeAndId(String nameInData,
 			String recordType, String recordId) {
-		return CoraDataRecordLink.usingNameInDataAndTypeAndId(nameInData, recordType, recordId);
+		return CoraDataRecordLink.usingNameInDataAndTypeAndId(NameInData.canonicalize(nameInData),
+				recordType, recordId);
 	}
 
 	@Override
 	public DataResourceLink factorResourceLinkUsingNameInDataAndTypeAndIdAndMimeType(String nameInData,
 			String recordType, String recordId, String mimeType) {
-		return CoraDataResourceLink.withNameInDataAndTypeAndIdAndMimeType(nameInData, recordType,
-				recordId, mimeType);
+		return CoraDataResourceLink.withNameInDataAndTypeAndIdAndMimeType(
+				NameInData.canonicalize(nameInData), recordType, recordId, mimeType);
 	}
 
 	@Override
 	public DataAtomic factorAtomicUsingNameInDataAndValue(String nameInData, String value) {
-		return CoraDataAtomic.withNameInDataAndValue(nameInData, value);
+		return CoraDataAtomic.withNameInDataAndValue(NameInData.canonicalize(nameInData), value);
 	}
 
 	@Override
 	public DataAtomic factorAtomicUsingNameInDataAndValueAndRepeatId(String nameInData,
 			String value, String repeatId) {
-		return CoraDataAtomic.withNameInDataAndValueAndRepeatId(nameInData, value, repeatId);
+		return CoraDataAtomic.withNameInDataAndValueAndRepeatId(NameInData.canonicalize(nameInData),
+				value, repeatId);
 	}
 
 	@Override
 	public DataAttribute factorAttributeUsingNameInDataAndValue(String nameInData, String value) {
-		return CoraDataAttribute.withNameInDataAndValue(nameInData, value);
+		return CoraDataAttribute.withNameInDataAndValue(NameInData.canonicalize(nameInData), value);
 	}
 
 	@Override
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter;
+
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordGroup;
+
+/**
+ * FrozenData creates immutable snapshots of basicdata, so that data can be kept and shared between
+ * threads, for instance in a cache of records.
+ * <p>
+ * A frozen group and all its child groups, atomics and resource links throw an
+ * UnsupportedOperationException from all methods that modify them. Frozen groups are used without
+ * any further work by the copiers, that copy the children of a frozen group the first time the
+ * children of the copy are used, and by the streaming json converter, that can cache the json of
+ * frozen groups.
+ * <p>
+ * Only data created by basicdata, for instance by its json converters or its
+ * {@link se.uu.ub.cora.data.DataFactory}, can be frozen.
+ */
+public final class FrozenData {
+	private static final String NOT_BASICDATA_MESSAGE = "Only basicdata can be frozen, not: ";
+
+	private FrozenData() {
+		// prevent instantiation
+	}
+
+	/**
+	 * freezeGroup returns a frozen snapshot of the group, a group that already is frozen is
+	 * returned as it is
+	 *
+	 * @param dataGroup
+	 *            A {@link DataGroup} created by basicdata
+	 * @return A frozen DataGroup with the same content as the dataGroup
+	 * @throws ConverterException
+	 *             if the dataGroup is not created by basicdata
+	 */
+	public static DataGroup freezeGroup(DataGroup dataGroup) {
+		if (!(dataGroup instanceof CoraDataGroup)) {
+			throw createNotBasicdataException(dataGroup);
+		}
+		return ((CoraDataGroup) dataGroup).freeze();
+	}
+
+	/**
+	 * freezeRecordGroup returns a frozen snapshot of the record group, a record group that already
+	 * is frozen is returned as it is
+	 *
+	 * @param recordGroup
+	 *            A {@link DataRecordGroup} created by basicdata
+	 * @return A frozen DataRecordGroup with the same content as the recordGroup
+	 * @throws ConverterException
+	 *             if the recordGroup is not created by basicdata
+	 */
+	public static DataRecordGroup freezeRecordGroup(DataRecordGroup recordGroup) {
+		if (!(recordGroup instanceof CoraDataRecordGroup)) {
+			throw createNotBasicdataException(recordGroup);
+		}
+		return ((CoraDataRecordGroup) recordGroup).freeze();
+	}
+
+	private static ConverterException createNotBasicdataException(Convertible data) {
+		String className = data == null ? "null" : data.getClass().getName();
+		return new ConverterException(NOT_BASICDATA_MESSAGE + className);
+	}
+
+	/**
+	 * isFrozen returns true if the data is frozen, see {@link #freezeGroup(DataGroup)}
+	 */
+	public static boolean isFrozen(Convertible data) {
+		if (data instanceof CoraDataGroup) {
+			return ((CoraDataGroup) data).isFrozen();
+		}
+		if (data instanceof CoraDataAtomic) {
+			return ((CoraDataAtomic) data).isFrozen();
+		}
+		if (data instanceof CoraDataResourceLink) {
+			return ((CoraDataResourceLink) data).isFrozen();
+		}
+		return false;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.binary;
+
+/**
+ * BinaryFormat holds the constants of the binary form of data written by
+ * {@link DataToBinaryConverter} and read by {@link BinaryToDataConverter}.
+ * <p>
+ * A document starts with the two magic bytes 'C' and 'B' followed by a version byte, and then
+ * holds one data element. Each element starts with a header byte, where the three lowest bits
+ * hold the kind of element and the higher bits are flags telling which optional parts follow.
+ * <p>
+ * All numbers are unsigned varints, seven bits per byte with the highest bit set on all but the
+ * last byte. Strings are written as their length in UTF-8 bytes plus one, followed by the bytes,
+ * so that zero can mean null. Names of elements and attributes are written through a dictionary
+ * built while writing, a name is written as zero followed by the name as a String the first time
+ * it is used in a document, and after that as its index in the dictionary plus one.
+ * <p>
+ * The parts of each kind of element are written in this order:
+ * <ul>
+ * <li>group and record link: header, name, repeatId, attributes, number of children, children</li>
+ * <li>atomic: header, name, value, repeatId, attributes</li>
+ * <li>resource link: header, name, type, id, mimeType, repeatId, attributes</li>
+ * <li>attribute: header, name, value</li>
+ * </ul>
+ * where repeatId and attributes are only written if their flags are set, and attributes are
+ * written as their number followed by a name and a value for each attribute.
+ */
+final class BinaryFormat {
+	static final byte MAGIC_FIRST = 'C';
+	static final byte MAGIC_SECOND = 'B';
+	static final byte VERSION = 1;
+
+	static final int KIND_MASK = 0x07;
+	static final int GROUP = 1;
+	static final int ATOMIC = 2;
+	static final int RECORD_LINK = 3;
+	static final int RESOURCE_LINK = 4;
+	static final int ATTRIBUTE = 5;
+
+	static final int HAS_REPEAT_ID = 0x10;
+	static final int HAS_ATTRIBUTES = 0x20;
+	static final int HAS_READ_ACTION = 0x40;
+
+	static final int NEW_NAME = 0;
+	static final int VARINT_PAYLOAD_MASK = 0x7F;
+	static final int VARINT_CONTINUATION = 0x80;
+	static final int VARINT_SHIFT = 7;
+	static final int MAX_VARINT_SHIFT = 28;
+
+	private BinaryFormat() {
+		// prevent instantiation
+	}
+}
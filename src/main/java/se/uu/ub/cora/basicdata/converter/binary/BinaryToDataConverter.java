@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.data.NameInData;
+import se.uu.ub.cora.data.Action;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataRecordGroup;
+
+/**
+ * BinaryToDataConverter converts data in the binary form written by {@link DataToBinaryConverter}
+ * back to basicdata, see {@link BinaryFormat}.
+ * <p>
+ * Names are canonicalized using {@link NameInData} once per document, when they are first read.
+ * Binary data that is not complete or not in the expected form results in a
+ * {@link ConverterException}.
+ * <p>
+ * The data is read directly from the bytes or buffer it was created with, which can be a buffer
+ * over a memory mapped file, only the Strings of the data are copied out of it.
+ */
+public final class BinaryToDataConverter {
+	private final ByteBuffer buffer;
+	private final List<String> nameDictionary;
+	private int position;
+
+	/**
+	 * usingBytes returns a BinaryToDataConverter for the binary data, the bytes are read as they
+	 * are and must not be changed until the conversion is done
+	 *
+	 * @param bytes
+	 *            A byte array with data in binary form
+	 * @return A BinaryToDataConverter for the bytes
+	 */
+	public static BinaryToDataConverter usingBytes(byte[] bytes) {
+		return new BinaryToDataConverter(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * usingByteBuffer returns a BinaryToDataConverter for the binary data between the position and
+	 * the limit of the buffer, the position and limit of the buffer are not changed by the
+	 * conversion
+	 *
+	 * @param buffer
+	 *            A {@link ByteBuffer} with data in binary form
+	 * @return A BinaryToDataConverter for the data in the buffer
+	 */
+	public static BinaryToDataConverter usingByteBuffer(ByteBuffer buffer) {
+		return new BinaryToDataConverter(buffer.slice());
+	}
+
+	private BinaryToDataConverter(ByteBuffer buffer) {
+		this(buffer, new ArrayList<>(), 0);
+	}
+
+	private BinaryToDataConverter(ByteBuffer buffer, List<String> nameDictionary, int position) {
+		this.buffer = buffer;
+		this.nameDictionary = nameDictionary;
+		this.position = position;
+	}
+
+	/**
+	 * toInstance converts the binary data to basicdata
+	 *
+	 * @return A {@link Convertible} with the data
+	 */
+	public Convertible toInstance() {
+		position = 0;
+		nameDictionary.clear();
+		readAndValidateStart();
+		Convertible convertible = readElement();
+		ensureNoBytesAfterData();
+		return convertible;
+	}
+
+	/**
+	 * toRecordGroupReadingChildrenOnFirstUse converts binary data holding a group to a
+	 * {@link DataRecordGroup}, reading only the name, repeatId and attributes of the group
+	 * directly. The children are read the first time they are used, so the bytes or buffer must
+	 * not be changed until then. The children are read using a copy of the state of this
+	 * converter, so that the converter can be used again before the children are used.
+	 *
+	 * @return A DataRecordGroup with its children read on first use
+	 */
+	public DataRecordGroup toRecordGroupReadingChildrenOnFirstUse() {
+		position = 0;
+		nameDictionary.clear();
+		readAndValidateStart();
+		int header = readByte();
+		if ((header & BinaryFormat.KIND_MASK) != BinaryFormat.GROUP) {
+			throw createException("data is not a group");
+		}
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData(readName());
+		setOptionalParts(recordGroup, possiblyReadRepeatId(header),
+				possiblyReadAttributes(header));
+		int noOfChildren = readCount();
+		int childrenStart = position;
+		List<String> namesBeforeChildren = new ArrayList<>(nameDictionary);
+		recordGroup.addChildrenOnFirstUse(() -> createReaderAt(childrenStart, namesBeforeChildren)
+				.readAllChildren(noOfChildren));
+		return recordGroup;
+	}
+
+	private BinaryToDataConverter createReaderAt(int start, List<String> names) {
+		return new BinaryToDataConverter(buffer.duplicate(), new ArrayList<>(names), start);
+	}
+
+	private List<DataChild> readAllChildren(int noOfChildren) {
+		List<DataChild> children = new ArrayList<>(noOfChildren);
+		for (int i = 0; i < noOfChildren; i++) {
+			children.add(readChild());
+		}
+		ensureNoBytesAfterData();
+		return children;
+	}
+
+	private void ensureNoBytesAfterData() {
+		if (position != buffer.limit()) {
+			throw createException("unexpected bytes after data");
+		}
+	}
+
+	private void readAndValidateStart() {
+		if (readByte() != BinaryFormat.MAGIC_FIRST || readByte() != BinaryFormat.MAGIC_SECOND) {
+			throw createException("not binary data");
+		}
+		int version = readByte();
+		if (version != BinaryFormat.VERSION) {
+			throw createException("unsupported version " + version);
+		}
+	}
+
+	private Convertible readElement() {
+		int header = readByte();
+		return switch (header & BinaryFormat.KIND_MASK) {
+		case BinaryFormat.GROUP -> readGroup(header);
+		case BinaryFormat.RECORD_LINK -> readRecordLink(header);
+		case BinaryFormat.RESOURCE_LINK -> readResourceLink(header);
+		case BinaryFormat.ATOMIC -> readAtomic(header);
+		case BinaryFormat.ATTRIBUTE -> readAttribute();
+		default -> throw createException("unknown kind of data " + header);
+		};
+	}
+
+	private CoraDataGroup readGroup(int header) {
+		String nameInData = readName();
+		String repeatId = possiblyReadRepeatId(header);
+		List<String> attributes = possiblyReadAttributes(header);
+		int noOfChildren = readCount();
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInDataAndExpectedNoOfChildren(nameInData,
+				noOfChildren);
+		setOptionalParts(dataGroup, repeatId, attributes);
+		readChildren(dataGroup, noOfChildren);
+		return dataGroup;
+	}
+
+	private CoraDataRecordLink readRecordLink(int header) {
+		CoraDataRecordLink recordLink = CoraDataRecordLink.withNameInData(readName());
+		setOptionalParts(recordLink, possiblyReadRepeatId(header),
+				possiblyReadAttributes(header));
+		readChildren(recordLink, readCount());
+		if (hasFlag(header, BinaryFormat.HAS_READ_ACTION)) {
+			recordLink.addAction(Action.READ);
+		}
+		return recordLink;
+	}
+
+	private void readChildren(CoraDataGroup dataGroup, int noOfChildren) {
+		for (int i = 0; i < noOfChildren; i++) {
+			dataGroup.addChild(readChild());
+		}
+	}
+
+	private DataChild readChild() {
+		Convertible child = readElement();
+		if (!(child instanceof DataChild)) {
+			throw createException("attribute data can not be a child");
+		}
+		return (DataChild) child;
+	}
+
+	private CoraDataResourceLink readResourceLink(int header) {
+		String nameInData = readName();
+		CoraDataResourceLink resourceLink = CoraDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType(nameInData, readString(), readString(),
+						readString());
+		setOptionalParts(resourceLink, possiblyReadRepeatId(header),
+				possiblyReadAttributes(header));
+		if (hasFlag(header, BinaryFormat.HAS_READ_ACTION)) {
+			resourceLink.addAction(Action.READ);
+		}
+		return resourceLink;
+	}
+
+	private CoraDataAtomic readAtomic(int header) {
+		String nameInData = readName();
+		CoraDataAtomic dataAtomic = CoraDataAtomic.withNameInDataAndValue(nameInData,
+				readString());
+		setOptionalParts(dataAtomic, possiblyReadRepeatId(header),
+				possiblyReadAttributes(header));
+		return dataAtomic;
+	}
+
+	private CoraDataAttribute readAttribute() {
+		String nameInData = readName();
+		return CoraDataAttribute.withNameInDataAndValue(nameInData, readString());
+	}
+
+	private String possiblyReadRepeatId(int header) {
+		if (hasFlag(header, BinaryFormat.HAS_REPEAT_ID)) {
+			return readString();
+		}
+		return null;
+	}
+
+	private List<String> possiblyReadAttributes(int header) {
+		if (!hasFlag(header, BinaryFormat.HAS_ATTRIBUTES)) {
+			return List.of();
+		}
+		int noOfAttributes = readCount();
+		List<String> attributes = new ArrayList<>(noOfAttributes * 2);
+		for (int i = 0; i < noOfAttributes; i++) {
+			attributes.add(readName());
+			attributes.add(readString());
+		}
+		return attributes;
+	}
+
+	private boolean hasFlag(int header, int flag) {
+		return (header & flag) != 0;
+	}
+
+	private void setOptionalParts(DataChild dataChild, String repeatId,
+			List<String> attributes) {
+		if (repeatId != null) {
+			dataChild.setRepeatId(repeatId);
+		}
+		for (int i = 0; i < attributes.size(); i += 2) {
+			dataChild.addAttributeByIdWithValue(attributes.get(i), attributes.get(i + 1));
+		}
+	}
+
+	private String readName() {
+		int reference = readVarint();
+		if (reference == BinaryFormat.NEW_NAME) {
+			String name = NameInData.canonicalize(readString());
+			nameDictionary.add(name);
+			return name;
+		}
+		if (reference > nameDictionary.size()) {
+			throw createException("unknown name reference " + reference);
+		}
+		return nameDictionary.get(reference - 1);
+	}
+
+	private String readString() {
+		int lengthPlusOne = readVarint();
+		if (lengthPlusOne == 0) {
+			return null;
+		}
+		int length = lengthPlusOne - 1;
+		ensureAvailable(length);
+		String text = readUtf8(length);
+		position += length;
+		return text;
+	}
+
+	private String readUtf8(int length) {
+		if (buffer.hasArray()) {
+			return new String(buffer.array(), buffer.arrayOffset() + position, length,
+					StandardCharsets.UTF_8);
+		}
+		byte[] textBytes = new byte[length];
+		buffer.get(position, textBytes);
+		return new String(textBytes, StandardCharsets.UTF_8);
+	}
+
+	private int readCount() {
+		int count = readVarint();
+		ensureAvailable(count);
+		return count;
+	}
+
+	private int readVarint() {
+		int value = 0;
+		int shift = 0;
+		int current;
+		do {
+			if (shift > BinaryFormat.MAX_VARINT_SHIFT) {
+				throw createException("too long number");
+			}
+			current = readByte();
+			value |= (current & BinaryFormat.VARINT_PAYLOAD_MASK) << shift;
+			shift += BinaryFormat.VARINT_SHIFT;
+		} while ((current & BinaryFormat.VARINT_CONTINUATION) != 0);
+		if (value < 0) {
+			throw createException("too large number");
+		}
+		return value;
+	}
+
+	private int readByte() {
+		ensureAvailable(1);
+		int value = buffer.get(position) & 0xFF;
+		position++;
+		return value;
+	}
+
+	private void ensureAvailable(int noOfBytes) {
+		if (noOfBytes > buffer.limit() - position) {
+			throw createException("unexpected end of data");
+		}
+	}
+
+	private ConverterException createException(String message) {
+		return new ConverterException("Error reading binary data: " + message);
+	}
+
+	ByteBuffer onlyForTestGetBuffer() {
+		return buffer;
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataAtomic;
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordLink;
+import se.uu.ub.cora.data.DataResourceLink;
+
+/**
+ * DataToBinaryConverter converts groups, atomics, record links, resource links and attributes to
+ * the compact binary form described in {@link BinaryFormat}, which can be read back using
+ * {@link BinaryToDataConverter}.
+ * <p>
+ * Names are written once per document and then referred to by number, and all lengths are
+ * varints, so the binary form is much smaller than the json form of the same data and can be read
+ * without parsing text. Record links and resource links keep whether they have a read action, as
+ * that is what decides if they get actionLinks when converted to json.
+ */
+public final class DataToBinaryConverter {
+	private static final int INITIAL_CAPACITY = 256;
+	private final Convertible convertible;
+	private final Map<String, Integer> nameDictionary = new HashMap<>();
+	private byte[] buffer;
+	private int size;
+
+	/**
+	 * usingConvertible returns a DataToBinaryConverter for the convertible
+	 *
+	 * @param convertible
+	 *            A {@link Convertible} that is a {@link DataGroup}, {@link DataAtomic},
+	 *            {@link DataRecordLink}, {@link DataResourceLink} or {@link DataAttribute}
+	 * @return A DataToBinaryConverter for the convertible
+	 */
+	public static DataToBinaryConverter usingConvertible(Convertible convertible) {
+		return new DataToBinaryConverter(convertible);
+	}
+
+	private DataToBinaryConverter(Convertible convertible) {
+		this.convertible = convertible;
+	}
+
+	/**
+	 * toBytes returns the convertible in binary form
+	 *
+	 * @return A byte array with the convertible in binary form
+	 */
+	public byte[] toBytes() {
+		writeDocument();
+		return Arrays.copyOf(buffer, size);
+	}
+
+	/**
+	 * writeTo writes the convertible in binary form to the outputStream, the stream is not flushed
+	 * or closed.
+	 *
+	 * @param outputStream
+	 *            An {@link OutputStream} to write the binary form to
+	 */
+	public void writeTo(OutputStream outputStream) {
+		writeDocument();
+		try {
+			outputStream.write(buffer, 0, size);
+		} catch (IOException e) {
+			throw new ConverterException("Error writing binary data to stream: " + e.getMessage(),
+					e);
+		}
+	}
+
+	private void writeDocument() {
+		buffer = new byte[INITIAL_CAPACITY];
+		size = 0;
+		nameDictionary.clear();
+		writeByte(BinaryFormat.MAGIC_FIRST);
+		writeByte(BinaryFormat.MAGIC_SECOND);
+		writeByte(BinaryFormat.VERSION);
+		writeElement(convertible);
+	}
+
+	private void writeElement(Convertible element) {
+		if (element instanceof DataRecordLink) {
+			writeRecordLink((DataRecordLink) element);
+		} else if (element instanceof DataResourceLink) {
+			writeResourceLink((DataResourceLink) element);
+		} else if (element instanceof DataGroup) {
+			writeGroup(BinaryFormat.GROUP, (DataGroup) element);
+		} else if (element instanceof DataAtomic) {
+			writeAtomic((DataAtomic) element);
+		} else if (element instanceof DataAttribute) {
+			writeAttribute((DataAttribute) element);
+		} else {
+			throw new ConverterException(
+					"Can not convert " + element.getClass().getName() + " to binary");
+		}
+	}
+
+	private void writeRecordLink(DataRecordLink recordLink) {
+		int readActionFlag = recordLink.hasReadAction() ? BinaryFormat.HAS_READ_ACTION : 0;
+		writeGroup(BinaryFormat.RECORD_LINK | readActionFlag, (DataGroup) recordLink);
+	}
+
+	private void writeGroup(int kind, DataGroup dataGroup) {
+		writeHeaderAndName(kind, dataGroup);
+		writeOptionalParts(dataGroup);
+		List<DataChild> children = dataGroup.getChildren();
+		writeVarint(children.size());
+		for (DataChild child : children) {
+			writeElement(child);
+		}
+	}
+
+	private void writeHeaderAndName(int kind, DataChild dataChild) {
+		int header = kind;
+		if (dataChild.getRepeatId() != null) {
+			header |= BinaryFormat.HAS_REPEAT_ID;
+		}
+		if (dataChild.hasAttributes()) {
+			header |= BinaryFormat.HAS_ATTRIBUTES;
+		}
+		writeByte(header);
+		writeName(dataChild.getNameInData());
+	}
+
+	private void writeOptionalParts(DataChild dataChild) {
+		if (dataChild.getRepeatId() != null) {
+			writeString(dataChild.getRepeatId());
+		}
+		if (dataChild.hasAttributes()) {
+			writeAttributes(dataChild.getAttributes());
+		}
+	}
+
+	private void writeAttributes(Collection<DataAttribute> attributes) {
+		writeVarint(attributes.size());
+		for (DataAttribute attribute : attributes) {
+			writeName(attribute.getNameInData());
+			writeString(attribute.getValue());
+		}
+	}
+
+	private void writeResourceLink(DataResourceLink resourceLink) {
+		int readActionFlag = resourceLink.hasReadAction() ? BinaryFormat.HAS_READ_ACTION : 0;
+		writeHeaderAndName(BinaryFormat.RESOURCE_LINK | readActionFlag, resourceLink);
+		writeString(resourceLink.getType());
+		writeString(resourceLink.getId());
+		writeString(resourceLink.getMimeType());
+		writeOptionalParts(resourceLink);
+	}
+
+	private void writeAtomic(DataAtomic dataAtomic) {
+		writeHeaderAndName(BinaryFormat.ATOMIC, dataAtomic);
+		writeString(dataAtomic.getValue());
+		writeOptionalParts(dataAtomic);
+	}
+
+	private void writeAttribute(DataAttribute dataAttribute) {
+		writeByte(BinaryFormat.ATTRIBUTE);
+		writeName(dataAttribute.getNameInData());
+		writeString(dataAttribute.getValue());
+	}
+
+	private void writeName(String name) {
+		Integer index = nameDictionary.get(name);
+		if (index != null) {
+			writeVarint(index + 1);
+		} else {
+			nameDictionary.put(name, nameDictionary.size());
+			writeVarint(BinaryFormat.NEW_NAME);
+			writeString(name);
+		}
+	}
+
+	private void writeString(String text) {
+		if (text == null) {
+			writeVarint(0);
+			return;
+		}
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		writeVarint(bytes.length + 1);
+		ensureRoomFor(bytes.length);
+		System.arraycopy(bytes, 0, buffer, size, bytes.length);
+		size += bytes.length;
+	}
+
+	private void writeVarint(int value) {
+		int remaining = value;
+		while ((remaining & ~BinaryFormat.VARINT_PAYLOAD_MASK) != 0) {
+			writeByte((remaining & BinaryFormat.VARINT_PAYLOAD_MASK)
+					| BinaryFormat.VARINT_CONTINUATION);
+			remaining >>>= BinaryFormat.VARINT_SHIFT;
+		}
+		writeByte(remaining);
+	}
+
+	private void writeByte(int value) {
+		ensureRoomFor(1);
+		buffer[size] = (byte) value;
+		size++;
+	}
+
+	private void ensureRoomFor(int noOfBytes) {
+		if (size + noOfBytes > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + noOfBytes));
+		}
+	}
+
+	Convertible onlyForTestGetConvertible() {
+		return convertible;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+
+/**
+ * ActionLinkTemplate holds the parts of the action link for one action that are the same for all
+ * records of one record type, so that only the id of the record has to be spliced into the url
+ * when the actions of a record are converted.
+ * <p>
+ * The url of an action link is the urlPrefix, followed by the recordId, the searchRecordId or
+ * nothing, followed by the urlSuffix. An empty template, see {@link #hasLink()}, is used for
+ * actions that do not have a link for the record type, they are converted to an empty object.
+ * <p>
+ * This class is immutable.
+ */
+final class ActionLinkTemplate {
+	private static final String RECORD_TYPE = "recordType";
+
+	enum UrlId {
+		NONE, RECORD_ID, SEARCH_RECORD_ID
+	}
+
+	final String rel;
+	final String requestMethod;
+	final String accept;
+	final String contentType;
+	final boolean hasWorkOrderBody;
+	private final String urlPrefix;
+	private final UrlId urlId;
+	private final String urlSuffix;
+
+	static ActionLinkTemplate withoutLink(String rel) {
+		return new ActionLinkTemplate(rel, null, UrlId.NONE, null, null, null, null, false);
+	}
+
+	static ActionLinkTemplate withUrlAndMethod(String rel, String urlPrefix, UrlId urlId,
+			String urlSuffix, String requestMethod) {
+		return new ActionLinkTemplate(rel, urlPrefix, urlId, urlSuffix, requestMethod, null, null,
+				false);
+	}
+
+	private ActionLinkTemplate(String rel, String urlPrefix, UrlId urlId, String urlSuffix,
+			String requestMethod, String accept, String contentType, boolean hasWorkOrderBody) {
+		this.rel = rel;
+		this.urlPrefix = urlPrefix;
+		this.urlId = urlId;
+		this.urlSuffix = urlSuffix;
+		this.requestMethod = requestMethod;
+		this.accept = accept;
+		this.contentType = contentType;
+		this.hasWorkOrderBody = hasWorkOrderBody;
+	}
+
+	ActionLinkTemplate withAccept(String accept) {
+		return new ActionLinkTemplate(rel, urlPrefix, urlId, urlSuffix, requestMethod, accept,
+				contentType, hasWorkOrderBody);
+	}
+
+	ActionLinkTemplate withContentType(String contentType) {
+		return new ActionLinkTemplate(rel, urlPrefix, urlId, urlSuffix, requestMethod, accept,
+				contentType, hasWorkOrderBody);
+	}
+
+	ActionLinkTemplate withWorkOrderBody() {
+		return new ActionLinkTemplate(rel, urlPrefix, urlId, urlSuffix, requestMethod, accept,
+				contentType, true);
+	}
+
+	boolean hasLink() {
+		return requestMethod != null;
+	}
+
+	/**
+	 * url returns the url of this action link for the record described by the
+	 * actionsConverterData
+	 */
+	String url(ActionsConverterData actionsConverterData) {
+		if (urlId == UrlId.RECORD_ID) {
+			return urlPrefix + actionsConverterData.recordId + urlSuffix;
+		}
+		if (urlId == UrlId.SEARCH_RECORD_ID) {
+			return urlPrefix + getSearchRecordIdOrRecordId(actionsConverterData) + urlSuffix;
+		}
+		return urlPrefix;
+	}
+
+	private String getSearchRecordIdOrRecordId(ActionsConverterData actionsConverterData) {
+		if (actionsConverterData.searchRecordId != null) {
+			return actionsConverterData.searchRecordId;
+		}
+		return actionsConverterData.recordId;
+	}
+
+	/**
+	 * createWorkOrder creates the work order used as body for index links, for the record
+	 * described by the actionsConverterData
+	 */
+	static CoraDataGroup createWorkOrder(ActionsConverterData actionsConverterData) {
+		CoraDataGroup workOrder = CoraDataGroup.withNameInData("workOrder");
+		CoraDataGroup recordTypeGroup = CoraDataGroup.withNameInData(RECORD_TYPE);
+		recordTypeGroup
+				.addChild(CoraDataAtomic.withNameInDataAndValue("linkedRecordType", RECORD_TYPE));
+		recordTypeGroup.addChild(CoraDataAtomic.withNameInDataAndValue("linkedRecordId",
+				actionsConverterData.recordType));
+		workOrder.addChild(recordTypeGroup);
+		workOrder.addChild(
+				CoraDataAtomic.withNameInDataAndValue("recordId", actionsConverterData.recordId));
+		workOrder.addChild(CoraDataAtomic.withNameInDataAndValue("type", "index"));
+		return workOrder;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import se.uu.ub.cora.basicdata.converter.datatojson.ActionLinkTemplate.UrlId;
+import se.uu.ub.cora.data.Action;
+
+/**
+ * ActionLinkTemplates creates and keeps the {@link ActionLinkTemplate}s for one baseUrl, one
+ * template per action and record type. The templates for a record type are created the first time
+ * actions for a record of that type are converted.
+ * <p>
+ * At most {@value #MAX_NO_OF_RECORD_TYPES} record types are kept, templates for further record
+ * types are created each time they are needed. This class is thread safe.
+ */
+final class ActionLinkTemplates {
+	static final int MAX_NO_OF_RECORD_TYPES = 1000;
+	private static final String RECORD_TYPE = "recordType";
+	private static final String GET = "GET";
+	private static final String POST = "POST";
+	private static final String DELETE = "DELETE";
+	private static final String APPLICATION_VND_CORA_RECORD_LIST_JSON = "application/vnd.cora.recordList+json";
+	private static final String APPLICATION_VND_CORA_RECORD_JSON = "application/vnd.cora.record+json";
+	private static final String APPLICATION_VND_CORA_RECORDGROUP_JSON = "application/vnd.cora.recordgroup+json";
+	private static final String APPLICATION_VND_CORA_WORKORDER_JSON = "application/vnd.cora.workorder+json";
+	private static final Action[] ACTIONS = Action.values();
+
+	private final String baseUrl;
+	private final Map<String, ActionLinkTemplate[]> templatesByRecordType =
+			new ConcurrentHashMap<>();
+
+	static ActionLinkTemplates usingBaseUrl(String baseUrl) {
+		return new ActionLinkTemplates(baseUrl);
+	}
+
+	private ActionLinkTemplates(String baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * getTemplate returns the template for the action for records of the record type
+	 */
+	ActionLinkTemplate getTemplate(String recordType, Action action) {
+		return getTemplatesForRecordType(recordType)[action.ordinal()];
+	}
+
+	private ActionLinkTemplate[] getTemplatesForRecordType(String recordType) {
+		ActionLinkTemplate[] templates = recordType == null ? null
+				: templatesByRecordType.get(recordType);
+		if (templates != null) {
+			return templates;
+		}
+		templates = createTemplatesForRecordType(recordType);
+		if (recordType != null && templatesByRecordType.size() < MAX_NO_OF_RECORD_TYPES) {
+			templatesByRecordType.putIfAbsent(recordType, templates);
+		}
+		return templates;
+	}
+
+	private ActionLinkTemplate[] createTemplatesForRecordType(String recordType) {
+		ActionLinkTemplate[] templates = new ActionLinkTemplate[ACTIONS.length];
+		for (Action action : ACTIONS) {
+			templates[action.ordinal()] = createTemplate(recordType, action);
+		}
+		return templates;
+	}
+
+	private ActionLinkTemplate createTemplate(String recordType, Action action) {
+		String rel = action.name().toLowerCase(Locale.ROOT);
+		ActionLinkTemplate template = possiblyCreateTemplateForAll(recordType, action, rel);
+		if (template == null && RECORD_TYPE.equals(recordType)) {
+			template = possiblyCreateTemplateForRecordType(action, rel);
+		}
+		if (template == null) {
+			return ActionLinkTemplate.withoutLink(rel);
+		}
+		return template;
+	}
+
+	private ActionLinkTemplate possiblyCreateTemplateForAll(String recordType, Action action,
+			String rel) {
+		String urlForRecordsOfType = baseUrl + recordType + "/";
+		if (action == Action.READ) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, urlForRecordsOfType, UrlId.RECORD_ID, "", GET)
+					.withAccept(APPLICATION_VND_CORA_RECORD_JSON);
+		}
+		if (action == Action.UPDATE) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, urlForRecordsOfType, UrlId.RECORD_ID, "", POST)
+					.withAccept(APPLICATION_VND_CORA_RECORD_JSON)
+					.withContentType(APPLICATION_VND_CORA_RECORDGROUP_JSON);
+		}
+		if (action == Action.READ_INCOMING_LINKS) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, urlForRecordsOfType, UrlId.RECORD_ID, "/incomingLinks",
+							GET)
+					.withAccept(APPLICATION_VND_CORA_RECORD_LIST_JSON);
+		}
+		if (action == Action.DELETE) {
+			return ActionLinkTemplate.withUrlAndMethod(rel, urlForRecordsOfType, UrlId.RECORD_ID,
+					"", DELETE);
+		}
+		if (action == Action.INDEX) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, baseUrl + "workOrder/", UrlId.NONE, "", POST)
+					.withAccept(APPLICATION_VND_CORA_RECORD_JSON)
+					.withContentType(APPLICATION_VND_CORA_RECORDGROUP_JSON).withWorkOrderBody();
+		}
+		if (action == Action.UPLOAD) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, urlForRecordsOfType, UrlId.RECORD_ID, "/master", POST)
+					.withContentType("multipart/form-data");
+		}
+		if (action == Action.SEARCH) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, baseUrl + "searchResult/", UrlId.SEARCH_RECORD_ID, "",
+							GET)
+					.withAccept(APPLICATION_VND_CORA_RECORD_LIST_JSON);
+		}
+		return null;
+	}
+
+	private ActionLinkTemplate possiblyCreateTemplateForRecordType(Action action, String rel) {
+		if (action == Action.CREATE) {
+			return ActionLinkTemplate.withUrlAndMethod(rel, baseUrl, UrlId.RECORD_ID, "/", POST)
+					.withAccept(APPLICATION_VND_CORA_RECORD_JSON)
+					.withContentType(APPLICATION_VND_CORA_RECORDGROUP_JSON);
+		}
+		if (action == Action.LIST) {
+			return ActionLinkTemplate.withUrlAndMethod(rel, baseUrl, UrlId.RECORD_ID, "/", GET)
+					.withAccept(APPLICATION_VND_CORA_RECORD_LIST_JSON);
+		}
+		if (action == Action.BATCH_INDEX) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, baseUrl + "index/", UrlId.RECORD_ID, "/", POST)
+					.withAccept(APPLICATION_VND_CORA_RECORD_JSON)
+					.withContentType(APPLICATION_VND_CORA_RECORD_JSON);
+		}
+		if (action == Action.VALIDATE) {
+			return ActionLinkTemplate
+					.withUrlAndMethod(rel, baseUrl + "workOrder/", UrlId.NONE, "", POST)
+					.withAccept(APPLICATION_VND_CORA_RECORD_JSON)
+					.withContentType(APPLICATION_VND_CORA_WORKORDER_JSON);
+		}
+		return null;
+	}
+
+	String getBaseUrl() {
+		return baseUrl;
+	}
+
+	int onlyForTestGetNoOfRecordTypes() {
+		return templatesByRecordType.size();
+	}
+}
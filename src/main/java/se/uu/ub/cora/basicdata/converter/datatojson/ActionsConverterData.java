@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -22,6 +22,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import se.uu.ub.cora.data.Action;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordGroup;
 
 /**
  * ActionsConverterData is a container for gathering action converter variables to be used on
@@ -32,4 +35,38 @@ class ActionsConverterData {
 	String recordType;
 	String recordId;
 	String searchRecordId;
+
+	/**
+	 * forDataRecord collects the action converter variables needed to convert the actions of the
+	 * given record.
+	 * 
+	 * @param dataRecord
+	 *            The {@link DataRecord} to collect action data from
+	 * @return An ActionsConverterData with the collected variables
+	 */
+	static ActionsConverterData forDataRecord(DataRecord dataRecord) {
+		ActionsConverterData actionsConverterData = new ActionsConverterData();
+		actionsConverterData.recordType = dataRecord.getType();
+		actionsConverterData.recordId = dataRecord.getId();
+		actionsConverterData.actions.addAll(dataRecord.getActions());
+		possiblySetSearchIdFromRecordType(actionsConverterData, dataRecord);
+		return actionsConverterData;
+	}
+
+	private static void possiblySetSearchIdFromRecordType(
+			ActionsConverterData actionsConverterData, DataRecord dataRecord) {
+		if ("recordType".equals(actionsConverterData.recordType)) {
+			DataRecordGroup dataRecordGroup = dataRecord.getDataRecordGroup();
+			possiblySetSearchRecordIdIfDefinedInDataGroup(actionsConverterData, dataRecordGroup);
+		}
+	}
+
+	private static void possiblySetSearchRecordIdIfDefinedInDataGroup(
+			ActionsConverterData actionsConverterData, DataRecordGroup dataRecordGroup) {
+		if (dataRecordGroup.containsChildWithNameInData("search")) {
+			DataGroup searchGroup = dataRecordGroup.getFirstGroupWithNameInData("search");
+			actionsConverterData.searchRecordId = searchGroup
+					.getFirstAtomicValueWithNameInData("linkedRecordId");
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021, 2023, 2025 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,11 +19,16 @@
 
 package se.uu.ub.cora.basicdata.converter.datatojson;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
 import se.uu.ub.cora.data.Convertible;
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataList;
 import se.uu.ub.cora.data.DataRecord;
@@ -33,10 +38,39 @@ import se.uu.ub.cora.data.converter.DataToJsonConverter;
 import se.uu.ub.cora.data.converter.DataToJsonConverterFactory;
 import se.uu.ub.cora.data.converter.ExternalUrls;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
+import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
+/**
+ * BasicDataToJsonConverterFactory factors converters from basicdata to json.
+ * <p>
+ * A factory is immutable once created, the {@link ExternalUrls} used for actionLinks are set when
+ * the factory is created, see {@link #usingBuilderFactoryAndExternalUrls(JsonBuilderFactory,
+ * ExternalUrls)} and {@link #withExternalUrls(ExternalUrls)}, so one factory can be held as a
+ * singleton and used by many threads at the same time. The methods that take externalUrls or a
+ * baseUrl as a parameter factor their converters from a new factory with those urls, sharing
+ * everything else with this factory, and do not change this factory.
+ * <p>
+ * Atomics and attributes in groups are converted without factoring a converter for each of them.
+ * <p>
+ * A factory with a {@link Projection}, see {@link #withProjection(Projection)}, converts only the
+ * children of groups that the projection includes, other children are skipped without being
+ * traversed. The projection is not used for permissions, actionLinks and their bodies.
+ * <p>
+ * A factory with enabled {@link ConversionMetrics}, see
+ * {@link #withConversionMetrics(ConversionMetrics)}, reports a {@link Measurement} for each call to
+ * toJson, toJsonCompactFormat and toJsonObjectBuilder on the converters it factors, and for each
+ * conversion by the streaming converters it factors.
+ */
 public class BasicDataToJsonConverterFactory implements DataToJsonConverterFactory {
-	JsonBuilderFactory builderFactory;
-	private Optional<ExternalUrls> externalUrls;
+	final JsonBuilderFactory builderFactory;
+	private final Optional<ExternalUrls> externalUrls;
+	private final ParallelListConversion listConversion;
+	private final ActionLinkTemplates actionLinkTemplatesWithoutBaseUrl;
+	private final Map<String, ActionLinkTemplates> actionLinkTemplatesByBaseUrl;
+	private final JsonFragmentCache fragmentCache;
+	private final Projection projection;
+	private final ConversionMetrics conversionMetrics;
+	private final BasicDataToJsonConverterFactory unmeasuredFactory;
 
 	/**
 	 * withoutActionLinksUsingBuilderFactory will factor {@link DataToJsonConverter}s that does not
@@ -51,29 +85,152 @@ public class BasicDataToJsonConverterFactory implements DataToJsonConverterFacto
 		return new BasicDataToJsonConverterFactory(factory);
 	}
 
+	/**
+	 * usingBuilderFactoryAndParallelListConversion factors {@link DataToJsonConverter}s in the same
+	 * way as {@link #usingBuilderFactory(JsonBuilderFactory)}, but with the entries of large
+	 * {@link DataList}s converted concurrently as decided by the listConversion. The listConversion
+	 * is not closed by the factory, the caller closes it when it is no longer used.
+	 * 
+	 * @param factory
+	 *            A {@link JsonBuilderFactory} to pass on to factored converters
+	 * @param listConversion
+	 *            A {@link ParallelListConversion} to use when converting the entries of lists
+	 * @return A BasicDataToJsonConverterFactory that converts large lists concurrently
+	 */
+	public static BasicDataToJsonConverterFactory usingBuilderFactoryAndParallelListConversion(
+			JsonBuilderFactory factory, ParallelListConversion listConversion) {
+		return new BasicDataToJsonConverterFactory(factory, listConversion);
+	}
+
 	BasicDataToJsonConverterFactory(JsonBuilderFactory factory) {
+		this(factory, ParallelListConversion.sequential());
+	}
+
+	/**
+	 * usingBuilderFactoryAndExternalUrls factors {@link DataToJsonConverter}s that generates
+	 * actionLinks for linked data using the provided externalUrls
+	 * 
+	 * @param factory
+	 *            A {@link JsonBuilderFactory} to pass on to factored converters
+	 * @param externalUrls
+	 *            The {@link ExternalUrls} to use when creating actionLinks
+	 * @return A BasicDataToJsonConverterFactory that generates actionLinks for linked data
+	 */
+	public static BasicDataToJsonConverterFactory usingBuilderFactoryAndExternalUrls(
+			JsonBuilderFactory factory, ExternalUrls externalUrls) {
+		return new BasicDataToJsonConverterFactory(factory).withExternalUrls(externalUrls);
+	}
+
+	BasicDataToJsonConverterFactory(JsonBuilderFactory factory,
+			ParallelListConversion listConversion) {
 		this.builderFactory = factory;
+		this.listConversion = listConversion;
 		externalUrls = Optional.empty();
+		actionLinkTemplatesWithoutBaseUrl = ActionLinkTemplates.usingBaseUrl(null);
+		actionLinkTemplatesByBaseUrl = new ConcurrentHashMap<>();
+		fragmentCache = JsonFragmentCache.none();
+		projection = Projection.all();
+		conversionMetrics = ConversionMetrics.noOp();
+		unmeasuredFactory = this;
+	}
+
+	private BasicDataToJsonConverterFactory(BasicDataToJsonConverterFactory sharedFrom,
+			Optional<ExternalUrls> externalUrls, JsonFragmentCache fragmentCache,
+			Projection projection, ConversionMetrics conversionMetrics) {
+		this.builderFactory = sharedFrom.builderFactory;
+		this.listConversion = sharedFrom.listConversion;
+		this.externalUrls = externalUrls;
+		actionLinkTemplatesWithoutBaseUrl = sharedFrom.actionLinkTemplatesWithoutBaseUrl;
+		actionLinkTemplatesByBaseUrl = sharedFrom.actionLinkTemplatesByBaseUrl;
+		this.fragmentCache = fragmentCache;
+		this.projection = projection;
+		this.conversionMetrics = conversionMetrics;
+		unmeasuredFactory = createUnmeasuredFactory();
+	}
+
+	private BasicDataToJsonConverterFactory createUnmeasuredFactory() {
+		if (conversionMetrics == ConversionMetrics.noOp()) {
+			return this;
+		}
+		return new BasicDataToJsonConverterFactory(this, externalUrls, fragmentCache, projection,
+				ConversionMetrics.noOp());
+	}
+
+	/**
+	 * withExternalUrls returns a new factory that factors converters in the same way as this
+	 * factory, but generates actionLinks for linked data using the provided externalUrls. The new
+	 * factory shares everything else with this factory.
+	 * 
+	 * @param externalUrls
+	 *            The {@link ExternalUrls} to use when creating actionLinks
+	 * @return A new BasicDataToJsonConverterFactory using the externalUrls
+	 */
+	public BasicDataToJsonConverterFactory withExternalUrls(ExternalUrls externalUrls) {
+		return new BasicDataToJsonConverterFactory(this, Optional.of(externalUrls), fragmentCache,
+				projection, conversionMetrics);
+	}
+
+	/**
+	 * withFragmentCache returns a new factory that factors converters in the same way as this
+	 * factory, but with {@link DataToJsonStreamingConverter}s that reuse the json of frozen groups
+	 * from the provided fragmentCache. The new factory shares everything else with this factory.
+	 * 
+	 * @param fragmentCache
+	 *            The {@link JsonFragmentCache} to store and look up the json of frozen groups in
+	 * @return A new BasicDataToJsonConverterFactory using the fragmentCache
+	 */
+	public BasicDataToJsonConverterFactory withFragmentCache(JsonFragmentCache fragmentCache) {
+		return new BasicDataToJsonConverterFactory(this, externalUrls, fragmentCache, projection,
+				conversionMetrics);
+	}
+
+	/**
+	 * withProjection returns a new factory that factors converters in the same way as this factory,
+	 * but that only converts the children of groups that the provided projection includes. The
+	 * projection is used for the top group of records, and for groups converted on their own. The
+	 * new factory shares everything else with this factory.
+	 * 
+	 * @param projection
+	 *            The {@link Projection} deciding which children to convert
+	 * @return A new BasicDataToJsonConverterFactory using the projection
+	 */
+	public BasicDataToJsonConverterFactory withProjection(Projection projection) {
+		return new BasicDataToJsonConverterFactory(this, externalUrls, fragmentCache, projection,
+				conversionMetrics);
+	}
+
+	/**
+	 * withConversionMetrics returns a new factory that factors converters in the same way as this
+	 * factory, but that reports measurements of their conversions to the provided
+	 * conversionMetrics, if it is enabled. The new factory shares everything else with this
+	 * factory.
+	 * 
+	 * @param conversionMetrics
+	 *            The {@link ConversionMetrics} to report measurements to
+	 * @return A new BasicDataToJsonConverterFactory using the conversionMetrics
+	 */
+	public BasicDataToJsonConverterFactory withConversionMetrics(
+			ConversionMetrics conversionMetrics) {
+		return new BasicDataToJsonConverterFactory(this, externalUrls, fragmentCache, projection,
+				conversionMetrics);
 	}
 
 	@Override
 	public DataToJsonConverter factorUsingConvertible(Convertible convertible) {
+		if (conversionMetrics.isEnabled()) {
+			return factorMeasuringConverter(convertible);
+		}
 		if (isDataList(convertible)) {
-			return DataListToJsonConverter.usingJsonFactoryForDataList(this, builderFactory,
-					(DataList) convertible);
+			return DataListToJsonConverter.usingJsonFactoryAndListConversionForDataList(this,
+					builderFactory, listConversion, (DataList) convertible);
 		}
 
 		if (isDataRecord(convertible)) {
 			RecordActionsToJsonConverter actionsConverter;
 			if (externalUrls.isPresent()) {
-				actionsConverter = RecordActionsToJsonConverterImp
-						.usingConverterFactoryAndBuilderFactoryAndBaseUrl(this, builderFactory,
-								externalUrls.get().getBaseUrl());
-
+				actionsConverter = factorRecordActionsConverter(externalUrls.get().getBaseUrl());
 			} else {
-				actionsConverter = RecordActionsToJsonConverterImp
-						.usingConverterFactoryAndBuilderFactoryAndBaseUrl(this, builderFactory,
-								null);
+				actionsConverter = factorRecordActionsConverter(null);
 			}
 
 			return DataRecordToJsonConverter
@@ -107,6 +264,70 @@ public class BasicDataToJsonConverterFactory implements DataToJsonConverterFacto
 				(DataAttribute) convertible);
 	}
 
+	private DataToJsonConverter factorMeasuringConverter(Convertible convertible) {
+		DataToJsonConverter converter = unmeasuredFactory.factorUsingConvertible(convertible);
+		return MeasuringDataToJsonConverter.usingMetricsAndConvertibleAndConverter(
+				conversionMetrics, convertible, converter);
+	}
+
+	/**
+	 * convertToJsonObjectBuilder converts the convertible to a JsonObjectBuilder, atomics and
+	 * attributes are converted directly without factoring a converter for them.
+	 */
+	JsonObjectBuilder convertToJsonObjectBuilder(Convertible convertible) {
+		if (isDataAtomic(convertible)) {
+			return DataAtomicToJsonConverter.convertToJsonObjectBuilder(builderFactory,
+					(DataAtomic) convertible);
+		}
+		if (isDataAttribute(convertible)) {
+			return DataAttributeToJsonConverter.convertToJsonObjectBuilder(builderFactory,
+					(DataAttribute) convertible);
+		}
+		return factorUsingConvertible(convertible).toJsonObjectBuilder();
+	}
+
+	/**
+	 * includesChild returns true if the projection of this factory includes the child
+	 */
+	boolean includesChild(DataChild child) {
+		return projection.includesAll() || projection.projectionForChild(child).isPresent();
+	}
+
+	/**
+	 * factoryForChild returns the factory to convert an included child with, it is this factory if
+	 * everything is included, otherwise a factory with the projection for the child.
+	 */
+	BasicDataToJsonConverterFactory factoryForChild(DataChild child) {
+		if (projection.includesAll()) {
+			return this;
+		}
+		return withProjection(projection.projectionForChild(child).orElseThrow());
+	}
+
+	RecordActionsToJsonConverter factorRecordActionsConverter(String baseUrl) {
+		return RecordActionsToJsonConverterImp.usingConverterFactoryAndBuilderFactoryAndTemplates(
+				withoutProjection(), builderFactory, getActionLinkTemplates(baseUrl));
+	}
+
+	private BasicDataToJsonConverterFactory withoutProjection() {
+		if (projection.includesAll()) {
+			return this;
+		}
+		return withProjection(Projection.all());
+	}
+
+	/**
+	 * getActionLinkTemplates returns the action link templates for the baseUrl, they are created
+	 * once per baseUrl and shared by all converters factored by this factory.
+	 */
+	ActionLinkTemplates getActionLinkTemplates(String baseUrl) {
+		if (baseUrl == null) {
+			return actionLinkTemplatesWithoutBaseUrl;
+		}
+		return actionLinkTemplatesByBaseUrl.computeIfAbsent(baseUrl,
+				ActionLinkTemplates::usingBaseUrl);
+	}
+
 	private Optional<String> getBaseUrl() {
 		if (existsBaseUrl()) {
 			return Optional.of(externalUrls.get().getBaseUrl());
@@ -126,6 +347,10 @@ public class BasicDataToJsonConverterFactory implements DataToJsonConverterFacto
 		return convertible instanceof DataAtomic;
 	}
 
+	private boolean isDataAttribute(Convertible convertible) {
+		return convertible instanceof DataAttribute;
+	}
+
 	private boolean isDataGroup(Convertible convertible) {
 		return convertible instanceof DataGroup;
 	}
@@ -149,8 +374,7 @@ public class BasicDataToJsonConverterFactory implements DataToJsonConverterFacto
 	@Override
 	public DataToJsonConverter factorUsingConvertibleAndExternalUrls(Convertible convertible,
 			ExternalUrls externalUrls) {
-		this.externalUrls = Optional.of(externalUrls);
-		return factorUsingConvertible(convertible);
+		return withExternalUrls(externalUrls).factorUsingConvertible(convertible);
 	}
 
 	@Override
@@ -158,9 +382,60 @@ public class BasicDataToJsonConverterFactory implements DataToJsonConverterFacto
 			Convertible convertible) {
 		ExternalUrls tmpExternal = new ExternalUrls();
 		tmpExternal.setBaseUrl(baseUrl);
-		externalUrls = Optional.of(tmpExternal);
+		return factorUsingConvertibleAndExternalUrls(convertible, tmpExternal);
+	}
+
+	/**
+	 * factorStreamingUsingConvertible factors a {@link DataToJsonStreamingConverter} that writes
+	 * the convertible as json directly to a writer or stream, without creating any intermediate
+	 * {@link se.uu.ub.cora.json.builder.JsonObjectBuilder}s. Linked data is converted with
+	 * actionLinks only if this factory has externalUrls.
+	 * 
+	 * @param convertible
+	 *            The {@link Convertible} to convert
+	 * @return A DataToJsonStreamingConverter for the convertible
+	 */
+	public DataToJsonStreamingConverter factorStreamingUsingConvertible(Convertible convertible) {
+		return DataToJsonStreamingConverter.usingConverterFactoryAndConvertibleAndExternalUrls(this,
+				convertible, externalUrls);
+	}
+
+	/**
+	 * factorStreamingUsingConvertibleAndExternalUrls factors a {@link DataToJsonStreamingConverter}
+	 * that writes the convertible as json directly to a writer or stream, in the same way as
+	 * {@link #factorStreamingUsingConvertible(Convertible)}, but with actionLinks for linked data
+	 * created using the provided externalUrls.
+	 * 
+	 * @param convertible
+	 *            The {@link Convertible} to convert
+	 * @param externalUrls
+	 *            The {@link ExternalUrls} to use when creating actionLinks
+	 * @return A DataToJsonStreamingConverter for the convertible
+	 */
+	public DataToJsonStreamingConverter factorStreamingUsingConvertibleAndExternalUrls(
+			Convertible convertible, ExternalUrls externalUrls) {
+		return DataToJsonStreamingConverter.usingConverterFactoryAndConvertibleAndExternalUrls(this,
+				convertible, Optional.of(externalUrls));
+	}
+
+	ParallelListConversion getListConversion() {
+		return listConversion;
+	}
+
+	JsonFragmentCache getFragmentCache() {
+		return fragmentCache;
+	}
+
+	Projection getProjection() {
+		return projection;
+	}
+
+	ConversionMetrics getConversionMetrics() {
+		return conversionMetrics;
+	}
 
-		return factorUsingConvertible(convertible);
+	BasicDataToJsonConverterFactory onlyForTestGetUnmeasuredFactory() {
+		return unmeasuredFactory;
 	}
 
 	public Optional<ExternalUrls> onlyForTestGetExternalUrls() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,19 +18,29 @@
  */
 package se.uu.ub.cora.basicdata.converter.datatojson;
 
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsProvider;
 import se.uu.ub.cora.data.converter.DataToJsonConverterFactory;
 import se.uu.ub.cora.data.converter.DataToJsonConverterFactoryCreator;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
 import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
 
+/**
+ * BasicDataToJsonConverterFactoryCreator creates one {@link BasicDataToJsonConverterFactory} and
+ * returns it from every call to {@link #createFactory()}, as the factory is immutable and thread
+ * safe. The factory reports measurements to the {@link ConversionMetrics} from
+ * {@link ConversionMetricsProvider}.
+ */
 public class BasicDataToJsonConverterFactoryCreator implements DataToJsonConverterFactoryCreator {
 
 	JsonBuilderFactory builderFactory = new OrgJsonBuilderFactoryAdapter();
+	private final BasicDataToJsonConverterFactory factory = BasicDataToJsonConverterFactory
+			.usingBuilderFactory(builderFactory)
+			.withConversionMetrics(ConversionMetricsProvider.getConversionMetrics());
 
 	@Override
 	public DataToJsonConverterFactory createFactory() {
-		return BasicDataToJsonConverterFactory
-				.usingBuilderFactory(builderFactory);
+		return factory;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2023 Uppsala University Library
+ * Copyright 2015, 2019, 2023, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -42,28 +42,40 @@ public final class DataAtomicToJsonConverter implements DataToJsonConverter {
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder() {
+		return convertToJsonObjectBuilder(factory, dataAtomic);
+	}
+
+	/**
+	 * convertToJsonObjectBuilder converts the dataAtomic in the same way as
+	 * {@link #toJsonObjectBuilder()}, without a converter being created for it
+	 */
+	static JsonObjectBuilder convertToJsonObjectBuilder(JsonBuilderFactory factory,
+			DataAtomic dataAtomic) {
 		JsonObjectBuilder jsonObjectBuilder = factory.createObjectBuilder();
 
 		jsonObjectBuilder.addKeyString("name", dataAtomic.getNameInData());
 		jsonObjectBuilder.addKeyString("value", dataAtomic.getValue());
-		possiblyAddRepeatId(jsonObjectBuilder);
-		possiblyAddAttributes(jsonObjectBuilder);
+		possiblyAddRepeatId(jsonObjectBuilder, dataAtomic);
+		possiblyAddAttributes(jsonObjectBuilder, factory, dataAtomic);
 		return jsonObjectBuilder;
 	}
 
-	private void possiblyAddRepeatId(JsonObjectBuilder jsonObjectBuilder) {
+	private static void possiblyAddRepeatId(JsonObjectBuilder jsonObjectBuilder,
+			DataAtomic dataAtomic) {
 		if (dataAtomic.hasRepeatId()) {
 			jsonObjectBuilder.addKeyString("repeatId", dataAtomic.getRepeatId());
 		}
 	}
 
-	private void possiblyAddAttributes(JsonObjectBuilder jsonObjectBuilder) {
+	private static void possiblyAddAttributes(JsonObjectBuilder jsonObjectBuilder,
+			JsonBuilderFactory factory, DataAtomic dataAtomic) {
 		if (dataAtomic.hasAttributes()) {
-			addAttributes(jsonObjectBuilder);
+			addAttributes(jsonObjectBuilder, factory, dataAtomic);
 		}
 	}
 
-	private void addAttributes(JsonObjectBuilder jsonObjectBuilder) {
+	private static void addAttributes(JsonObjectBuilder jsonObjectBuilder,
+			JsonBuilderFactory factory, DataAtomic dataAtomic) {
 		JsonObjectBuilder attributes = factory.createObjectBuilder();
 		for (DataAttribute attribute : dataAtomic.getAttributes()) {
 			attributes.addKeyString(attribute.getNameInData(), attribute.getValue());
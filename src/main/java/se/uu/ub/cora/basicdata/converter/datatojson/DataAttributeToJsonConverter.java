@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 Uppsala University Library
+ * Copyright 2015, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -40,6 +40,15 @@ public final class DataAttributeToJsonConverter implements DataToJsonConverter {
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder() {
+		return convertToJsonObjectBuilder(factory, dataAttribute);
+	}
+
+	/**
+	 * convertToJsonObjectBuilder converts the dataAttribute in the same way as
+	 * {@link #toJsonObjectBuilder()}, without a converter being created for it
+	 */
+	static JsonObjectBuilder convertToJsonObjectBuilder(JsonBuilderFactory factory,
+			DataAttribute dataAttribute) {
 		JsonObjectBuilder jsonObjectBuilder = factory.createObjectBuilder();
 
 		jsonObjectBuilder.addKeyString(dataAttribute.getNameInData(), dataAttribute.getValue());
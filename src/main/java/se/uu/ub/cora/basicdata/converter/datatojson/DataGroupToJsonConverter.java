@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2025 Uppsala University Library
+ * Copyright 2015, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -98,13 +98,29 @@ public class DataGroupToJsonConverter implements DataToJsonConverter {
 	void addChildrenToGroup() {
 		JsonArrayBuilder childrenArray = jsonBuilderFactory.createArrayBuilder();
 		for (DataChild dataElement : dataGroup.getChildren()) {
-			Convertible convertible = (Convertible) dataElement;
-			childrenArray.addJsonObjectBuilder(
-					converterFactory.factorUsingConvertible(convertible).toJsonObjectBuilder());
+			possiblyAddChild(childrenArray, dataElement);
 		}
 		dataGroupJsonObjectBuilder.addKeyJsonArrayBuilder("children", childrenArray);
 	}
 
+	private void possiblyAddChild(JsonArrayBuilder childrenArray, DataChild dataElement) {
+		if (converterFactory instanceof BasicDataToJsonConverterFactory) {
+			possiblyAddChildUsingProjection(childrenArray,
+					(BasicDataToJsonConverterFactory) converterFactory, dataElement);
+		} else {
+			childrenArray.addJsonObjectBuilder(converterFactory
+					.factorUsingConvertible((Convertible) dataElement).toJsonObjectBuilder());
+		}
+	}
+
+	private void possiblyAddChildUsingProjection(JsonArrayBuilder childrenArray,
+			BasicDataToJsonConverterFactory basicFactory, DataChild dataElement) {
+		if (basicFactory.includesChild(dataElement)) {
+			childrenArray.addJsonObjectBuilder(basicFactory.factoryForChild(dataElement)
+					.convertToJsonObjectBuilder((Convertible) dataElement));
+		}
+	}
+
 	@Override
 	public String toJson() {
 		JsonObjectBuilder jsonObjectBuilder = toJsonObjectBuilder();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,6 +19,8 @@
 
 package se.uu.ub.cora.basicdata.converter.datatojson;
 
+import java.util.List;
+
 import se.uu.ub.cora.data.Data;
 import se.uu.ub.cora.data.DataList;
 import se.uu.ub.cora.data.converter.DataToJsonConverter;
@@ -31,6 +33,7 @@ public class DataListToJsonConverter implements DataToJsonConverter {
 	DataToJsonConverterFactory converterFactory;
 	JsonBuilderFactory builderFactory;
 	DataList dataList;
+	ParallelListConversion listConversion;
 	private JsonObjectBuilder dataListBuilder;
 	private JsonArrayBuilder dataBuilder;
 
@@ -40,10 +43,28 @@ public class DataListToJsonConverter implements DataToJsonConverter {
 		return new DataListToJsonConverter(converterFactory, builderFactory, restRecordList);
 	}
 
+	/**
+	 * usingJsonFactoryAndListConversionForDataList creates a converter that converts the entries
+	 * of the list as decided by the listConversion, concurrently if the list is large enough
+	 */
+	public static DataListToJsonConverter usingJsonFactoryAndListConversionForDataList(
+			DataToJsonConverterFactory converterFactory, JsonBuilderFactory builderFactory,
+			ParallelListConversion listConversion, DataList restRecordList) {
+		return new DataListToJsonConverter(converterFactory, builderFactory, listConversion,
+				restRecordList);
+	}
+
 	DataListToJsonConverter(DataToJsonConverterFactory converterFactory,
 			JsonBuilderFactory builderFactory, DataList dataList) {
+		this(converterFactory, builderFactory, ParallelListConversion.sequential(), dataList);
+	}
+
+	DataListToJsonConverter(DataToJsonConverterFactory converterFactory,
+			JsonBuilderFactory builderFactory, ParallelListConversion listConversion,
+			DataList dataList) {
 		this.converterFactory = converterFactory;
 		this.builderFactory = builderFactory;
+		this.listConversion = listConversion;
 		this.dataList = dataList;
 		dataListBuilder = builderFactory.createObjectBuilder();
 	}
@@ -69,13 +90,25 @@ public class DataListToJsonConverter implements DataToJsonConverter {
 	}
 
 	private void addAllRecordsOrGroupsFromListToDataBuilder() {
-		for (Data data : dataList.getDataList()) {
-			DataToJsonConverter dataConverter = converterFactory.factorUsingConvertible(data);
-			JsonObjectBuilder jsonObjectBuilder = dataConverter.toJsonObjectBuilder();
-			dataBuilder.addJsonObjectBuilder(jsonObjectBuilder);
+		List<Data> entries = dataList.getDataList();
+		if (listConversion.shouldConvertInParallel(entries)) {
+			List<JsonObjectBuilder> jsonObjectBuilders = listConversion.convertInOrder(entries,
+					this::convertData);
+			for (JsonObjectBuilder jsonObjectBuilder : jsonObjectBuilders) {
+				dataBuilder.addJsonObjectBuilder(jsonObjectBuilder);
+			}
+		} else {
+			for (Data data : entries) {
+				dataBuilder.addJsonObjectBuilder(convertData(data));
+			}
 		}
 	}
 
+	private JsonObjectBuilder convertData(Data data) {
+		DataToJsonConverter dataConverter = converterFactory.factorUsingConvertible(data);
+		return dataConverter.toJsonObjectBuilder();
+	}
+
 	private JsonObjectBuilder createRootBuilderAndAddDataListBuilder() {
 		JsonObjectBuilder rootWrappingJsonObjectBuilder = builderFactory.createObjectBuilder();
 		rootWrappingJsonObjectBuilder.addKeyJsonObjectBuilder("dataList", dataListBuilder);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021, 2022, 2024, 2025 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2022, 2024, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -21,9 +21,7 @@ package se.uu.ub.cora.basicdata.converter.datatojson;
 import java.util.Optional;
 import java.util.Set;
 
-import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataRecord;
-import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.data.converter.DataToJsonConverter;
 import se.uu.ub.cora.data.converter.DataToJsonConverterFactory;
 import se.uu.ub.cora.data.converter.ExternalUrls;
@@ -96,42 +94,14 @@ public class DataRecordToJsonConverter implements DataToJsonConverter {
 
 	private void possiblyConvertActions() {
 		if (dataRecord.hasActions()) {
-			ActionsConverterData actionsConverterData = collectDataForActions();
-			possiblySetSearchIdFromRecordType(actionsConverterData);
+			ActionsConverterData actionsConverterData = ActionsConverterData
+					.forDataRecord(dataRecord);
 			JsonObjectBuilder jsonObjectBuilder = actionsConverter
 					.toJsonObjectBuilder(actionsConverterData);
 			recordJsonObjectBuilder.addKeyJsonObjectBuilder("actionLinks", jsonObjectBuilder);
 		}
 	}
 
-	private ActionsConverterData collectDataForActions() {
-		ActionsConverterData actionsConverterData = new ActionsConverterData();
-		actionsConverterData.recordType = dataRecord.getType();
-		actionsConverterData.recordId = dataRecord.getId();
-		actionsConverterData.actions.addAll(dataRecord.getActions());
-		return actionsConverterData;
-	}
-
-	private void possiblySetSearchIdFromRecordType(ActionsConverterData actionsConverterData) {
-		if (thisRecordIsRecordType()) {
-			DataRecordGroup dataRecordGroup = dataRecord.getDataRecordGroup();
-			possiblySetSearchRecordIdIfDefinedInDataGroup(actionsConverterData, dataRecordGroup);
-		}
-	}
-
-	private boolean thisRecordIsRecordType() {
-		return "recordType".equals(dataRecord.getType());
-	}
-
-	private void possiblySetSearchRecordIdIfDefinedInDataGroup(
-			ActionsConverterData actionsConverterData, DataRecordGroup dataRecordGroup) {
-		if (dataRecordGroup.containsChildWithNameInData("search")) {
-			DataGroup searchGroup = dataRecordGroup.getFirstGroupWithNameInData("search");
-			actionsConverterData.searchRecordId = searchGroup
-					.getFirstAtomicValueWithNameInData("linkedRecordId");
-		}
-	}
-
 	private void possiblyConvertPermissions() {
 		if (recordHasPermissions()) {
 			convertPermissions();
@@ -0,0 +1,504 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
+import se.uu.ub.cora.data.Action;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.Data;
+import se.uu.ub.cora.data.DataAtomic;
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataList;
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordLink;
+import se.uu.ub.cora.data.DataResourceLink;
+import se.uu.ub.cora.data.converter.ExternalUrls;
+import se.uu.ub.cora.json.builder.JsonObjectBuilder;
+
+/**
+ * DataToJsonStreamingConverter converts a {@link Convertible} to compact json by writing json
+ * tokens directly to a {@link Writer} or {@link OutputStream} while walking the data tree, without
+ * first building a {@link JsonObjectBuilder} tree or a json String.
+ * <p>
+ * The produced json contains the same information as the compact json produced by the
+ * {@link se.uu.ub.cora.data.converter.DataToJsonConverter}s factored by
+ * {@link BasicDataToJsonConverterFactory}, the order of keys within objects can differ.
+ * <p>
+ * The writer or stream used is flushed but not closed when the conversion is done.
+ * <p>
+ * If the factory has a {@link JsonFragmentCache}, the json of frozen groups is taken from the
+ * cache when it is there, and stored in it when it is not.
+ * <p>
+ * If the factory has a {@link Projection}, only the children of groups that the projection
+ * includes are written, and the fragment cache is only used for groups that the projection
+ * includes completely.
+ * <p>
+ * Keys that are the same in all json, such as name and children, are encoded once, and nameInData
+ * is taken quoted and escaped from a shared cache, see {@link JsonStreamWriter}.
+ * <p>
+ * If the factory has enabled {@link ConversionMetrics}, each call to writeTo and
+ * toJsonCompactFormat is measured.
+ */
+public final class DataToJsonStreamingConverter {
+	private static final char[] NAME = JsonStreamWriter.encodeName("name");
+	private static final char[] VALUE = JsonStreamWriter.encodeName("value");
+	private static final char[] CHILDREN = JsonStreamWriter.encodeName("children");
+	private static final char[] ATTRIBUTES = JsonStreamWriter.encodeName("attributes");
+	private static final char[] REPEAT_ID = JsonStreamWriter.encodeName("repeatId");
+	private static final char[] ACTION_LINKS = JsonStreamWriter.encodeName("actionLinks");
+	private static final char[] REL = JsonStreamWriter.encodeName("rel");
+	private static final char[] URL = JsonStreamWriter.encodeName("url");
+	private static final char[] REQUEST_METHOD = JsonStreamWriter.encodeName("requestMethod");
+	private static final char[] ACCEPT = JsonStreamWriter.encodeName("accept");
+	private static final char[] CONTENT_TYPE = JsonStreamWriter.encodeName("contentType");
+	private static final String READ = "read";
+	private static final char[] READ_NAME = JsonStreamWriter.encodeName(READ);
+	private static final String GET = "GET";
+	private static final String APPLICATION_VND_CORA_RECORD_JSON = "application/vnd.cora.record+json";
+
+	private final BasicDataToJsonConverterFactory converterFactory;
+	private final Convertible convertible;
+	private final Optional<ExternalUrls> externalUrls;
+	private JsonStreamWriter json;
+	private Projection projection;
+
+	static DataToJsonStreamingConverter usingConverterFactoryAndConvertibleAndExternalUrls(
+			BasicDataToJsonConverterFactory converterFactory, Convertible convertible,
+			Optional<ExternalUrls> externalUrls) {
+		return new DataToJsonStreamingConverter(converterFactory, convertible, externalUrls);
+	}
+
+	private DataToJsonStreamingConverter(BasicDataToJsonConverterFactory converterFactory,
+			Convertible convertible, Optional<ExternalUrls> externalUrls) {
+		this.converterFactory = converterFactory;
+		this.convertible = convertible;
+		this.externalUrls = externalUrls;
+		projection = converterFactory.getProjection();
+	}
+
+	/**
+	 * writeTo writes the convertible as compact json to the given writer
+	 *
+	 * @param writer
+	 *            A {@link Writer} to write the json to
+	 */
+	public void writeTo(Writer writer) {
+		long startTime = System.nanoTime();
+		writeToWriter(writer);
+		possiblyReportMeasurement(startTime, Measurement.NOT_KNOWN);
+	}
+
+	private void writeToWriter(Writer writer) {
+		json = new JsonStreamWriter(writer);
+		writeConvertible(convertible);
+		json.flush();
+	}
+
+	private void possiblyReportMeasurement(long startTime, long payloadSize) {
+		ConversionMetrics conversionMetrics = converterFactory.getConversionMetrics();
+		if (conversionMetrics.isEnabled()) {
+			long durationInNanos = System.nanoTime() - startTime;
+			conversionMetrics.measured(Measurement.forOperationOnData(MeasuredOperation.TO_JSON,
+					convertible, durationInNanos, payloadSize, conversionMetrics.countsNodes()));
+		}
+	}
+
+	/**
+	 * writeTo writes the convertible as UTF-8 encoded compact json to the given outputStream
+	 *
+	 * @param outputStream
+	 *            An {@link OutputStream} to write the json to
+	 */
+	public void writeTo(OutputStream outputStream) {
+		Writer writer = new BufferedWriter(
+				new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		writeTo(writer);
+	}
+
+	/**
+	 * toJsonCompactFormat returns the convertible as compact json, it is mainly intended for cases
+	 * where a String is needed anyway, as the whole json is held in memory.
+	 *
+	 * @return A String with the convertible as compact json
+	 */
+	public String toJsonCompactFormat() {
+		long startTime = System.nanoTime();
+		String compactJson = writeToString();
+		possiblyReportMeasurement(startTime, compactJson.length());
+		return compactJson;
+	}
+
+	private String writeToString() {
+		StringWriter writer = new StringWriter();
+		writeToWriter(writer);
+		return writer.toString();
+	}
+
+	private void writeConvertible(Convertible convertibleToWrite) {
+		if (convertibleToWrite instanceof DataList) {
+			writeDataList((DataList) convertibleToWrite);
+		} else if (convertibleToWrite instanceof DataRecord) {
+			writeDataRecord((DataRecord) convertibleToWrite);
+		} else if (isDataRecordLinkAndHasBaseUrl(convertibleToWrite)) {
+			writeDataRecordLink((DataRecordLink) convertibleToWrite);
+		} else if (convertibleToWrite instanceof DataResourceLink) {
+			writeDataResourceLink((DataResourceLink) convertibleToWrite);
+		} else if (convertibleToWrite instanceof DataGroup) {
+			writeDataGroup((DataGroup) convertibleToWrite);
+		} else if (convertibleToWrite instanceof DataAtomic) {
+			writeDataAtomic((DataAtomic) convertibleToWrite);
+		} else {
+			writeDataAttribute((DataAttribute) convertibleToWrite);
+		}
+	}
+
+	private boolean isDataRecordLinkAndHasBaseUrl(Convertible convertibleToWrite) {
+		return existsBaseUrl() && convertibleToWrite instanceof DataRecordLink;
+	}
+
+	private boolean existsBaseUrl() {
+		return externalUrls.isPresent() && externalUrls.get().hasBaseUrl();
+	}
+
+	private void writeDataList(DataList dataList) {
+		json.beginObject();
+		json.name("dataList");
+		json.beginObject();
+		json.keyValue("totalNo", dataList.getTotalNumberOfTypeInStorage());
+		json.keyValue("fromNo", dataList.getFromNo());
+		json.keyValue("toNo", dataList.getToNo());
+		json.keyValue("containDataOfType", dataList.getContainDataOfType());
+		json.name("data");
+		json.beginArray();
+		writeDataListEntries(dataList.getDataList());
+		json.endArray();
+		json.endObject();
+		json.endObject();
+	}
+
+	private void writeDataListEntries(List<Data> entries) {
+		ParallelListConversion listConversion = converterFactory.getListConversion();
+		if (listConversion.shouldConvertInParallel(entries)) {
+			List<String> convertedEntries = listConversion.convertInOrder(entries,
+					this::convertEntryToOwnBuffer);
+			for (String convertedEntry : convertedEntries) {
+				json.rawValue(convertedEntry);
+			}
+		} else {
+			for (Data data : entries) {
+				writeConvertible(data);
+			}
+		}
+	}
+
+	private String convertEntryToOwnBuffer(Data data) {
+		return new DataToJsonStreamingConverter(converterFactory, data, externalUrls)
+				.writeToString();
+	}
+
+	private void writeDataRecord(DataRecord dataRecord) {
+		json.beginObject();
+		json.name("record");
+		json.beginObject();
+		json.name("data");
+		writeConvertible(dataRecord.getDataRecordGroup());
+		possiblyWritePermissions(dataRecord);
+		possiblyWriteActions(dataRecord);
+		possiblyWriteIiifProtocol(dataRecord);
+		json.endObject();
+		json.endObject();
+	}
+
+	private void possiblyWritePermissions(DataRecord dataRecord) {
+		if (dataRecord.hasReadPermissions() || dataRecord.hasWritePermissions()) {
+			json.name("permissions");
+			json.beginObject();
+			possiblyWritePermissionArray("read", dataRecord.getReadPermissions());
+			possiblyWritePermissionArray("write", dataRecord.getWritePermissions());
+			json.endObject();
+		}
+	}
+
+	private void possiblyWritePermissionArray(String name, Set<String> permissions) {
+		if (!permissions.isEmpty()) {
+			json.name(name);
+			json.beginArray();
+			for (String permission : permissions) {
+				json.value(permission);
+			}
+			json.endArray();
+		}
+	}
+
+	private void possiblyWriteActions(DataRecord dataRecord) {
+		if (dataRecord.hasActions()) {
+			ActionsConverterData actionsConverterData = ActionsConverterData
+					.forDataRecord(dataRecord);
+			ActionLinkTemplates actionLinkTemplates = converterFactory
+					.getActionLinkTemplates(getBaseUrlOrNull());
+			json.name(ACTION_LINKS);
+			json.beginObject();
+			for (Action action : actionsConverterData.actions) {
+				writeActionLink(actionsConverterData,
+						actionLinkTemplates.getTemplate(actionsConverterData.recordType, action));
+			}
+			json.endObject();
+		}
+	}
+
+	private void writeActionLink(ActionsConverterData actionsConverterData,
+			ActionLinkTemplate template) {
+		json.name(template.rel);
+		json.beginObject();
+		if (template.hasLink()) {
+			json.keyCachedValue(REL, template.rel);
+			json.keyValue(URL, template.url(actionsConverterData));
+			json.keyCachedValue(REQUEST_METHOD, template.requestMethod);
+			json.keyCachedValue(ACCEPT, template.accept);
+			json.keyCachedValue(CONTENT_TYPE, template.contentType);
+			if (template.hasWorkOrderBody) {
+				json.name("body");
+				writeDataGroupWithoutProjection(
+						ActionLinkTemplate.createWorkOrder(actionsConverterData));
+			}
+		}
+		json.endObject();
+	}
+
+	private String getBaseUrlOrNull() {
+		if (externalUrls.isPresent()) {
+			return externalUrls.get().getBaseUrl();
+		}
+		return null;
+	}
+
+	private void possiblyWriteIiifProtocol(DataRecord dataRecord) {
+		if (dataRecord.getProtocols().contains("iiif")) {
+			json.name("otherProtocols");
+			json.beginObject();
+			json.name("iiif");
+			json.beginObject();
+			json.keyValue("server", externalUrls.get().getIfffUrl());
+			json.keyValue("identifier", dataRecord.getId());
+			json.endObject();
+			json.endObject();
+		}
+	}
+
+	private void writeDataGroupWithoutProjection(DataGroup dataGroup) {
+		Projection outerProjection = projection;
+		projection = Projection.all();
+		try {
+			writeDataGroup(dataGroup);
+		} finally {
+			projection = outerProjection;
+		}
+	}
+
+	private void writeDataGroup(DataGroup dataGroup) {
+		JsonFragmentCache fragmentCache = converterFactory.getFragmentCache();
+		if (projection.includesAll() && fragmentCache.canCache(dataGroup)) {
+			json.rawValue(getOrCreateFragment(fragmentCache, dataGroup));
+		} else {
+			writeDataGroupObject(dataGroup);
+		}
+	}
+
+	private String getOrCreateFragment(JsonFragmentCache fragmentCache, DataGroup dataGroup) {
+		String baseUrl = getBaseUrlOrNull();
+		String fragment = fragmentCache.getFragment(dataGroup, baseUrl);
+		if (fragment == null) {
+			fragment = writeDataGroupToOwnBuffer(dataGroup);
+			fragmentCache.putFragment(dataGroup, baseUrl, fragment);
+		}
+		return fragment;
+	}
+
+	private String writeDataGroupToOwnBuffer(DataGroup dataGroup) {
+		JsonStreamWriter outerJson = json;
+		StringWriter buffer = new StringWriter();
+		json = new JsonStreamWriter(buffer);
+		try {
+			writeDataGroupObject(dataGroup);
+		} finally {
+			json = outerJson;
+		}
+		return buffer.toString();
+	}
+
+	private void writeDataGroupObject(DataGroup dataGroup) {
+		json.beginObject();
+		writeGroupContent(dataGroup);
+		json.endObject();
+	}
+
+	private void writeGroupContent(DataGroup dataGroup) {
+		json.keyCachedValue(NAME, dataGroup.getNameInData());
+		possiblyWriteRepeatId(dataGroup);
+		possiblyWriteAttributes(dataGroup);
+		if (dataGroup.hasChildren()) {
+			writeChildren(dataGroup);
+		}
+	}
+
+	private void writeChildren(DataGroup dataGroup) {
+		json.name(CHILDREN);
+		json.beginArray();
+		if (projection.includesAll()) {
+			writeAllChildren(dataGroup);
+		} else {
+			writeChildrenIncludedByProjection(dataGroup);
+		}
+		json.endArray();
+	}
+
+	private void writeAllChildren(DataGroup dataGroup) {
+		for (DataChild child : dataGroup.getChildren()) {
+			writeConvertible(child);
+		}
+	}
+
+	private void writeChildrenIncludedByProjection(DataGroup dataGroup) {
+		Projection groupProjection = projection;
+		try {
+			for (DataChild child : dataGroup.getChildren()) {
+				possiblyWriteChildUsingProjection(groupProjection, child);
+			}
+		} finally {
+			projection = groupProjection;
+		}
+	}
+
+	private void possiblyWriteChildUsingProjection(Projection groupProjection, DataChild child) {
+		Optional<Projection> childProjection = groupProjection.projectionForChild(child);
+		if (childProjection.isPresent()) {
+			projection = childProjection.get();
+			writeConvertible(child);
+		}
+	}
+
+	private void possiblyWriteRepeatId(DataChild dataChild) {
+		if (dataChild.hasRepeatId()) {
+			json.keyValue(REPEAT_ID, dataChild.getRepeatId());
+		}
+	}
+
+	private void possiblyWriteAttributes(DataChild dataChild) {
+		if (dataChild.hasAttributes()) {
+			json.name(ATTRIBUTES);
+			json.beginObject();
+			for (DataAttribute attribute : dataChild.getAttributes()) {
+				json.keyValue(attribute.getNameInData(), attribute.getValue());
+			}
+			json.endObject();
+		}
+	}
+
+	private void writeDataRecordLink(DataRecordLink dataRecordLink) {
+		json.beginObject();
+		writeGroupContent((DataGroup) dataRecordLink);
+		if (dataRecordLink.hasReadAction()) {
+			String recordUrl = externalUrls.get().getBaseUrl()
+					+ dataRecordLink.getLinkedRecordType() + "/"
+					+ dataRecordLink.getLinkedRecordId();
+			writeReadActionLink(recordUrl, APPLICATION_VND_CORA_RECORD_JSON);
+		}
+		json.endObject();
+	}
+
+	private void writeReadActionLink(String url, String accept) {
+		json.name(ACTION_LINKS);
+		json.beginObject();
+		json.name(READ_NAME);
+		json.beginObject();
+		json.keyCachedValue(REL, READ);
+		json.keyValue(URL, url);
+		json.keyCachedValue(REQUEST_METHOD, GET);
+		json.keyCachedValue(ACCEPT, accept);
+		json.endObject();
+		json.endObject();
+	}
+
+	private void writeDataResourceLink(DataResourceLink resourceLink) {
+		json.beginObject();
+		json.keyCachedValue(NAME, resourceLink.getNameInData());
+		writeResourceLinkChildren(resourceLink);
+		possiblyWriteAttributes(resourceLink);
+		possiblyWriteRepeatId(resourceLink);
+		if (resourceLink.hasReadAction()) {
+			String url = externalUrls.get().getBaseUrl() + resourceLink.getType() + "/"
+					+ resourceLink.getId() + "/" + resourceLink.getNameInData();
+			writeReadActionLink(url, resourceLink.getMimeType());
+		}
+		json.endObject();
+	}
+
+	private void writeResourceLinkChildren(DataResourceLink resourceLink) {
+		json.name(CHILDREN);
+		json.beginArray();
+		writeNameValueObject("linkedRecordType", resourceLink.getType());
+		writeNameValueObject("linkedRecordId", resourceLink.getId());
+		writeNameValueObject("mimeType", resourceLink.getMimeType());
+		json.endArray();
+	}
+
+	private void writeNameValueObject(String name, String value) {
+		json.beginObject();
+		json.keyCachedValue(NAME, name);
+		json.keyValue(VALUE, value);
+		json.endObject();
+	}
+
+	private void writeDataAtomic(DataAtomic dataAtomic) {
+		json.beginObject();
+		json.keyCachedValue(NAME, dataAtomic.getNameInData());
+		json.keyValue(VALUE, dataAtomic.getValue());
+		possiblyWriteRepeatId(dataAtomic);
+		possiblyWriteAttributes(dataAtomic);
+		json.endObject();
+	}
+
+	private void writeDataAttribute(DataAttribute dataAttribute) {
+		json.beginObject();
+		json.keyValue(dataAttribute.getNameInData(), dataAttribute.getValue());
+		json.endObject();
+	}
+
+	Convertible onlyForTestGetConvertible() {
+		return convertible;
+	}
+
+	Optional<ExternalUrls> onlyForTestGetExternalUrls() {
+		return externalUrls;
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EscapedStringCache holds strings that are written as json over and over again, such as
+ * nameInData, quoted and escaped, so that writing them is an array copy instead of escaping them
+ * character by character.
+ * <p>
+ * The cache is bounded by the system property
+ * <i>se.uu.ub.cora.basicdata.escapedStringCacheMaxSize</i> (default 10000), when it is full new
+ * strings are quoted and escaped each time they are written.
+ * <p>
+ * This class is thread safe.
+ */
+final class EscapedStringCache {
+	static final String MAX_SIZE_PROPERTY = "se.uu.ub.cora.basicdata.escapedStringCacheMaxSize";
+	static final int DEFAULT_MAX_SIZE = 10000;
+	private static final EscapedStringCache INSTANCE = new EscapedStringCache(
+			Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+
+	private final int maxSize;
+	private final ConcurrentHashMap<String, char[]> quotedStrings = new ConcurrentHashMap<>();
+
+	EscapedStringCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	static EscapedStringCache shared() {
+		return INSTANCE;
+	}
+
+	/**
+	 * getQuoted returns the text quoted and escaped as a json string, the returned array must not
+	 * be changed.
+	 */
+	char[] getQuoted(String text) {
+		char[] quoted = quotedStrings.get(text);
+		if (quoted != null) {
+			return quoted;
+		}
+		return possiblyAddQuoted(text);
+	}
+
+	private char[] possiblyAddQuoted(String text) {
+		char[] quoted = JsonStreamWriter.quote(text).toCharArray();
+		if (quotedStrings.size() >= maxSize) {
+			return quoted;
+		}
+		char[] existing = quotedStrings.putIfAbsent(text, quoted);
+		return existing != null ? existing : quoted;
+	}
+
+	int onlyForTestGetSize() {
+		return quotedStrings.size();
+	}
+}
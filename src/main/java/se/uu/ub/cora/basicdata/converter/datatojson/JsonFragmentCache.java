@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.data.DataGroup;
+
+/**
+ * JsonFragmentCache holds the compact json of frozen groups, so that
+ * {@link DataToJsonStreamingConverter}s can write the json of a group that has been converted
+ * before without walking its children again.
+ * <p>
+ * Only groups that are frozen, see {@link CoraDataGroup#freeze()}, are cached, as they are never
+ * changed. Fragments are looked up by the identity of the group together with the baseUrl used
+ * when converting, as the baseUrl decides the actionLinks of linked data within the group. The
+ * cache holds at most maxNoOfCharacters characters of json, when it is full the least recently
+ * used fragments are removed. Fragments larger than the cache are not stored. The cache holds on
+ * to the groups it has fragments for, until they are removed.
+ * <p>
+ * This class is thread safe.
+ */
+public final class JsonFragmentCache {
+	private static final JsonFragmentCache NONE = new JsonFragmentCache(0);
+	private final long maxNoOfCharacters;
+	private final LinkedHashMap<FragmentKey, String> fragments = new LinkedHashMap<>(16, 0.75f,
+			true);
+	private long noOfCharacters = 0;
+
+	/**
+	 * none returns a JsonFragmentCache that never caches any fragments, this is the default used by
+	 * {@link BasicDataToJsonConverterFactory}.
+	 */
+	public static JsonFragmentCache none() {
+		return NONE;
+	}
+
+	/**
+	 * usingMaxNoOfCharacters returns an empty JsonFragmentCache that holds at most
+	 * maxNoOfCharacters characters of json.
+	 *
+	 * @param maxNoOfCharacters
+	 *            A long with the maximum number of characters of json to hold
+	 * @return A new JsonFragmentCache
+	 */
+	public static JsonFragmentCache usingMaxNoOfCharacters(long maxNoOfCharacters) {
+		return new JsonFragmentCache(maxNoOfCharacters);
+	}
+
+	private JsonFragmentCache(long maxNoOfCharacters) {
+		this.maxNoOfCharacters = maxNoOfCharacters;
+	}
+
+	boolean canCache(DataGroup dataGroup) {
+		return this != NONE && dataGroup instanceof CoraDataGroup
+				&& ((CoraDataGroup) dataGroup).isFrozen();
+	}
+
+	/**
+	 * getFragment returns the json of the group converted using the baseUrl, or null if it is not
+	 * in the cache
+	 */
+	synchronized String getFragment(DataGroup dataGroup, String baseUrl) {
+		return fragments.get(new FragmentKey(dataGroup, baseUrl));
+	}
+
+	synchronized void putFragment(DataGroup dataGroup, String baseUrl, String json) {
+		if (json.length() > maxNoOfCharacters) {
+			return;
+		}
+		String replaced = fragments.put(new FragmentKey(dataGroup, baseUrl), json);
+		if (replaced != null) {
+			noOfCharacters -= replaced.length();
+		}
+		noOfCharacters += json.length();
+		removeLeastRecentlyUsedUntilWithinMax();
+	}
+
+	private void removeLeastRecentlyUsedUntilWithinMax() {
+		Iterator<Entry<FragmentKey, String>> iterator = fragments.entrySet().iterator();
+		while (noOfCharacters > maxNoOfCharacters) {
+			noOfCharacters -= iterator.next().getValue().length();
+			iterator.remove();
+		}
+	}
+
+	synchronized int onlyForTestGetNoOfFragments() {
+		return fragments.size();
+	}
+
+	synchronized long onlyForTestGetNoOfCharacters() {
+		return noOfCharacters;
+	}
+
+	long onlyForTestGetMaxNoOfCharacters() {
+		return maxNoOfCharacters;
+	}
+
+	private static final class FragmentKey {
+		private final DataGroup dataGroup;
+		private final String baseUrl;
+
+		FragmentKey(DataGroup dataGroup, String baseUrl) {
+			this.dataGroup = dataGroup;
+			this.baseUrl = baseUrl;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(dataGroup) + Objects.hashCode(baseUrl);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FragmentKey)) {
+				return false;
+			}
+			FragmentKey other = (FragmentKey) obj;
+			return dataGroup == other.dataGroup && Objects.equals(baseUrl, other.baseUrl);
+		}
+	}
+}
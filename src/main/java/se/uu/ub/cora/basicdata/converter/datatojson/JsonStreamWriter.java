@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+
+/**
+ * JsonStreamWriter writes compact json tokens directly to a {@link Writer}, keeping track of
+ * where separators are needed so that callers only have to open, fill and close objects and
+ * arrays.
+ * <p>
+ * String values that are null are not written, and neither is their key, this matches how the
+ * {@link se.uu.ub.cora.json.builder.JsonObjectBuilder} handles null values.
+ * <p>
+ * Constant names are encoded once with {@link #encodeName(String)} and then written as they are.
+ * Other names, and values written with {@link #cachedValue(String)}, are taken quoted and escaped
+ * from the shared {@link EscapedStringCache}.
+ * <p>
+ * Strings are escaped in the same way as by the
+ * {@link se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter}, so that both produce the
+ * same json. Apart from quote, backslash and control characters, that is "&lt;/" written as
+ * "&lt;\/", and the characters U+0080 to U+009F and U+2000 to U+20FF, such as the line and
+ * paragraph separators, written as unicode escapes.
+ */
+final class JsonStreamWriter {
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final int INITIAL_DEPTH = 16;
+	private final Writer writer;
+	private final EscapedStringCache escapedStrings = EscapedStringCache.shared();
+	private boolean[] hasValueAtDepth = new boolean[INITIAL_DEPTH];
+	private int depth = 0;
+	private boolean nameWritten = false;
+
+	JsonStreamWriter(Writer writer) {
+		this.writer = writer;
+	}
+
+	void beginObject() {
+		prepareForValue();
+		write('{');
+		increaseDepth();
+	}
+
+	void endObject() {
+		depth--;
+		write('}');
+	}
+
+	void beginArray() {
+		prepareForValue();
+		write('[');
+		increaseDepth();
+	}
+
+	void endArray() {
+		depth--;
+		write(']');
+	}
+
+	/**
+	 * encodeName returns the name quoted, escaped and followed by ':', so that a constant name can
+	 * be written with {@link #name(char[])} without escaping it each time it is written
+	 */
+	static char[] encodeName(String name) {
+		return (quote(name) + ":").toCharArray();
+	}
+
+	/**
+	 * quote returns the text quoted and escaped as a json string
+	 */
+	static String quote(String text) {
+		StringBuilder quoted = new StringBuilder(text.length() + 2);
+		quoted.append('"');
+		char previous = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (needsEscaping(c, previous)) {
+				quoted.append(escapeSequence(c));
+			} else {
+				quoted.append(c);
+			}
+			previous = c;
+		}
+		quoted.append('"');
+		return quoted.toString();
+	}
+
+	void name(String name) {
+		writeSeparatorIfNeeded();
+		write(escapedStrings.getQuoted(name));
+		write(':');
+		nameWritten = true;
+	}
+
+	/**
+	 * name writes a name encoded by {@link #encodeName(String)}
+	 */
+	void name(char[] encodedName) {
+		writeSeparatorIfNeeded();
+		write(encodedName);
+		nameWritten = true;
+	}
+
+	void value(String value) {
+		prepareForValue();
+		writeQuoted(value);
+	}
+
+	/**
+	 * cachedValue writes a value that is written over and over again, such as a nameInData, using
+	 * the shared cache of quoted and escaped strings
+	 */
+	void cachedValue(String value) {
+		prepareForValue();
+		write(escapedStrings.getQuoted(value));
+	}
+
+	void keyValue(String key, String value) {
+		if (value != null) {
+			name(key);
+			value(value);
+		}
+	}
+
+	void keyValue(char[] encodedKey, String value) {
+		if (value != null) {
+			name(encodedKey);
+			value(value);
+		}
+	}
+
+	void keyCachedValue(char[] encodedKey, String value) {
+		if (value != null) {
+			name(encodedKey);
+			cachedValue(value);
+		}
+	}
+
+	/**
+	 * rawValue writes an already serialized json value as is, without escaping
+	 */
+	void rawValue(String json) {
+		prepareForValue();
+		write(json);
+	}
+
+	void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw createWriteException(e);
+		}
+	}
+
+	private void prepareForValue() {
+		if (nameWritten) {
+			nameWritten = false;
+		} else {
+			writeSeparatorIfNeeded();
+		}
+	}
+
+	private void writeSeparatorIfNeeded() {
+		if (hasValueAtDepth[depth]) {
+			write(',');
+		}
+		hasValueAtDepth[depth] = true;
+	}
+
+	private void increaseDepth() {
+		depth++;
+		if (depth == hasValueAtDepth.length) {
+			hasValueAtDepth = Arrays.copyOf(hasValueAtDepth, depth * 2);
+		}
+		hasValueAtDepth[depth] = false;
+	}
+
+	private void writeQuoted(String text) {
+		write('"');
+		writeEscaped(text);
+		write('"');
+	}
+
+	private void writeEscaped(String text) {
+		int start = 0;
+		int length = text.length();
+		char previous = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (needsEscaping(c, previous)) {
+				writePart(text, start, i);
+				writeEscapedChar(c);
+				start = i + 1;
+			}
+			previous = c;
+		}
+		writePart(text, start, length);
+	}
+
+	private static boolean needsEscaping(char c, char previous) {
+		return c < 0x20 || c == '"' || c == '\\' || (c == '/' && previous == '<')
+				|| isC1Control(c) || isGeneralPunctuationOrCurrencySymbol(c);
+	}
+
+	private static boolean isC1Control(char c) {
+		return c >= 0x80 && c < 0xA0;
+	}
+
+	private static boolean isGeneralPunctuationOrCurrencySymbol(char c) {
+		return c >= 0x2000 && c < 0x2100;
+	}
+
+	private void writePart(String text, int start, int end) {
+		if (end > start) {
+			try {
+				writer.write(text, start, end - start);
+			} catch (IOException e) {
+				throw createWriteException(e);
+			}
+		}
+	}
+
+	private void writeEscapedChar(char c) {
+		write(escapeSequence(c));
+	}
+
+	private static String escapeSequence(char c) {
+		return switch (c) {
+		case '"' -> "\\\"";
+		case '\\' -> "\\\\";
+		case '/' -> "\\/";
+		case '\n' -> "\\n";
+		case '\r' -> "\\r";
+		case '\t' -> "\\t";
+		case '\b' -> "\\b";
+		case '\f' -> "\\f";
+		default -> unicodeEscape(c);
+		};
+	}
+
+	private static String unicodeEscape(char c) {
+		return "\\u" + HEX[(c >> 12) & 0xF] + HEX[(c >> 8) & 0xF] + HEX[(c >> 4) & 0xF]
+				+ HEX[c & 0xF];
+	}
+
+	private void write(char c) {
+		try {
+			writer.write(c);
+		} catch (IOException e) {
+			throw createWriteException(e);
+		}
+	}
+
+	private void write(char[] chars) {
+		try {
+			writer.write(chars);
+		} catch (IOException e) {
+			throw createWriteException(e);
+		}
+	}
+
+	private void write(String text) {
+		try {
+			writer.write(text);
+		} catch (IOException e) {
+			throw createWriteException(e);
+		}
+	}
+
+	private ConverterException createWriteException(IOException e) {
+		return new ConverterException("Error writing json to stream: " + e.getMessage(), e);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.converter.DataToJsonConverter;
+import se.uu.ub.cora.json.builder.JsonObjectBuilder;
+
+/**
+ * MeasuringDataToJsonConverter reports a {@link Measurement} of each conversion made by the
+ * converter it wraps to {@link ConversionMetrics}.
+ */
+final class MeasuringDataToJsonConverter implements DataToJsonConverter {
+	private final ConversionMetrics conversionMetrics;
+	private final Convertible convertible;
+	private final DataToJsonConverter converter;
+
+	static MeasuringDataToJsonConverter usingMetricsAndConvertibleAndConverter(
+			ConversionMetrics conversionMetrics, Convertible convertible,
+			DataToJsonConverter converter) {
+		return new MeasuringDataToJsonConverter(conversionMetrics, convertible, converter);
+	}
+
+	private MeasuringDataToJsonConverter(ConversionMetrics conversionMetrics,
+			Convertible convertible, DataToJsonConverter converter) {
+		this.conversionMetrics = conversionMetrics;
+		this.convertible = convertible;
+		this.converter = converter;
+	}
+
+	@Override
+	public JsonObjectBuilder toJsonObjectBuilder() {
+		long startTime = System.nanoTime();
+		JsonObjectBuilder jsonObjectBuilder = converter.toJsonObjectBuilder();
+		reportMeasurement(startTime, Measurement.NOT_KNOWN);
+		return jsonObjectBuilder;
+	}
+
+	@Override
+	public String toJson() {
+		long startTime = System.nanoTime();
+		String json = converter.toJson();
+		reportMeasurement(startTime, json.length());
+		return json;
+	}
+
+	@Override
+	public String toJsonCompactFormat() {
+		long startTime = System.nanoTime();
+		String json = converter.toJsonCompactFormat();
+		reportMeasurement(startTime, json.length());
+		return json;
+	}
+
+	private void reportMeasurement(long startTime, long payloadSize) {
+		long durationInNanos = System.nanoTime() - startTime;
+		conversionMetrics.measured(Measurement.forOperationOnData(MeasuredOperation.TO_JSON,
+				convertible, durationInNanos, payloadSize, conversionMetrics.countsNodes()));
+	}
+
+	DataToJsonConverter onlyForTestGetConverter() {
+		return converter;
+	}
+}
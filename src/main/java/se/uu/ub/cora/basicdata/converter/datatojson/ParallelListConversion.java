@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.data.Data;
+
+/**
+ * ParallelListConversion decides if the entries in a {@link se.uu.ub.cora.data.DataList} are
+ * converted one by one, or concurrently in a {@link ForkJoinPool}.
+ * <p>
+ * When converting concurrently the entries are split into one contiguous part per thread, each
+ * part is converted into its own results and the results are returned in the order of the
+ * entries, so the produced json is the same as when converting one by one. Lists with fewer
+ * entries than the threshold are always converted one by one, as the overhead of handing over the
+ * work is then larger than the gain.
+ * <p>
+ * The pool is created when a ParallelListConversion is created and is meant to be shared by all
+ * conversions, its threads are daemon threads that are ended when they have been idle for a
+ * while. The pool is shut down when the ParallelListConversion is closed, conversions that have
+ * started are completed and lists converted after that are converted one by one. This class is
+ * thread safe.
+ */
+public final class ParallelListConversion implements AutoCloseable {
+	static final ParallelListConversion SEQUENTIAL = new ParallelListConversion(Integer.MAX_VALUE,
+			null);
+	private final int threshold;
+	private final ForkJoinPool pool;
+
+	/**
+	 * sequential returns a ParallelListConversion that converts all entries one by one, in the
+	 * calling thread, this is the default used by {@link BasicDataToJsonConverterFactory}.
+	 */
+	public static ParallelListConversion sequential() {
+		return SEQUENTIAL;
+	}
+
+	/**
+	 * usingThresholdAndParallelism returns a ParallelListConversion that converts lists with at
+	 * least threshold entries concurrently using parallelism threads.
+	 *
+	 * @param threshold
+	 *            An int with the least number of entries a list must have to be converted
+	 *            concurrently
+	 * @param parallelism
+	 *            An int with the number of threads to use, must be greater than zero
+	 * @return A ParallelListConversion with its own pool of threads, that is shut down when the
+	 *         ParallelListConversion is closed
+	 */
+	public static ParallelListConversion usingThresholdAndParallelism(int threshold,
+			int parallelism) {
+		return new ParallelListConversion(threshold, new ForkJoinPool(parallelism));
+	}
+
+	private ParallelListConversion(int threshold, ForkJoinPool pool) {
+		this.threshold = threshold;
+		this.pool = pool;
+	}
+
+	boolean shouldConvertInParallel(List<? extends Data> entries) {
+		return pool != null && !pool.isShutdown() && entries.size() >= Math.max(threshold, 2);
+	}
+
+	/**
+	 * convertInOrder converts all entries using the converter and returns the results in the same
+	 * order as the entries, converting concurrently if
+	 * {@link #shouldConvertInParallel(List)} is true for the entries.
+	 */
+	<T> List<T> convertInOrder(List<? extends Data> entries, Function<Data, T> converter) {
+		if (!shouldConvertInParallel(entries)) {
+			return convertPart(entries, converter);
+		}
+		return convertInParts(entries, converter);
+	}
+
+	/**
+	 * convertInParts converts the entries in one part per thread. A part that can not be handed
+	 * over to the pool, as the pool has been shut down, is converted in the calling thread. If the
+	 * conversion of one part fails the conversion of the other parts is cancelled, and the threads
+	 * converting them are interrupted.
+	 */
+	<T> List<T> convertInParts(List<? extends Data> entries, Function<Data, T> converter) {
+		int noOfParts = Math.min(pool.getParallelism(), entries.size());
+		List<Future<List<T>>> parts = new ArrayList<>(noOfParts);
+		try {
+			startConvertingParts(entries, converter, parts, noOfParts);
+			return waitForAllParts(parts, entries.size());
+		} catch (RuntimeException e) {
+			parts.forEach(part -> part.cancel(true));
+			throw e;
+		}
+	}
+
+	private <T> void startConvertingParts(List<? extends Data> entries,
+			Function<Data, T> converter, List<Future<List<T>>> parts, int noOfParts) {
+		for (int i = 0; i < noOfParts; i++) {
+			int from = (int) ((long) entries.size() * i / noOfParts);
+			int to = (int) ((long) entries.size() * (i + 1) / noOfParts);
+			parts.add(startConvertingPart(entries.subList(from, to), converter));
+		}
+	}
+
+	private <T> Future<List<T>> startConvertingPart(List<? extends Data> partEntries,
+			Function<Data, T> converter) {
+		try {
+			return pool.submit(
+					ForkJoinTask.adaptInterruptible(() -> convertPart(partEntries, converter)));
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.completedFuture(convertPart(partEntries, converter));
+		}
+	}
+
+	private <T> List<T> waitForAllParts(List<Future<List<T>>> parts, int noOfResults) {
+		List<T> results = new ArrayList<>(noOfResults);
+		for (Future<List<T>> part : parts) {
+			results.addAll(waitForPart(part));
+		}
+		return results;
+	}
+
+	private static <T> List<T> convertPart(List<? extends Data> entries,
+			Function<Data, T> converter) {
+		List<T> results = new ArrayList<>(entries.size());
+		for (Data entry : entries) {
+			results.add(converter.apply(entry));
+		}
+		return results;
+	}
+
+	private <T> List<T> waitForPart(Future<List<T>> part) {
+		try {
+			return part.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConverterException("Interrupted while converting list in parallel", e);
+		} catch (ExecutionException e) {
+			throw unwrapCause(e);
+		}
+	}
+
+	private RuntimeException unwrapCause(ExecutionException e) {
+		if (e.getCause() instanceof RuntimeException) {
+			return (RuntimeException) e.getCause();
+		}
+		return new ConverterException("Error while converting list in parallel", e);
+	}
+
+	/**
+	 * close shuts down the pool of threads, lists converted after this are converted one by one in
+	 * the calling thread
+	 */
+	@Override
+	public void close() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	int onlyForTestGetThreshold() {
+		return threshold;
+	}
+
+	int onlyForTestGetParallelism() {
+		return pool == null ? 1 : pool.getParallelism();
+	}
+}
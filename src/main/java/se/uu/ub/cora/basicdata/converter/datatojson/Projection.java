@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.basicdata.data.NameInData;
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
+
+/**
+ * Projection decides which parts of a group are converted to json, it is a set of paths of
+ * nameInData separated by "/", such as "recordInfo/id", each with optional attributes that the
+ * last child in the path must have.
+ * <p>
+ * The paths are relative to the group that the projection is used for, that is the top group of a
+ * record. A child is converted if it is on the way to, or is, the last child of a path, and
+ * everything below the last child of a path is converted. Children that are not on any path are
+ * skipped without being traversed.
+ * <p>
+ * A Projection is immutable, adding a path returns a new projection, so one projection can be used
+ * by many threads at the same time.
+ */
+public final class Projection {
+	private static final String PATH_SEPARATOR = "/";
+	private static final Projection ALL = new Projection(null, Collections.emptyMap(), true,
+			Collections.emptyList());
+
+	private final String nameInData;
+	private final Map<String, String> attributes;
+	private final boolean includesAll;
+	private final List<Projection> children;
+
+	/**
+	 * all returns a projection that includes everything, this is the projection used when no other
+	 * projection is set
+	 */
+	public static Projection all() {
+		return ALL;
+	}
+
+	/**
+	 * usingPaths creates a projection that includes the specified paths.
+	 * 
+	 * @param paths
+	 *            Strings with paths of nameInData separated by "/"
+	 * @return A Projection including the paths
+	 */
+	public static Projection usingPaths(String... paths) {
+		Projection projection = new Projection(null, Collections.emptyMap(), false,
+				Collections.emptyList());
+		for (String path : paths) {
+			projection = projection.withPath(path);
+		}
+		return projection;
+	}
+
+	private Projection(String nameInData, Map<String, String> attributes, boolean includesAll,
+			List<Projection> children) {
+		this.nameInData = nameInData;
+		this.attributes = attributes;
+		this.includesAll = includesAll;
+		this.children = children;
+	}
+
+	/**
+	 * withPath returns a new projection that includes the specified path as well as the paths of
+	 * this projection.
+	 * 
+	 * @param path
+	 *            A String with a path of nameInData separated by "/"
+	 * @return A new Projection including the path
+	 */
+	public Projection withPath(String path) {
+		return withPathAndAttributes(path);
+	}
+
+	/**
+	 * withPathAndAttributes returns a new projection that includes the specified path as well as
+	 * the paths of this projection, the last child in the path is only included if it has all the
+	 * specified attributes, it can have other attributes as well.
+	 * 
+	 * @param path
+	 *            A String with a path of nameInData separated by "/"
+	 * @param attributes
+	 *            The {@link DataAttribute}s the last child in the path must have
+	 * @return A new Projection including the path
+	 */
+	public Projection withPathAndAttributes(String path, DataAttribute... attributes) {
+		String[] names = splitPath(path);
+		return withNamesFromIndex(names, 0, toAttributeMap(attributes));
+	}
+
+	private String[] splitPath(String path) {
+		String[] names = path.split(PATH_SEPARATOR, -1);
+		for (String name : names) {
+			if (name.isEmpty()) {
+				throw new ConverterException("Invalid projection path: " + path);
+			}
+		}
+		return names;
+	}
+
+	private Map<String, String> toAttributeMap(DataAttribute... dataAttributes) {
+		Map<String, String> attributeMap = new LinkedHashMap<>();
+		for (DataAttribute attribute : dataAttributes) {
+			attributeMap.put(NameInData.canonicalize(attribute.getNameInData()),
+					attribute.getValue());
+		}
+		return Collections.unmodifiableMap(attributeMap);
+	}
+
+	private Projection withNamesFromIndex(String[] names, int index,
+			Map<String, String> lastAttributes) {
+		if (includesAll) {
+			return this;
+		}
+		boolean isLast = index == names.length - 1;
+		String childName = NameInData.canonicalize(names[index]);
+		Map<String, String> childAttributes = isLast ? lastAttributes : Collections.emptyMap();
+		List<Projection> newChildren = new ArrayList<>(children);
+		int childIndex = indexOfChild(childName, childAttributes);
+		Projection child = childIndex >= 0 ? children.get(childIndex)
+				: new Projection(childName, childAttributes, false, Collections.emptyList());
+		Projection newChild = isLast ? child.includingAll()
+				: child.withNamesFromIndex(names, index + 1, lastAttributes);
+		if (childIndex >= 0) {
+			newChildren.set(childIndex, newChild);
+		} else {
+			newChildren.add(newChild);
+		}
+		return new Projection(nameInData, attributes, false, List.copyOf(newChildren));
+	}
+
+	private int indexOfChild(String childName, Map<String, String> childAttributes) {
+		for (int i = 0; i < children.size(); i++) {
+			Projection child = children.get(i);
+			if (child.nameInData.equals(childName) && child.attributes.equals(childAttributes)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private Projection includingAll() {
+		return new Projection(nameInData, attributes, true, Collections.emptyList());
+	}
+
+	/**
+	 * includesAll returns true if everything below this projection is included
+	 */
+	public boolean includesAll() {
+		return includesAll;
+	}
+
+	/**
+	 * projectionForChild returns the projection to use for the specified child, or an empty
+	 * optional if the child is not included. If more than one path matches the child, the returned
+	 * projection includes everything below the child that any of them includes.
+	 * 
+	 * @param child
+	 *            The {@link DataChild} to get the projection for
+	 * @return An Optional with the Projection for the child, empty if the child is skipped
+	 */
+	public Optional<Projection> projectionForChild(DataChild child) {
+		if (includesAll) {
+			return Optional.of(ALL);
+		}
+		List<Projection> matching = findMatchingChildren(child);
+		if (matching.isEmpty()) {
+			return Optional.empty();
+		}
+		if (matching.size() == 1) {
+			return Optional.of(matching.get(0));
+		}
+		return Optional.of(mergeProjections(matching));
+	}
+
+	private List<Projection> findMatchingChildren(DataChild child) {
+		List<Projection> matching = new ArrayList<>(1);
+		for (Projection projectionChild : children) {
+			if (projectionChild.matches(child)) {
+				matching.add(projectionChild);
+			}
+		}
+		return matching;
+	}
+
+	private boolean matches(DataChild child) {
+		return NameInData.sameName(nameInData, child.getNameInData())
+				&& childHasAllAttributes(child);
+	}
+
+	private boolean childHasAllAttributes(DataChild child) {
+		for (Entry<String, String> attribute : attributes.entrySet()) {
+			Optional<String> value = child.getAttributeValue(attribute.getKey());
+			if (value.isEmpty() || !value.get().equals(attribute.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Projection mergeProjections(List<Projection> projections) {
+		List<Projection> mergedChildren = new ArrayList<>();
+		for (Projection projection : projections) {
+			if (projection.includesAll) {
+				return ALL;
+			}
+			mergedChildren.addAll(projection.children);
+		}
+		return new Projection(null, Collections.emptyMap(), false, mergedChildren);
+	}
+
+	List<Projection> onlyForTestGetChildren() {
+		return children;
+	}
+
+	String onlyForTestGetNameInData() {
+		return nameInData;
+	}
+
+	Map<String, String> onlyForTestGetAttributes() {
+		return attributes;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,9 +18,6 @@
  */
 package se.uu.ub.cora.basicdata.converter.datatojson;
 
-import java.util.List;
-
-import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
 import se.uu.ub.cora.basicdata.data.CoraDataGroup;
 import se.uu.ub.cora.data.Action;
 import se.uu.ub.cora.data.converter.DataToJsonConverter;
@@ -28,194 +25,82 @@ import se.uu.ub.cora.data.converter.DataToJsonConverterFactory;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
 import se.uu.ub.cora.json.builder.JsonObjectBuilder;
 
+/**
+ * RecordActionsToJsonConverterImp converts the actions of a record to action links. The parts of
+ * the links that are the same for all records of a record type are taken from
+ * {@link ActionLinkTemplates}, which are shared between converters when factored by
+ * {@link BasicDataToJsonConverterFactory}.
+ */
 public class RecordActionsToJsonConverterImp implements RecordActionsToJsonConverter {
 
-	private static final String RECORD_TYPE = "recordType";
-	private static final String ACCEPT = "accept";
-	private static final String CONTENT_TYPE = "contentType";
-	private static final String APPLICATION_VND_CORA_RECORD_LIST_JSON = "application/vnd.cora.recordList+json";
-	private static final String APPLICATION_VND_CORA_RECORD_JSON = "application/vnd.cora.record+json";
-	private static final String APPLICATION_VND_CORA_RECORDGROUP_JSON = "application/vnd.cora.recordgroup+json";
-
 	DataToJsonConverterFactory converterFactory;
 	JsonBuilderFactory builderFactory;
 	String baseUrl;
+	ActionLinkTemplates actionLinkTemplates;
 	private JsonObjectBuilder mainBuilder;
-	private List<Action> actions;
-	private String recordType;
-	private String recordId;
-	private String currentLowerCaseAction;
-	private JsonObjectBuilder currentLinkBuilder;
-	private String currentRequestMethod;
-	private String currentUrl;
-	private String currentAccept;
 	private ActionsConverterData actionsConverterData;
 
 	public static RecordActionsToJsonConverterImp usingConverterFactoryAndBuilderFactoryAndBaseUrl(
 			DataToJsonConverterFactory converterFactory, JsonBuilderFactory builderFactory,
 			String baseUrl) {
-		return new RecordActionsToJsonConverterImp(converterFactory, builderFactory, baseUrl);
+		return new RecordActionsToJsonConverterImp(converterFactory, builderFactory,
+				ActionLinkTemplates.usingBaseUrl(baseUrl));
+	}
+
+	static RecordActionsToJsonConverterImp usingConverterFactoryAndBuilderFactoryAndTemplates(
+			DataToJsonConverterFactory converterFactory, JsonBuilderFactory builderFactory,
+			ActionLinkTemplates actionLinkTemplates) {
+		return new RecordActionsToJsonConverterImp(converterFactory, builderFactory,
+				actionLinkTemplates);
 	}
 
 	private RecordActionsToJsonConverterImp(DataToJsonConverterFactory converterFactory,
-			JsonBuilderFactory builderFactory, String baseUrl) {
+			JsonBuilderFactory builderFactory, ActionLinkTemplates actionLinkTemplates) {
 		this.converterFactory = converterFactory;
 		this.builderFactory = builderFactory;
-		this.baseUrl = baseUrl;
+		this.actionLinkTemplates = actionLinkTemplates;
+		this.baseUrl = actionLinkTemplates.getBaseUrl();
 		mainBuilder = builderFactory.createObjectBuilder();
 	}
 
 	@Override
 	public JsonObjectBuilder toJsonObjectBuilder(ActionsConverterData actionsConverterData) {
 		this.actionsConverterData = actionsConverterData;
-		actions = actionsConverterData.actions;
-		recordType = actionsConverterData.recordType;
-		recordId = actionsConverterData.recordId;
-
 		createJsonForActions();
 		return mainBuilder;
 	}
 
 	private void createJsonForActions() {
-		for (Action action : actions) {
-			setStandardForAction(action);
-
-			possiblyCreateActionsForAll(action);
-			possiblyCreateUploadActionForBinaryAndItsChildren(action);
-			possiblyCreateSearchActionForSearchOrRecordType(action);
-			if (RECORD_TYPE.equals(recordType)) {
-				possiblyCreateActionsForRecordType(action);
+		for (Action action : actionsConverterData.actions) {
+			ActionLinkTemplate template = actionLinkTemplates
+					.getTemplate(actionsConverterData.recordType, action);
+			JsonObjectBuilder linkBuilder = builderFactory.createObjectBuilder();
+			mainBuilder.addKeyJsonObjectBuilder(template.rel, linkBuilder);
+			if (template.hasLink()) {
+				addLinkFromTemplate(linkBuilder, template);
 			}
 		}
 	}
 
-	private void setStandardForAction(Action action) {
-		currentLowerCaseAction = action.name().toLowerCase();
-		currentLinkBuilder = builderFactory.createObjectBuilder();
-		currentRequestMethod = "GET";
-		String urlForActionsOnThisRecord = baseUrl + recordType + "/" + recordId;
-		currentUrl = urlForActionsOnThisRecord;
-		currentAccept = APPLICATION_VND_CORA_RECORD_JSON;
-		mainBuilder.addKeyJsonObjectBuilder(currentLowerCaseAction, currentLinkBuilder);
-	}
-
-	private void possiblyCreateActionsForAll(Action action) {
-		if (action == Action.READ) {
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-		} else if (action == Action.UPDATE) {
-			currentRequestMethod = "POST";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
-		} else if (action == Action.READ_INCOMING_LINKS) {
-			currentUrl = currentUrl + "/incomingLinks";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
-		} else if (action == Action.DELETE) {
-			currentRequestMethod = "DELETE";
-			addStandardParametersToCurrentLinkBuilder();
-		} else if (action == Action.INDEX) {
-			currentRequestMethod = "POST";
-			currentUrl = baseUrl + "workOrder/";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
-			createBody();
-		}
-	}
-
-	private void possiblyCreateUploadActionForBinaryAndItsChildren(Action action) {
-		if (action == Action.UPLOAD) {
-			currentRequestMethod = "POST";
-			currentUrl = baseUrl + recordType + "/" + recordId + "/master";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, "multipart/form-data");
-		}
-	}
-
-	private void possiblyCreateSearchActionForSearchOrRecordType(Action action) {
-		if (action == Action.SEARCH) {
-			String searchIdOrRecordId = setSearchRecordId();
-			currentUrl = baseUrl + "searchResult/" + searchIdOrRecordId;
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, APPLICATION_VND_CORA_RECORD_LIST_JSON);
+	private void addLinkFromTemplate(JsonObjectBuilder linkBuilder, ActionLinkTemplate template) {
+		linkBuilder.addKeyString("rel", template.rel);
+		linkBuilder.addKeyString("url", template.url(actionsConverterData));
+		linkBuilder.addKeyString("requestMethod", template.requestMethod);
+		if (template.accept != null) {
+			linkBuilder.addKeyString("accept", template.accept);
 		}
-	}
-
-	private String setSearchRecordId() {
-		if (searchIdIsSpecifiedOnThisRecord()) {
-			return actionsConverterData.searchRecordId;
+		if (template.contentType != null) {
+			linkBuilder.addKeyString("contentType", template.contentType);
 		}
-		return recordId;
-	}
-
-	private boolean searchIdIsSpecifiedOnThisRecord() {
-		return actionsConverterData.searchRecordId != null;
-	}
-
-	private void possiblyCreateActionsForRecordType(Action action) {
-		if (action == Action.CREATE) {
-			currentRequestMethod = "POST";
-			String urlForRecordTypeActions = baseUrl + recordId + "/";
-			currentUrl = urlForRecordTypeActions;
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORDGROUP_JSON);
-		} else if (action == Action.LIST) {
-			currentRequestMethod = "GET";
-			String urlForRecordTypeActions = baseUrl + recordId + "/";
-			currentUrl = urlForRecordTypeActions;
-			currentAccept = APPLICATION_VND_CORA_RECORD_LIST_JSON;
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-		} else if (action == Action.BATCH_INDEX) {
-			currentRequestMethod = "POST";
-			currentUrl = baseUrl + "index/" + recordId + "/";
-			addStandardParametersToCurrentLinkBuilder();
-			currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-			currentLinkBuilder.addKeyString(CONTENT_TYPE, APPLICATION_VND_CORA_RECORD_JSON);
-		} else if (action == Action.VALIDATE) {
-			createActionLinkForValidate();
+		if (template.hasWorkOrderBody) {
+			linkBuilder.addKeyJsonObjectBuilder("body", convertBody());
 		}
 	}
 
-	private void createActionLinkForValidate() {
-		currentRequestMethod = "POST";
-		currentUrl = baseUrl + "workOrder/";
-		addStandardParametersToCurrentLinkBuilder();
-		currentLinkBuilder.addKeyString(ACCEPT, currentAccept);
-		currentLinkBuilder.addKeyString(CONTENT_TYPE, "application/vnd.cora.workorder+json");
-	}
-
-	private void createBody() {
-		JsonObjectBuilder workOrderBuilder = convertBody();
-		currentLinkBuilder.addKeyJsonObjectBuilder("body", workOrderBuilder);
-	}
-
 	private JsonObjectBuilder convertBody() {
-		CoraDataGroup workOrder = createWorkOrderDataGroup();
+		CoraDataGroup workOrder = ActionLinkTemplate.createWorkOrder(actionsConverterData);
 		DataToJsonConverter workOrderConverter = converterFactory.factorUsingConvertible(workOrder);
 		return workOrderConverter.toJsonObjectBuilder();
 	}
 
-	private CoraDataGroup createWorkOrderDataGroup() {
-		CoraDataGroup workOrder = CoraDataGroup.withNameInData("workOrder");
-		CoraDataGroup recordTypeGroup = CoraDataGroup.withNameInData(RECORD_TYPE);
-		recordTypeGroup
-				.addChild(CoraDataAtomic.withNameInDataAndValue("linkedRecordType", RECORD_TYPE));
-		recordTypeGroup
-				.addChild(CoraDataAtomic.withNameInDataAndValue("linkedRecordId", recordType));
-		workOrder.addChild(recordTypeGroup);
-		workOrder.addChild(CoraDataAtomic.withNameInDataAndValue("recordId", recordId));
-		workOrder.addChild(CoraDataAtomic.withNameInDataAndValue("type", "index"));
-		return workOrder;
-	}
-
-	private void addStandardParametersToCurrentLinkBuilder() {
-		currentLinkBuilder.addKeyString("rel", currentLowerCaseAction);
-		currentLinkBuilder.addKeyString("url", currentUrl);
-		currentLinkBuilder.addKeyString("requestMethod", currentRequestMethod);
-	}
-
 }
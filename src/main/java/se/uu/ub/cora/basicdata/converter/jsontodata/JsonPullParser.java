@@ -0,0 +1,344 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.jsontodata;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+/**
+ * JsonPullParser reads json from a {@link Reader} one token at a time, without building any tree
+ * of the parsed json. The caller pulls tokens in document order using {@link #peek()} and the
+ * matching begin, end and next methods.
+ * <p>
+ * Numbers, booleans and null are returned as {@link Token#LITERAL} tokens, as Cora data only
+ * contains string values they are never converted.
+ */
+final class JsonPullParser {
+	enum Token {
+		BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, LITERAL, END_DOCUMENT
+	}
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final int INITIAL_STACK_SIZE = 32;
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_OBJECT = 2;
+	private static final int NONEMPTY_OBJECT = 3;
+	private static final int DANGLING_NAME = 4;
+	private static final int EMPTY_ARRAY = 5;
+	private static final int NONEMPTY_ARRAY = 6;
+	private static final int END_OF_INPUT = -1;
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position = 0;
+	private int limit = 0;
+	private long charsBeforeBuffer = 0;
+	private int[] stack = new int[INITIAL_STACK_SIZE];
+	private int stackSize = 1;
+	private Token peeked;
+	private String peekedText;
+	private final StringBuilder textBuilder = new StringBuilder();
+
+	JsonPullParser(Reader reader) {
+		this.reader = reader;
+		stack[0] = EMPTY_DOCUMENT;
+	}
+
+	Token peek() {
+		if (peeked == null) {
+			peeked = readNextToken();
+		}
+		return peeked;
+	}
+
+	boolean hasNext() {
+		Token token = peek();
+		return token != Token.END_OBJECT && token != Token.END_ARRAY
+				&& token != Token.END_DOCUMENT;
+	}
+
+	void beginObject() {
+		consume(Token.BEGIN_OBJECT);
+	}
+
+	void endObject() {
+		consume(Token.END_OBJECT);
+	}
+
+	void beginArray() {
+		consume(Token.BEGIN_ARRAY);
+	}
+
+	void endArray() {
+		consume(Token.END_ARRAY);
+	}
+
+	void endDocument() {
+		consume(Token.END_DOCUMENT);
+	}
+
+	String nextName() {
+		consume(Token.NAME);
+		return peekedText;
+	}
+
+	String nextString() {
+		consume(Token.STRING);
+		return peekedText;
+	}
+
+	/**
+	 * skipValue skips the next value including all its nested values
+	 */
+	void skipValue() {
+		int depth = 0;
+		do {
+			Token token = peek();
+			peeked = null;
+			if (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+				depth++;
+			} else if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+				depth--;
+			} else if (token == Token.END_DOCUMENT) {
+				throw createParseException("Unexpected end of json");
+			}
+		} while (depth > 0);
+	}
+
+	private void consume(Token expected) {
+		Token token = peek();
+		if (token != expected) {
+			throw createParseException("Expected " + expected + " but found " + token);
+		}
+		peeked = null;
+	}
+
+	private Token readNextToken() {
+		int context = stack[stackSize - 1];
+		return switch (context) {
+		case EMPTY_DOCUMENT -> readFirstValueInDocument();
+		case NONEMPTY_DOCUMENT -> readEndOfDocument();
+		case EMPTY_OBJECT, NONEMPTY_OBJECT -> readNameOrEndOfObject(context);
+		case DANGLING_NAME -> readValueAfterName();
+		default -> readValueOrEndOfArray(context);
+		};
+	}
+
+	private Token readFirstValueInDocument() {
+		stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+		return readValue(nextNonWhitespace());
+	}
+
+	private Token readEndOfDocument() {
+		int c = nextNonWhitespace();
+		if (c != END_OF_INPUT) {
+			throw createParseException("Unexpected content after end of json");
+		}
+		return Token.END_DOCUMENT;
+	}
+
+	private Token readNameOrEndOfObject(int context) {
+		int c = nextNonWhitespace();
+		if (c == '}') {
+			stackSize--;
+			return Token.END_OBJECT;
+		}
+		if (context == NONEMPTY_OBJECT) {
+			if (c != ',') {
+				throw createParseException("Expected , or } in object");
+			}
+			c = nextNonWhitespace();
+		}
+		if (c != '"') {
+			throw createParseException("Expected name in object");
+		}
+		peekedText = readString();
+		stack[stackSize - 1] = DANGLING_NAME;
+		return Token.NAME;
+	}
+
+	private Token readValueAfterName() {
+		if (nextNonWhitespace() != ':') {
+			throw createParseException("Expected : after name");
+		}
+		stack[stackSize - 1] = NONEMPTY_OBJECT;
+		return readValue(nextNonWhitespace());
+	}
+
+	private Token readValueOrEndOfArray(int context) {
+		int c = nextNonWhitespace();
+		if (c == ']') {
+			stackSize--;
+			return Token.END_ARRAY;
+		}
+		if (context == NONEMPTY_ARRAY) {
+			if (c != ',') {
+				throw createParseException("Expected , or ] in array");
+			}
+			c = nextNonWhitespace();
+		}
+		stack[stackSize - 1] = NONEMPTY_ARRAY;
+		return readValue(c);
+	}
+
+	private Token readValue(int c) {
+		switch (c) {
+		case '{':
+			push(EMPTY_OBJECT);
+			return Token.BEGIN_OBJECT;
+		case '[':
+			push(EMPTY_ARRAY);
+			return Token.BEGIN_ARRAY;
+		case '"':
+			peekedText = readString();
+			return Token.STRING;
+		case END_OF_INPUT:
+			throw createParseException("Unexpected end of json");
+		default:
+			return readLiteral(c);
+		}
+	}
+
+	private void push(int context) {
+		if (stackSize == stack.length) {
+			stack = Arrays.copyOf(stack, stackSize * 2);
+		}
+		stack[stackSize] = context;
+		stackSize++;
+	}
+
+	private Token readLiteral(int first) {
+		if (!isLiteralChar(first)) {
+			throw createParseException("Unexpected character '" + (char) first + "'");
+		}
+		textBuilder.setLength(0);
+		textBuilder.append((char) first);
+		while (ensureBuffer() && isLiteralChar(buffer[position])) {
+			textBuilder.append(buffer[position]);
+			position++;
+		}
+		peekedText = textBuilder.toString();
+		return Token.LITERAL;
+	}
+
+	private boolean isLiteralChar(int c) {
+		return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '+'
+				|| c == '.' || c == 'E';
+	}
+
+	private String readString() {
+		textBuilder.setLength(0);
+		while (true) {
+			int start = position;
+			while (position < limit) {
+				char c = buffer[position];
+				if (c == '"') {
+					textBuilder.append(buffer, start, position - start);
+					position++;
+					return textBuilder.toString();
+				}
+				if (c == '\\') {
+					textBuilder.append(buffer, start, position - start);
+					position++;
+					textBuilder.append(readEscapedChar());
+					start = position;
+				} else {
+					position++;
+				}
+			}
+			textBuilder.append(buffer, start, position - start);
+			if (!fillBuffer()) {
+				throw createParseException("Unterminated string");
+			}
+		}
+	}
+
+	private char readEscapedChar() {
+		int c = nextChar();
+		return switch (c) {
+		case '"', '\\', '/' -> (char) c;
+		case 'n' -> '\n';
+		case 't' -> '\t';
+		case 'r' -> '\r';
+		case 'b' -> '\b';
+		case 'f' -> '\f';
+		case 'u' -> readUnicodeEscape();
+		default -> throw createParseException("Invalid escape sequence");
+		};
+	}
+
+	private char readUnicodeEscape() {
+		int value = 0;
+		for (int i = 0; i < 4; i++) {
+			int digit = Character.digit(nextChar(), 16);
+			if (digit == -1) {
+				throw createParseException("Invalid unicode escape sequence");
+			}
+			value = (value << 4) + digit;
+		}
+		return (char) value;
+	}
+
+	private int nextChar() {
+		if (!ensureBuffer()) {
+			throw createParseException("Unexpected end of json");
+		}
+		return buffer[position++];
+	}
+
+	private int nextNonWhitespace() {
+		while (ensureBuffer()) {
+			char c = buffer[position++];
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+				return c;
+			}
+		}
+		return END_OF_INPUT;
+	}
+
+	private boolean ensureBuffer() {
+		return position < limit || fillBuffer();
+	}
+
+	private boolean fillBuffer() {
+		charsBeforeBuffer += limit;
+		position = 0;
+		limit = 0;
+		try {
+			int read = reader.read(buffer, 0, BUFFER_SIZE);
+			if (read > 0) {
+				limit = read;
+				return true;
+			}
+			return false;
+		} catch (IOException e) {
+			throw new JsonParseException("Error reading json: " + e.getMessage(), e);
+		}
+	}
+
+	private JsonParseException createParseException(String message) {
+		long errorPosition = charsBeforeBuffer + position;
+		return new JsonParseException(
+				"Error parsing json: " + message + " at position " + errorPosition);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2022 Uppsala University Library
+ * Copyright 2015, 2019, 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -22,6 +22,7 @@ package se.uu.ub.cora.basicdata.converter.jsontodata;
 import java.util.Map.Entry;
 
 import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.NameInData;
 import se.uu.ub.cora.data.Convertible;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.converter.JsonToDataConverter;
@@ -49,79 +50,86 @@ public final class JsonToDataAtomicConverter implements JsonToDataConverter {
 
 	@Override
 	public Convertible toInstance() {
+		return convert(jsonObject);
+	}
+
+	static CoraDataAtomic convert(JsonObject jsonObject) {
 		try {
-			return tryToInstantiate();
+			return tryToInstantiate(jsonObject);
 		} catch (Exception e) {
 			throw new JsonParseException("Error parsing jsonObject: " + e.getMessage(), e);
 		}
 	}
 
-	private Convertible tryToInstantiate() {
-		validateJsonData();
-		return convertJsonToDataAtomic();
+	private static CoraDataAtomic tryToInstantiate(JsonObject jsonObject) {
+		validateJsonData(jsonObject);
+		return convertJsonToDataAtomic(jsonObject);
 	}
 
-	private void validateJsonData() {
-		validateNameInData();
-		validateValue();
-		validateOptionalKeys();
-		validateNoExtraElements();
+	private static void validateJsonData(JsonObject jsonObject) {
+		validateNameInData(jsonObject);
+		validateValue(jsonObject);
+		validateOptionalKeys(jsonObject);
+		validateNoExtraElements(jsonObject);
 	}
 
-	private void validateNameInData() {
-		if (keyMissingOrNotStringValueInJsonObject(NAME)) {
+	private static void validateNameInData(JsonObject jsonObject) {
+		if (keyMissingOrNotStringValueInJsonObject(jsonObject, NAME)) {
 			throw new JsonParseException("Value of atomic data name must contain a String");
 		}
 	}
 
-	private boolean keyMissingOrNotStringValueInJsonObject(String key) {
+	private static boolean keyMissingOrNotStringValueInJsonObject(JsonObject jsonObject,
+			String key) {
 		return !jsonObject.containsKey(key) || !(jsonObject.getValue(key) instanceof JsonString);
 	}
 
-	private void validateValue() {
-		if (keyMissingOrNotStringValueInJsonObject(VALUE)) {
+	private static void validateValue(JsonObject jsonObject) {
+		if (keyMissingOrNotStringValueInJsonObject(jsonObject, VALUE)) {
 			throw new JsonParseException("Value of atomic data value must contain a String");
 		}
 	}
 
-	private void validateOptionalKeys() {
-		if (oneOptionalKeyButRepeatIdAndAttributesMissing()
-				|| maxOptionalKeysButRepeatIdOrAttributesMissing()) {
+	private static void validateOptionalKeys(JsonObject jsonObject) {
+		if (oneOptionalKeyButRepeatIdAndAttributesMissing(jsonObject)
+				|| maxOptionalKeysButRepeatIdOrAttributesMissing(jsonObject)) {
 			throw new JsonParseException(
 					"Atomic data can only contain string value for name, value, repeatId and attributes");
 		}
 	}
 
-	private boolean oneOptionalKeyButRepeatIdAndAttributesMissing() {
+	private static boolean oneOptionalKeyButRepeatIdAndAttributesMissing(JsonObject jsonObject) {
 		return jsonObject.keySet().size() == ONE_OPTIONAL_KEY_PRESENT
-				&& keyMissingOrNotStringValueInJsonObject(REPEAT_ID) && !hasAttributes();
+				&& keyMissingOrNotStringValueInJsonObject(jsonObject, REPEAT_ID)
+				&& !hasAttributes(jsonObject);
 	}
 
-	private boolean maxOptionalKeysButRepeatIdOrAttributesMissing() {
+	private static boolean maxOptionalKeysButRepeatIdOrAttributesMissing(JsonObject jsonObject) {
 		return jsonObject.keySet().size() == ALLOWED_MAX_NO_OF_ELEMENTS_AT_TOP_LEVEL
-				&& (keyMissingOrNotStringValueInJsonObject(REPEAT_ID) || !hasAttributes());
+				&& (keyMissingOrNotStringValueInJsonObject(jsonObject, REPEAT_ID)
+						|| !hasAttributes(jsonObject));
 	}
 
-	private boolean hasAttributes() {
+	private static boolean hasAttributes(JsonObject jsonObject) {
 		return jsonObject.containsKey(ATTRIBUTES);
 	}
 
-	private void validateNoExtraElements() {
+	private static void validateNoExtraElements(JsonObject jsonObject) {
 		if (jsonObject.keySet().size() > ALLOWED_MAX_NO_OF_ELEMENTS_AT_TOP_LEVEL) {
 			throw new JsonParseException("Atomic data can only contain name, value and repeatId");
 		}
 	}
 
-	private CoraDataAtomic convertJsonToDataAtomic() {
-		CoraDataAtomic dataAtomic = createFromJsonWithNameInDataAndValue();
-		addRepeatIdFromJson(dataAtomic);
-		possiblyAddAttributes(dataAtomic);
+	private static CoraDataAtomic convertJsonToDataAtomic(JsonObject jsonObject) {
+		CoraDataAtomic dataAtomic = createFromJsonWithNameInDataAndValue(jsonObject);
+		addRepeatIdFromJson(jsonObject, dataAtomic);
+		possiblyAddAttributes(jsonObject, dataAtomic);
 		return dataAtomic;
 	}
 
-	private CoraDataAtomic createFromJsonWithNameInDataAndValue() {
-		String nameInData = getStringFromJson(NAME);
-		String value = getStringFromJson(VALUE);
+	private static CoraDataAtomic createFromJsonWithNameInDataAndValue(JsonObject jsonObject) {
+		String nameInData = NameInData.canonicalize(getStringFromJson(jsonObject, NAME));
+		String value = getStringFromJson(jsonObject, VALUE);
 		if (value.isEmpty() || value.isBlank()) {
 			throw new JsonParseException("Atomic data with nameInData: " + nameInData
 					+ " has no value. " + "Empty values are not allowed.");
@@ -129,18 +137,18 @@ public final class JsonToDataAtomicConverter implements JsonToDataConverter {
 		return CoraDataAtomic.withNameInDataAndValue(nameInData, value);
 	}
 
-	private String getStringFromJson(String key) {
+	private static String getStringFromJson(JsonObject jsonObject, String key) {
 		return jsonObject.getValueAsJsonString(key).getStringValue();
 	}
 
-	private void addRepeatIdFromJson(CoraDataAtomic dataAtomic) {
+	private static void addRepeatIdFromJson(JsonObject jsonObject, CoraDataAtomic dataAtomic) {
 		if (jsonObject.containsKey(REPEAT_ID)) {
 			dataAtomic.setRepeatId(jsonObject.getValueAsJsonString(REPEAT_ID).getStringValue());
 		}
 	}
 
-	private void possiblyAddAttributes(DataChild dataAtomic) {
-		if (hasAttributes()) {
+	private static void possiblyAddAttributes(JsonObject jsonObject, DataChild dataAtomic) {
+		if (hasAttributes(jsonObject)) {
 			JsonObject attributes = jsonObject.getValueAsJsonObject(ATTRIBUTES);
 			for (Entry<String, JsonValue> attributeEntry : attributes.entrySet()) {
 				addAttributeToGroup(dataAtomic, attributeEntry);
@@ -148,9 +156,10 @@ public final class JsonToDataAtomicConverter implements JsonToDataConverter {
 		}
 	}
 
-	private void addAttributeToGroup(DataChild dataAtomic,
+	private static void addAttributeToGroup(DataChild dataAtomic,
 			Entry<String, JsonValue> attributeEntry) {
 		String value = ((JsonString) attributeEntry.getValue()).getStringValue();
-		dataAtomic.addAttributeByIdWithValue(attributeEntry.getKey(), value);
+		dataAtomic.addAttributeByIdWithValue(NameInData.canonicalize(attributeEntry.getKey()),
+				value);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019 Uppsala University Library
+ * Copyright 2015, 2019, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -20,6 +20,7 @@
 package se.uu.ub.cora.basicdata.converter.jsontodata;
 
 import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.NameInData;
 import se.uu.ub.cora.data.Convertible;
 import se.uu.ub.cora.data.converter.JsonToDataConverter;
 import se.uu.ub.cora.json.parser.JsonObject;
@@ -41,37 +42,42 @@ public final class JsonToDataAttributeConverter implements JsonToDataConverter {
 
 	@Override
 	public Convertible toInstance() {
+		return convert(jsonObject);
+	}
+
+	static CoraDataAttribute convert(JsonObject jsonObject) {
 		try {
-			return tryToInstantiate();
+			return tryToInstantiate(jsonObject);
 		} catch (Exception e) {
 			throw new JsonParseException("Error parsing jsonObject: " + e.getMessage(), e);
 		}
 	}
 
-	private Convertible tryToInstantiate() {
-		validateJsonData();
-		String nameInData = getNameInDataFromJsonObject();
+	private static CoraDataAttribute tryToInstantiate(JsonObject jsonObject) {
+		validateJsonData(jsonObject);
+		String nameInData = getNameInDataFromJsonObject(jsonObject);
 		JsonString value = (JsonString) jsonObject.getValue(nameInData);
-		return CoraDataAttribute.withNameInDataAndValue(nameInData, value.getStringValue());
+		return CoraDataAttribute.withNameInDataAndValue(NameInData.canonicalize(nameInData),
+				value.getStringValue());
 	}
 
-	private String getNameInDataFromJsonObject() {
+	private static String getNameInDataFromJsonObject(JsonObject jsonObject) {
 		return jsonObject.keySet().iterator().next();
 	}
 
-	private void validateJsonData() {
-		validateOnlyOneKeyValuePairAtTopLevel();
-		validateNameInDataValueIsString();
+	private static void validateJsonData(JsonObject jsonObject) {
+		validateOnlyOneKeyValuePairAtTopLevel(jsonObject);
+		validateNameInDataValueIsString(jsonObject);
 	}
 
-	private void validateOnlyOneKeyValuePairAtTopLevel() {
+	private static void validateOnlyOneKeyValuePairAtTopLevel(JsonObject jsonObject) {
 		if (jsonObject.size() != 1) {
 			throw new JsonParseException("Attribute data can only contain one key value pair");
 		}
 	}
 
-	private void validateNameInDataValueIsString() {
-		String nameInData = getNameInDataFromJsonObject();
+	private static void validateNameInDataValueIsString(JsonObject jsonObject) {
+		String nameInData = getNameInDataFromJsonObject(jsonObject);
 		JsonValue value = jsonObject.getValue(nameInData);
 		if (!(value instanceof JsonString)) {
 			throw new JsonParseException(
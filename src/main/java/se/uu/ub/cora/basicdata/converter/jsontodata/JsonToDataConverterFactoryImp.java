@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2022, 2025 Uppsala University Library
+ * Copyright 2015, 2022, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,25 +19,84 @@
 
 package se.uu.ub.cora.basicdata.converter.jsontodata;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsProvider;
+import se.uu.ub.cora.data.Convertible;
 import se.uu.ub.cora.data.converter.JsonToDataConverter;
 import se.uu.ub.cora.data.converter.JsonToDataConverterFactory;
-import se.uu.ub.cora.json.parser.JsonArray;
 import se.uu.ub.cora.json.parser.JsonObject;
 import se.uu.ub.cora.json.parser.JsonParseException;
 import se.uu.ub.cora.json.parser.JsonValue;
 
+/**
+ * JsonToDataConverterFactoryImp factors converters from json to basicdata.
+ * <p>
+ * Factories created with the public constructor, or with
+ * {@link #withGroupChildrenConvertedOnFirstUse()}, report measurements of the conversions made by
+ * the converters they factor to the {@link ConversionMetrics} from
+ * {@link ConversionMetricsProvider}, if it is enabled, see also
+ * {@link #withConversionMetrics(ConversionMetrics)}.
+ */
 public class JsonToDataConverterFactoryImp implements JsonToDataConverterFactory {
+	private final boolean groupChildrenConvertedOnFirstUse;
+	private final ConversionMetrics conversionMetrics;
+
+	public JsonToDataConverterFactoryImp() {
+		this(false, ConversionMetricsProvider.getConversionMetrics());
+	}
 
-	private static final int NUM_OF_RECORDLINK_CHILDREN = 2;
-	private static final int NUM_OF_RECORDLINK_CHILDREN_ONE_OPTIONAL = 3;
-	private static final int MAX_NUM_OF_RECORDLINK_CHILDREN = 4;
-	private static final int NUM_OF_RESOURCELINK_CHILDREN = 3;
+	private JsonToDataConverterFactoryImp(boolean groupChildrenConvertedOnFirstUse,
+			ConversionMetrics conversionMetrics) {
+		this.groupChildrenConvertedOnFirstUse = groupChildrenConvertedOnFirstUse;
+		this.conversionMetrics = conversionMetrics;
+	}
+
+	/**
+	 * withGroupChildrenConvertedOnFirstUse returns a factory whose converters for
+	 * {@link JsonObject}s create groups that keep their json children and convert them the first
+	 * time the children of the group are used, see addChildrenOnFirstUse in
+	 * {@link se.uu.ub.cora.basicdata.data.CoraDataGroup}. Each level is converted on its own, so
+	 * reading a few children of one group only converts the children of that group and of the
+	 * groups above it.
+	 * <p>
+	 * The name, repeatId and attributes of a group, and that it has at least one child, are
+	 * validated when the group is created, errors in the children are thrown as a
+	 * {@link JsonParseException} when the children are first used. The json objects must not be
+	 * changed until then.
+	 * 
+	 * @return A JsonToDataConverterFactoryImp that converts the children of groups on first use
+	 */
+	public static JsonToDataConverterFactoryImp withGroupChildrenConvertedOnFirstUse() {
+		return new JsonToDataConverterFactoryImp(true,
+				ConversionMetricsProvider.getConversionMetrics());
+	}
+
+	/**
+	 * withConversionMetrics returns a new factory that factors converters in the same way as this
+	 * factory, but that reports measurements of their conversions to the provided
+	 * conversionMetrics, if it is enabled.
+	 * 
+	 * @param conversionMetrics
+	 *            The {@link ConversionMetrics} to report measurements to
+	 * @return A new JsonToDataConverterFactoryImp using the conversionMetrics
+	 */
+	public JsonToDataConverterFactoryImp withConversionMetrics(
+			ConversionMetrics conversionMetrics) {
+		return new JsonToDataConverterFactoryImp(groupChildrenConvertedOnFirstUse,
+				conversionMetrics);
+	}
 
 	@Override
 	public JsonToDataConverter createForJsonObject(JsonValue jsonValue) {
+		if (conversionMetrics.isEnabled()) {
+			return MeasuringJsonToDataConverter.usingMetricsAndConverter(conversionMetrics,
+					withoutConversionMetrics().createForJsonObject(jsonValue));
+		}
 		if (!(jsonValue instanceof JsonObject)) {
 			throw new JsonParseException("Json value is not an object, can not convert");
 		}
@@ -51,25 +110,83 @@ public class JsonToDataConverterFactoryImp implements JsonToDataConverterFactory
 		return JsonToDataAttributeConverter.forJsonObject(jsonObject);
 	}
 
+	/**
+	 * convertJsonObject converts the given json object directly into data, without creating
+	 * converters for atomic and attribute data. It is used to convert children within a group so
+	 * that one factory is used for a whole conversion.
+	 */
+	Convertible convertJsonObject(JsonObject jsonObject) {
+		if (hasChildren(jsonObject)) {
+			return determineElementWithChildrenAndReturnConverter(jsonObject).toInstance();
+		}
+		if (isAtomic(jsonObject)) {
+			return JsonToDataAtomicConverter.convert(jsonObject);
+		}
+		return JsonToDataAttributeConverter.convert(jsonObject);
+	}
+
+	/**
+	 * createForReader returns a converter that reads and converts the json from the given reader
+	 * in one pass, without first parsing it into a {@link JsonObject}. The result and the
+	 * validation is the same as for {@link #createForJsonObject(JsonValue)}.
+	 * 
+	 * @param reader
+	 *            A Reader to read the json to convert from
+	 * @return A JsonToDataConverter that converts the json read from the reader
+	 */
+	public JsonToDataConverter createForReader(Reader reader) {
+		JsonToDataConverter converter = JsonToDataStreamingConverter.usingReader(reader);
+		if (conversionMetrics.isEnabled()) {
+			return MeasuringJsonToDataConverter.usingMetricsAndConverter(conversionMetrics,
+					converter);
+		}
+		return converter;
+	}
+
+	/**
+	 * createForInputStream returns a converter that reads and converts UTF-8 encoded json from the
+	 * given input stream in one pass, see {@link #createForReader(Reader)}.
+	 * 
+	 * @param inputStream
+	 *            An InputStream to read the UTF-8 encoded json to convert from
+	 * @return A JsonToDataConverter that converts the json read from the input stream
+	 */
+	public JsonToDataConverter createForInputStream(InputStream inputStream) {
+		return createForReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
+	boolean convertsGroupChildrenOnFirstUse() {
+		return groupChildrenConvertedOnFirstUse;
+	}
+
+	ConversionMetrics getConversionMetrics() {
+		return conversionMetrics;
+	}
+
+	private JsonToDataConverterFactoryImp withoutConversionMetrics() {
+		return withConversionMetrics(ConversionMetrics.noOp());
+	}
+
 	private boolean hasChildren(JsonObject jsonObject) {
 		return jsonObject.containsKey("children");
 	}
 
 	private JsonToDataConverter determineElementWithChildrenAndReturnConverter(
 			JsonObject jsonObject) {
-		List<String> foundNames = extractChildNames(jsonObject);
-		if (isResourceLink(foundNames)) {
+		int linkType = LinkClassifier
+				.classifyJsonChildren(jsonObject.getValueAsJsonArray("children"));
+		if (linkType == LinkClassifier.RESOURCE_LINK) {
 			return getResourceLinkConverter(jsonObject);
-		} else if (isRecordLink(foundNames)) {
+		}
+		if (linkType == LinkClassifier.RECORD_LINK) {
 			return getRecordLinkConverter(jsonObject);
-		} else {
-			return JsonToDataGroupConverter.forJsonObject(jsonObject);
 		}
+		return JsonToDataGroupConverter.usingFactoryAndJsonObject(this, jsonObject);
 	}
 
 	private JsonToDataConverter getRecordLinkConverter(JsonObject jsonObject) {
 		removePossibleActionLinks(jsonObject);
-		return JsonToDataRecordLinkConverter.forJsonObject(jsonObject);
+		return JsonToDataRecordLinkConverter.usingFactoryAndJsonObject(this, jsonObject);
 	}
 
 	private JsonToDataConverter getResourceLinkConverter(JsonObject jsonObject) {
@@ -77,52 +194,10 @@ public class JsonToDataConverterFactoryImp implements JsonToDataConverterFactory
 		return JsonToDataResourceLinkConverter.forJsonObject(jsonObject);
 	}
 
-	private boolean isResourceLink(List<String> foundNames) {
-		return foundNames.size() == NUM_OF_RESOURCELINK_CHILDREN
-				&& foundNames.contains("linkedRecordType") && foundNames.contains("linkedRecordId")
-				&& foundNames.contains("mimeType");
-	}
-
 	private void removePossibleActionLinks(JsonObject jsonObject) {
 		jsonObject.removeKey("actionLinks");
 	}
 
-	private boolean isRecordLink(List<String> foundNames) {
-		return correctChildrenForRecordLink(foundNames)
-				|| correctChildrenForLinkWithPathAndRepeatId(foundNames)
-				|| correctChildrenForLinkWithPath(foundNames);
-	}
-
-	private boolean correctChildrenForRecordLink(List<String> foundNames) {
-		return foundNames.size() == NUM_OF_RECORDLINK_CHILDREN
-				&& foundNames.contains("linkedRecordType") && foundNames.contains("linkedRecordId");
-	}
-
-	private boolean correctChildrenForLinkWithPathAndRepeatId(List<String> foundNames) {
-		return foundNames.size() == MAX_NUM_OF_RECORDLINK_CHILDREN
-				&& (foundNames.contains("linkedPath") && foundNames.contains("linkedRepeatId"));
-	}
-
-	private boolean correctChildrenForLinkWithPath(List<String> foundNames) {
-		return foundNames.size() == NUM_OF_RECORDLINK_CHILDREN_ONE_OPTIONAL
-				&& foundNames.contains("linkedRecordType") && foundNames.contains("linkedRecordId")
-				&& (foundNames.contains("linkedPath") || foundNames.contains("linkedRepeatId"));
-	}
-
-	private List<String> extractChildNames(JsonObject jsonObject) {
-		JsonArray childrenArray = jsonObject.getValueAsJsonArray("children");
-		List<String> foundNames = new ArrayList<>();
-		for (JsonValue child : childrenArray) {
-			String name = getNameInDataFromChild((JsonObject) child);
-			foundNames.add(name);
-		}
-		return foundNames;
-	}
-
-	private String getNameInDataFromChild(JsonObject child) {
-		return child.getValueAsJsonString("name").getStringValue();
-	}
-
 	private boolean isAtomic(JsonObject jsonObject) {
 		return jsonObject.containsKey("value");
 	}
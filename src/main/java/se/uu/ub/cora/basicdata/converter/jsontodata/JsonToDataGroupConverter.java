@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019 Uppsala University Library
+ * Copyright 2015, 2019, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,9 +19,12 @@
 
 package se.uu.ub.cora.basicdata.converter.jsontodata;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 
 import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.NameInData;
 import se.uu.ub.cora.data.Convertible;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.converter.JsonToDataConverter;
@@ -37,14 +40,22 @@ public class JsonToDataGroupConverter implements JsonToDataConverter {
 	private static final String CHILDREN = "children";
 	private static final String ATTRIBUTES = "attributes";
 	private static final int NUM_OF_ALLOWED_KEYS_AT_TOP_LEVEL = 4;
+	private JsonToDataConverterFactoryImp factory;
 	private JsonObject jsonObject;
 	protected CoraDataGroup dataGroup;
 
 	static JsonToDataGroupConverter forJsonObject(JsonObject jsonObject) {
-		return new JsonToDataGroupConverter(jsonObject);
+		return usingFactoryAndJsonObject(new JsonToDataConverterFactoryImp(), jsonObject);
 	}
 
-	protected JsonToDataGroupConverter(JsonObject jsonObject) {
+	static JsonToDataGroupConverter usingFactoryAndJsonObject(
+			JsonToDataConverterFactoryImp factory, JsonObject jsonObject) {
+		return new JsonToDataGroupConverter(factory, jsonObject);
+	}
+
+	protected JsonToDataGroupConverter(JsonToDataConverterFactoryImp factory,
+			JsonObject jsonObject) {
+		this.factory = factory;
 		this.jsonObject = jsonObject;
 	}
 
@@ -63,7 +74,7 @@ public class JsonToDataGroupConverter implements JsonToDataConverter {
 	}
 
 	private String getNameInDataFromJsonObject() {
-		return jsonObject.getValueAsJsonString("name").getStringValue();
+		return NameInData.canonicalize(jsonObject.getValueAsJsonString("name").getStringValue());
 	}
 
 	protected void validateOnlyCorrectKeysAtTopLevel() {
@@ -149,7 +160,8 @@ public class JsonToDataGroupConverter implements JsonToDataConverter {
 
 	private void addAttributeToGroup(Entry<String, JsonValue> attributeEntry) {
 		String value = ((JsonString) attributeEntry.getValue()).getStringValue();
-		dataGroup.addAttributeByIdWithValue(attributeEntry.getKey(), value);
+		dataGroup.addAttributeByIdWithValue(NameInData.canonicalize(attributeEntry.getKey()),
+				value);
 	}
 
 	private boolean hasChildren() {
@@ -158,25 +170,42 @@ public class JsonToDataGroupConverter implements JsonToDataConverter {
 
 	private void addChildrenToGroup() {
 		JsonArray children = jsonObject.getValueAsJsonArray(CHILDREN);
-		boolean noChildrenAdded = true;
-		for (JsonValue child : children) {
-			addChildToGroup((JsonObject) child);
-			noChildrenAdded = false;
-		}
-		if (noChildrenAdded) {
+		if (!children.iterator().hasNext()) {
 			throw new JsonParseException("Group data with nameInData: " + dataGroup.getNameInData()
 					+ " has no children. " + "Groups must have at least one child.");
 		}
+		if (factory.convertsGroupChildrenOnFirstUse()) {
+			dataGroup.addChildrenOnFirstUse(() -> convertChildrenOnFirstUse(children));
+		} else {
+			for (JsonValue child : children) {
+				addChildToGroup((JsonObject) child);
+			}
+		}
 	}
 
 	private void addChildToGroup(JsonObject child) {
-		JsonToDataConverterFactoryImp jsonToDataConverterFactoryImp = new JsonToDataConverterFactoryImp();
-		JsonToDataConverter childJsonToDataConverter = jsonToDataConverterFactoryImp
-				.createForJsonObject(child);
-		dataGroup.addChild((DataChild) childJsonToDataConverter.toInstance());
+		dataGroup.addChild((DataChild) factory.convertJsonObject(child));
+	}
+
+	private List<DataChild> convertChildrenOnFirstUse(JsonArray children) {
+		try {
+			List<DataChild> convertedChildren = new ArrayList<>();
+			for (JsonValue child : children) {
+				convertedChildren.add((DataChild) factory.convertJsonObject((JsonObject) child));
+			}
+			return convertedChildren;
+		} catch (JsonParseException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new JsonParseException("Error parsing jsonObject: " + e.getMessage(), e);
+		}
 	}
 
 	public JsonObject onlyForTestGetJsonObject() {
 		return jsonObject;
 	}
+
+	public JsonToDataConverterFactoryImp onlyForTestGetFactory() {
+		return factory;
+	}
 }
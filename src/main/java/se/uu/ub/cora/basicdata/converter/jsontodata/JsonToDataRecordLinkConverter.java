@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 Uppsala University Library
+ * Copyright 2019, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -33,11 +33,17 @@ public class JsonToDataRecordLinkConverter extends JsonToDataGroupConverter
 	private static final int MAX_NUM_OF_CHILDREN = 4;
 
 	public static JsonToDataRecordLinkConverter forJsonObject(JsonObject jsonObject) {
-		return new JsonToDataRecordLinkConverter(jsonObject);
+		return usingFactoryAndJsonObject(new JsonToDataConverterFactoryImp(), jsonObject);
 	}
 
-	private JsonToDataRecordLinkConverter(JsonObject jsonObject) {
-		super(jsonObject);
+	static JsonToDataRecordLinkConverter usingFactoryAndJsonObject(
+			JsonToDataConverterFactoryImp factory, JsonObject jsonObject) {
+		return new JsonToDataRecordLinkConverter(factory, jsonObject);
+	}
+
+	private JsonToDataRecordLinkConverter(JsonToDataConverterFactoryImp factory,
+			JsonObject jsonObject) {
+		super(factory, jsonObject);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2023, 2025 Uppsala University Library
+ * Copyright 2019, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.data.NameInData;
 import se.uu.ub.cora.data.Convertible;
 import se.uu.ub.cora.data.converter.JsonToDataConverter;
 import se.uu.ub.cora.json.parser.JsonArray;
@@ -120,8 +121,9 @@ public class JsonToDataResourceLinkConverter implements JsonToDataConverter {
 	}
 
 	private CoraDataResourceLink createResourceLink(Map<String, String> fields) {
-		var resourceLink = CoraDataResourceLink.withNameInDataAndTypeAndIdAndMimeType(
-				fields.get(NAME), fields.get(LINKED_RECORD_TYPE), fields.get(LINKED_RECORD_ID),
+		String nameInData = NameInData.canonicalize(fields.get(NAME));
+		var resourceLink = CoraDataResourceLink.withNameInDataAndTypeAndIdAndMimeType(nameInData,
+				fields.get(LINKED_RECORD_TYPE), fields.get(LINKED_RECORD_ID),
 				fields.get(MIME_TYPE));
 		possiblyAddRepeatIdToResourceLink(fields, resourceLink);
 		return resourceLink;
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.jsontodata;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import se.uu.ub.cora.basicdata.converter.jsontodata.JsonPullParser.Token;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.data.NameInData;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataAtomic;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.converter.JsonToDataConverter;
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+/**
+ * JsonToDataStreamingConverter converts json read from a {@link Reader} into Cora data in one
+ * pass, pulling tokens from a {@link JsonPullParser} and creating data elements directly as each
+ * json object ends, without first building a tree of json values.
+ * <p>
+ * The produced data and the validation rules are the same as when converting through
+ * {@link JsonToDataConverterFactoryImp#createForJsonObject(se.uu.ub.cora.json.parser.JsonValue)}.
+ * As the reader is consumed, {@link #toInstance()} can only be called once.
+ */
+public final class JsonToDataStreamingConverter implements JsonToDataConverter {
+	private static final String NAME = "name";
+	private static final String VALUE = "value";
+	private static final String REPEAT_ID = "repeatId";
+	private static final String CHILDREN = "children";
+	private static final String ATTRIBUTES = "attributes";
+	private static final String ACTION_LINKS = "actionLinks";
+	private static final String LINKED_RECORD_TYPE = "linkedRecordType";
+	private static final String LINKED_RECORD_ID = "linkedRecordId";
+	private static final String MIME_TYPE = "mimeType";
+	private static final int ONE_OPTIONAL_KEY_PRESENT = 3;
+	private static final int MAX_NO_OF_KEYS = 4;
+	private static final int MAX_RESOURCE_LINK_KEYS_WITHOUT_REPEAT_ID = 2;
+	private static final int MAX_RESOURCE_LINK_KEYS_WITH_REPEAT_ID = 3;
+	private static final String RESOURCE_LINK_ERROR = "ResourceLink must "
+			+ "contain name,children[linkedRecordType,linkedRecordId,mimeType] and repeatId.";
+
+	private final Reader reader;
+	private JsonPullParser parser;
+
+	static JsonToDataStreamingConverter usingReader(Reader reader) {
+		return new JsonToDataStreamingConverter(reader);
+	}
+
+	private JsonToDataStreamingConverter(Reader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public Convertible toInstance() {
+		parser = new JsonPullParser(reader);
+		if (parser.peek() != Token.BEGIN_OBJECT) {
+			throw new JsonParseException("Json value is not an object, can not convert");
+		}
+		Convertible convertible = readDataElement();
+		parser.endDocument();
+		return convertible;
+	}
+
+	private Convertible readDataElement() {
+		ElementParts parts = new ElementParts();
+		parser.beginObject();
+		while (parser.hasNext()) {
+			readElementPart(parts, parser.nextName());
+		}
+		parser.endObject();
+		return createDataElement(parts);
+	}
+
+	private void readElementPart(ElementParts parts, String key) {
+		parts.noOfKeys++;
+		switch (key) {
+		case CHILDREN -> readChildren(parts);
+		case ATTRIBUTES -> readAttributes(parts);
+		case ACTION_LINKS -> skipActionLinks(parts);
+		default -> readStringPart(parts, key);
+		}
+		parts.firstKey = parts.noOfKeys == 1 ? key : parts.firstKey;
+	}
+
+	private void readChildren(ElementParts parts) {
+		parts.children = new ArrayList<>();
+		parser.beginArray();
+		while (parser.hasNext()) {
+			parts.children.add(readChild());
+		}
+		parser.endArray();
+	}
+
+	private DataChild readChild() {
+		if (parser.peek() != Token.BEGIN_OBJECT) {
+			throw createElementException("Children must be json objects");
+		}
+		Convertible child = readDataElement();
+		if (!(child instanceof DataChild)) {
+			throw createElementException("Attribute data can not be a child");
+		}
+		return (DataChild) child;
+	}
+
+	private void readAttributes(ElementParts parts) {
+		if (parser.peek() != Token.BEGIN_OBJECT) {
+			throw createElementException("Value of attributes must be an object");
+		}
+		parts.attributes = new LinkedHashMap<>();
+		parser.beginObject();
+		while (parser.hasNext()) {
+			String attributeName = NameInData.canonicalize(parser.nextName());
+			parts.attributes.put(attributeName, readStringValue(attributeName));
+		}
+		parser.endObject();
+	}
+
+	private void skipActionLinks(ElementParts parts) {
+		parts.hasActionLinks = true;
+		parser.skipValue();
+	}
+
+	private void readStringPart(ElementParts parts, String key) {
+		String value = readStringValue(key);
+		switch (key) {
+		case NAME -> parts.name = NameInData.canonicalize(value);
+		case VALUE -> parts.value = value;
+		case REPEAT_ID -> parts.repeatId = value;
+		default -> {
+			// other keys are only valid as the single key of an attribute
+		}
+		}
+		if (parts.noOfKeys == 1) {
+			parts.firstValue = value;
+		}
+	}
+
+	private String readStringValue(String key) {
+		if (parser.peek() != Token.STRING) {
+			throw createElementException("Value of \"" + key + "\" must be a String");
+		}
+		return parser.nextString();
+	}
+
+	private Convertible createDataElement(ElementParts parts) {
+		if (parts.children != null) {
+			return createElementWithChildren(parts);
+		}
+		if (parts.value != null) {
+			return createAtomic(parts);
+		}
+		return createAttribute(parts);
+	}
+
+	private Convertible createElementWithChildren(ElementParts parts) {
+		int linkType = LinkClassifier.classifyDataChildren(parts.children);
+		if (linkType == LinkClassifier.RESOURCE_LINK) {
+			return createResourceLink(parts);
+		}
+		if (linkType == LinkClassifier.RECORD_LINK) {
+			return createRecordLink(parts);
+		}
+		return createGroup(parts, CoraDataGroup.withNameInData(getNameForGroup(parts)));
+	}
+
+	private CoraDataGroup createGroup(ElementParts parts, CoraDataGroup dataGroup) {
+		validateGroupKeys(parts);
+		possiblySetRepeatId(parts, dataGroup);
+		possiblyAddAttributes(parts, dataGroup);
+		if (parts.children.isEmpty()) {
+			throw createElementException("Group data with nameInData: " + parts.name
+					+ " has no children. Groups must have at least one child.");
+		}
+		dataGroup.addChildren(parts.children);
+		return dataGroup;
+	}
+
+	private String getNameForGroup(ElementParts parts) {
+		if (parts.name == null) {
+			throw createElementException("Group data must contain key: name");
+		}
+		return parts.name;
+	}
+
+	private void validateGroupKeys(ElementParts parts) {
+		if (parts.noOfKeys == ONE_OPTIONAL_KEY_PRESENT && parts.attributes == null
+				&& parts.repeatId == null) {
+			throw createElementException("Group data must contain name and children, and may "
+					+ "contain attributes or repeatId");
+		}
+		if (parts.noOfKeys == MAX_NO_OF_KEYS
+				&& (parts.attributes == null || parts.repeatId == null)) {
+			throw createElementException("Group data must contain key: attributes");
+		}
+		if (parts.noOfKeys > MAX_NO_OF_KEYS) {
+			throw createElementException(
+					"Group data can only contain keys: name, children and attributes");
+		}
+	}
+
+	private Convertible createRecordLink(ElementParts parts) {
+		removeActionLinksFromKeys(parts);
+		CoraDataRecordLink recordLink = CoraDataRecordLink
+				.withNameInData(getNameForGroup(parts));
+		return createGroup(parts, recordLink);
+	}
+
+	private void removeActionLinksFromKeys(ElementParts parts) {
+		if (parts.hasActionLinks) {
+			parts.noOfKeys--;
+		}
+	}
+
+	private Convertible createResourceLink(ElementParts parts) {
+		removeActionLinksFromKeys(parts);
+		validateResourceLinkKeys(parts);
+		Map<String, String> linkValues = collectResourceLinkValues(parts.children);
+		var resourceLink = CoraDataResourceLink.withNameInDataAndTypeAndIdAndMimeType(parts.name,
+				linkValues.get(LINKED_RECORD_TYPE), linkValues.get(LINKED_RECORD_ID),
+				linkValues.get(MIME_TYPE));
+		if (parts.repeatId != null) {
+			resourceLink.setRepeatId(parts.repeatId);
+		}
+		return resourceLink;
+	}
+
+	private void validateResourceLinkKeys(ElementParts parts) {
+		int maxNoOfKeys = parts.repeatId != null ? MAX_RESOURCE_LINK_KEYS_WITH_REPEAT_ID
+				: MAX_RESOURCE_LINK_KEYS_WITHOUT_REPEAT_ID;
+		if (parts.name == null || parts.noOfKeys > maxNoOfKeys) {
+			throw createElementException(RESOURCE_LINK_ERROR);
+		}
+	}
+
+	private Map<String, String> collectResourceLinkValues(List<DataChild> children) {
+		Map<String, String> linkValues = new LinkedHashMap<>();
+		for (DataChild child : children) {
+			if (!(child instanceof DataAtomic)) {
+				throw createElementException(RESOURCE_LINK_ERROR);
+			}
+			linkValues.put(child.getNameInData(), ((DataAtomic) child).getValue());
+		}
+		return linkValues;
+	}
+
+	private Convertible createAtomic(ElementParts parts) {
+		validateAtomicKeys(parts);
+		if (parts.value.isBlank()) {
+			throw createElementException("Atomic data with nameInData: " + parts.name
+					+ " has no value. Empty values are not allowed.");
+		}
+		CoraDataAtomic dataAtomic = CoraDataAtomic.withNameInDataAndValue(parts.name,
+				parts.value);
+		possiblySetRepeatId(parts, dataAtomic);
+		possiblyAddAttributes(parts, dataAtomic);
+		return dataAtomic;
+	}
+
+	private void validateAtomicKeys(ElementParts parts) {
+		if (parts.name == null) {
+			throw createElementException("Value of atomic data name must contain a String");
+		}
+		if ((parts.noOfKeys == ONE_OPTIONAL_KEY_PRESENT && parts.repeatId == null
+				&& parts.attributes == null)
+				|| (parts.noOfKeys == MAX_NO_OF_KEYS
+						&& (parts.repeatId == null || parts.attributes == null))) {
+			throw createElementException("Atomic data can only contain string value for name, "
+					+ "value, repeatId and attributes");
+		}
+		if (parts.noOfKeys > MAX_NO_OF_KEYS) {
+			throw createElementException("Atomic data can only contain name, value and repeatId");
+		}
+	}
+
+	private void possiblySetRepeatId(ElementParts parts, DataChild dataChild) {
+		if (parts.repeatId != null) {
+			dataChild.setRepeatId(parts.repeatId);
+		}
+	}
+
+	private void possiblyAddAttributes(ElementParts parts, DataChild dataChild) {
+		if (parts.attributes != null) {
+			for (Entry<String, String> attribute : parts.attributes.entrySet()) {
+				dataChild.addAttributeByIdWithValue(attribute.getKey(), attribute.getValue());
+			}
+		}
+	}
+
+	private Convertible createAttribute(ElementParts parts) {
+		if (parts.noOfKeys != 1) {
+			throw createElementException("Attribute data can only contain one key value pair");
+		}
+		if (parts.firstValue == null) {
+			throw createElementException(
+					"Value of attribute data \"" + parts.firstKey + "\" must be a String");
+		}
+		return CoraDataAttribute.withNameInDataAndValue(NameInData.canonicalize(parts.firstKey),
+				parts.firstValue);
+	}
+
+	private JsonParseException createElementException(String message) {
+		return new JsonParseException("Error parsing jsonObject: " + message);
+	}
+
+	public Reader onlyForTestGetReader() {
+		return reader;
+	}
+
+	/**
+	 * ElementParts holds the parts read from one json object until the object ends and the kind
+	 * of data element it represents can be decided
+	 */
+	private static final class ElementParts {
+		int noOfKeys = 0;
+		String name;
+		String value;
+		String repeatId;
+		String firstKey;
+		String firstValue;
+		Map<String, String> attributes;
+		List<DataChild> children;
+		boolean hasActionLinks = false;
+	}
+}
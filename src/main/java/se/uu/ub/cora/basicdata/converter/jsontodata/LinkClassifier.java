@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.jsontodata;
+
+import java.util.Iterator;
+import java.util.List;
+
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.json.parser.JsonArray;
+import se.uu.ub.cora.json.parser.JsonObject;
+import se.uu.ub.cora.json.parser.JsonValue;
+
+/**
+ * LinkClassifier decides if an element with children is a record link, a resource link or a
+ * plain group, by looking at the names of its children.
+ * <p>
+ * Each known link child name sets one bit in a mask. As a link has at most four children, and
+ * only known names, classification stops as soon as a fifth child or an unknown name is found,
+ * so large groups are recognized as groups after looking at a few children.
+ */
+final class LinkClassifier {
+	static final int GROUP = 0;
+	static final int RECORD_LINK = 1;
+	static final int RESOURCE_LINK = 2;
+
+	private static final int LINKED_RECORD_TYPE = 1;
+	private static final int LINKED_RECORD_ID = 2;
+	private static final int MIME_TYPE = 4;
+	private static final int LINKED_PATH = 8;
+	private static final int LINKED_REPEAT_ID = 16;
+	private static final int UNKNOWN_NAME = 0;
+	private static final int TYPE_AND_ID = LINKED_RECORD_TYPE | LINKED_RECORD_ID;
+	private static final int RESOURCE_LINK_CHILDREN = TYPE_AND_ID | MIME_TYPE;
+	private static final int MAX_NO_OF_LINK_CHILDREN = 4;
+
+	private LinkClassifier() {
+		// prevent instantiation
+	}
+
+	static int classifyJsonChildren(JsonArray children) {
+		int foundNames = 0;
+		int noOfChildren = 0;
+		Iterator<JsonValue> iterator = children.iterator();
+		while (iterator.hasNext()) {
+			int bit = bitForName(getNameInDataFromChild((JsonObject) iterator.next()));
+			noOfChildren++;
+			if (notPossiblyALink(bit, noOfChildren)) {
+				return GROUP;
+			}
+			foundNames |= bit;
+		}
+		return classify(foundNames, noOfChildren);
+	}
+
+	private static String getNameInDataFromChild(JsonObject child) {
+		return child.getValueAsJsonString("name").getStringValue();
+	}
+
+	static int classifyDataChildren(List<DataChild> children) {
+		int foundNames = 0;
+		int noOfChildren = 0;
+		for (DataChild child : children) {
+			int bit = bitForName(child.getNameInData());
+			noOfChildren++;
+			if (notPossiblyALink(bit, noOfChildren)) {
+				return GROUP;
+			}
+			foundNames |= bit;
+		}
+		return classify(foundNames, noOfChildren);
+	}
+
+	private static boolean notPossiblyALink(int bit, int noOfChildren) {
+		return bit == UNKNOWN_NAME || noOfChildren > MAX_NO_OF_LINK_CHILDREN;
+	}
+
+	private static int bitForName(String name) {
+		return switch (name) {
+		case "linkedRecordType" -> LINKED_RECORD_TYPE;
+		case "linkedRecordId" -> LINKED_RECORD_ID;
+		case "mimeType" -> MIME_TYPE;
+		case "linkedPath" -> LINKED_PATH;
+		case "linkedRepeatId" -> LINKED_REPEAT_ID;
+		default -> UNKNOWN_NAME;
+		};
+	}
+
+	private static int classify(int foundNames, int noOfChildren) {
+		if (Integer.bitCount(foundNames) != noOfChildren) {
+			return GROUP;
+		}
+		if (foundNames == RESOURCE_LINK_CHILDREN) {
+			return RESOURCE_LINK;
+		}
+		if (isRecordLink(foundNames)) {
+			return RECORD_LINK;
+		}
+		return GROUP;
+	}
+
+	private static boolean isRecordLink(int foundNames) {
+		int optionalNames = foundNames & ~TYPE_AND_ID;
+		return (foundNames & TYPE_AND_ID) == TYPE_AND_ID
+				&& (optionalNames & ~(LINKED_PATH | LINKED_REPEAT_ID)) == 0;
+	}
+}
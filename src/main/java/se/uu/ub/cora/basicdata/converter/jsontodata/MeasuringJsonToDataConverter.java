@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.jsontodata;
+
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.converter.JsonToDataConverter;
+
+/**
+ * MeasuringJsonToDataConverter reports a {@link Measurement} of each conversion made by the
+ * converter it wraps to {@link ConversionMetrics}.
+ */
+final class MeasuringJsonToDataConverter implements JsonToDataConverter {
+	private final ConversionMetrics conversionMetrics;
+	private final JsonToDataConverter converter;
+
+	static MeasuringJsonToDataConverter usingMetricsAndConverter(
+			ConversionMetrics conversionMetrics, JsonToDataConverter converter) {
+		return new MeasuringJsonToDataConverter(conversionMetrics, converter);
+	}
+
+	private MeasuringJsonToDataConverter(ConversionMetrics conversionMetrics,
+			JsonToDataConverter converter) {
+		this.conversionMetrics = conversionMetrics;
+		this.converter = converter;
+	}
+
+	@Override
+	public Convertible toInstance() {
+		long startTime = System.nanoTime();
+		Convertible instance = converter.toInstance();
+		long durationInNanos = System.nanoTime() - startTime;
+		conversionMetrics.measured(Measurement.forOperationOnData(MeasuredOperation.TO_INSTANCE,
+				instance, durationInNanos, Measurement.NOT_KNOWN, conversionMetrics.countsNodes()));
+		return instance;
+	}
+
+	JsonToDataConverter onlyForTestGetConverter() {
+		return converter;
+	}
+}
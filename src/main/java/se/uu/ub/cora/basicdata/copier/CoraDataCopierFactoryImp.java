@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2023 Uppsala University Library
+ * Copyright 2019, 2023, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -20,16 +20,55 @@ package se.uu.ub.cora.basicdata.copier;
 
 import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
 import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsProvider;
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataResourceLink;
 import se.uu.ub.cora.data.copier.DataCopier;
 import se.uu.ub.cora.data.copier.DataCopierFactory;
 
+/**
+ * CoraDataCopierFactoryImp factors copiers for basicdata. Only groups that are frozen, see
+ * {@link se.uu.ub.cora.basicdata.converter.FrozenData}, are copied lazily, other groups are copied
+ * completely when copy is called, see {@link CoraDataGroupCopier#copy()}.
+ * <p>
+ * Factories created with the public constructor report measurements of the copies made by the
+ * copiers they factor to the {@link ConversionMetrics} from {@link ConversionMetricsProvider}, if
+ * it is enabled, see also {@link #withConversionMetrics(ConversionMetrics)}.
+ */
 public class CoraDataCopierFactoryImp implements DataCopierFactory {
+	private final ConversionMetrics conversionMetrics;
+
+	public CoraDataCopierFactoryImp() {
+		this(ConversionMetricsProvider.getConversionMetrics());
+	}
+
+	private CoraDataCopierFactoryImp(ConversionMetrics conversionMetrics) {
+		this.conversionMetrics = conversionMetrics;
+	}
+
+	/**
+	 * withConversionMetrics returns a new factory that factors copiers in the same way as this
+	 * factory, but that reports measurements of their copies to the provided conversionMetrics, if
+	 * it is enabled.
+	 * 
+	 * @param conversionMetrics
+	 *            The {@link ConversionMetrics} to report measurements to
+	 * @return A new CoraDataCopierFactoryImp using the conversionMetrics
+	 */
+	public CoraDataCopierFactoryImp withConversionMetrics(ConversionMetrics conversionMetrics) {
+		return new CoraDataCopierFactoryImp(conversionMetrics);
+	}
 
 	@Override
 	public DataCopier factorForDataElement(DataChild dataElement) {
+		if (conversionMetrics.isEnabled()) {
+			DataCopier copier = withConversionMetrics(ConversionMetrics.noOp())
+					.factorForDataElement(dataElement);
+			return MeasuringDataCopier.usingMetricsAndDataElementAndCopier(conversionMetrics,
+					dataElement, copier);
+		}
 		if (dataElement instanceof DataAtomic) {
 			return CoraDataAtomicCopier.usingDataAtomic(dataElement);
 		} else if (dataElement instanceof CoraDataRecordLink) {
@@ -37,8 +76,10 @@ public class CoraDataCopierFactoryImp implements DataCopierFactory {
 		} else if (dataElement instanceof CoraDataResourceLink) {
 			return new CoraDataResourceLinkCopier((DataResourceLink) dataElement);
 		}
-		return CoraDataGroupCopier.usingDataGroupAndCopierFactory(dataElement,
-				new CoraDataCopierFactoryImp());
+		return CoraDataGroupCopier.usingDataGroupAndCopierFactory(dataElement, this);
 	}
 
+	ConversionMetrics getConversionMetrics() {
+		return conversionMetrics;
+	}
 }
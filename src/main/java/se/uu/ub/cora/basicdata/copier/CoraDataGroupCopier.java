@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 Uppsala University Library
+ * Copyright 2019, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,7 +19,9 @@
 
 package se.uu.ub.cora.basicdata.copier;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import se.uu.ub.cora.basicdata.data.CoraDataGroup;
 import se.uu.ub.cora.data.DataAttribute;
@@ -45,6 +47,20 @@ public class CoraDataGroupCopier implements DataCopier {
 		return new CoraDataGroupCopier(dataElement, copierFactory);
 	}
 
+	/**
+	 * copy returns a copy of the group and all its children.
+	 * <p>
+	 * Only frozen groups are copied lazily. A frozen group, see
+	 * {@link se.uu.ub.cora.basicdata.converter.FrozenData}, is never changed, so its children are
+	 * only copied the first time the children of the copy are used. The child groups of a frozen
+	 * group are frozen as well and are copied in the same way, so changing one child deep in a
+	 * large copy only copies the groups on the path down to the changed child and their direct
+	 * children.
+	 * <p>
+	 * Groups that are not frozen, such as a record just converted from json, are copied
+	 * completely and immediately, as they can be changed after the copy is made. To copy such a
+	 * group lazily, freeze it first and copy the frozen group.
+	 */
 	@Override
 	public DataGroup copy() {
 		originalDataGroup = (DataGroup) dataElement;
@@ -57,11 +73,27 @@ public class CoraDataGroupCopier implements DataCopier {
 	}
 
 	private void copyChildren() {
-		for (DataChild childElement : originalDataGroup.getChildren()) {
+		if (isFrozen(originalDataGroup)) {
+			DataGroup frozenGroup = originalDataGroup;
+			((CoraDataGroup) dataGroupCopy)
+					.addChildrenOnFirstUse(() -> copyChildrenOf(frozenGroup));
+		} else {
+			dataGroupCopy.addChildren(copyChildrenOf(originalDataGroup));
+		}
+	}
+
+	private boolean isFrozen(DataGroup dataGroup) {
+		return dataGroup instanceof CoraDataGroup && ((CoraDataGroup) dataGroup).isFrozen();
+	}
+
+	private List<DataChild> copyChildrenOf(DataGroup dataGroup) {
+		List<DataChild> originalChildren = dataGroup.getChildren();
+		List<DataChild> copiedChildren = new ArrayList<>(originalChildren.size());
+		for (DataChild childElement : originalChildren) {
 			DataCopier dataCopier = copierFactory.factorForDataElement(childElement);
-			DataChild copiedElement = dataCopier.copy();
-			dataGroupCopy.addChild(copiedElement);
+			copiedChildren.add(dataCopier.copy());
 		}
+		return copiedChildren;
 	}
 
 	private void possiblyCopyRepeatId() {
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.copier;
+
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.copier.DataCopier;
+
+/**
+ * MeasuringDataCopier reports a {@link Measurement} of each copy made by the copier it wraps to
+ * {@link ConversionMetrics}. If nodes are counted, the nodes of the original data are counted, as
+ * the children of copied frozen groups are only copied when they are first used.
+ */
+final class MeasuringDataCopier implements DataCopier {
+	private final ConversionMetrics conversionMetrics;
+	private final DataChild dataElement;
+	private final DataCopier copier;
+
+	static MeasuringDataCopier usingMetricsAndDataElementAndCopier(
+			ConversionMetrics conversionMetrics, DataChild dataElement, DataCopier copier) {
+		return new MeasuringDataCopier(conversionMetrics, dataElement, copier);
+	}
+
+	private MeasuringDataCopier(ConversionMetrics conversionMetrics, DataChild dataElement,
+			DataCopier copier) {
+		this.conversionMetrics = conversionMetrics;
+		this.dataElement = dataElement;
+		this.copier = copier;
+	}
+
+	@Override
+	public DataChild copy() {
+		long startTime = System.nanoTime();
+		DataChild copy = copier.copy();
+		long durationInNanos = System.nanoTime() - startTime;
+		conversionMetrics.measured(Measurement.forOperationOnData(MeasuredOperation.COPY,
+				dataElement, durationInNanos, Measurement.NOT_KNOWN,
+				conversionMetrics.countsNodes()));
+		return copy;
+	}
+
+	DataCopier onlyForTestGetCopier() {
+		return copier;
+	}
+}
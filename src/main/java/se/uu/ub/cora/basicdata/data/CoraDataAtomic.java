@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2022 Uppsala University Library
+ * Copyright 2015, 2022, 2026 Uppsala University Library
  * Copyright 2023 Olov McKie
  *
  * This file is part of Cora.
@@ -21,6 +21,7 @@
 package se.uu.ub.cora.basicdata.data;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Optional;
@@ -31,11 +32,13 @@ import se.uu.ub.cora.data.DataAttribute;
 import se.uu.ub.cora.data.DataMissingException;
 
 public final class CoraDataAtomic implements DataAtomic {
+	private static final String FROZEN_ERROR_MESSAGE = "Frozen data can not be modified";
 
 	private String nameInData;
 	private String value;
 	private String repeatId;
 	private Set<DataAttribute> attributes = new HashSet<>();
+	private boolean frozen = false;
 
 	public static CoraDataAtomic withNameInDataAndValue(String nameInData, String value) {
 		return new CoraDataAtomic(nameInData, value);
@@ -64,6 +67,7 @@ public final class CoraDataAtomic implements DataAtomic {
 
 	@Override
 	public void addAttributeByIdWithValue(String nameInData, String value) {
+		ensureNotFrozen();
 		possiblyRemovePreviouslyStoredAttribute(nameInData);
 		attributes.add(CoraDataAttribute.withNameInDataAndValue(nameInData, value));
 	}
@@ -114,6 +118,7 @@ public final class CoraDataAtomic implements DataAtomic {
 
 	@Override
 	public void setRepeatId(String repeatId) {
+		ensureNotFrozen();
 		this.repeatId = repeatId;
 	}
 
@@ -132,4 +137,31 @@ public final class CoraDataAtomic implements DataAtomic {
 		return Optional.empty();
 	}
 
+	/**
+	 * freeze returns an immutable copy of this atomic, all methods that modify a frozen atomic
+	 * throw an UnsupportedOperationException. Freezing an already frozen atomic returns the atomic
+	 * itself.
+	 *
+	 * @return a frozen copy of this atomic
+	 */
+	public CoraDataAtomic freeze() {
+		if (frozen) {
+			return this;
+		}
+		CoraDataAtomic frozenAtomic = new CoraDataAtomic(nameInData, value, repeatId);
+		frozenAtomic.attributes = Collections.unmodifiableSet(new HashSet<>(attributes));
+		frozenAtomic.frozen = true;
+		return frozenAtomic;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void ensureNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException(FROZEN_ERROR_MESSAGE);
+		}
+	}
+
 }
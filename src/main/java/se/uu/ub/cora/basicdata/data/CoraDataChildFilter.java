@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  * 
  * This file is part of Cora.
  *
@@ -18,24 +18,24 @@
  */
 package se.uu.ub.cora.basicdata.data;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 import java.util.Set;
 
-import se.uu.ub.cora.data.DataAttribute;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataChildFilter;
 
+/**
+ * CoraDataChildFilter is compiled into an immutable {@link DataChildMatcher} each time an attribute
+ * is added, so matching children does not allocate or change any state. Once all attributes are
+ * added, the filter can be used by many threads at the same time.
+ */
 public class CoraDataChildFilter implements DataChildFilter {
 
-	private String childNameInData;
-	private int nrOfChildAttributes;
-
-	private List<FilterAttribute> filterAttributes = new ArrayList<>();
+	private final String childNameInData;
+	private volatile DataChildMatcher matcher;
 
 	private CoraDataChildFilter(String childNameInData) {
-		this.childNameInData = childNameInData;
+		this.childNameInData = NameInData.canonicalize(childNameInData);
+		matcher = DataChildMatcher.usingNameInData(this.childNameInData);
 	}
 
 	public static CoraDataChildFilter usingNameInData(String childNameInData) {
@@ -45,52 +45,23 @@ public class CoraDataChildFilter implements DataChildFilter {
 	@Override
 	public void addAttributeUsingNameInDataAndPossibleValues(String attributeName,
 			Set<String> possibleValues) {
-		FilterAttribute filterAttribute = new FilterAttribute(attributeName, possibleValues);
-		filterAttributes.add(filterAttribute);
+		matcher = matcher.withAttributeUsingNameAndPossibleValues(
+				NameInData.canonicalize(attributeName), possibleValues);
 	}
 
 	@Override
 	public boolean childMatches(DataChild dataChild) {
-		nrOfChildAttributes = getNumberOfAttributes(dataChild);
-		if (childNameMatchesAndHasSameNumberOfAttributes(dataChild)) {
-			return hasSameAttributesAndValuesAreInPossibleValues(dataChild.getAttributes());
-		}
-		return false;
-	}
-
-	private boolean hasSameAttributesAndValuesAreInPossibleValues(
-			Collection<DataAttribute> attributes) {
-		return attributes.stream().allMatch(this::matchAnyFilterAttribute);
-	}
-
-	private int getNumberOfAttributes(DataChild child) {
-		if (child.hasAttributes()) {
-			return child.getAttributes().size();
-		}
-		return 0;
-	}
-
-	private boolean childNameMatchesAndHasSameNumberOfAttributes(DataChild child) {
-		return childNameMatches(child) && hasSameNumberOfAttributes();
-	}
-
-	private boolean hasSameNumberOfAttributes() {
-		return filterAttributes.size() == nrOfChildAttributes;
-	}
-
-	private boolean childNameMatches(DataChild child) {
-		return child.getNameInData().equals(childNameInData);
-	}
-
-	private boolean matchAnyFilterAttribute(DataAttribute dataAttribute) {
-		return filterAttributes.stream()
-				.anyMatch(filterAttribute -> filterAttribute.attributeMatches(dataAttribute));
+		return matcher.childMatches(dataChild);
 	}
 
 	public String onlyForTestGetChildNameInData() {
 		return childNameInData;
 	}
 
+	DataChildMatcher onlyForTestGetMatcher() {
+		return matcher;
+	}
+
 	@Override
 	public String getNameInData() {
 		return childNameInData;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2020, 2022 Uppsala University Library
+ * Copyright 2015, 2019, 2020, 2022, 2026 Uppsala University Library
  * Copyright 2016, 2023 Olov McKie
  *
  * This file is part of Cora.
@@ -23,14 +23,10 @@ package se.uu.ub.cora.basicdata.data;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataAttribute;
@@ -42,21 +38,48 @@ import se.uu.ub.cora.data.DataMissingException;
 public class CoraDataGroup implements DataGroup {
 
 	private String nameInData;
-	private Set<DataAttribute> attributes = new HashSet<>();
-	private List<DataChild> children = new ArrayList<>();
-	private Map<String, List<DataChild>> childrenByNameInDataMap = new HashMap<>();
+	private List<DataAttribute> attributes;
+	private DataChildStorage children = new DataChildStorage();
 	private String repeatId;
-	private Predicate<DataChild> isDataAtomic = CoraDataAtomic.class::isInstance;
-	private Predicate<DataChild> isDataGroup = CoraDataGroup.class::isInstance;
+	private static final ClassValue<Predicate<DataChild>> INSTANCE_OF_TYPE = new ClassValue<>() {
+		@Override
+		protected Predicate<DataChild> computeValue(Class<?> type) {
+			return type::isInstance;
+		}
+	};
+	private static final Predicate<DataChild> IS_DATA_ATOMIC = isInstanceOf(CoraDataAtomic.class);
+	private static final Predicate<DataChild> IS_DATA_GROUP = isInstanceOf(CoraDataGroup.class);
 
 	public static CoraDataGroup withNameInData(String nameInData) {
 		return new CoraDataGroup(nameInData);
 	}
 
+	/**
+	 * withNameInDataAndExpectedNoOfChildren creates a group with room for the specified number of
+	 * children, so that adding them does not grow the group more than once. It should be used when
+	 * the number of children is known in advance, for instance when copying children from another
+	 * group.
+	 *
+	 * @param nameInData
+	 *            A String with the nameInData of the group
+	 * @param expectedNoOfChildren
+	 *            An int with the number of children the group is expected to get
+	 * @return a new CoraDataGroup without children
+	 */
+	public static CoraDataGroup withNameInDataAndExpectedNoOfChildren(String nameInData,
+			int expectedNoOfChildren) {
+		return new CoraDataGroup(nameInData, expectedNoOfChildren);
+	}
+
 	protected CoraDataGroup(String nameInData) {
 		this.nameInData = nameInData;
 	}
 
+	protected CoraDataGroup(String nameInData, int expectedNoOfChildren) {
+		this.nameInData = nameInData;
+		children.ensureCapacity(expectedNoOfChildren);
+	}
+
 	@Deprecated
 	public static DataGroup asLinkWithNameInDataAndTypeAndId(String nameInData, String type,
 			String id) {
@@ -66,6 +89,137 @@ public class CoraDataGroup implements DataGroup {
 		return dataGroup;
 	}
 
+	/**
+	 * freeze returns an immutable snapshot of this group. Children that are basicdata groups,
+	 * atomics and resource links are frozen as well, other children are added to the snapshot as
+	 * they are. All methods that modify a frozen group throw an UnsupportedOperationException.
+	 * <p>
+	 * A frozen group is never changed, so once safely published it can be read by many threads at
+	 * the same time. Freezing an already frozen group returns the group itself.
+	 *
+	 * @return a frozen snapshot of this group
+	 */
+	public CoraDataGroup freeze() {
+		if (isFrozen()) {
+			return this;
+		}
+		CoraDataGroup frozenGroup = createEmptyCopy();
+		frozenGroup.repeatId = repeatId;
+		if (hasAttributes()) {
+			frozenGroup.attributes = List.copyOf(attributes);
+		}
+		frozenGroup.children = children.readOnlyCopyUsing(CoraDataGroup::freezeChild);
+		return frozenGroup;
+	}
+
+	/**
+	 * createEmptyCopy is used by {@link #freeze()} to create a group of the same class and
+	 * nameInData as this group, without children, attributes or repeatId.
+	 */
+	protected CoraDataGroup createEmptyCopy() {
+		return new CoraDataGroup(nameInData);
+	}
+
+	private static DataChild freezeChild(DataChild child) {
+		if (child instanceof CoraDataGroup) {
+			return ((CoraDataGroup) child).freeze();
+		}
+		if (child instanceof CoraDataAtomic) {
+			return ((CoraDataAtomic) child).freeze();
+		}
+		if (child instanceof CoraDataResourceLink) {
+			return ((CoraDataResourceLink) child).freeze();
+		}
+		return child;
+	}
+
+	/**
+	 * viewAsRecordGroup returns a CoraDataRecordGroup with the same nameInData as this group that
+	 * shares the children and attributes of this group, no children or attributes are copied.
+	 * Changes to the children or attributes of either group are seen in both groups, and if this
+	 * group is frozen the returned group is frozen as well. The repeatId is not shared.
+	 *
+	 * @return a CoraDataRecordGroup sharing the content of this group
+	 */
+	public CoraDataRecordGroup viewAsRecordGroup() {
+		CoraDataRecordGroup recordGroup = new CoraDataRecordGroup(nameInData);
+		shareContentWith(recordGroup);
+		return recordGroup;
+	}
+
+	/**
+	 * viewAsGroup returns a CoraDataGroup with the same nameInData as this group that shares the
+	 * children and attributes of this group, in the same way as {@link #viewAsRecordGroup()}.
+	 *
+	 * @return a CoraDataGroup sharing the content of this group
+	 */
+	public CoraDataGroup viewAsGroup() {
+		CoraDataGroup group = new CoraDataGroup(nameInData);
+		shareContentWith(group);
+		return group;
+	}
+
+	private void shareContentWith(CoraDataGroup view) {
+		if (attributes == null && !isFrozen()) {
+			attributes = new ArrayList<>(1);
+		}
+		view.attributes = attributes;
+		view.children = children;
+	}
+
+	public boolean isFrozen() {
+		return children.isReadOnly();
+	}
+
+	protected void ensureNotFrozen() {
+		if (isFrozen()) {
+			throw new UnsupportedOperationException(DataChildStorage.FROZEN_ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * addChildrenOnFirstUse makes this group add the children returned by the specified loader the
+	 * first time its children are used. The loaded children are added before any children added
+	 * after this call, and the loader is never called if the children of this group are never
+	 * used.
+	 *
+	 * @param childrenLoader
+	 *            A Supplier that returns the children to add
+	 */
+	public void addChildrenOnFirstUse(Supplier<? extends Collection<DataChild>> childrenLoader) {
+		ensureNotFrozen();
+		children.loadOnFirstUse(childrenLoader);
+	}
+
+	/**
+	 * childrenAreLoaded returns false if the children of this group are added on first use, see
+	 * {@link #addChildrenOnFirstUse(Supplier)}, and they have not been used yet. It can be used to
+	 * inspect a group without loading its children.
+	 */
+	public boolean childrenAreLoaded() {
+		return children.isLoaded();
+	}
+
+	/**
+	 * childrenModCount returns a number that is changed each time a child of this group is added,
+	 * removed or replaced.
+	 */
+	int childrenModCount() {
+		return children.modCount();
+	}
+
+	int onlyForTestGetChildCapacity() {
+		return children.onlyForTestGetCapacity();
+	}
+
+	/**
+	 * isInstanceOf returns a predicate that tests if a child is an instance of the specified type.
+	 * The predicates are created once per type, so that typed lookups do not allocate.
+	 */
+	private static Predicate<DataChild> isInstanceOf(Class<?> type) {
+		return INSTANCE_OF_TYPE.get(type);
+	}
+
 	@Override
 	public boolean hasChildren() {
 		return !children.isEmpty();
@@ -73,71 +227,45 @@ public class CoraDataGroup implements DataGroup {
 
 	@Override
 	public boolean containsChildWithNameInData(String nameInData) {
-		return childrenByNameInDataMap.containsKey(nameInData);
+		return children.containsName(nameInData);
 	}
 
 	@Override
 	public String getFirstAtomicValueWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			Optional<DataAtomic> optionalFirst = getAtomicChildrenWithNameInData(childNameInData)
-					.findFirst();
-			if (optionalFirst.isPresent()) {
-				return optionalFirst.get().getValue();
-			}
+		DataChild atomic = children.findFirst(childNameInData, IS_DATA_ATOMIC);
+		if (atomic != null) {
+			return ((DataAtomic) atomic).getValue();
 		}
 		throw new DataMissingException(
 				"Atomic value not found for childNameInData:" + childNameInData);
 	}
 
-	private Stream<DataAtomic> getAtomicChildrenWithNameInData(String childNameInData) {
-		return getChildrenWithNameInData(childNameInData, isDataAtomic, DataAtomic.class);
-	}
-
-	private <T extends DataChild> Stream<T> getChildrenWithNameInData(String childNameInData,
-			Predicate<DataChild> filter, Class<T> classType) {
-		return getGenericChildrenStream(childNameInData, filter).map(classType::cast);
-	}
-
-	private Stream<DataChild> getGenericChildrenStream(String childNameInData,
-			Predicate<DataChild> filter) {
-		return childrenByNameInDataMap.get(childNameInData).stream().filter(filter);
+	private <T extends DataChild> List<T> getChildrenWithNameInData(String childNameInData,
+			Predicate<? super DataChild> filter) {
+		@SuppressWarnings("unchecked")
+		List<T> found = (List<T>) children.findAll(childNameInData, filter);
+		return found;
 	}
 
 	@Override
 	public List<DataAtomic> getAllDataAtomicsWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			return getAtomicChildrenWithNameInData(childNameInData).toList();
-		}
-		return Collections.emptyList();
+		return getChildrenWithNameInData(childNameInData, IS_DATA_ATOMIC);
 	}
 
 	@Override
 	public DataGroup getFirstGroupWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			Optional<DataGroup> findFirst = getFirstGroupWithNameInDataFromMap(childNameInData);
-			if (findFirst.isPresent()) {
-				return findFirst.get();
-			}
+		DataChild group = children.findFirst(childNameInData, IS_DATA_GROUP);
+		if (group != null) {
+			return (DataGroup) group;
 		}
 		throw new DataMissingException("Group not found for childNameInData:" + childNameInData);
 	}
 
-	private Optional<DataGroup> getFirstGroupWithNameInDataFromMap(String childNameInData) {
-		return getGroupChildrenWithNameInDataStream(childNameInData).findFirst();
-	}
-
-	private Stream<DataGroup> getGroupChildrenWithNameInDataStream(String childNameInData) {
-		return getChildrenWithNameInData(childNameInData, isDataGroup, DataGroup.class);
-	}
-
 	@Override
 	public DataAtomic getFirstDataAtomicWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			Optional<DataAtomic> findFirst = getAtomicChildrenWithNameInData(childNameInData)
-					.findFirst();
-			if (findFirst.isPresent()) {
-				return findFirst.get();
-			}
+		DataChild atomic = children.findFirst(childNameInData, IS_DATA_ATOMIC);
+		if (atomic != null) {
+			return (DataAtomic) atomic;
 		}
 		throw new DataMissingException(
 				"DataAtomic not found for childNameInData:" + childNameInData);
@@ -145,35 +273,29 @@ public class CoraDataGroup implements DataGroup {
 
 	@Override
 	public DataChild getFirstChildWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			Optional<DataChild> optionalFirst = possiblyFindFirstChildWithNameInData(
-					childNameInData);
-			if (optionalFirst.isPresent()) {
-				return optionalFirst.get();
-			}
+		DataChild child = children.findFirst(childNameInData, null);
+		if (child != null) {
+			return child;
 		}
 		throw new DataMissingException("Element not found for childNameInData:" + childNameInData);
 	}
 
-	private Optional<DataChild> possiblyFindFirstChildWithNameInData(String childNameInData) {
-		return childrenByNameInDataMap.get(childNameInData).stream().findFirst();
-	}
-
 	@Override
 	public List<DataGroup> getAllGroupsWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			return getGroupChildrenWithNameInDataStream(childNameInData).toList();
-		}
-		return Collections.emptyList();
+		return getChildrenWithNameInData(childNameInData, IS_DATA_GROUP);
 	}
 
 	@Override
 	public boolean hasAttributes() {
-		return !attributes.isEmpty();
+		return attributes != null && !attributes.isEmpty();
 	}
 
 	@Override
 	public void addAttributeByIdWithValue(String nameInData, String value) {
+		ensureNotFrozen();
+		if (attributes == null) {
+			attributes = new ArrayList<>(1);
+		}
 		possiblyRemovePreviouslyStoredAttribute(nameInData);
 		attributes.add(CoraDataAttribute.withNameInDataAndValue(nameInData, value));
 	}
@@ -184,21 +306,12 @@ public class CoraDataGroup implements DataGroup {
 
 	@Override
 	public boolean removeFirstChildWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			DataChild removeFirst = childrenByNameInDataMap.get(childNameInData).removeFirst();
-			makeSureMapHasNoEmptyListForName(childNameInData);
-			return children.remove(removeFirst);
-		}
-		return false;
+		return children.removeFirst(childNameInData, null);
 	}
 
 	@Override
 	public boolean removeAllChildrenWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			List<DataChild> removeChildren = childrenByNameInDataMap.remove(childNameInData);
-			return children.removeAll(removeChildren);
-		}
-		return false;
+		return children.removeAll(childNameInData, null);
 	}
 
 	@Override
@@ -208,18 +321,19 @@ public class CoraDataGroup implements DataGroup {
 
 	@Override
 	public Collection<DataAttribute> getAttributes() {
+		if (attributes == null) {
+			return Collections.emptyList();
+		}
 		return attributes;
 	}
 
 	@Override
 	public List<DataChild> getChildren() {
-		return children;
+		return children.asList();
 	}
 
 	@Override
 	public void addChild(DataChild dataElement) {
-		childrenByNameInDataMap.computeIfAbsent(dataElement.getNameInData(), _ -> new ArrayList<>())
-				.add(dataElement);
 		children.add(dataElement);
 	}
 
@@ -230,6 +344,7 @@ public class CoraDataGroup implements DataGroup {
 
 	@Override
 	public void setRepeatId(String repeatId) {
+		ensureNotFrozen();
 		this.repeatId = repeatId;
 	}
 
@@ -241,15 +356,8 @@ public class CoraDataGroup implements DataGroup {
 	@Override
 	public Collection<DataGroup> getAllGroupsWithNameInDataAndAttributes(String childNameInData,
 			DataAttribute... childAttributes) {
-		return getGroupChildrenWithNameInDataAndAttributes(childNameInData, childAttributes)
-				.toList();
-
-	}
-
-	private Stream<DataGroup> getGroupChildrenWithNameInDataAndAttributes(String childNameInData,
-			DataAttribute... childAttributes) {
-		return getGroupChildrenWithNameInDataStream(childNameInData)
-				.filter(filterByAttributes(childAttributes));
+		return getChildrenWithNameInData(childNameInData,
+				IS_DATA_GROUP.and(filterByAttributes(childAttributes)));
 	}
 
 	private Predicate<DataChild> filterByAttributes(DataAttribute... childAttributes) {
@@ -305,31 +413,28 @@ public class CoraDataGroup implements DataGroup {
 
 	private boolean sameAttributeNameInData(DataAttribute requestedDataAttribute,
 			DataAttribute dataAttribute) {
-		return dataAttribute.getNameInData().equals(requestedDataAttribute.getNameInData());
+		return NameInData.sameName(dataAttribute.getNameInData(),
+				requestedDataAttribute.getNameInData());
 	}
 
 	@Override
 	public DataAttribute getAttribute(String attributeId) {
-		for (DataAttribute dataAttribute : attributes) {
-			if (dataAttribute.getNameInData().equals(attributeId)) {
-				return dataAttribute;
-			}
+		DataAttribute dataAttribute = findAttribute(attributeId);
+		if (dataAttribute != null) {
+			return dataAttribute;
 		}
 		throw new DataMissingException("Attribute with id " + attributeId + " not found.");
 	}
 
 	@Override
 	public void addChildren(Collection<DataChild> dataElements) {
-		dataElements.stream().forEach(this::addChild);
+		ensureNotFrozen();
+		children.addAll(dataElements);
 	}
 
 	@Override
 	public List<DataChild> getAllChildrenWithNameInData(String childNameInData) {
-		if (containsChildWithNameInData(childNameInData)) {
-			return childrenByNameInDataMap.get(childNameInData);
-		}
-		return Collections.emptyList();
-
+		return children.findAll(childNameInData, null);
 	}
 
 	@Override
@@ -351,37 +456,20 @@ public class CoraDataGroup implements DataGroup {
 			DataAttribute... childAttributes) {
 		Predicate<? super DataChild> childNameInDataMatches = element -> attributesMatch(element,
 				childAttributes);
-		return filterChildren(childNameInData, childNameInDataMatches);
+		return children.findAll(childNameInData, childNameInDataMatches);
 	}
 
 	@Override
 	public Collection<DataAtomic> getAllDataAtomicsWithNameInDataAndAttributes(
 			String childNameInData, DataAttribute... childAttributes) {
-		if (containsChildWithNameInData(childNameInData)) {
-			return getAtomicChildrenWithNameInDataAndAttributes(childNameInData, childAttributes)
-					.toList();
-		}
-		return Collections.emptyList();
-	}
-
-	private Stream<DataAtomic> getAtomicChildrenWithNameInDataAndAttributes(String childNameInData,
-			DataAttribute... childAttributes) {
-		return getAtomicChildrenWithNameInData(childNameInData)
-				.filter(filterByAttributes(childAttributes));
+		return getChildrenWithNameInData(childNameInData,
+				IS_DATA_ATOMIC.and(filterByAttributes(childAttributes)));
 	}
 
 	@Override
 	public List<DataChild> getAllChildrenMatchingFilter(DataChildFilter childFilter) {
 		String childNameInData = childFilter.getNameInData();
-		return filterChildren(childNameInData, childFilter::childMatches);
-	}
-
-	private List<DataChild> filterChildren(String childNameInData,
-			Predicate<? super DataChild> predicate) {
-		if (containsChildWithNameInData(childNameInData)) {
-			return childrenByNameInDataMap.get(childNameInData).stream().filter(predicate).toList();
-		}
-		return Collections.emptyList();
+		return children.findAll(childNameInData, childFilter::childMatches);
 	}
 
 	@Override
@@ -391,100 +479,79 @@ public class CoraDataGroup implements DataGroup {
 
 	private boolean removeMatchingChildren(String childNameInData,
 			Predicate<? super DataChild> filter) {
-		if (containsChildWithNameInData(childNameInData)) {
-			childrenByNameInDataMap.get(childNameInData).removeIf(filter);
-			makeSureMapHasNoEmptyListForName(childNameInData);
-			return children.removeIf(filter);
-		}
-		return false;
+		return children.removeAll(childNameInData, filter);
 	}
 
 	@Override
 	public <T> boolean containsChildOfTypeAndName(Class<T> type, String name) {
-		if (childrenByNameInDataMap.containsKey(name)) {
-			List<DataChild> childWithNameInData = childrenByNameInDataMap.get(name);
-			return childWithNameInData.stream().anyMatch(type::isInstance);
-		}
-		return false;
+		return children.findFirst(name, isInstanceOf(type)) != null;
 	}
 
 	@Override
 	public <T extends DataChild> T getFirstChildOfTypeAndName(Class<T> type, String name) {
-		Optional<T> optionalFirst = getOptionalFirstChildOfTypeAndName(type, name);
-		if (optionalFirst.isPresent()) {
-			return optionalFirst.get();
+		T first = getFirstChildWithNameCastToType(type, name);
+		if (first != null) {
+			return first;
 		}
 		throw new DataMissingException("Child of type: " + type.getSimpleName() + " and name: "
 				+ name + " not found as child.");
 	}
 
-	private <T extends DataChild> Optional<T> getOptionalFirstChildOfTypeAndName(Class<T> type,
-			String name) {
-		if (childrenByNameInDataMap.containsKey(name)) {
-			return childrenByNameInDataMap.get(name).stream().map(type::cast).findFirst();
-		}
-		return Optional.empty();
+	private <T extends DataChild> T getFirstChildWithNameCastToType(Class<T> type, String name) {
+		return type.cast(children.findFirst(name, null));
 	}
 
 	@Override
 	public <T extends DataChild> List<T> getChildrenOfType(Class<T> type) {
-		return children.stream().filter(filterByType(type)).map(type::cast).toList();
-	}
-
-	private <T> Predicate<DataChild> filterByType(Class<T> type) {
-		return type::isInstance;
+		List<T> found = new ArrayList<>();
+		for (int i = 0; i < children.size(); i++) {
+			DataChild child = children.get(i);
+			if (type.isInstance(child)) {
+				found.add(type.cast(child));
+			}
+		}
+		return found;
 	}
 
 	@Override
 	public <T extends DataChild> List<T> getChildrenOfTypeAndName(Class<T> type, String name) {
-		if (childrenByNameInDataMap.containsKey(name)) {
-			return getChildrenOfTypeAndNameFromMap(type, name);
-		}
-		return Collections.emptyList();
-	}
-
-	private <T extends DataChild> List<T> getChildrenOfTypeAndNameFromMap(Class<T> type,
-			String name) {
-		return childrenByNameInDataMap.get(name).stream().filter(filterByType(type)).map(type::cast)
-				.toList();
+		return getChildrenWithNameInData(name, isInstanceOf(type));
 	}
 
 	@Override
 	public <T extends DataChild> boolean removeFirstChildWithTypeAndName(Class<T> type,
 			String name) {
-		Optional<T> optionalFirst = getOptionalFirstChildOfTypeAndName(type, name);
-		if (optionalFirst.isPresent()) {
-			childrenByNameInDataMap.get(name).remove(optionalFirst.get());
-			makeSureMapHasNoEmptyListForName(name);
-			return children.remove(optionalFirst.get());
+		ensureNotFrozen();
+		T first = getFirstChildWithNameCastToType(type, name);
+		if (first != null) {
+			return children.removeFirst(name, null);
 		}
 		return false;
 	}
 
 	@Override
 	public <T extends DataChild> boolean removeChildrenWithTypeAndName(Class<T> type, String name) {
-		if (childrenByNameInDataMap.containsKey(name)) {
-			List<T> childrenToRemove = getChildrenOfTypeAndNameFromMap(type, name);
-			childrenByNameInDataMap.get(name).removeAll(childrenToRemove);
-			makeSureMapHasNoEmptyListForName(name);
-			return children.removeAll(childrenToRemove);
-		}
-		return false;
+		return children.removeAll(name, isInstanceOf(type));
 	}
 
-	private void makeSureMapHasNoEmptyListForName(String name) {
-		if (childrenByNameInDataMap.get(name).isEmpty()) {
-			childrenByNameInDataMap.remove(name);
+	@Override
+	public Optional<String> getAttributeValue(String nameInData) {
+		DataAttribute dataAttribute = findAttribute(nameInData);
+		if (dataAttribute != null) {
+			return Optional.of(dataAttribute.getValue());
 		}
+		return Optional.empty();
 	}
 
-	@Override
-	public Optional<String> getAttributeValue(String nameInData) {
-		for (DataAttribute dataAttribute : attributes) {
-			if (dataAttribute.getNameInData().equals(nameInData)) {
-				return Optional.of(dataAttribute.getValue());
+	private DataAttribute findAttribute(String nameInData) {
+		if (attributes != null) {
+			for (int i = 0; i < attributes.size(); i++) {
+				DataAttribute dataAttribute = attributes.get(i);
+				if (NameInData.sameName(nameInData, dataAttribute.getNameInData())) {
+					return dataAttribute;
+				}
 			}
 		}
-		return Optional.empty();
+		return null;
 	}
 }
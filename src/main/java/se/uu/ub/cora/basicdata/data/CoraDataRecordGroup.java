@@ -1,5 +1,5 @@
 /*
- * Copyright 2022, 2025 Uppsala University Library
+ * Copyright 2022, 2025, 2026 Uppsala University Library
  * Copyright 2022, 2024 Olov McKie
  * 
  * This file is part of Cora.
@@ -26,8 +26,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import se.uu.ub.cora.basicdata.data.RecordInfoCache.Field;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataMissingException;
@@ -47,18 +50,45 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 	private static final String TS_VISIBILITY = "tsVisibility";
 	private static final String VISIBILITY = "visibility";
 	private static final String PERMISSION_UNIT = "permissionUnit";
+	private static final Map<String, CoraDataChildFilter> RECORD_INFO_CHILD_FILTERS =
+			new ConcurrentHashMap<>();
+	private RecordInfoCache recordInfoCache;
 
 	public static CoraDataRecordGroup withNameInData(String nameInData) {
 		return new CoraDataRecordGroup(nameInData);
 	}
 
+	/**
+	 * withNameInDataAndExpectedNoOfChildren creates a record group with room for the specified
+	 * number of children, see
+	 * {@link CoraDataGroup#withNameInDataAndExpectedNoOfChildren(String, int)}
+	 */
+	public static CoraDataRecordGroup withNameInDataAndExpectedNoOfChildren(String nameInData,
+			int expectedNoOfChildren) {
+		return new CoraDataRecordGroup(nameInData, expectedNoOfChildren);
+	}
+
 	protected CoraDataRecordGroup(String nameInData) {
 		super(nameInData);
 	}
 
+	protected CoraDataRecordGroup(String nameInData, int expectedNoOfChildren) {
+		super(nameInData, expectedNoOfChildren);
+	}
+
+	@Override
+	public CoraDataRecordGroup freeze() {
+		return (CoraDataRecordGroup) super.freeze();
+	}
+
+	@Override
+	protected CoraDataGroup createEmptyCopy() {
+		return new CoraDataRecordGroup(getNameInData());
+	}
+
 	@Override
 	public String getType() {
-		return getFirstLinkedRecordIdWithNameInDataFromRecordInfo(TYPE);
+		return getFirstLinkedRecordIdFromRecordInfo(Field.TYPE);
 	}
 
 	@Override
@@ -69,7 +99,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public String getId() {
-		return getFirstAtomicValueWithNameInDataFromRecordInfo(ID);
+		return getFirstAtomicValueFromRecordInfo(Field.ID);
 	}
 
 	@Override
@@ -80,7 +110,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public String getDataDivider() {
-		return getFirstLinkedRecordIdWithNameInDataFromRecordInfo(DATA_DIVIDER);
+		return getFirstLinkedRecordIdFromRecordInfo(Field.DATA_DIVIDER);
 	}
 
 	@Override
@@ -92,7 +122,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public String getValidationType() {
-		return getFirstLinkedRecordIdWithNameInDataFromRecordInfo(VALIDATION_TYPE);
+		return getFirstLinkedRecordIdFromRecordInfo(Field.VALIDATION_TYPE);
 	}
 
 	@Override
@@ -102,14 +132,22 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 		replaceAllChildrenInRecordInfoWithChild(child);
 	}
 
-	private String getFirstAtomicValueWithNameInDataFromRecordInfo(String nameInData) {
+	private String getFirstAtomicValueFromRecordInfo(Field field) {
+		DataChild child = getRecordInfoCache().getFirstChild(field);
+		if (child instanceof CoraDataAtomic) {
+			return ((CoraDataAtomic) child).getValue();
+		}
 		DataGroup recordInfo = getRecordInfo();
-		return recordInfo.getFirstAtomicValueWithNameInData(nameInData);
+		return recordInfo.getFirstAtomicValueWithNameInData(field.nameInData());
 	}
 
-	private String getFirstLinkedRecordIdWithNameInDataFromRecordInfo(String nameInData) {
+	private String getFirstLinkedRecordIdFromRecordInfo(Field field) {
+		DataChild child = getRecordInfoCache().getFirstChild(field);
+		if (child instanceof DataRecordLink) {
+			return ((DataRecordLink) child).getLinkedRecordId();
+		}
 		DataGroup recordInfo = getRecordInfo();
-		return getLinkedIdInGroupUsingName(recordInfo, nameInData);
+		return getLinkedIdInGroupUsingName(recordInfo, field.nameInData());
 	}
 
 	private String getLinkedIdInGroupUsingName(DataGroup recordInfo, String nameInData) {
@@ -119,14 +157,41 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 	}
 
 	private DataGroup getRecordInfo() {
+		DataGroup recordInfo = getRecordInfoCache().getRecordInfo();
+		if (recordInfo != null) {
+			return recordInfo;
+		}
 		return getFirstGroupWithNameInData(RECORD_INFO);
 	}
 
+	private RecordInfoCache getRecordInfoCache() {
+		RecordInfoCache cache = recordInfoCache;
+		if (cache == null || !cache.isValidFor(this)) {
+			cache = RecordInfoCache.forRecordGroup(this);
+			recordInfoCache = cache;
+		}
+		return cache;
+	}
+
+	RecordInfoCache onlyForTestGetRecordInfoCache() {
+		return recordInfoCache;
+	}
+
+	/**
+	 * hasNoChildInRecordInfo returns true if this group has a recordInfo without a child for the
+	 * specified field
+	 */
+	private boolean hasNoChildInRecordInfo(RecordInfoCache cache, Field field) {
+		return cache.getRecordInfo() != null && cache.getFirstChild(field) == null;
+	}
+
 	private void replaceAllChildrenInRecordInfoWithChild(DataChild child) {
+		ensureNotFrozen();
 		ensureRecordInfoExists();
 		DataGroup recordInfo = getRecordInfo();
 		String nameInData = child.getNameInData();
-		CoraDataChildFilter filter = CoraDataChildFilter.usingNameInData(nameInData);
+		CoraDataChildFilter filter = RECORD_INFO_CHILD_FILTERS.computeIfAbsent(nameInData,
+				CoraDataChildFilter::usingNameInData);
 		recordInfo.removeAllChildrenMatchingFilter(filter);
 		recordInfo.addChild(child);
 	}
@@ -139,7 +204,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public String getCreatedBy() {
-		return getFirstLinkedRecordIdWithNameInDataFromRecordInfo("createdBy");
+		return getFirstLinkedRecordIdFromRecordInfo(Field.CREATED_BY);
 	}
 
 	@Override
@@ -150,7 +215,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public String getTsCreated() {
-		return getFirstAtomicValueWithNameInDataFromRecordInfo("tsCreated");
+		return getFirstAtomicValueFromRecordInfo(Field.TS_CREATED);
 	}
 
 	@Override
@@ -189,6 +254,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public void addUpdatedUsingUserIdAndTs(String userId, String tsUpdated) {
+		ensureNotFrozen();
 		ensureRecordInfoExists();
 		DataGroup recordInfo = getRecordInfo();
 		CoraDataGroup updated = CoraDataGroup.withNameInData(UPDATED);
@@ -255,6 +321,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public void setAllUpdated(Collection<DataChild> updatedList) {
+		ensureNotFrozen();
 		ensureRecordInfoExistsIfUpdatedListNotEmpty(updatedList);
 		replaceExistingUpdatedWithNewOnesIfPossible(updatedList);
 	}
@@ -285,6 +352,14 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 	}
 
 	private boolean ignoreOverwriteProtectionIsSetToTrue() {
+		RecordInfoCache cache = getRecordInfoCache();
+		DataChild child = cache.getFirstChild(Field.IGNORE_OVERWRITE_PROTECTION);
+		if (child instanceof CoraDataAtomic) {
+			return ((CoraDataAtomic) child).getValue().equals("true");
+		}
+		if (hasNoChildInRecordInfo(cache, Field.IGNORE_OVERWRITE_PROTECTION)) {
+			return false;
+		}
 		return containsChildWithNameInData(RECORD_INFO)
 				&& getRecordInfo().containsChildWithNameInData(IGNORE_OVERWRITE_PROTECTION)
 				&& getRecordInfo().getFirstAtomicValueWithNameInData(IGNORE_OVERWRITE_PROTECTION)
@@ -293,6 +368,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public void removeOverwriteProtection() {
+		ensureNotFrozen();
 		if (containsChildWithNameInData(RECORD_INFO)) {
 			getRecordInfo().removeAllChildrenWithNameInData(IGNORE_OVERWRITE_PROTECTION);
 		}
@@ -311,10 +387,19 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public Optional<String> getTsVisibility() {
-		return possiblyGetAtomicValueFromRecordInfo(TS_VISIBILITY);
+		return possiblyGetAtomicValueFromRecordInfo(Field.TS_VISIBILITY);
 	}
 
-	private Optional<String> possiblyGetAtomicValueFromRecordInfo(String nameInData) {
+	private Optional<String> possiblyGetAtomicValueFromRecordInfo(Field field) {
+		RecordInfoCache cache = getRecordInfoCache();
+		DataChild child = cache.getFirstChild(field);
+		if (child instanceof CoraDataAtomic) {
+			return Optional.of(((CoraDataAtomic) child).getValue());
+		}
+		if (hasNoChildInRecordInfo(cache, field)) {
+			return Optional.empty();
+		}
+		String nameInData = field.nameInData();
 		if (containsChildWithNameInData(RECORD_INFO)) {
 			DataGroup recordInfo = getRecordInfo();
 			if (recordInfo.containsChildWithNameInData(nameInData)) {
@@ -332,7 +417,7 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public Optional<String> getVisibility() {
-		return possiblyGetAtomicValueFromRecordInfo(VISIBILITY);
+		return possiblyGetAtomicValueFromRecordInfo(Field.VISIBILITY);
 	}
 
 	@Override
@@ -344,23 +429,19 @@ public class CoraDataRecordGroup extends CoraDataGroup implements DataRecordGrou
 
 	@Override
 	public Optional<Boolean> isInTrashBin() {
-		return possiblyGetAtomicBooleanValueFromRecordInfo("inTrashBin");
-	}
-
-	private Optional<Boolean> possiblyGetAtomicBooleanValueFromRecordInfo(String nameInData) {
-		if (containsChildWithNameInData(RECORD_INFO)) {
-			DataGroup recordInfo = getRecordInfo();
-			if (recordInfo.containsChildWithNameInData(nameInData)) {
-				String value = recordInfo.getFirstAtomicValueWithNameInData(nameInData);
-				boolean valueAsBoolean = Boolean.parseBoolean(value);
-				return Optional.of(valueAsBoolean);
-			}
-		}
-		return Optional.empty();
+		return possiblyGetAtomicValueFromRecordInfo(Field.IN_TRASH_BIN).map(Boolean::parseBoolean);
 	}
 
 	@Override
 	public Optional<String> getPermissionUnit() {
+		RecordInfoCache cache = getRecordInfoCache();
+		DataChild child = cache.getFirstChild(Field.PERMISSION_UNIT);
+		if (child instanceof DataRecordLink) {
+			return Optional.of(((DataRecordLink) child).getLinkedRecordId());
+		}
+		if (hasNoChildInRecordInfo(cache, Field.PERMISSION_UNIT)) {
+			return Optional.empty();
+		}
 		if (containsChildWithNameInData(RECORD_INFO)) {
 			DataGroup recordInfo = getRecordInfo();
 			if (recordInfo.containsChildWithNameInData(PERMISSION_UNIT)) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2016, 2019, 2025 Uppsala University Library
+ * Copyright 2015, 2016, 2019, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -67,8 +67,24 @@ public final class CoraDataRecordLink extends CoraDataGroup implements DataRecor
 		return dataRecordLink;
 	}
 
+	@Override
+	public CoraDataRecordLink freeze() {
+		if (isFrozen()) {
+			return this;
+		}
+		CoraDataRecordLink frozenLink = (CoraDataRecordLink) super.freeze();
+		frozenLink.actions = List.copyOf(actions);
+		return frozenLink;
+	}
+
+	@Override
+	protected CoraDataGroup createEmptyCopy() {
+		return new CoraDataRecordLink(getNameInData());
+	}
+
 	@Override
 	public void addAction(Action action) {
+		ensureNotFrozen();
 		actions.add(action);
 	}
 
@@ -1,5 +1,5 @@
 /**
- * Copyright 2015, 2016, 2023, 2025 Uppsala University Library
+ * Copyright 2015, 2016, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -20,6 +20,7 @@ package se.uu.ub.cora.basicdata.data;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +32,7 @@ import se.uu.ub.cora.data.DataMissingException;
 import se.uu.ub.cora.data.DataResourceLink;
 
 public final class CoraDataResourceLink implements DataResourceLink {
+	private static final String FROZEN_ERROR_MESSAGE = "Frozen data can not be modified";
 
 	private Set<DataAttribute> attributes = new HashSet<>();
 	private List<Action> actions = new ArrayList<>();
@@ -39,6 +41,7 @@ public final class CoraDataResourceLink implements DataResourceLink {
 	private String repeatId;
 	private String type;
 	private String id;
+	private boolean frozen = false;
 
 	public static CoraDataResourceLink withNameInDataAndTypeAndIdAndMimeType(String nameInData,
 			String type, String id, String mimeType) {
@@ -64,6 +67,7 @@ public final class CoraDataResourceLink implements DataResourceLink {
 
 	@Override
 	public void setMimeType(String mimeType) {
+		ensureNotFrozen();
 		this.mimeType = mimeType;
 	}
 
@@ -74,6 +78,7 @@ public final class CoraDataResourceLink implements DataResourceLink {
 
 	@Override
 	public void addAction(Action action) {
+		ensureNotFrozen();
 		actions.add(action);
 	}
 
@@ -84,6 +89,7 @@ public final class CoraDataResourceLink implements DataResourceLink {
 
 	@Override
 	public void setRepeatId(String repeatId) {
+		ensureNotFrozen();
 		this.repeatId = repeatId;
 	}
 
@@ -104,6 +110,7 @@ public final class CoraDataResourceLink implements DataResourceLink {
 
 	@Override
 	public void addAttributeByIdWithValue(String nameInData, String value) {
+		ensureNotFrozen();
 		possiblyRemovePreviouslyStoredAttribute(nameInData);
 		attributes.add(CoraDataAttribute.withNameInDataAndValue(nameInData, value));
 	}
@@ -142,4 +149,33 @@ public final class CoraDataResourceLink implements DataResourceLink {
 		return Optional.empty();
 	}
 
+	/**
+	 * freeze returns an immutable copy of this resource link, all methods that modify a frozen
+	 * resource link throw an UnsupportedOperationException. Freezing an already frozen resource
+	 * link returns the resource link itself.
+	 *
+	 * @return a frozen copy of this resource link
+	 */
+	public CoraDataResourceLink freeze() {
+		if (frozen) {
+			return this;
+		}
+		CoraDataResourceLink frozenLink = new CoraDataResourceLink(nameInData, type, id, mimeType);
+		frozenLink.repeatId = repeatId;
+		frozenLink.attributes = Collections.unmodifiableSet(new HashSet<>(attributes));
+		frozenLink.actions = List.copyOf(actions);
+		frozenLink.frozen = true;
+		return frozenLink;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void ensureNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException(FROZEN_ERROR_MESSAGE);
+		}
+	}
+
 }
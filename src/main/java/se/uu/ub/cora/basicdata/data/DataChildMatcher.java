@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
+
+/**
+ * DataChildMatcher is the compiled form of a {@link CoraDataChildFilter}. The possible values of
+ * the filter attributes are kept in a map from attribute name to possible values, so that each
+ * attribute of a child is matched with one lookup.
+ * <p>
+ * A DataChildMatcher is immutable, adding an attribute returns a new matcher, so one matcher can
+ * be used by many threads at the same time.
+ */
+final class DataChildMatcher {
+	private final String childNameInData;
+	private final int noOfFilterAttributes;
+	private final Map<String, Set<String>> possibleValuesByAttributeName;
+
+	static DataChildMatcher usingNameInData(String childNameInData) {
+		return new DataChildMatcher(childNameInData, 0, Collections.emptyMap());
+	}
+
+	private DataChildMatcher(String childNameInData, int noOfFilterAttributes,
+			Map<String, Set<String>> possibleValuesByAttributeName) {
+		this.childNameInData = childNameInData;
+		this.noOfFilterAttributes = noOfFilterAttributes;
+		this.possibleValuesByAttributeName = possibleValuesByAttributeName;
+	}
+
+	/**
+	 * withAttributeUsingNameAndPossibleValues returns a new matcher that also requires an attribute
+	 * with the specified name and one of the possible values. If the matcher already has an
+	 * attribute with the same name, the possible values are added to the ones it has.
+	 */
+	DataChildMatcher withAttributeUsingNameAndPossibleValues(String attributeName,
+			Set<String> possibleValues) {
+		Map<String, Set<String>> possibleValuesByName = new HashMap<>(
+				possibleValuesByAttributeName);
+		Set<String> values = new HashSet<>(possibleValues);
+		Set<String> existingValues = possibleValuesByName.get(attributeName);
+		if (existingValues != null) {
+			values.addAll(existingValues);
+		}
+		possibleValuesByName.put(attributeName, Collections.unmodifiableSet(values));
+		return new DataChildMatcher(childNameInData, noOfFilterAttributes + 1,
+				Collections.unmodifiableMap(possibleValuesByName));
+	}
+
+	boolean childMatches(DataChild child) {
+		if (!NameInData.sameName(childNameInData, child.getNameInData())) {
+			return false;
+		}
+		if (!child.hasAttributes()) {
+			return noOfFilterAttributes == 0;
+		}
+		Collection<DataAttribute> attributes = child.getAttributes();
+		return attributes.size() == noOfFilterAttributes
+				&& allAttributesHavePossibleValues(attributes);
+	}
+
+	private boolean allAttributesHavePossibleValues(Collection<DataAttribute> attributes) {
+		for (DataAttribute attribute : attributes) {
+			Set<String> possibleValues = possibleValuesByAttributeName
+					.get(attribute.getNameInData());
+			if (possibleValues == null || !possibleValues.contains(attribute.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	String getNameInData() {
+		return childNameInData;
+	}
+}
@@ -0,0 +1,663 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import se.uu.ub.cora.data.DataChild;
+
+/**
+ * DataChildStorage holds the children of a {@link CoraDataGroup} in insertion order.
+ * <p>
+ * Most groups have only a few children, so children are kept in a plain array and lookups by
+ * nameInData are done by scanning the array. An index from nameInData to the positions of the
+ * children in the array is only built when the number of children reaches the index threshold,
+ * which is read from the system property <i>se.uu.ub.cora.basicdata.childIndexThreshold</i> and
+ * defaults to 8.
+ * <p>
+ * Removing children by nameInData leaves an empty slot, a tombstone, in the array instead of
+ * moving the children after it, so that with an index the cost of a removal is proportional to the
+ * number of children with that nameInData and not to the number of children in the storage. The
+ * array is compacted, and the index dropped, when a child is accessed by position or when the
+ * array is full and at least half of it is tombstones. Changes by position through
+ * {@link #asList()} also drop the index, it is rebuilt on the next lookup.
+ * <p>
+ * A read only copy, see {@link #readOnlyCopyUsing(UnaryOperator)}, is sized to hold exactly its
+ * children and has its index built from the start, as it is never changed it can be read by many
+ * threads at the same time.
+ * <p>
+ * When the number of children is known in advance the storage can be sized once, see
+ * {@link #ensureCapacity(int)} and {@link #addAll(Collection)}.
+ * <p>
+ * Children can be loaded lazily, see {@link #loadOnFirstUse(Supplier)}, the loader is then called
+ * the first time the storage is used and not at all if the storage is never used.
+ */
+final class DataChildStorage {
+	static final String INDEX_THRESHOLD_PROPERTY = "se.uu.ub.cora.basicdata.childIndexThreshold";
+	static final int DEFAULT_INDEX_THRESHOLD = 8;
+	static final String FROZEN_ERROR_MESSAGE = "Frozen data can not be modified";
+	private static final int INDEX_THRESHOLD = Integer.getInteger(INDEX_THRESHOLD_PROPERTY,
+			DEFAULT_INDEX_THRESHOLD);
+	private static final DataChild[] NO_CHILDREN = {};
+	private static final int FIRST_CAPACITY = 4;
+	private static final int NOT_FOUND = -1;
+
+	private final int indexThreshold;
+	private DataChild[] children = NO_CHILDREN;
+	private int end = 0;
+	private int size = 0;
+	private int modCount = 0;
+	private Map<String, Positions> positionsByNameInData;
+	private ChildrenView childrenView;
+	private boolean readOnly = false;
+	private Supplier<? extends Collection<DataChild>> childrenLoader;
+
+	DataChildStorage() {
+		this(INDEX_THRESHOLD);
+	}
+
+	DataChildStorage(int indexThreshold) {
+		this.indexThreshold = indexThreshold;
+	}
+
+	int size() {
+		ensureLoaded();
+		return size;
+	}
+
+	boolean isEmpty() {
+		ensureLoaded();
+		return size == 0;
+	}
+
+	DataChild get(int index) {
+		ensureLoaded();
+		Objects.checkIndex(index, size);
+		compactIfHasTombstones();
+		return children[index];
+	}
+
+	void add(DataChild child) {
+		ensureNotReadOnly();
+		ensureLoaded();
+		ensureRoomForOneMore();
+		children[end] = child;
+		if (positionsByNameInData != null) {
+			addToIndex(child, end);
+		}
+		end++;
+		size++;
+		markChanged();
+	}
+
+	/**
+	 * addAll adds all the specified children, in the order returned by their iterator, growing the
+	 * storage at most once.
+	 */
+	void addAll(Collection<? extends DataChild> newChildren) {
+		ensureNotReadOnly();
+		ensureLoaded();
+		if (newChildren.isEmpty()) {
+			return;
+		}
+		appendAll(newChildren);
+		markChanged();
+	}
+
+	private void appendAll(Collection<? extends DataChild> newChildren) {
+		ensureCapacity(size + newChildren.size());
+		for (DataChild child : newChildren) {
+			ensureRoomForOneMore();
+			children[end] = child;
+			if (positionsByNameInData != null) {
+				addToIndex(child, end);
+			}
+			end++;
+			size++;
+		}
+	}
+
+	/**
+	 * markChanged changes modCount, and the modCount of the list view so that iterators of the view
+	 * fail fast when the children are changed through this storage during the iteration.
+	 */
+	private void markChanged() {
+		modCount++;
+		if (childrenView != null) {
+			childrenView.markChanged();
+		}
+	}
+
+	/**
+	 * ensureCapacity makes room for the specified number of children without growing the storage
+	 * again, it is used when the number of children to add is known in advance.
+	 */
+	void ensureCapacity(int noOfChildren) {
+		ensureNotReadOnly();
+		if (end + noOfChildren - size > children.length) {
+			compactIfHasTombstones();
+		}
+		if (noOfChildren > children.length) {
+			children = Arrays.copyOf(children, noOfChildren);
+		}
+	}
+
+	private void ensureRoomForOneMore() {
+		if (end < children.length) {
+			return;
+		}
+		if (atLeastHalfIsTombstones()) {
+			compact();
+		}
+		if (end == children.length) {
+			int newCapacity = Math.max(FIRST_CAPACITY, children.length + (children.length >> 1));
+			children = Arrays.copyOf(children, newCapacity);
+		}
+	}
+
+	private boolean atLeastHalfIsTombstones() {
+		return end > 0 && end - size >= end >> 1;
+	}
+
+	boolean containsName(String nameInData) {
+		ensureLoaded();
+		if (useIndex()) {
+			return positionsByNameInData.containsKey(nameInData);
+		}
+		return slotOfFirst(nameInData, null) != NOT_FOUND;
+	}
+
+	/**
+	 * findFirst returns the first child with the specified nameInData that matches the filter, or
+	 * null if no such child exists. A null filter matches all children.
+	 */
+	DataChild findFirst(String nameInData, Predicate<? super DataChild> filter) {
+		ensureLoaded();
+		if (useIndex()) {
+			return findFirstInIndex(nameInData, filter);
+		}
+		int slot = slotOfFirst(nameInData, filter);
+		return slot == NOT_FOUND ? null : children[slot];
+	}
+
+	private DataChild findFirstInIndex(String nameInData, Predicate<? super DataChild> filter) {
+		Positions positions = positionsByNameInData.get(nameInData);
+		if (positions != null) {
+			for (int i = 0; i < positions.size(); i++) {
+				DataChild child = children[positions.get(i)];
+				if (matches(child, filter)) {
+					return child;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * findAll returns a new list with all children with the specified nameInData that matches the
+	 * filter. A null filter matches all children.
+	 */
+	List<DataChild> findAll(String nameInData, Predicate<? super DataChild> filter) {
+		ensureLoaded();
+		if (useIndex()) {
+			return findAllInIndex(nameInData, filter);
+		}
+		List<DataChild> found = new ArrayList<>();
+		for (int slot = 0; slot < end; slot++) {
+			if (hasNameAndMatches(children[slot], nameInData, filter)) {
+				found.add(children[slot]);
+			}
+		}
+		return found;
+	}
+
+	private List<DataChild> findAllInIndex(String nameInData, Predicate<? super DataChild> filter) {
+		Positions positions = positionsByNameInData.get(nameInData);
+		if (positions == null) {
+			return new ArrayList<>();
+		}
+		List<DataChild> found = new ArrayList<>(positions.size());
+		for (int i = 0; i < positions.size(); i++) {
+			DataChild child = children[positions.get(i)];
+			if (matches(child, filter)) {
+				found.add(child);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * removeFirst removes the first child with the specified nameInData that matches the filter. A
+	 * null filter matches all children.
+	 *
+	 * @return true if a child was removed
+	 */
+	boolean removeFirst(String nameInData, Predicate<? super DataChild> filter) {
+		ensureNotReadOnly();
+		ensureLoaded();
+		if (useIndex()) {
+			return removeFirstInIndex(nameInData, filter);
+		}
+		int slot = slotOfFirst(nameInData, filter);
+		if (slot == NOT_FOUND) {
+			return false;
+		}
+		addTombstone(slot);
+		return true;
+	}
+
+	private boolean removeFirstInIndex(String nameInData, Predicate<? super DataChild> filter) {
+		Positions positions = positionsByNameInData.get(nameInData);
+		if (positions != null) {
+			for (int i = 0; i < positions.size(); i++) {
+				int slot = positions.get(i);
+				if (matches(children[slot], filter)) {
+					positions.removeAt(i);
+					removeFromIndexIfEmpty(nameInData, positions);
+					addTombstone(slot);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * removeAll removes all children with the specified nameInData that matches the filter. A null
+	 * filter matches all children.
+	 *
+	 * @return true if at least one child was removed
+	 */
+	boolean removeAll(String nameInData, Predicate<? super DataChild> filter) {
+		ensureNotReadOnly();
+		ensureLoaded();
+		if (useIndex()) {
+			return removeAllInIndex(nameInData, filter);
+		}
+		boolean removed = false;
+		for (int slot = 0; slot < end; slot++) {
+			if (hasNameAndMatches(children[slot], nameInData, filter)) {
+				addTombstone(slot);
+				removed = true;
+			}
+		}
+		return removed;
+	}
+
+	private boolean removeAllInIndex(String nameInData, Predicate<? super DataChild> filter) {
+		Positions positions = positionsByNameInData.get(nameInData);
+		if (positions == null) {
+			return false;
+		}
+		int noOfPositions = positions.size();
+		int kept = 0;
+		for (int i = 0; i < noOfPositions; i++) {
+			int slot = positions.get(i);
+			if (matches(children[slot], filter)) {
+				addTombstone(slot);
+			} else {
+				positions.set(kept, slot);
+				kept++;
+			}
+		}
+		positions.truncate(kept);
+		removeFromIndexIfEmpty(nameInData, positions);
+		return kept != noOfPositions;
+	}
+
+	private void removeFromIndexIfEmpty(String nameInData, Positions positions) {
+		if (positions.size() == 0) {
+			positionsByNameInData.remove(nameInData);
+		}
+	}
+
+	private void addTombstone(int slot) {
+		children[slot] = null;
+		size--;
+		markChanged();
+		while (end > 0 && children[end - 1] == null) {
+			end--;
+		}
+	}
+
+	private int slotOfFirst(String nameInData, Predicate<? super DataChild> filter) {
+		for (int slot = 0; slot < end; slot++) {
+			if (hasNameAndMatches(children[slot], nameInData, filter)) {
+				return slot;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	private boolean hasNameAndMatches(DataChild child, String nameInData,
+			Predicate<? super DataChild> filter) {
+		return child != null && NameInData.sameName(nameInData, child.getNameInData())
+				&& matches(child, filter);
+	}
+
+	private boolean matches(DataChild child, Predicate<? super DataChild> filter) {
+		return filter == null || filter.test(child);
+	}
+
+	private void compactIfHasTombstones() {
+		if (end != size) {
+			compact();
+		}
+	}
+
+	private void compact() {
+		int kept = 0;
+		for (int slot = 0; slot < end; slot++) {
+			if (children[slot] != null) {
+				children[kept] = children[slot];
+				kept++;
+			}
+		}
+		Arrays.fill(children, kept, end, null);
+		end = kept;
+		dropIndex();
+	}
+
+	private DataChild removeAt(int index) {
+		compactIfHasTombstones();
+		DataChild removed = children[index];
+		int noToMove = size - index - 1;
+		System.arraycopy(children, index + 1, children, index, noToMove);
+		size--;
+		end--;
+		children[size] = null;
+		markChanged();
+		dropIndex();
+		return removed;
+	}
+
+	private void insertAt(int index, DataChild child) {
+		compactIfHasTombstones();
+		ensureRoomForOneMore();
+		System.arraycopy(children, index, children, index + 1, size - index);
+		children[index] = child;
+		size++;
+		end++;
+		markChanged();
+		dropIndex();
+	}
+
+	private DataChild replaceAt(int index, DataChild child) {
+		compactIfHasTombstones();
+		DataChild replaced = children[index];
+		children[index] = child;
+		modCount++;
+		dropIndex();
+		return replaced;
+	}
+
+	private boolean useIndex() {
+		if (positionsByNameInData != null) {
+			return true;
+		}
+		if (size < indexThreshold) {
+			return false;
+		}
+		buildIndex();
+		return true;
+	}
+
+	private void buildIndex() {
+		positionsByNameInData = new HashMap<>();
+		for (int slot = 0; slot < end; slot++) {
+			if (children[slot] != null) {
+				positionsFor(children[slot]).reserveOne();
+			}
+		}
+		for (int slot = 0; slot < end; slot++) {
+			if (children[slot] != null) {
+				addToIndex(children[slot], slot);
+			}
+		}
+	}
+
+	private Positions positionsFor(DataChild child) {
+		return positionsByNameInData.computeIfAbsent(child.getNameInData(), _ -> new Positions());
+	}
+
+	private void addToIndex(DataChild child, int slot) {
+		positionsFor(child).add(slot);
+	}
+
+	private void dropIndex() {
+		positionsByNameInData = null;
+	}
+
+	/**
+	 * asList returns a live list view of the children, changes made through the view are made in
+	 * this storage.
+	 */
+	List<DataChild> asList() {
+		if (childrenView == null) {
+			childrenView = new ChildrenView();
+		}
+		return childrenView;
+	}
+
+	/**
+	 * readOnlyCopyUsing returns a new read only storage with the children of this storage, each
+	 * child replaced by the result of the specified childConverter.
+	 */
+	DataChildStorage readOnlyCopyUsing(UnaryOperator<DataChild> childConverter) {
+		ensureLoaded();
+		DataChildStorage copy = new DataChildStorage(indexThreshold);
+		copy.children = size == 0 ? NO_CHILDREN : new DataChild[size];
+		int copied = 0;
+		for (int slot = 0; slot < end; slot++) {
+			if (children[slot] != null) {
+				copy.children[copied] = childConverter.apply(children[slot]);
+				copied++;
+			}
+		}
+		copy.size = size;
+		copy.end = size;
+		copy.useIndex();
+		copy.asList();
+		copy.readOnly = true;
+		return copy;
+	}
+
+	/**
+	 * loadOnFirstUse makes this storage call the specified loader the first time it is used, and
+	 * add the returned children before any children added after this call. If the loader throws
+	 * an exception it is kept, so that every later use calls it again and fails the same way.
+	 */
+	void loadOnFirstUse(Supplier<? extends Collection<DataChild>> loader) {
+		ensureNotReadOnly();
+		ensureLoaded();
+		childrenLoader = loader;
+	}
+
+	private void ensureLoaded() {
+		if (childrenLoader != null) {
+			Collection<DataChild> loadedChildren = childrenLoader.get();
+			childrenLoader = null;
+			appendAll(loadedChildren);
+			modCount++;
+		}
+	}
+
+	/**
+	 * modCount returns a number that is changed each time a child is added, removed or replaced, so
+	 * that information derived from the children can be checked to still be valid.
+	 */
+	int modCount() {
+		ensureLoaded();
+		return modCount;
+	}
+
+	boolean isReadOnly() {
+		return readOnly;
+	}
+
+	private void ensureNotReadOnly() {
+		if (readOnly) {
+			throw new UnsupportedOperationException(FROZEN_ERROR_MESSAGE);
+		}
+	}
+
+	boolean isLoaded() {
+		return childrenLoader == null;
+	}
+
+	boolean onlyForTestHasIndex() {
+		return positionsByNameInData != null;
+	}
+
+	int onlyForTestGetIndexThreshold() {
+		return indexThreshold;
+	}
+
+	int onlyForTestGetCapacity() {
+		return children.length;
+	}
+
+	int onlyForTestGetNoOfPositionSlots(String nameInData) {
+		return positionsByNameInData.get(nameInData).slots.length;
+	}
+
+	int onlyForTestGetNoOfTombstones() {
+		return end - size;
+	}
+
+	private final class ChildrenView extends AbstractList<DataChild> implements RandomAccess {
+
+		@Override
+		public DataChild get(int index) {
+			return DataChildStorage.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return DataChildStorage.this.size();
+		}
+
+		@Override
+		public DataChild set(int index, DataChild child) {
+			ensureNotReadOnly();
+			Objects.checkIndex(index, size());
+			return replaceAt(index, child);
+		}
+
+		@Override
+		public void add(int index, DataChild child) {
+			ensureNotReadOnly();
+			Objects.checkIndex(index, size() + 1);
+			if (index == size) {
+				DataChildStorage.this.add(child);
+			} else {
+				insertAt(index, child);
+			}
+		}
+
+		@Override
+		public DataChild remove(int index) {
+			ensureNotReadOnly();
+			Objects.checkIndex(index, size());
+			return removeAt(index);
+		}
+
+		void markChanged() {
+			modCount++;
+		}
+	}
+
+	/**
+	 * Positions holds the positions in the children array of the children with one nameInData, in
+	 * ascending order. Removing the first position only moves the start, so that removing children
+	 * from the front of a long repeated list does not move the remaining positions.
+	 * <p>
+	 * When the index is built the positions are first counted, see {@link #reserveOne()}, so that
+	 * the array holding them is created with the right size.
+	 */
+	private static final class Positions {
+		private static final int[] NO_SLOTS = {};
+		private int[] slots = NO_SLOTS;
+		private int noOfReserved = 0;
+		private int start = 0;
+		private int end = 0;
+
+		void reserveOne() {
+			noOfReserved++;
+		}
+
+		void add(int slot) {
+			if (slots == NO_SLOTS) {
+				slots = new int[Math.max(2, noOfReserved)];
+			} else if (end == slots.length) {
+				makeRoom();
+			}
+			slots[end] = slot;
+			end++;
+		}
+
+		private void makeRoom() {
+			int noOfSlots = end - start;
+			if (start > 0) {
+				System.arraycopy(slots, start, slots, 0, noOfSlots);
+			} else {
+				slots = Arrays.copyOf(slots, slots.length * 2);
+			}
+			start = 0;
+			end = noOfSlots;
+		}
+
+		int size() {
+			return end - start;
+		}
+
+		int get(int index) {
+			return slots[start + index];
+		}
+
+		void set(int index, int slot) {
+			slots[start + index] = slot;
+		}
+
+		void removeAt(int index) {
+			if (index == 0) {
+				start++;
+			} else {
+				int position = start + index;
+				System.arraycopy(slots, position + 1, slots, position, end - position - 1);
+				end--;
+			}
+		}
+
+		void truncate(int newSize) {
+			end = start + newSize;
+		}
+	}
+}
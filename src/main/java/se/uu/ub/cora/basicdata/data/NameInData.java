@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NameInData is a symbol table for names of data elements and attributes, so that data created
+ * with equal names share one String instance.
+ * <p>
+ * Names used in the code of this module, such as recordInfo and linkedRecordType, are added from
+ * the start so that they are the same instances as the string literals used for lookups. The table
+ * is bounded by the system property <i>se.uu.ub.cora.basicdata.nameInDataMaxSize</i> (default
+ * 10000), when it is full new names are returned as they are.
+ * <p>
+ * This class is thread safe.
+ */
+public final class NameInData {
+	static final String MAX_SIZE_PROPERTY = "se.uu.ub.cora.basicdata.nameInDataMaxSize";
+	static final int DEFAULT_MAX_SIZE = 10000;
+	private static final List<String> KNOWN_NAMES = List.of("name", "value", "children",
+			"attributes", "repeatId", "actionLinks", "recordInfo", "id", "type", "dataDivider",
+			"validationType", "createdBy", "tsCreated", "updated", "updatedBy", "tsUpdated",
+			"permissionUnit", "visibility", "tsVisibility", "inTrashBin",
+			"ignoreOverwriteProtection", "linkedRecordType", "linkedRecordId", "linkedPath",
+			"linkedRepeatId", "mimeType", "search", "recordType", "user", "system");
+	private static final NameInData INSTANCE = new NameInData(
+			Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+
+	private final int maxSize;
+	private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();
+
+	NameInData(int maxSize) {
+		this.maxSize = maxSize;
+		for (String knownName : KNOWN_NAMES) {
+			names.put(knownName, knownName);
+		}
+	}
+
+	/**
+	 * canonicalize returns the shared instance of the specified name, if the name is not yet in
+	 * the table it is added, unless the table is full.
+	 *
+	 * @param nameInData
+	 *            A String with the name to canonicalize, may be null
+	 * @return the shared String equal to the specified name, or the name itself if it is not
+	 *         shared
+	 */
+	public static String canonicalize(String nameInData) {
+		return INSTANCE.canonicalizeName(nameInData);
+	}
+
+	/**
+	 * sameName checks if two names are equal, using identity as a fast path as canonicalized
+	 * names are the same instance
+	 */
+	public static boolean sameName(String name, String otherName) {
+		return name == otherName || name.equals(otherName);
+	}
+
+	String canonicalizeName(String nameInData) {
+		if (nameInData == null) {
+			return null;
+		}
+		String canonical = names.get(nameInData);
+		if (canonical != null) {
+			return canonical;
+		}
+		return possiblyAddName(nameInData);
+	}
+
+	private String possiblyAddName(String nameInData) {
+		if (names.size() >= maxSize) {
+			return nameInData;
+		}
+		String existing = names.putIfAbsent(nameInData, nameInData);
+		return existing != null ? existing : nameInData;
+	}
+
+	int onlyForTestGetSize() {
+		return names.size();
+	}
+
+	static NameInData onlyForTestGetInstance() {
+		return INSTANCE;
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import se.uu.ub.cora.data.DataChild;
+
+/**
+ * RecordInfoCache holds the recordInfo group of a {@link CoraDataRecordGroup} and the first child
+ * in recordInfo for each of the well known recordInfo fields, so that they can be read without
+ * searching the children.
+ * <p>
+ * The cache remembers the modCount of the children of the record group and of recordInfo when it
+ * is created, and is only valid as long as neither of them has changed, see
+ * {@link #isValidFor(CoraDataGroup)}. A RecordInfoCache is immutable so that it can be shared
+ * between threads reading a frozen record group.
+ */
+final class RecordInfoCache {
+	private static final String RECORD_INFO = "recordInfo";
+	private static final Map<String, Field> FIELDS_BY_NAME = new HashMap<>();
+	static {
+		for (Field field : Field.values()) {
+			FIELDS_BY_NAME.put(field.nameInData, field);
+		}
+	}
+
+	enum Field {
+		TYPE("type"), ID("id"), DATA_DIVIDER("dataDivider"), VALIDATION_TYPE("validationType"),
+		CREATED_BY("createdBy"), TS_CREATED("tsCreated"), TS_VISIBILITY("tsVisibility"),
+		VISIBILITY("visibility"), IN_TRASH_BIN("inTrashBin"), PERMISSION_UNIT("permissionUnit"),
+		IGNORE_OVERWRITE_PROTECTION("ignoreOverwriteProtection");
+
+		private final String nameInData;
+
+		Field(String nameInData) {
+			this.nameInData = nameInData;
+		}
+
+		String nameInData() {
+			return nameInData;
+		}
+	}
+
+	private final int recordGroupModCount;
+	private final CoraDataGroup recordInfo;
+	private final int recordInfoModCount;
+	private final DataChild[] firstChildren = new DataChild[Field.values().length];
+
+	static RecordInfoCache forRecordGroup(CoraDataGroup recordGroup) {
+		return new RecordInfoCache(recordGroup);
+	}
+
+	private RecordInfoCache(CoraDataGroup recordGroup) {
+		recordGroupModCount = recordGroup.childrenModCount();
+		recordInfo = possiblyGetRecordInfo(recordGroup);
+		if (recordInfo != null) {
+			recordInfoModCount = recordInfo.childrenModCount();
+			addFirstChildForEachField(recordInfo.getChildren());
+		} else {
+			recordInfoModCount = 0;
+		}
+	}
+
+	private static CoraDataGroup possiblyGetRecordInfo(CoraDataGroup recordGroup) {
+		if (recordGroup.containsChildOfTypeAndName(CoraDataGroup.class, RECORD_INFO)) {
+			return (CoraDataGroup) recordGroup.getFirstGroupWithNameInData(RECORD_INFO);
+		}
+		return null;
+	}
+
+	private void addFirstChildForEachField(List<DataChild> recordInfoChildren) {
+		for (DataChild child : recordInfoChildren) {
+			Field field = FIELDS_BY_NAME.get(child.getNameInData());
+			if (field != null && firstChildren[field.ordinal()] == null) {
+				firstChildren[field.ordinal()] = child;
+			}
+		}
+	}
+
+	/**
+	 * isValidFor returns true if neither the children of the record group nor the children of
+	 * recordInfo have changed since this cache was created.
+	 */
+	boolean isValidFor(CoraDataGroup recordGroup) {
+		return recordGroup.childrenModCount() == recordGroupModCount
+				&& (recordInfo == null || recordInfo.childrenModCount() == recordInfoModCount);
+	}
+
+	/**
+	 * getRecordInfo returns the first recordInfo group of the record group, or null if it has none
+	 */
+	CoraDataGroup getRecordInfo() {
+		return recordInfo;
+	}
+
+	/**
+	 * getFirstChild returns the first child in recordInfo with the nameInData of the specified
+	 * field, or null if there is no recordInfo or no such child
+	 */
+	DataChild getFirstChild(Field field) {
+		return firstChildren[field.ordinal()];
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+/**
+ * ConversionMetrics is the interface to implement to get measurements of the conversions and
+ * copies made by this module, such as to collect latency histograms, node counts and payload sizes
+ * per record type.
+ * <p>
+ * An implementation is found using {@link java.util.ServiceLoader} by
+ * {@link ConversionMetricsProvider}, or can be set on a factory using its withConversionMetrics
+ * method. If no implementation is found, {@link #noOp()} is used, and nothing is measured.
+ * <p>
+ * Only whole operations are measured, that is one call to toJson, toInstance or copy on a
+ * converter or copier factored by one of the factories in this module, the conversion of the parts
+ * of the data is part of that measurement. Implementations must be thread safe, and should return
+ * from {@link #measured(Measurement)} quickly as it is called on the thread doing the conversion.
+ */
+public interface ConversionMetrics {
+
+	/**
+	 * noOp returns a ConversionMetrics that is not enabled, and ignores all measurements
+	 */
+	static ConversionMetrics noOp() {
+		return NoOpConversionMetrics.INSTANCE;
+	}
+
+	/**
+	 * isEnabled returns true if measurements should be made, if it returns false, converters and
+	 * copiers are factored without any measuring
+	 */
+	boolean isEnabled();
+
+	/**
+	 * countsNodes returns true if the nodes of the converted or copied data should be counted for
+	 * each measurement. Counting walks through all of the data once more after the operation, so
+	 * it is off by default, and {@link Measurement#getNoOfNodes()} is then
+	 * {@link Measurement#NOT_KNOWN}
+	 */
+	default boolean countsNodes() {
+		return false;
+	}
+
+	/**
+	 * measured is called once for each measured operation when it is done
+	 * 
+	 * @param measurement
+	 *            The {@link Measurement} of the operation
+	 */
+	void measured(Measurement measurement);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+import java.util.ServiceLoader;
+
+/**
+ * ConversionMetricsProvider provides the {@link ConversionMetrics} used by the factories that are
+ * created through {@link ServiceLoader}, that is the first implementation found by the
+ * ServiceLoader, or {@link ConversionMetrics#noOp()} if there is none. The implementation is looked
+ * up once, the first time it is needed.
+ */
+public final class ConversionMetricsProvider {
+	private static volatile ConversionMetrics conversionMetrics;
+
+	private ConversionMetricsProvider() {
+		// prevent call to constructor
+	}
+
+	public static ConversionMetrics getConversionMetrics() {
+		ConversionMetrics loadedMetrics = conversionMetrics;
+		if (loadedMetrics == null) {
+			return loadConversionMetrics();
+		}
+		return loadedMetrics;
+	}
+
+	private static synchronized ConversionMetrics loadConversionMetrics() {
+		if (conversionMetrics == null) {
+			conversionMetrics = ServiceLoader.load(ConversionMetrics.class).findFirst()
+					.orElse(ConversionMetrics.noOp());
+		}
+		return conversionMetrics;
+	}
+
+	public static void onlyForTestSetConversionMetrics(ConversionMetrics conversionMetrics) {
+		ConversionMetricsProvider.conversionMetrics = conversionMetrics;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.Data;
+import se.uu.ub.cora.data.DataChild;
+import se.uu.ub.cora.data.DataList;
+import se.uu.ub.cora.data.DataParent;
+import se.uu.ub.cora.data.DataRecord;
+import se.uu.ub.cora.data.DataRecordGroup;
+
+/**
+ * MeasuredData finds what is measured from data, without loading children that are added on first
+ * use.
+ */
+final class MeasuredData {
+
+	private MeasuredData() {
+		// prevent call to constructor
+	}
+
+	static String findRecordType(Convertible data) {
+		if (data instanceof DataList) {
+			return ((DataList) data).getContainDataOfType();
+		}
+		if (data instanceof DataRecord) {
+			return findRecordTypeOrNull((DataRecord) data);
+		}
+		if (data instanceof DataRecordGroup && childrenAreLoaded(data)) {
+			return findRecordTypeOrNull((DataRecordGroup) data);
+		}
+		return null;
+	}
+
+	private static String findRecordTypeOrNull(DataRecord dataRecord) {
+		try {
+			return dataRecord.getType();
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static String findRecordTypeOrNull(DataRecordGroup dataRecordGroup) {
+		try {
+			return dataRecordGroup.getType();
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	static int countNodes(Convertible data) {
+		if (data instanceof DataList) {
+			return countNodesInList((DataList) data);
+		}
+		if (data instanceof DataRecord) {
+			return countNodes(((DataRecord) data).getDataRecordGroup());
+		}
+		if (data instanceof DataParent && childrenAreLoaded(data)) {
+			return 1 + countNodesInChildren((DataParent) data);
+		}
+		return data == null ? 0 : 1;
+	}
+
+	private static int countNodesInList(DataList dataList) {
+		int noOfNodes = 0;
+		for (Data data : dataList.getDataList()) {
+			noOfNodes += countNodes(data);
+		}
+		return noOfNodes;
+	}
+
+	private static int countNodesInChildren(DataParent dataParent) {
+		int noOfNodes = 0;
+		for (DataChild child : dataParent.getChildren()) {
+			noOfNodes += countNodes(child);
+		}
+		return noOfNodes;
+	}
+
+	private static boolean childrenAreLoaded(Convertible data) {
+		return !(data instanceof CoraDataGroup) || ((CoraDataGroup) data).childrenAreLoaded();
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+import java.util.Optional;
+
+import se.uu.ub.cora.data.Convertible;
+
+/**
+ * Measurement holds what is measured for one operation, the time it took, the number of data
+ * nodes in the data converted or copied if they are counted, the size of the produced json if it
+ * is known, and the record type of the data if it is known.
+ */
+public final class Measurement {
+	/**
+	 * NOT_KNOWN is used as payload size when the size of the json is not known, such as when the
+	 * json is written to a stream or built as a JsonObjectBuilder, or when nothing is converted to
+	 * json, and as number of nodes when the nodes are not counted
+	 */
+	public static final long NOT_KNOWN = -1;
+
+	private final MeasuredOperation operation;
+	private final String recordType;
+	private final long durationInNanos;
+	private final int noOfNodes;
+	private final long payloadSize;
+
+	/**
+	 * forOperationOnData creates a measurement of an operation on data, the record type is taken
+	 * from the data. The nodes of the data are only counted if countNodes is true, as counting them
+	 * walks through all of the data once more. Children of groups that are read from json or binary
+	 * data first when they are used are neither counted nor read.
+	 * 
+	 * @param operation
+	 *            The {@link MeasuredOperation} that is measured
+	 * @param data
+	 *            The data converted to json, the data created from json, or the copied data
+	 * @param durationInNanos
+	 *            A long with the time the operation took in nanoseconds
+	 * @param payloadSize
+	 *            A long with the number of characters in the produced json, or
+	 *            {@link #NOT_KNOWN}
+	 * @param countNodes
+	 *            A boolean, true if the nodes of the data should be counted, see
+	 *            {@link ConversionMetrics#countsNodes()}
+	 * @return A new Measurement
+	 */
+	public static Measurement forOperationOnData(MeasuredOperation operation, Convertible data,
+			long durationInNanos, long payloadSize, boolean countNodes) {
+		int noOfNodes = countNodes ? MeasuredData.countNodes(data) : (int) NOT_KNOWN;
+		return new Measurement(operation, MeasuredData.findRecordType(data), durationInNanos,
+				noOfNodes, payloadSize);
+	}
+
+	private Measurement(MeasuredOperation operation, String recordType, long durationInNanos,
+			int noOfNodes, long payloadSize) {
+		this.operation = operation;
+		this.recordType = recordType;
+		this.durationInNanos = durationInNanos;
+		this.noOfNodes = noOfNodes;
+		this.payloadSize = payloadSize;
+	}
+
+	public MeasuredOperation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * getRecordType returns the type of the record, or the type of data in a list, the optional
+	 * is empty if the data is not a record, a record group or a list, or its type is not known
+	 */
+	public Optional<String> getRecordType() {
+		return Optional.ofNullable(recordType);
+	}
+
+	public long getDurationInNanos() {
+		return durationInNanos;
+	}
+
+	/**
+	 * getNoOfNodes returns the number of nodes in the data, or {@link #NOT_KNOWN} if the nodes are
+	 * not counted
+	 */
+	public int getNoOfNodes() {
+		return noOfNodes;
+	}
+
+	public long getPayloadSize() {
+		return payloadSize;
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.recordstore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import se.uu.ub.cora.basicdata.converter.binary.BinaryToDataConverter;
+import se.uu.ub.cora.basicdata.converter.binary.DataToBinaryConverter;
+import se.uu.ub.cora.data.DataRecordGroup;
+
+/**
+ * MappedRecordStore is an embeddable, append only store of {@link DataRecordGroup}s, kept in
+ * memory mapped segment files in one directory and found by their type and id.
+ * <p>
+ * Records are written in the binary form of {@link DataToBinaryConverter}. Writing a record with
+ * the same type and id as an earlier record appends the new record, and reads then return the new
+ * one. Records are read directly from the mapped files, without any parsing of json. Only the
+ * name and attributes of the record group are read when the record is read, its children are read
+ * the first time they are used, so reads of records that are in the page cache cost little more
+ * than creating the data of the parts that are used.
+ * <p>
+ * The index of type and id to position is held in memory and is built from the segment files when
+ * the store is opened. An entry that was not completely written because the process crashed is
+ * ignored when the store is opened. The segment files are only forced to disk when the store is
+ * closed, so records written after that may be lost or damaged if the operating system crashes.
+ * <p>
+ * Records are written by one thread at a time, reads can be done by many threads at the same time
+ * as each other and as writes. The mapped files are released by the JVM when the store is no
+ * longer used after it is closed.
+ */
+public final class MappedRecordStore implements AutoCloseable {
+	static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".bin";
+	private final Path directory;
+	private final int segmentSize;
+	private final List<Segment> segments = new ArrayList<>();
+	private final Map<RecordKey, Location> index = new ConcurrentHashMap<>();
+	private volatile boolean closed = false;
+
+	/**
+	 * openInDirectory opens a store with the segment files in the directory, creating the
+	 * directory if it does not exist, and using segment files of
+	 * {@value #DEFAULT_SEGMENT_SIZE} bytes
+	 *
+	 * @param directory
+	 *            A {@link Path} to the directory of the store
+	 * @return A MappedRecordStore with all records previously written to the directory
+	 */
+	public static MappedRecordStore openInDirectory(Path directory) {
+		return openInDirectoryUsingSegmentSize(directory, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * openInDirectoryUsingSegmentSize opens a store in the same way as
+	 * {@link #openInDirectory(Path)}, but with new segment files of segmentSize bytes. A record
+	 * larger than the segment size is written to a segment file of its own.
+	 *
+	 * @param directory
+	 *            A {@link Path} to the directory of the store
+	 * @param segmentSize
+	 *            An int with the size in bytes of new segment files
+	 * @return A MappedRecordStore with all records previously written to the directory
+	 */
+	public static MappedRecordStore openInDirectoryUsingSegmentSize(Path directory,
+			int segmentSize) {
+		MappedRecordStore recordStore = new MappedRecordStore(directory, segmentSize);
+		recordStore.openSegments();
+		return recordStore;
+	}
+
+	private MappedRecordStore(Path directory, int segmentSize) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+	}
+
+	private void openSegments() {
+		try {
+			Files.createDirectories(directory);
+			for (Path segmentPath : listSegmentPaths()) {
+				Segment segment = Segment.openUsingPath(segmentPath);
+				segments.add(segment);
+				segment.readEntries((type, id, recordStart, recordLength) -> index
+						.put(new RecordKey(type, id), new Location(segment, recordStart,
+								recordLength)));
+			}
+		} catch (IOException e) {
+			throw new RecordStoreException(
+					"Could not open record store in " + directory + ": " + e.getMessage(), e);
+		}
+	}
+
+	private List<Path> listSegmentPaths() throws IOException {
+		try (Stream<Path> paths = Files.list(directory)) {
+			return paths.filter(this::isSegmentPath).sorted().toList();
+		}
+	}
+
+	private boolean isSegmentPath(Path path) {
+		String fileName = path.getFileName().toString();
+		return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+	}
+
+	/**
+	 * write appends the record group to the store, found by the type and id in its recordInfo
+	 *
+	 * @param recordGroup
+	 *            The {@link DataRecordGroup} to write
+	 */
+	public synchronized void write(DataRecordGroup recordGroup) {
+		ensureNotClosed();
+		RecordKey key = new RecordKey(recordGroup.getType(), recordGroup.getId());
+		byte[] type = key.type.getBytes(StandardCharsets.UTF_8);
+		byte[] id = key.id.getBytes(StandardCharsets.UTF_8);
+		byte[] record = DataToBinaryConverter.usingConvertible(recordGroup).toBytes();
+		Segment segment = getSegmentWithRoomFor(Segment.calculateEntrySize(type, id, record));
+		int recordStart = segment.writeEntry(type, id, record);
+		index.put(key, new Location(segment, recordStart, record.length));
+	}
+
+	private Segment getSegmentWithRoomFor(int entrySize) {
+		if (!segments.isEmpty() && segments.getLast().hasRoomFor(entrySize)) {
+			return segments.getLast();
+		}
+		Path segmentPath = directory.resolve(
+				String.format("%s%08d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+		try {
+			Segment segment = Segment.createUsingPathAndSize(segmentPath,
+					Math.max(segmentSize, entrySize));
+			segments.add(segment);
+			return segment;
+		} catch (IOException e) {
+			throw new RecordStoreException(
+					"Could not create segment " + segmentPath + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * read returns the latest written record with the type and id, with its children read from the
+	 * store the first time they are used
+	 *
+	 * @param type
+	 *            A String with the type of the record
+	 * @param id
+	 *            A String with the id of the record
+	 * @return An Optional with the {@link DataRecordGroup}, or an empty Optional if the store has
+	 *         no record with the type and id
+	 */
+	public Optional<DataRecordGroup> read(String type, String id) {
+		ensureNotClosed();
+		Location location = index.get(new RecordKey(type, id));
+		if (location == null) {
+			return Optional.empty();
+		}
+		BinaryToDataConverter converter = BinaryToDataConverter.usingByteBuffer(
+				location.segment.slice(location.recordStart, location.recordLength));
+		return Optional.of(converter.toRecordGroupReadingChildrenOnFirstUse());
+	}
+
+	/**
+	 * getNoOfRecords returns the number of different type and id pairs in the store
+	 */
+	public int getNoOfRecords() {
+		return index.size();
+	}
+
+	private void ensureNotClosed() {
+		if (closed) {
+			throw new RecordStoreException("Record store in " + directory + " is closed");
+		}
+	}
+
+	/**
+	 * close writes all changes of the segment files to disk and closes them, the store can not be
+	 * used after it is closed
+	 */
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			for (Segment segment : segments) {
+				segment.close();
+			}
+		} catch (IOException e) {
+			throw new RecordStoreException(
+					"Could not close record store in " + directory + ": " + e.getMessage(), e);
+		}
+	}
+
+	List<Segment> onlyForTestGetSegments() {
+		return segments;
+	}
+
+	private static final class RecordKey {
+		private final String type;
+		private final String id;
+
+		RecordKey(String type, String id) {
+			this.type = type;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + id.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof RecordKey)) {
+				return false;
+			}
+			RecordKey other = (RecordKey) obj;
+			return type.equals(other.type) && id.equals(other.id);
+		}
+	}
+
+	private static final class Location {
+		private final Segment segment;
+		private final int recordStart;
+		private final int recordLength;
+
+		Location(Segment segment, int recordStart, int recordLength) {
+			this.segment = segment;
+			this.recordStart = recordStart;
+			this.recordLength = recordLength;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.recordstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Segment is one memory mapped file of a {@link MappedRecordStore}, holding entries one after the
+ * other from the start of the file.
+ * <p>
+ * Each entry is written as the length of the rest of the entry as an int, followed by the type
+ * and id of the record, each as an int length and UTF-8 bytes, and then the record in the binary
+ * form of {@link se.uu.ub.cora.basicdata.converter.binary.DataToBinaryConverter}. The length of
+ * an entry is written last, so an entry that was not completely written has the length zero, and
+ * the entries of a segment end at the first zero length. Before the length is written the int
+ * after the entry is set to zero, so that the entries also end there when the entry is written
+ * over the remains of a longer entry that was not completely written.
+ * <p>
+ * Changes are written to disk by the operating system, and are forced to disk when the segment is
+ * closed. Entries that were not completely written are only recognized after a crash of the
+ * process, after a crash of the operating system changes may have reached the disk in any order.
+ * <p>
+ * Entries are only written by one thread at a time, reads of written entries can be done by many
+ * threads at the same time.
+ */
+final class Segment {
+	static final int INT_SIZE = Integer.BYTES;
+	private final Path path;
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private int writePosition = 0;
+
+	static Segment createUsingPathAndSize(Path path, int size) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		return new Segment(path, channel, size);
+	}
+
+	static Segment openUsingPath(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		return new Segment(path, channel, (int) channel.size());
+	}
+
+	private Segment(Path path, FileChannel channel, int size) throws IOException {
+		this.path = path;
+		this.channel = channel;
+		buffer = channel.map(MapMode.READ_WRITE, 0, size);
+	}
+
+	/**
+	 * readEntries calls the entryReader for each entry in the segment, and places the write
+	 * position after the last entry
+	 */
+	void readEntries(EntryReader entryReader) {
+		int position = 0;
+		int entryLength = readEntryLength(position);
+		while (entryLength > 0) {
+			int entryEnd = position + INT_SIZE + entryLength;
+			int typeStart = position + INT_SIZE;
+			int typeLength = readPartLength(typeStart, entryEnd);
+			String type = readUtf8(typeStart + INT_SIZE, typeLength);
+			int idStart = typeStart + INT_SIZE + typeLength;
+			int idLength = readPartLength(idStart, entryEnd);
+			String id = readUtf8(idStart + INT_SIZE, idLength);
+			int recordStart = idStart + INT_SIZE + idLength;
+			entryReader.read(type, id, recordStart, entryEnd - recordStart);
+			position = entryEnd;
+			entryLength = readEntryLength(position);
+		}
+		writePosition = position;
+	}
+
+	private int readEntryLength(int position) {
+		if (position > buffer.capacity() - INT_SIZE) {
+			return 0;
+		}
+		int entryLength = buffer.getInt(position);
+		if (entryLength > buffer.capacity() - position - INT_SIZE) {
+			return 0;
+		}
+		return entryLength;
+	}
+
+	private int readPartLength(int position, int entryEnd) {
+		if (position > entryEnd - INT_SIZE) {
+			throw createDamagedEntryException(position);
+		}
+		int partLength = buffer.getInt(position);
+		if (partLength < 0 || partLength > entryEnd - position - INT_SIZE) {
+			throw createDamagedEntryException(position);
+		}
+		return partLength;
+	}
+
+	private RecordStoreException createDamagedEntryException(int position) {
+		return new RecordStoreException(
+				"Damaged entry in segment " + path + " at position " + position);
+	}
+
+	private String readUtf8(int position, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(position, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static int calculateEntrySize(byte[] type, byte[] id, byte[] record) {
+		return INT_SIZE + INT_SIZE + type.length + INT_SIZE + id.length + record.length;
+	}
+
+	boolean hasRoomFor(int entrySize) {
+		return entrySize <= buffer.capacity() - writePosition;
+	}
+
+	/**
+	 * writeEntry writes an entry at the end of the segment, the caller must first make sure that
+	 * there is room for it using {@link #hasRoomFor(int)}
+	 *
+	 * @return the position in the segment where the record starts
+	 */
+	int writeEntry(byte[] type, byte[] id, byte[] record) {
+		int entryStart = writePosition;
+		int position = entryStart + INT_SIZE;
+		position = writeBytesWithLength(position, type);
+		position = writeBytesWithLength(position, id);
+		int recordStart = position;
+		buffer.put(position, record);
+		position += record.length;
+		possiblyMarkEndOfEntries(position);
+		buffer.putInt(entryStart, position - entryStart - INT_SIZE);
+		writePosition = position;
+		return recordStart;
+	}
+
+	private void possiblyMarkEndOfEntries(int position) {
+		if (position <= buffer.capacity() - INT_SIZE) {
+			buffer.putInt(position, 0);
+		}
+	}
+
+	private int writeBytesWithLength(int position, byte[] bytes) {
+		buffer.putInt(position, bytes.length);
+		buffer.put(position + INT_SIZE, bytes);
+		return position + INT_SIZE + bytes.length;
+	}
+
+	ByteBuffer slice(int position, int length) {
+		return buffer.slice(position, length);
+	}
+
+	void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	int getWritePosition() {
+		return writePosition;
+	}
+
+	int getSize() {
+		return buffer.capacity();
+	}
+
+	/**
+	 * EntryReader is called for each entry when reading the entries of a segment
+	 */
+	interface EntryReader {
+		void read(String type, String id, int recordStart, int recordLength);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2022 Uppsala University Library
+ * Copyright 2019, 2022, 2026 Uppsala University Library
  * Copyright 2022 Olov McKie
  * 
  * This file is part of Cora.
@@ -21,10 +21,12 @@
 package se.uu.ub.cora.basicdata;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -40,6 +42,7 @@ import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
 import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
 import se.uu.ub.cora.data.DataAtomic;
 import se.uu.ub.cora.data.DataAttribute;
+import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataFactory;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.DataList;
@@ -47,6 +50,8 @@ import se.uu.ub.cora.data.DataRecord;
 import se.uu.ub.cora.data.DataRecordGroup;
 import se.uu.ub.cora.data.DataRecordLink;
 import se.uu.ub.cora.data.DataResourceLink;
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
 
 public class CoraDataFactoryTest {
 	private DataFactory dataFactory;
@@ -204,4 +209,72 @@ public class CoraDataFactoryTest {
 
 	}
 
+	@Test
+	public void testFactoredNamesInDataAreShared() {
+		DataGroup group = dataFactory.factorGroupUsingNameInData(new String("recordInfo"));
+		DataAtomic atomic = dataFactory.factorAtomicUsingNameInDataAndValue(new String("id"),
+				value);
+		DataAttribute attribute = dataFactory
+				.factorAttributeUsingNameInDataAndValue(new String("type"), value);
+
+		assertSame(group.getNameInData(), "recordInfo");
+		assertSame(atomic.getNameInData(), "id");
+		assertSame(attribute.getNameInData(), "type");
+	}
+
+	@Test
+	public void testFactorRecordGroupFromDataGroupIsView() {
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInData(nameInData);
+
+		DataRecordGroup factoredDataRecordGroup = dataFactory
+				.factorRecordGroupFromDataGroup(dataGroup);
+		factoredDataRecordGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "a"));
+		factoredDataRecordGroup.addAttributeByIdWithValue("attribute", "atValue");
+
+		assertEquals(dataGroup.getChildren(), factoredDataRecordGroup.getChildren());
+		assertEquals(dataGroup.getAttributeValue("attribute").get(), "atValue");
+	}
+
+	@Test
+	public void testFactorGroupFromDataRecordGroupIsView() {
+		CoraDataRecordGroup dataRecordGroup = CoraDataRecordGroup.withNameInData(nameInData);
+
+		DataGroup factoredDataGroup = dataFactory.factorGroupFromDataRecordGroup(dataRecordGroup);
+		factoredDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "a"));
+
+		assertEquals(factoredDataGroup.getClass(), CoraDataGroup.class);
+		assertEquals(dataRecordGroup.getChildren(), factoredDataGroup.getChildren());
+	}
+
+	@Test
+	public void testFactorRecordGroupFromOtherDataGroupCopies() {
+		DataGroupSpy dataGroup = new DataGroupSpy();
+		DataChild child = CoraDataAtomic.withNameInDataAndValue("atomic", "aValue");
+		dataGroup.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> nameInData);
+		dataGroup.MRV.setDefaultReturnValuesSupplier("getChildren", () -> List.of(child));
+		dataGroup.MRV.setDefaultReturnValuesSupplier("getAttributes",
+				() -> List.of(CoraDataAttribute.withNameInDataAndValue("attribute", "atValue")));
+
+		DataRecordGroup factoredDataRecordGroup = dataFactory
+				.factorRecordGroupFromDataGroup(dataGroup);
+
+		assertEquals(factoredDataRecordGroup.getNameInData(), nameInData);
+		assertEquals(factoredDataRecordGroup.getChildren(), List.of(child));
+		assertEquals(factoredDataRecordGroup.getAttributeValue("attribute").get(), "atValue");
+	}
+
+	@Test
+	public void testFactorGroupFromOtherDataRecordGroupCopies() {
+		DataRecordGroupSpy dataRecordGroup = new DataRecordGroupSpy();
+		DataChild child = CoraDataAtomic.withNameInDataAndValue("atomic", "aValue");
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getNameInData", () -> nameInData);
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getChildren", () -> List.of(child));
+		dataRecordGroup.MRV.setDefaultReturnValuesSupplier("getAttributes", List::of);
+
+		DataGroup factoredDataGroup = dataFactory.factorGroupFromDataRecordGroup(dataRecordGroup);
+
+		assertEquals(factoredDataGroup.getNameInData(), nameInData);
+		assertEquals(factoredDataGroup.getChildren(), List.of(child));
+		assertFalse(factoredDataGroup.hasAttributes());
+	}
 }
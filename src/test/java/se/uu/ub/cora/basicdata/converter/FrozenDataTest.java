@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.StringReader;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.converter.binary.BinaryToDataConverter;
+import se.uu.ub.cora.basicdata.converter.binary.DataToBinaryConverter;
+import se.uu.ub.cora.basicdata.converter.jsontodata.JsonToDataConverterFactoryImp;
+import se.uu.ub.cora.data.DataAtomic;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+import se.uu.ub.cora.data.spies.DataRecordGroupSpy;
+
+public class FrozenDataTest {
+	private static final String BOOK_JSON = """
+			{"name":"book","children":[
+			  {"name":"recordInfo","children":[{"name":"id","value":"book:1"}]},
+			  {"name":"title","value":"someTitle"}]}""";
+
+	@Test
+	public void testFreezeGroup() {
+		DataGroup dataGroup = readGroup();
+
+		DataGroup frozenGroup = FrozenData.freezeGroup(dataGroup);
+
+		assertNotSame(frozenGroup, dataGroup);
+		assertFalse(FrozenData.isFrozen(dataGroup));
+		assertTrue(FrozenData.isFrozen(frozenGroup));
+		assertEquals(frozenGroup.getFirstAtomicValueWithNameInData("title"), "someTitle");
+		assertTrue(FrozenData.isFrozen(frozenGroup.getFirstGroupWithNameInData("recordInfo")));
+		assertTrue(FrozenData.isFrozen(frozenGroup.getFirstChildWithNameInData("title")));
+		assertFrozen(() -> frozenGroup.removeFirstChildWithNameInData("title"));
+		assertFrozen(() -> ((DataAtomic) frozenGroup.getFirstChildWithNameInData("title"))
+				.setRepeatId("1"));
+	}
+
+	@Test
+	public void testFreezeFrozenGroupReturnsSameGroup() {
+		DataGroup frozenGroup = FrozenData.freezeGroup(readGroup());
+
+		assertSame(FrozenData.freezeGroup(frozenGroup), frozenGroup);
+	}
+
+	@Test
+	public void testFreezeRecordGroup() {
+		byte[] bytes = DataToBinaryConverter.usingConvertible(readGroup()).toBytes();
+		DataRecordGroup recordGroup = BinaryToDataConverter.usingBytes(bytes)
+				.toRecordGroupReadingChildrenOnFirstUse();
+
+		DataRecordGroup frozenRecordGroup = FrozenData.freezeRecordGroup(recordGroup);
+
+		assertTrue(FrozenData.isFrozen(frozenRecordGroup));
+		assertEquals(frozenRecordGroup.getId(), "book:1");
+		assertFrozen(() -> frozenRecordGroup.setId("book:2"));
+		assertSame(FrozenData.freezeRecordGroup(frozenRecordGroup), frozenRecordGroup);
+	}
+
+	private DataGroup readGroup() {
+		return (DataGroup) new JsonToDataConverterFactoryImp()
+				.createForReader(new StringReader(BOOK_JSON)).toInstance();
+	}
+
+	private void assertFrozen(Runnable change) {
+		try {
+			change.run();
+			fail("UnsupportedOperationException expected");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(e.getMessage(), "Frozen data can not be modified");
+		}
+	}
+
+	@Test
+	public void testFreezeGroupNotBasicdata() {
+		try {
+			FrozenData.freezeGroup(new DataGroupSpy());
+			fail("ConverterException expected");
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(), "Only basicdata can be frozen, not: "
+					+ DataGroupSpy.class.getName());
+		}
+	}
+
+	@Test
+	public void testFreezeRecordGroupNotBasicdata() {
+		try {
+			FrozenData.freezeRecordGroup(new DataRecordGroupSpy());
+			fail("ConverterException expected");
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(), "Only basicdata can be frozen, not: "
+					+ DataRecordGroupSpy.class.getName());
+		}
+	}
+
+	@Test
+	public void testIsFrozenForDataNotFromBasicdata() {
+		assertFalse(FrozenData.isFrozen(new DataGroupSpy()));
+		assertFalse(FrozenData.isFrozen(null));
+	}
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.basicdata.converter.datatojson.BasicDataToJsonConverterFactory;
+import se.uu.ub.cora.basicdata.converter.jsontodata.JsonToDataConverterFactoryImp;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.data.Action;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataRecordGroup;
+import se.uu.ub.cora.data.converter.ExternalUrls;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
+
+public class BinaryToDataConverterTest {
+	private static final String RECORD_JSON = "{\"name\":\"book\",\"attributes\":"
+			+ "{\"type\":\"printed\"},\"children\":[{\"name\":\"recordInfo\",\"children\":["
+			+ "{\"name\":\"id\",\"value\":\"book:1\"},{\"name\":\"type\",\"children\":["
+			+ "{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},"
+			+ "{\"name\":\"linkedRecordId\",\"value\":\"book\"}]}]},"
+			+ "{\"name\":\"title\",\"value\":\"Räksmörgås \\\"åäö\\\"\",\"repeatId\":\"0\","
+			+ "\"attributes\":{\"lang\":\"sv\"}},"
+			+ "{\"name\":\"title\",\"value\":\"Shrimp sandwich\",\"repeatId\":\"1\","
+			+ "\"attributes\":{\"lang\":\"en\"}},"
+			+ "{\"name\":\"cover\",\"children\":[{\"name\":\"linkedRecordType\","
+			+ "\"value\":\"binary\"},{\"name\":\"linkedRecordId\",\"value\":\"binary:1\"},"
+			+ "{\"name\":\"mimeType\",\"value\":\"image/png\"}]}]}";
+
+	@Test
+	public void testUsingBytes() {
+		byte[] bytes = new byte[0];
+
+		BinaryToDataConverter converter = BinaryToDataConverter.usingBytes(bytes);
+
+		assertSame(converter.onlyForTestGetBuffer().array(), bytes);
+	}
+
+	@Test
+	public void testUsingByteBufferReadsFromPositionToLimit() {
+		byte[] bytes = DataToBinaryConverter
+				.usingConvertible(CoraDataAttribute.withNameInDataAndValue("a", "b")).toBytes();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 4);
+		buffer.position(2);
+		buffer.put(bytes);
+		buffer.position(2);
+		buffer.limit(2 + bytes.length);
+
+		CoraDataAttribute dataAttribute = (CoraDataAttribute) BinaryToDataConverter
+				.usingByteBuffer(buffer).toInstance();
+
+		assertEquals(dataAttribute.getNameInData(), "a");
+		assertEquals(dataAttribute.getValue(), "b");
+		assertEquals(buffer.position(), 2);
+	}
+
+	@Test
+	public void testRecordGroupReadingChildrenOnFirstUse() {
+		CoraDataGroup original = CoraDataGroup.withNameInData("book");
+		original.addAttributeByIdWithValue("type", "printed");
+		original.addChild(CoraDataAtomic.withNameInDataAndValue("title", "someTitle"));
+		byte[] bytes = DataToBinaryConverter.usingConvertible(original).toBytes();
+
+		DataRecordGroup recordGroup = BinaryToDataConverter.usingBytes(bytes)
+				.toRecordGroupReadingChildrenOnFirstUse();
+		Arrays.fill(bytes, 3, bytes.length, (byte) 0);
+
+		assertEquals(recordGroup.getNameInData(), "book");
+		assertEquals(recordGroup.getAttributeValue("type").get(), "printed");
+		try {
+			recordGroup.hasChildren();
+			fail("an exception should have been thrown");
+		} catch (ConverterException e) {
+			assertTrue(e.getMessage().startsWith("Error reading binary data: "));
+		}
+	}
+
+	@Test
+	public void testRecordGroupChildrenAreReadOnFirstUse() {
+		CoraDataGroup original = CoraDataGroup.withNameInData("book");
+		original.addChild(CoraDataAtomic.withNameInDataAndValue("title", "someTitle"));
+		original.addChild(CoraDataAtomic.withNameInDataAndValue("title", "otherTitle"));
+		byte[] bytes = DataToBinaryConverter.usingConvertible(original).toBytes();
+
+		DataRecordGroup recordGroup = BinaryToDataConverter.usingBytes(bytes)
+				.toRecordGroupReadingChildrenOnFirstUse();
+
+		assertEquals(recordGroup.getChildren().size(), 2);
+		assertEquals(recordGroup.getFirstAtomicValueWithNameInData("title"), "someTitle");
+	}
+
+	@Test
+	public void testRecordGroupChildrenAreReadAfterConverterIsUsedAgain() {
+		CoraDataGroup original = CoraDataGroup.withNameInData("book");
+		original.addChild(CoraDataAtomic.withNameInDataAndValue("title", "someTitle"));
+		original.addChild(CoraDataAtomic.withNameInDataAndValue("title", "otherTitle"));
+		BinaryToDataConverter converter = BinaryToDataConverter
+				.usingBytes(DataToBinaryConverter.usingConvertible(original).toBytes());
+
+		DataRecordGroup recordGroup = converter.toRecordGroupReadingChildrenOnFirstUse();
+		DataRecordGroup otherRecordGroup = converter.toRecordGroupReadingChildrenOnFirstUse();
+		converter.toInstance();
+
+		assertEquals(recordGroup.getChildren().size(), 2);
+		assertEquals(recordGroup.getFirstAtomicValueWithNameInData("title"), "someTitle");
+		assertEquals(otherRecordGroup.getChildren().size(), 2);
+	}
+
+	@Test
+	public void testRecordGroupFromDataThatIsNotAGroup() {
+		byte[] bytes = DataToBinaryConverter
+				.usingConvertible(CoraDataAttribute.withNameInDataAndValue("a", "b")).toBytes();
+		try {
+			BinaryToDataConverter.usingBytes(bytes).toRecordGroupReadingChildrenOnFirstUse();
+			fail("an exception should have been thrown");
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(), "Error reading binary data: data is not a group");
+		}
+	}
+
+	@Test
+	public void testAttribute() {
+		CoraDataAttribute dataAttribute = (CoraDataAttribute) roundTrip(
+				CoraDataAttribute.withNameInDataAndValue("someName", "someValue"));
+
+		assertEquals(dataAttribute.getNameInData(), "someName");
+		assertEquals(dataAttribute.getValue(), "someValue");
+	}
+
+	@Test
+	public void testAtomicWithRepeatIdAndAttributes() {
+		CoraDataAtomic original = CoraDataAtomic.withNameInDataAndValue("someName", "åäö");
+		original.setRepeatId("");
+		original.addAttributeByIdWithValue("type", "someType");
+		original.addAttributeByIdWithValue("lang", "sv");
+
+		CoraDataAtomic dataAtomic = (CoraDataAtomic) roundTrip(original);
+
+		assertEquals(dataAtomic.getNameInData(), "someName");
+		assertEquals(dataAtomic.getValue(), "åäö");
+		assertEquals(dataAtomic.getRepeatId(), "");
+		assertEquals(dataAtomic.getAttributeValue("type").get(), "someType");
+		assertEquals(dataAtomic.getAttributeValue("lang").get(), "sv");
+	}
+
+	@Test
+	public void testNamesAreCanonicalized() {
+		CoraDataAtomic dataAtomic = (CoraDataAtomic) roundTrip(
+				CoraDataAtomic.withNameInDataAndValue(new String("recordInfo"), "someValue"));
+
+		assertSame(dataAtomic.getNameInData(), "recordInfo");
+	}
+
+	@Test
+	public void testGroupWithChildren() {
+		CoraDataGroup original = CoraDataGroup.withNameInData("someGroup");
+		original.setRepeatId("2");
+		original.addChild(CoraDataAtomic.withNameInDataAndValue("someAtomic", "someValue"));
+		original.addChild(CoraDataGroup.withNameInData("emptyGroup"));
+
+		CoraDataGroup dataGroup = (CoraDataGroup) roundTrip(original);
+
+		assertEquals(dataGroup.getClass(), CoraDataGroup.class);
+		assertEquals(dataGroup.getRepeatId(), "2");
+		assertEquals(dataGroup.getChildren().size(), 2);
+		assertEquals(dataGroup.getFirstAtomicValueWithNameInData("someAtomic"), "someValue");
+		assertFalse(dataGroup.getFirstGroupWithNameInData("emptyGroup").hasChildren());
+	}
+
+	@Test
+	public void testRecordLinkWithReadAction() {
+		CoraDataRecordLink original = CoraDataRecordLink.usingNameInDataAndTypeAndId("link",
+				"someType", "someId");
+		original.addAction(Action.READ);
+
+		CoraDataRecordLink recordLink = (CoraDataRecordLink) roundTrip(original);
+
+		assertEquals(recordLink.getNameInData(), "link");
+		assertEquals(recordLink.getLinkedRecordType(), "someType");
+		assertEquals(recordLink.getLinkedRecordId(), "someId");
+		assertTrue(recordLink.hasReadAction());
+	}
+
+	@Test
+	public void testRecordLinkWithoutReadAction() {
+		CoraDataRecordLink recordLink = (CoraDataRecordLink) roundTrip(
+				CoraDataRecordLink.usingNameInDataAndTypeAndId("link", "someType", "someId"));
+
+		assertFalse(recordLink.hasReadAction());
+	}
+
+	@Test
+	public void testResourceLink() {
+		CoraDataResourceLink original = CoraDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "binary:1", null);
+		original.setRepeatId("0");
+		original.addAction(Action.READ);
+
+		CoraDataResourceLink resourceLink = (CoraDataResourceLink) roundTrip(original);
+
+		assertEquals(resourceLink.getNameInData(), "master");
+		assertEquals(resourceLink.getType(), "binary");
+		assertEquals(resourceLink.getId(), "binary:1");
+		assertEquals(resourceLink.getMimeType(), null);
+		assertEquals(resourceLink.getRepeatId(), "0");
+		assertTrue(resourceLink.hasReadAction());
+	}
+
+	@Test
+	public void testRoundTripGivesSameJson() {
+		Convertible fromJson = new JsonToDataConverterFactoryImp()
+				.createForReader(new StringReader(RECORD_JSON)).toInstance();
+
+		Convertible fromBinary = roundTrip(fromJson);
+
+		assertEquals(toJson(fromBinary), toJson(fromJson));
+	}
+
+	@Test
+	public void testRoundTripWithActionsGivesSameJson() {
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInData("someGroup");
+		CoraDataRecordLink recordLink = CoraDataRecordLink.usingNameInDataAndTypeAndId("link",
+				"someType", "someId");
+		recordLink.addAction(Action.READ);
+		dataGroup.addChild(recordLink);
+		CoraDataResourceLink resourceLink = CoraDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "binary:1",
+						"image/png");
+		resourceLink.addAction(Action.READ);
+		dataGroup.addChild(resourceLink);
+
+		String json = toJsonWithBaseUrl(roundTrip(dataGroup));
+
+		assertEquals(json, toJsonWithBaseUrl(dataGroup));
+		assertTrue(json.contains("actionLinks"));
+	}
+
+	@Test
+	public void testBinaryIsSmallerThanJson() {
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInData("list");
+		for (int i = 0; i < 100; i++) {
+			CoraDataGroup child = CoraDataGroup.withNameInData("entry");
+			child.setRepeatId(String.valueOf(i));
+			child.addChild(CoraDataAtomic.withNameInDataAndValue("number", String.valueOf(i)));
+			dataGroup.addChild(child);
+		}
+
+		byte[] bytes = DataToBinaryConverter.usingConvertible(dataGroup).toBytes();
+
+		assertTrue(bytes.length * 3 < toJson(dataGroup).length());
+	}
+
+	@Test
+	public void testNotBinaryData() {
+		assertReadError(new byte[] { '{', '}', 1, 1 }, "not binary data");
+	}
+
+	@Test
+	public void testUnsupportedVersion() {
+		assertReadError(new byte[] { 'C', 'B', 2, 1 }, "unsupported version 2");
+	}
+
+	@Test
+	public void testEmptyData() {
+		assertReadError(new byte[0], "unexpected end of data");
+	}
+
+	@Test
+	public void testTruncatedData() {
+		byte[] bytes = DataToBinaryConverter
+				.usingConvertible(CoraDataAtomic.withNameInDataAndValue("a", "value")).toBytes();
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+		assertReadError(truncated, "unexpected end of data");
+	}
+
+	@Test
+	public void testBytesAfterData() {
+		assertReadError(new byte[] { 'C', 'B', 1, BinaryFormat.ATTRIBUTE, 0, 2, 'a', 2, 'b', 0 },
+				"unexpected bytes after data");
+	}
+
+	@Test
+	public void testUnknownKind() {
+		assertReadError(new byte[] { 'C', 'B', 1, 7 }, "unknown kind of data 7");
+	}
+
+	@Test
+	public void testAttributeAsChild() {
+		assertReadError(new byte[] { 'C', 'B', 1, BinaryFormat.GROUP, 0, 2, 'g', 1,
+				BinaryFormat.ATTRIBUTE, 0, 2, 'a', 2, 'b' }, "attribute data can not be a child");
+	}
+
+	@Test
+	public void testUnknownNameReference() {
+		assertReadError(new byte[] { 'C', 'B', 1, BinaryFormat.ATTRIBUTE, 1, 2, 'b' },
+				"unknown name reference 1");
+	}
+
+	@Test
+	public void testTooLongNumber() {
+		assertReadError(new byte[] { 'C', 'B', 1, BinaryFormat.ATTRIBUTE, (byte) 0x80,
+				(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 1 }, "too long number");
+	}
+
+	@Test
+	public void testTooLargeNumber() {
+		assertReadError(new byte[] { 'C', 'B', 1, BinaryFormat.ATTRIBUTE, (byte) 0x80,
+				(byte) 0x80, (byte) 0x80, (byte) 0x80, 0x0F }, "too large number");
+	}
+
+	@Test
+	public void testMoreChildrenThanData() {
+		assertReadError(new byte[] { 'C', 'B', 1, BinaryFormat.GROUP, 0, 2, 'g', 100 },
+				"unexpected end of data");
+	}
+
+	private void assertReadError(byte[] bytes, String message) {
+		try {
+			BinaryToDataConverter.usingBytes(bytes).toInstance();
+			fail("an exception should have been thrown");
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(), "Error reading binary data: " + message);
+		}
+	}
+
+	private Convertible roundTrip(Convertible convertible) {
+		byte[] bytes = DataToBinaryConverter.usingConvertible(convertible).toBytes();
+		return BinaryToDataConverter.usingBytes(bytes).toInstance();
+	}
+
+	private String toJson(Convertible convertible) {
+		return BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter())
+				.factorStreamingUsingConvertible(convertible).toJsonCompactFormat();
+	}
+
+	private String toJsonWithBaseUrl(Convertible convertible) {
+		ExternalUrls externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl("https://some.domain.now/rest/record/");
+		return BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter())
+				.factorStreamingUsingConvertibleAndExternalUrls(convertible, externalUrls)
+				.toJsonCompactFormat();
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataList;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.data.Action;
+
+public class DataToBinaryConverterTest {
+
+	@Test
+	public void testUsingConvertible() {
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInData("someGroup");
+
+		DataToBinaryConverter converter = DataToBinaryConverter.usingConvertible(dataGroup);
+
+		assertSame(converter.onlyForTestGetConvertible(), dataGroup);
+	}
+
+	@Test
+	public void testAttribute() {
+		byte[] bytes = toBytes(CoraDataAttribute.withNameInDataAndValue("a", "b"));
+
+		assertEquals(bytes, new byte[] { 'C', 'B', 1, BinaryFormat.ATTRIBUTE, 0, 2, 'a', 2, 'b' });
+	}
+
+	@Test
+	public void testAtomicWithRepeatIdAndAttribute() {
+		CoraDataAtomic dataAtomic = CoraDataAtomic.withNameInDataAndValue("a", "b");
+		dataAtomic.setRepeatId("1");
+		dataAtomic.addAttributeByIdWithValue("t", "v");
+
+		byte[] bytes = toBytes(dataAtomic);
+
+		int header = BinaryFormat.ATOMIC | BinaryFormat.HAS_REPEAT_ID
+				| BinaryFormat.HAS_ATTRIBUTES;
+		assertEquals(bytes, new byte[] { 'C', 'B', 1, (byte) header, 0, 2, 'a', 2, 'b', 2, '1',
+				1, 0, 2, 't', 2, 'v' });
+	}
+
+	@Test
+	public void testRepeatedNamesAreWrittenOnce() {
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInData("g");
+		dataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("a", "1"));
+		dataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("a", "2"));
+		dataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("g", "3"));
+
+		byte[] bytes = toBytes(dataGroup);
+
+		assertEquals(bytes,
+				new byte[] { 'C', 'B', 1, BinaryFormat.GROUP, 0, 2, 'g', 3,
+						BinaryFormat.ATOMIC, 0, 2, 'a', 2, '1', BinaryFormat.ATOMIC, 2, 2, '2',
+						BinaryFormat.ATOMIC, 1, 2, '3' });
+	}
+
+	@Test
+	public void testRecordLinkWithReadAction() {
+		CoraDataRecordLink recordLink = CoraDataRecordLink.withNameInData("l");
+		recordLink.addAction(Action.READ);
+
+		byte[] bytes = toBytes(recordLink);
+
+		int header = BinaryFormat.RECORD_LINK | BinaryFormat.HAS_READ_ACTION;
+		assertEquals(bytes, new byte[] { 'C', 'B', 1, (byte) header, 0, 2, 'l', 0 });
+	}
+
+	@Test
+	public void testResourceLinkWithoutMimeType() {
+		CoraDataResourceLink resourceLink = CoraDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("r", "t", "i", null);
+
+		byte[] bytes = toBytes(resourceLink);
+
+		assertEquals(bytes, new byte[] { 'C', 'B', 1, BinaryFormat.RESOURCE_LINK, 0, 2, 'r', 2,
+				't', 2, 'i', 0 });
+	}
+
+	@Test
+	public void testLongStringHasMultiByteLength() {
+		String value = "x".repeat(200);
+
+		byte[] bytes = toBytes(CoraDataAttribute.withNameInDataAndValue("a", value));
+
+		assertEquals(bytes.length, 7 + 2 + 200);
+		assertEquals(bytes[7] & 0xFF, (201 & 0x7F) | 0x80);
+		assertEquals(bytes[8], 1);
+	}
+
+	@Test
+	public void testConvertibleThatCanNotBeConverted() {
+		try {
+			toBytes(CoraDataList.withContainDataOfType("someType"));
+			fail("an exception should have been thrown");
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(),
+					"Can not convert se.uu.ub.cora.basicdata.data.CoraDataList to binary");
+		}
+	}
+
+	@Test
+	public void testWriteTo() {
+		CoraDataGroup dataGroup = CoraDataGroup.withNameInData("someGroup");
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		DataToBinaryConverter.usingConvertible(dataGroup).writeTo(outputStream);
+
+		assertEquals(outputStream.toByteArray(), toBytes(dataGroup));
+	}
+
+	@Test
+	public void testErrorWhileWritingIsWrappedInConverterException() {
+		OutputStream failingStream = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("disk full");
+			}
+		};
+		try {
+			DataToBinaryConverter.usingConvertible(CoraDataGroup.withNameInData("someGroup"))
+					.writeTo(failingStream);
+			fail("an exception should have been thrown");
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(), "Error writing binary data to stream: disk full");
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	private byte[] toBytes(se.uu.ub.cora.data.Convertible convertible) {
+		return DataToBinaryConverter.usingConvertible(convertible).toBytes();
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.Action;
+
+public class ActionLinkTemplatesTest {
+	private static final String BASE_URL = "https://some.domain/rest/record/";
+	private ActionLinkTemplates templates;
+	private ActionsConverterData actionsConverterData;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		templates = ActionLinkTemplates.usingBaseUrl(BASE_URL);
+		actionsConverterData = new ActionsConverterData();
+		actionsConverterData.recordType = "someType";
+		actionsConverterData.recordId = "someId";
+	}
+
+	@Test
+	public void testTemplatesAreCreatedOncePerRecordType() {
+		ActionLinkTemplate read = templates.getTemplate("someType", Action.READ);
+
+		assertSame(templates.getTemplate("someType", Action.READ), read);
+		assertNotSame(templates.getTemplate("otherType", Action.READ), read);
+		assertEquals(templates.onlyForTestGetNoOfRecordTypes(), 2);
+		assertEquals(templates.getBaseUrl(), BASE_URL);
+	}
+
+	@Test
+	public void testTemplatesForNullRecordTypeAreNotKept() {
+		ActionLinkTemplate read = templates.getTemplate(null, Action.READ);
+
+		assertEquals(read.url(actionsConverterData), BASE_URL + "null/someId");
+		assertEquals(templates.onlyForTestGetNoOfRecordTypes(), 0);
+	}
+
+	@Test
+	public void testNoOfKeptRecordTypesIsLimited() {
+		for (int i = 0; i < ActionLinkTemplates.MAX_NO_OF_RECORD_TYPES + 5; i++) {
+			templates.getTemplate("type" + i, Action.READ);
+		}
+
+		assertEquals(templates.onlyForTestGetNoOfRecordTypes(),
+				ActionLinkTemplates.MAX_NO_OF_RECORD_TYPES);
+		ActionLinkTemplate read = templates.getTemplate("lastType", Action.READ);
+		assertEquals(read.url(actionsConverterData), BASE_URL + "lastType/someId");
+	}
+
+	@Test
+	public void testReadTemplate() {
+		ActionLinkTemplate read = templates.getTemplate("someType", Action.READ);
+
+		assertTrue(read.hasLink());
+		assertEquals(read.rel, "read");
+		assertEquals(read.url(actionsConverterData), BASE_URL + "someType/someId");
+		assertEquals(read.requestMethod, "GET");
+		assertEquals(read.accept, "application/vnd.cora.record+json");
+		assertNull(read.contentType);
+		assertFalse(read.hasWorkOrderBody);
+	}
+
+	@Test
+	public void testReadIncomingLinksTemplate() {
+		ActionLinkTemplate template = templates.getTemplate("someType",
+				Action.READ_INCOMING_LINKS);
+
+		assertEquals(template.rel, "read_incoming_links");
+		assertEquals(template.url(actionsConverterData),
+				BASE_URL + "someType/someId/incomingLinks");
+	}
+
+	@Test
+	public void testIndexTemplateHasWorkOrderBodyAndFixedUrl() {
+		ActionLinkTemplate index = templates.getTemplate("someType", Action.INDEX);
+
+		assertEquals(index.url(actionsConverterData), BASE_URL + "workOrder/");
+		assertEquals(index.contentType, "application/vnd.cora.recordgroup+json");
+		assertTrue(index.hasWorkOrderBody);
+	}
+
+	@Test
+	public void testSearchTemplateUsesSearchRecordIdIfPresent() {
+		ActionLinkTemplate search = templates.getTemplate("someType", Action.SEARCH);
+
+		assertEquals(search.url(actionsConverterData), BASE_URL + "searchResult/someId");
+		actionsConverterData.searchRecordId = "someSearch";
+		assertEquals(search.url(actionsConverterData), BASE_URL + "searchResult/someSearch");
+	}
+
+	@Test
+	public void testRecordTypeActionsOnlyHaveLinksForRecordType() {
+		ActionLinkTemplate create = templates.getTemplate("someType", Action.CREATE);
+		ActionLinkTemplate createForRecordType = templates.getTemplate("recordType",
+				Action.CREATE);
+
+		assertFalse(create.hasLink());
+		assertEquals(create.rel, "create");
+		assertTrue(createForRecordType.hasLink());
+		assertEquals(createForRecordType.url(actionsConverterData), BASE_URL + "someId/");
+	}
+
+	@Test
+	public void testBatchIndexTemplate() {
+		ActionLinkTemplate batchIndex = templates.getTemplate("recordType", Action.BATCH_INDEX);
+
+		assertEquals(batchIndex.url(actionsConverterData), BASE_URL + "index/someId/");
+		assertEquals(batchIndex.requestMethod, "POST");
+		assertEquals(batchIndex.contentType, "application/vnd.cora.record+json");
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021, 2024, 2025 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2024, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -21,6 +21,7 @@ package se.uu.ub.cora.basicdata.converter.datatojson;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
@@ -32,14 +33,18 @@ import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
 import se.uu.ub.cora.basicdata.data.CoraDataGroup;
 import se.uu.ub.cora.basicdata.data.CoraDataList;
 import se.uu.ub.cora.basicdata.data.CoraDataRecord;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
 import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
 import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
-import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsSpy;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
 import se.uu.ub.cora.data.converter.DataToJsonConverter;
 import se.uu.ub.cora.data.converter.DataToJsonConverterFactory;
 import se.uu.ub.cora.data.converter.ExternalUrls;
 import se.uu.ub.cora.json.builder.JsonBuilderFactory;
-import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
 
 public class BasicDataToJsonConverterFactoryTest {
 	private DataToJsonConverterFactory converterFactory;
@@ -121,7 +126,7 @@ public class BasicDataToJsonConverterFactoryTest {
 		CoraDataRecord coraDataRecord = CoraDataRecord.withDataRecordGroup(null);
 		DataRecordToJsonConverter dataToJsonConverter = (DataRecordToJsonConverter) converterFactory
 				.factorUsingConvertibleAndExternalUrls(coraDataRecord, externalUrls);
-		assertSame(dataToJsonConverter.converterFactory, converterFactory);
+		assertFactoryWithExternalUrls(dataToJsonConverter.converterFactory, externalUrls);
 		assertTrue(dataToJsonConverter.actionsConverter instanceof RecordActionsToJsonConverterImp);
 		assertSame(dataToJsonConverter.builderFactory, builderFactory);
 		assertSame(dataToJsonConverter.onlyForTestGetOptionalExternalUrls().get().getBaseUrl(),
@@ -137,7 +142,7 @@ public class BasicDataToJsonConverterFactoryTest {
 		DataRecordToJsonConverter dataToJsonConverter = (DataRecordToJsonConverter) converterFactory
 				.factorUsingConvertibleAndExternalUrls(coraDataRecord, externalUrls);
 		RecordActionsToJsonConverterImp actionsConverter = (RecordActionsToJsonConverterImp) dataToJsonConverter.actionsConverter;
-		assertSame(actionsConverter.converterFactory, converterFactory);
+		assertSame(actionsConverter.converterFactory, dataToJsonConverter.converterFactory);
 		assertSame(actionsConverter.builderFactory, builderFactory);
 		assertSame(dataToJsonConverter.onlyForTestGetOptionalExternalUrls().get().getBaseUrl(),
 				BASE_URL);
@@ -226,16 +231,35 @@ public class BasicDataToJsonConverterFactoryTest {
 
 		JsonBuilderFactory jsonBuilderFactory = converter.jsonBuilderFactory;
 		assertSame(jsonBuilderFactory, builderFactory);
-		assertSame(converter.converterFactory, converterFactory);
+		assertFactoryWithBaseUrl(converter.converterFactory, BASE_URL);
 		assertEquals(converter.baseURL, BASE_URL);
 	}
 
+	private void assertFactoryWithExternalUrls(Object factory,
+			ExternalUrls expectedExternalUrls) {
+		BasicDataToJsonConverterFactory derivedFactory = (BasicDataToJsonConverterFactory) factory;
+		assertNotSame(derivedFactory, converterFactory);
+		assertSame(derivedFactory.builderFactory, builderFactory);
+		assertSame(derivedFactory.onlyForTestGetExternalUrls().get(), expectedExternalUrls);
+	}
+
+	private void assertFactoryWithBaseUrl(Object factory,
+			String expectedBaseUrl) {
+		BasicDataToJsonConverterFactory derivedFactory = (BasicDataToJsonConverterFactory) factory;
+		assertNotSame(derivedFactory, converterFactory);
+		assertSame(derivedFactory.builderFactory, builderFactory);
+		assertEquals(derivedFactory.onlyForTestGetExternalUrls().get().getBaseUrl(),
+				expectedBaseUrl);
+	}
+
 	@Test
-	public void testRectorDownToRecordLink() {
+	public void testFactorUsingBaseUrlDoesNotChangeFactory() {
 		converterFactory.factorUsingBaseUrlAndConvertible(BASE_URL, dataRecordLink);
 		DataToJsonConverter converter = converterFactory.factorUsingConvertible(dataRecordLink);
 
-		assertTrue(converter instanceof DataRecordLinkToJsonConverter);
+		assertFalse(converter instanceof DataRecordLinkToJsonConverter);
+		assertTrue(((BasicDataToJsonConverterFactory) converterFactory).onlyForTestGetExternalUrls()
+				.isEmpty());
 	}
 
 	@Test
@@ -245,7 +269,7 @@ public class BasicDataToJsonConverterFactoryTest {
 
 		JsonBuilderFactory jsonBuilderFactory = converter.jsonBuilderFactory;
 		assertSame(jsonBuilderFactory, builderFactory);
-		assertSame(converter.onlyForTestGetConverterFactory(), converterFactory);
+		assertFactoryWithBaseUrl(converter.onlyForTestGetConverterFactory(), BASE_URL);
 		assertEquals(converter.onlyForTestGetBaseUrl().get(), BASE_URL);
 	}
 
@@ -258,7 +282,7 @@ public class BasicDataToJsonConverterFactoryTest {
 
 		JsonBuilderFactory jsonBuilderFactory = converter.jsonBuilderFactory;
 		assertSame(jsonBuilderFactory, builderFactory);
-		assertSame(converter.onlyForTestGetConverterFactory(), converterFactory);
+		assertFactoryWithExternalUrls(converter.onlyForTestGetConverterFactory(), withouthBaseUrl);
 		assertTrue(converter.onlyForTestGetBaseUrl().isEmpty());
 	}
 
@@ -291,42 +315,306 @@ public class BasicDataToJsonConverterFactoryTest {
 	}
 
 	@Test
-	public void testFactorUsingBaseUrlAndConvertibleUsesFactorUsingConvertible() {
-		BasicDataToJsonConverterFactoryForTest forTest = new BasicDataToJsonConverterFactoryForTest();
-
-		DataToJsonConverter converter = forTest
+	public void testFactorUsingConvertibleAndExternalUrlsUsesFactoryWithExternalUrls() {
+		DataToJsonConverter converter = converterFactory
 				.factorUsingConvertibleAndExternalUrls(dataRecordLink, externalUrls);
 
-		assertEquals(forTest.onlyForTestGetExternalUrls().get().getBaseUrl(), BASE_URL);
-		forTest.MCR.assertParameters("factorUsingConvertible", 0, dataRecordLink);
-		forTest.MCR.assertReturn("factorUsingConvertible", 0, converter);
+		DataRecordLinkToJsonConverter recordLinkConverter = (DataRecordLinkToJsonConverter) converter;
+		assertEquals(recordLinkConverter.baseURL, BASE_URL);
+		assertFactoryWithExternalUrls(recordLinkConverter.converterFactory, externalUrls);
+		assertTrue(((BasicDataToJsonConverterFactory) converterFactory).onlyForTestGetExternalUrls()
+				.isEmpty());
+	}
+
+	@Test
+	public void testUsingBuilderFactoryAndExternalUrls() {
+		BasicDataToJsonConverterFactory factoryWithUrls = BasicDataToJsonConverterFactory
+				.usingBuilderFactoryAndExternalUrls(builderFactory, externalUrls);
+
+		DataToJsonConverter converter = factoryWithUrls.factorUsingConvertible(dataRecordLink);
+
+		assertSame(factoryWithUrls.onlyForTestGetExternalUrls().get(), externalUrls);
+		assertTrue(converter instanceof DataRecordLinkToJsonConverter);
+	}
+
+	@Test
+	public void testWithExternalUrlsSharesActionLinkTemplates() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+
+		BasicDataToJsonConverterFactory factoryWithUrls = factory.withExternalUrls(externalUrls);
+
+		assertSame(factoryWithUrls.getActionLinkTemplates(BASE_URL),
+				factory.getActionLinkTemplates(BASE_URL));
+		assertSame(factoryWithUrls.getActionLinkTemplates(null),
+				factory.getActionLinkTemplates(null));
+		assertSame(factoryWithUrls.getListConversion(), factory.getListConversion());
+	}
+
+	@Test
+	public void testNoFragmentCacheByDefault() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+
+		assertSame(factory.getFragmentCache(), JsonFragmentCache.none());
+	}
+
+	@Test
+	public void testWithFragmentCache() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+		JsonFragmentCache fragmentCache = JsonFragmentCache.usingMaxNoOfCharacters(1000);
+
+		BasicDataToJsonConverterFactory cachingFactory = factory.withFragmentCache(fragmentCache);
+		BasicDataToJsonConverterFactory cachingFactoryWithUrls = cachingFactory
+				.withExternalUrls(externalUrls);
+
+		assertNotSame(cachingFactory, factory);
+		assertSame(cachingFactory.getFragmentCache(), fragmentCache);
+		assertSame(cachingFactory.builderFactory, builderFactory);
+		assertSame(cachingFactory.getActionLinkTemplates(null),
+				factory.getActionLinkTemplates(null));
+		assertSame(cachingFactoryWithUrls.getFragmentCache(), fragmentCache);
+		assertSame(cachingFactoryWithUrls.onlyForTestGetExternalUrls().get(), externalUrls);
+		assertSame(factory.getFragmentCache(), JsonFragmentCache.none());
+	}
+
+	@Test
+	public void testNoProjectionByDefault() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+
+		assertSame(factory.getProjection(), Projection.all());
+		assertSame(factory.factoryForChild(dataAtomic), factory);
+		assertTrue(factory.includesChild(dataAtomic));
+	}
+
+	@Test
+	public void testWithProjection() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+		Projection projection = Projection.usingPaths("atomicNameInData");
+
+		BasicDataToJsonConverterFactory projectingFactory = factory.withProjection(projection);
+		BasicDataToJsonConverterFactory projectingFactoryWithUrls = projectingFactory
+				.withExternalUrls(externalUrls);
+
+		assertNotSame(projectingFactory, factory);
+		assertSame(projectingFactory.getProjection(), projection);
+		assertSame(projectingFactory.builderFactory, builderFactory);
+		assertSame(projectingFactory.getActionLinkTemplates(null),
+				factory.getActionLinkTemplates(null));
+		assertSame(projectingFactoryWithUrls.getProjection(), projection);
+		assertSame(projectingFactory.withFragmentCache(JsonFragmentCache.none()).getProjection(),
+				projection);
+		assertSame(factory.getProjection(), Projection.all());
+	}
+
+	@Test
+	public void testFactoryForChildUsesProjectionForChild() {
+		BasicDataToJsonConverterFactory factory = withProjection(
+				Projection.usingPaths("atomicNameInData", "other/child"));
+		CoraDataGroup otherGroup = CoraDataGroup.withNameInData("other");
+
+		BasicDataToJsonConverterFactory factoryForAtomic = factory.factoryForChild(dataAtomic);
+		BasicDataToJsonConverterFactory factoryForGroup = factory.factoryForChild(otherGroup);
+
+		assertTrue(factory.includesChild(dataAtomic));
+		assertTrue(factory.includesChild(otherGroup));
+		assertFalse(factory.includesChild(coraDataGroup));
+		assertTrue(factoryForAtomic.getProjection().includesAll());
+		assertFalse(factoryForGroup.getProjection().includesAll());
+		assertSame(factoryForGroup.builderFactory, builderFactory);
+	}
+
+	private BasicDataToJsonConverterFactory withProjection(Projection projection) {
+		return ((BasicDataToJsonConverterFactory) converterFactory).withProjection(projection);
+	}
+
+	@Test
+	public void testActionConverterUsesFactoryWithoutProjection() {
+		Projection projection = Projection.usingPaths("recordInfo/id");
+		BasicDataToJsonConverterFactory factory = withProjection(projection);
+		CoraDataRecord coraDataRecord = CoraDataRecord.withDataRecordGroup(null);
+
+		DataRecordToJsonConverter dataToJsonConverter = (DataRecordToJsonConverter) factory
+				.factorUsingConvertible(coraDataRecord);
+
+		RecordActionsToJsonConverterImp actionsConverter = (RecordActionsToJsonConverterImp) dataToJsonConverter.actionsConverter;
+		assertSame(dataToJsonConverter.converterFactory, factory);
+		BasicDataToJsonConverterFactory actionsFactory =
+				(BasicDataToJsonConverterFactory) actionsConverter.converterFactory;
+		assertSame(actionsFactory.getProjection(), Projection.all());
+		assertSame(actionsFactory.builderFactory, builderFactory);
+	}
+
+	@Test
+	public void testGroupIsConvertedUsingProjection() {
+		BasicDataToJsonConverterFactory factory = BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter())
+				.withProjection(Projection.usingPaths("keep/atomic"));
+		CoraDataGroup keep = CoraDataGroup.withNameInData("keep");
+		keep.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "keptValue"));
+		keep.addChild(CoraDataAtomic.withNameInDataAndValue("other", "skippedValue"));
+		coraDataGroup.addChild(keep);
+		coraDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("skip", "skippedValue"));
+
+		String json = factory.factorUsingConvertible(coraDataGroup).toJsonCompactFormat();
+
+		assertTrue(json.contains("keptValue"));
+		assertFalse(json.contains("skippedValue"));
+		String streamedJson = factory.factorStreamingUsingConvertible(coraDataGroup)
+				.toJsonCompactFormat();
+		assertEquals(streamedJson.length(), json.length());
+	}
+
+	@Test
+	public void testNoConversionMetricsByDefault() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+
+		assertSame(factory.getConversionMetrics(), ConversionMetrics.noOp());
+		assertTrue(factory
+				.factorUsingConvertible(coraDataGroup) instanceof DataGroupToJsonConverter);
+	}
+
+	@Test
+	public void testWithConversionMetrics() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+
+		BasicDataToJsonConverterFactory measuringFactory = factory
+				.withConversionMetrics(conversionMetrics);
+
+		assertNotSame(measuringFactory, factory);
+		assertSame(measuringFactory.getConversionMetrics(), conversionMetrics);
+		assertSame(measuringFactory.builderFactory, builderFactory);
+		assertSame(measuringFactory.withExternalUrls(externalUrls).getConversionMetrics(),
+				conversionMetrics);
+		assertSame(factory.getConversionMetrics(), ConversionMetrics.noOp());
+	}
 
+	@Test
+	public void testNoMeasuringConverterWhenMetricsAreNotEnabled() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		conversionMetrics.enabled = false;
+
+		DataToJsonConverter converter = ((BasicDataToJsonConverterFactory) converterFactory)
+				.withConversionMetrics(conversionMetrics).factorUsingConvertible(coraDataGroup);
+
+		assertTrue(converter instanceof DataGroupToJsonConverter);
+		conversionMetrics.MCR.assertMethodNotCalled("measured");
 	}
 
 	@Test
-	public void testFactorUsingRecordUrlAndConvertibleUsesFactorUsingConvertible() {
-		BasicDataToJsonConverterFactoryForTest forTest = new BasicDataToJsonConverterFactoryForTest();
-		DataToJsonConverter converter = forTest.factorUsingBaseUrlAndConvertible(BASE_URL,
-				dataRecordLink);
+	public void testConversionIsMeasured() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		BasicDataToJsonConverterFactory factory = BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter())
+				.withConversionMetrics(conversionMetrics);
+		coraDataGroup.addChild(dataAtomic);
+		CoraDataRecord coraDataRecord = CoraDataRecord
+				.withDataRecordGroup(CoraDataRecordGroup.withNameInData("someRecord"));
+
+		MeasuringDataToJsonConverter groupConverter = (MeasuringDataToJsonConverter) factory
+				.factorUsingConvertible(coraDataGroup);
+		String json = groupConverter.toJsonCompactFormat();
+		String prettyJson = groupConverter.toJson();
+		factory.factorUsingConvertible(coraDataRecord).toJsonObjectBuilder();
+
+		DataGroupToJsonConverter wrappedConverter = (DataGroupToJsonConverter) groupConverter
+				.onlyForTestGetConverter();
+		BasicDataToJsonConverterFactory usedFactory =
+				(BasicDataToJsonConverterFactory) wrappedConverter.converterFactory;
+		assertSame(usedFactory.getConversionMetrics(), ConversionMetrics.noOp());
+		assertSame(usedFactory, factory.onlyForTestGetUnmeasuredFactory());
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 3);
+		assertMeasurement(conversionMetrics.getMeasurement(0), 2, json.length());
+		assertMeasurement(conversionMetrics.getMeasurement(1), 2, prettyJson.length());
+		assertMeasurement(conversionMetrics.getMeasurement(2), 1, Measurement.NOT_KNOWN);
+	}
 
-		assertEquals(forTest.onlyForTestGetExternalUrls().get().getBaseUrl(), BASE_URL);
-		forTest.MCR.assertParameters("factorUsingConvertible", 0, dataRecordLink);
-		forTest.MCR.assertReturn("factorUsingConvertible", 0, converter);
+	@Test
+	public void testUnmeasuredFactoryIsCreatedOnce() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+		BasicDataToJsonConverterFactory measuringFactory = factory
+				.withConversionMetrics(new ConversionMetricsSpy());
+
+		BasicDataToJsonConverterFactory unmeasuredFactory = measuringFactory
+				.onlyForTestGetUnmeasuredFactory();
+
+		assertSame(factory.onlyForTestGetUnmeasuredFactory(), factory);
+		assertNotSame(unmeasuredFactory, measuringFactory);
+		assertSame(unmeasuredFactory.getConversionMetrics(), ConversionMetrics.noOp());
+		assertSame(unmeasuredFactory.onlyForTestGetUnmeasuredFactory(), unmeasuredFactory);
+		assertSame(measuringFactory.onlyForTestGetUnmeasuredFactory(), unmeasuredFactory);
 	}
 
-	class BasicDataToJsonConverterFactoryForTest extends BasicDataToJsonConverterFactory {
-		BasicDataToJsonConverterFactoryForTest() {
-			super(null);
-		}
+	private void assertMeasurement(Measurement measurement, int noOfNodes, long payloadSize) {
+		assertSame(measurement.getOperation(), MeasuredOperation.TO_JSON);
+		assertEquals(measurement.getNoOfNodes(), noOfNodes);
+		assertEquals(measurement.getPayloadSize(), payloadSize);
+	}
 
-		MethodCallRecorder MCR = new MethodCallRecorder();
+	@Test
+	public void testConvertToJsonObjectBuilderDoesNotFactorConvertersForAtomicsAndAttributes() {
+		BasicDataToJsonConverterFactory factory = (BasicDataToJsonConverterFactory) converterFactory;
+
+		JsonObjectBuilderSpy atomicBuilder = (JsonObjectBuilderSpy) factory
+				.convertToJsonObjectBuilder(dataAtomic);
+		JsonObjectBuilderSpy attributeBuilder = (JsonObjectBuilderSpy) factory
+				.convertToJsonObjectBuilder(dataAttribute);
+
+		atomicBuilder.MCR.assertParameters("addKeyString", 0, "name",
+				dataAtomic.getNameInData());
+		atomicBuilder.MCR.assertParameters("addKeyString", 1, "value", dataAtomic.getValue());
+		attributeBuilder.MCR.assertParameters("addKeyString", 0, dataAttribute.getNameInData(),
+				dataAttribute.getValue());
+	}
 
-		@Override
-		public DataToJsonConverter factorUsingConvertible(Convertible convertible) {
-			MCR.addCall("convertible", convertible);
-			DataToJsonConverter converter = new DataToJsonConverterSpy();
-			MCR.addReturned(converter);
-			return converter;
-		}
+	@Test
+	public void testDataListIsConvertedSequentiallyByDefault() {
+		CoraDataList coraDataList = CoraDataList.withContainDataOfType("someType");
+		DataListToJsonConverter dataToJsonConverter = (DataListToJsonConverter) converterFactory
+				.factorUsingConvertible(coraDataList);
+
+		assertSame(dataToJsonConverter.listConversion, ParallelListConversion.sequential());
+	}
+
+	@Test
+	public void testUsingBuilderFactoryAndParallelListConversion() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(100, 2);
+		BasicDataToJsonConverterFactory parallelFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactoryAndParallelListConversion(builderFactory, listConversion);
+		CoraDataList coraDataList = CoraDataList.withContainDataOfType("someType");
+
+		DataListToJsonConverter dataToJsonConverter = (DataListToJsonConverter) parallelFactory
+				.factorUsingConvertible(coraDataList);
+
+		assertSame(parallelFactory.builderFactory, builderFactory);
+		assertSame(parallelFactory.getListConversion(), listConversion);
+		assertSame(dataToJsonConverter.converterFactory, parallelFactory);
+		assertSame(dataToJsonConverter.listConversion, listConversion);
+	}
+
+	@Test
+	public void testActionLinkTemplatesAreSharedPerBaseUrl() {
+		BasicDataToJsonConverterFactory factory =
+				(BasicDataToJsonConverterFactory) converterFactory;
+
+		ActionLinkTemplates templates = factory.getActionLinkTemplates(BASE_URL);
+
+		assertSame(factory.getActionLinkTemplates(BASE_URL), templates);
+		assertEquals(templates.getBaseUrl(), BASE_URL);
+		assertSame(factory.getActionLinkTemplates(null), factory.getActionLinkTemplates(null));
+		assertNotSame(factory.getActionLinkTemplates(null), templates);
+	}
+
+	@Test
+	public void testActionConverterUsesFactoryTemplates() {
+		CoraDataRecord coraDataRecord = CoraDataRecord.withDataRecordGroup(null);
+		DataRecordToJsonConverter dataToJsonConverter = (DataRecordToJsonConverter) converterFactory
+				.factorUsingConvertibleAndExternalUrls(coraDataRecord, externalUrls);
+
+		RecordActionsToJsonConverterImp actionsConverter = (RecordActionsToJsonConverterImp) dataToJsonConverter.actionsConverter;
+		assertSame(actionsConverter.actionLinkTemplates,
+				((BasicDataToJsonConverterFactory) converterFactory)
+						.getActionLinkTemplates(BASE_URL));
+		assertEquals(actionsConverter.baseUrl, BASE_URL);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2021 Uppsala University Library
+ * Copyright 2015, 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,6 +19,7 @@
 
 package se.uu.ub.cora.basicdata.converter.datatojson;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
@@ -27,12 +28,15 @@ import java.util.List;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
 import se.uu.ub.cora.basicdata.data.CoraDataList;
 import se.uu.ub.cora.data.Data;
 import se.uu.ub.cora.data.DataRecord;
 import se.uu.ub.cora.data.converter.DataToJsonConverter;
 import se.uu.ub.cora.data.spies.DataRecordSpy;
 import se.uu.ub.cora.json.builder.JsonObjectBuilder;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
 import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
 
 public class DataListToJsonConverterTest {
@@ -198,4 +202,36 @@ public class DataListToJsonConverterTest {
 		return dataList;
 	}
 
+	@Test
+	public void testParallelConversionGivesSameJsonAsSequential() {
+		BasicDataToJsonConverterFactory realConverterFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter());
+		CoraDataList largeDataList = createLargeDataList(200);
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(10, 4);
+
+		String sequentialJson = DataListToJsonConverter
+				.usingJsonFactoryForDataList(realConverterFactory,
+						realConverterFactory.builderFactory, largeDataList)
+				.toJsonCompactFormat();
+		String parallelJson = DataListToJsonConverter
+				.usingJsonFactoryAndListConversionForDataList(realConverterFactory,
+						realConverterFactory.builderFactory, listConversion, largeDataList)
+				.toJsonCompactFormat();
+
+		assertEquals(parallelJson, sequentialJson);
+	}
+
+	private CoraDataList createLargeDataList(int noOfGroups) {
+		CoraDataList largeDataList = CoraDataList.withContainDataOfType("mix");
+		for (int i = 0; i < noOfGroups; i++) {
+			CoraDataGroup group = CoraDataGroup.withNameInData("group");
+			group.addChild(CoraDataAtomic.withNameInDataAndValue("number", String.valueOf(i)));
+			largeDataList.addData(group);
+		}
+		largeDataList.setTotalNo(String.valueOf(noOfGroups));
+		largeDataList.setFromNo("1");
+		largeDataList.setToNo(String.valueOf(noOfGroups));
+		return largeDataList;
+	}
 }
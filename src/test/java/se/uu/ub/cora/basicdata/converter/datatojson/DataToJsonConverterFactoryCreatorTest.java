@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -24,6 +24,8 @@ import static org.testng.Assert.assertTrue;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsProvider;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsSpy;
 import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
 
 public class DataToJsonConverterFactoryCreatorTest {
@@ -55,4 +57,23 @@ public class DataToJsonConverterFactoryCreatorTest {
 		assertSame(createdFactoryOne.builderFactory, createdFactoryTwo.builderFactory);
 	}
 
+	@Test
+	public void testFactoryUsesConversionMetricsFromProvider() throws Exception {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(conversionMetrics);
+
+		BasicDataToJsonConverterFactoryCreator creator =
+				new BasicDataToJsonConverterFactoryCreator();
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(null);
+
+		BasicDataToJsonConverterFactory createdFactory = (BasicDataToJsonConverterFactory) creator
+				.createFactory();
+		assertSame(createdFactory.getConversionMetrics(), conversionMetrics);
+	}
+
+	@Test
+	public void testOneInstanceOfFactory() throws Exception {
+		assertSame(factoryCreator.createFactory(), factoryCreator.createFactory());
+	}
+
 }
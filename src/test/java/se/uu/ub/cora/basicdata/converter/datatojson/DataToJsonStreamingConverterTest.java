@@ -0,0 +1,623 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataList;
+import se.uu.ub.cora.basicdata.data.CoraDataRecord;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsSpy;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
+import se.uu.ub.cora.data.Action;
+import se.uu.ub.cora.data.converter.ExternalUrls;
+import se.uu.ub.cora.json.builder.org.OrgJsonBuilderFactoryAdapter;
+
+public class DataToJsonStreamingConverterTest {
+	private BasicDataToJsonConverterFactory converterFactory;
+	private CoraDataGroup dataGroup;
+	private ExternalUrls externalUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converterFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactory(new OrgJsonBuilderFactoryAdapter());
+		dataGroup = CoraDataGroup.withNameInData("groupNameInData");
+		externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl("https://some.domain.now/rest/record/");
+		externalUrls.setIfffUrl("https://iiif.domain.now/");
+	}
+
+	@Test
+	public void testFactoredConverter() {
+		DataToJsonStreamingConverter converter = converterFactory
+				.factorStreamingUsingConvertible(dataGroup);
+
+		assertSame(converter.onlyForTestGetConvertible(), dataGroup);
+		assertFalse(converter.onlyForTestGetExternalUrls().isPresent());
+	}
+
+	@Test
+	public void testFactoredConverterWithExternalUrls() {
+		DataToJsonStreamingConverter converter = converterFactory
+				.factorStreamingUsingConvertibleAndExternalUrls(dataGroup, externalUrls);
+
+		assertSame(converter.onlyForTestGetConvertible(), dataGroup);
+		assertSame(converter.onlyForTestGetExternalUrls().get(), externalUrls);
+	}
+
+	@Test
+	public void testGroup() {
+		String json = toJson(dataGroup);
+
+		assertEquals(json, "{\"name\":\"groupNameInData\"}");
+	}
+
+	@Test
+	public void testGroupWithRepeatIdAndAttributes() {
+		dataGroup.setRepeatId("4");
+		dataGroup.addAttributeByIdWithValue("type", "someType");
+
+		String json = toJson(dataGroup);
+
+		assertEquals(json, "{\"name\":\"groupNameInData\",\"repeatId\":\"4\","
+				+ "\"attributes\":{\"type\":\"someType\"}}");
+	}
+
+	@Test
+	public void testGroupWithEmptyRepeatId() {
+		dataGroup.setRepeatId("");
+
+		String json = toJson(dataGroup);
+
+		assertEquals(json, "{\"name\":\"groupNameInData\"}");
+	}
+
+	@Test
+	public void testGroupWithChildren() {
+		dataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomicNameInData", "atomicValue"));
+		CoraDataGroup childGroup = CoraDataGroup.withNameInData("childGroup");
+		childGroup.addChild(CoraDataAtomic.withNameInDataAndValueAndRepeatId("atomic2", "value2",
+				"1"));
+		dataGroup.addChild(childGroup);
+
+		String json = toJson(dataGroup);
+
+		assertEquals(json, "{\"name\":\"groupNameInData\",\"children\":["
+				+ "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"},"
+				+ "{\"name\":\"childGroup\",\"children\":["
+				+ "{\"name\":\"atomic2\",\"value\":\"value2\",\"repeatId\":\"1\"}]}]}");
+	}
+
+	@Test
+	public void testAtomicWithAttributes() {
+		CoraDataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("atomicNameInData",
+				"atomicValue");
+		atomic.addAttributeByIdWithValue("lang", "sv");
+
+		String json = toJson(atomic);
+
+		assertEquals(json, "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\","
+				+ "\"attributes\":{\"lang\":\"sv\"}}");
+	}
+
+	@Test
+	public void testAttribute() {
+		String json = toJson(CoraDataAttribute.withNameInDataAndValue("type", "someType"));
+
+		assertEquals(json, "{\"type\":\"someType\"}");
+	}
+
+	@Test
+	public void testValuesAreEscaped() {
+		String json = toJson(
+				CoraDataAtomic.withNameInDataAndValue("atomic", "a \"quote\"\\\n\t\u0001"));
+
+		assertEquals(json,
+				"{\"name\":\"atomic\",\"value\":\"a \\\"quote\\\"\\\\\\n\\t\\u0001\"}");
+	}
+
+	@Test
+	public void testEscapedInTheSameWayAsByBuilderConverter() {
+		String text = "</tag> \u0080\u009f\u00a0 \u2028\u2029 \u20ac \u2100 < / \u001f";
+
+		assertEscapedInTheSameWayAsByBuilderConverter(text);
+		assertEscapedInTheSameWayAsByBuilderConverter("<" + text + "/");
+	}
+
+	private void assertEscapedInTheSameWayAsByBuilderConverter(String text) {
+		CoraDataAttribute attribute = CoraDataAttribute.withNameInDataAndValue(text, text);
+
+		String streamingJson = toJson(attribute);
+		String builderJson = converterFactory.factorUsingConvertible(attribute)
+				.toJsonCompactFormat();
+
+		assertEquals(streamingJson, builderJson);
+		assertEquals(JsonStreamWriter.quote(text), builderJson.substring(1,
+				builderJson.indexOf(':')));
+		assertTrue(streamingJson.contains("<\\/tag>"));
+		assertTrue(streamingJson.contains("\\u2028\\u2029"));
+	}
+
+	@Test
+	public void testNamesAreEscaped() {
+		CoraDataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("na\"me", "value");
+		atomic.addAttributeByIdWithValue("ty\\pe", "someType");
+
+		String json = toJson(atomic);
+
+		assertEquals(json, "{\"name\":\"na\\\"me\",\"value\":\"value\","
+				+ "\"attributes\":{\"ty\\\\pe\":\"someType\"}}");
+	}
+
+	@Test
+	public void testRecordLinkWithoutBaseUrlHasNoActionLinks() {
+		CoraDataRecordLink recordLink = CoraDataRecordLink.usingNameInDataAndTypeAndId("link",
+				"someType", "someId");
+		recordLink.addAction(Action.READ);
+
+		String json = toJson(recordLink);
+
+		assertEquals(json, "{\"name\":\"link\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"someType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someId\"}]}");
+	}
+
+	@Test
+	public void testRecordLinkWithBaseUrlAndReadAction() {
+		CoraDataRecordLink recordLink = CoraDataRecordLink.usingNameInDataAndTypeAndId("link",
+				"someType", "someId");
+		recordLink.addAction(Action.READ);
+
+		String json = toJsonWithExternalUrls(recordLink);
+
+		assertEquals(json, "{\"name\":\"link\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"someType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someId\"}],"
+				+ "\"actionLinks\":{\"read\":{\"rel\":\"read\","
+				+ "\"url\":\"https://some.domain.now/rest/record/someType/someId\","
+				+ "\"requestMethod\":\"GET\",\"accept\":\"application/vnd.cora.record+json\"}}}");
+	}
+
+	@Test
+	public void testResourceLinkWithBaseUrlAndReadAction() {
+		CoraDataResourceLink resourceLink = CoraDataResourceLink
+				.withNameInDataAndTypeAndIdAndMimeType("master", "binary", "binary:1",
+						"image/png");
+		resourceLink.addAction(Action.READ);
+
+		String json = toJsonWithExternalUrls(resourceLink);
+
+		assertEquals(json, "{\"name\":\"master\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"binary\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"binary:1\"},"
+				+ "{\"name\":\"mimeType\",\"value\":\"image/png\"}],"
+				+ "\"actionLinks\":{\"read\":{\"rel\":\"read\","
+				+ "\"url\":\"https://some.domain.now/rest/record/binary/binary:1/master\","
+				+ "\"requestMethod\":\"GET\",\"accept\":\"image/png\"}}}");
+	}
+
+	@Test
+	public void testRecordWithPermissions() {
+		CoraDataRecord dataRecord = createRecord();
+		dataRecord.addReadPermission("readPermissionOne");
+		dataRecord.addWritePermission("writePermissionOne");
+
+		String json = toJson(dataRecord);
+
+		assertEquals(json, "{\"record\":{\"data\":" + expectedRecordGroupJson()
+				+ ",\"permissions\":{\"read\":[\"readPermissionOne\"],"
+				+ "\"write\":[\"writePermissionOne\"]}}}");
+	}
+
+	private CoraDataRecord createRecord() {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData("someRecord");
+		recordGroup.setType("someType");
+		recordGroup.setId("someId");
+		return CoraDataRecord.withDataRecordGroup(recordGroup);
+	}
+
+	private String expectedRecordGroupJson() {
+		return "{\"name\":\"someRecord\",\"children\":[{\"name\":\"recordInfo\",\"children\":["
+				+ "{\"name\":\"type\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someType\"}]},"
+				+ "{\"name\":\"id\",\"value\":\"someId\"}]}]}";
+	}
+
+	@Test
+	public void testRecordWithIiifProtocol() {
+		CoraDataRecord dataRecord = createRecord();
+		dataRecord.addProtocol("iiif");
+
+		String json = toJsonWithExternalUrls(dataRecord);
+
+		assertEquals(json, "{\"record\":{\"data\":" + expectedRecordGroupJson()
+				+ ",\"otherProtocols\":{\"iiif\":{\"server\":\"https://iiif.domain.now/\","
+				+ "\"identifier\":\"someId\"}}}}");
+	}
+
+	@Test
+	public void testDataList() {
+		CoraDataList dataList = CoraDataList.withContainDataOfType("mix");
+		dataList.setTotalNo("2");
+		dataList.setFromNo("1");
+		dataList.setToNo("2");
+		dataList.addData(dataGroup);
+		dataList.addData(CoraDataGroup.withNameInData("otherGroup"));
+
+		String json = toJson(dataList);
+
+		assertEquals(json, "{\"dataList\":{\"totalNo\":\"2\",\"fromNo\":\"1\",\"toNo\":\"2\","
+				+ "\"containDataOfType\":\"mix\",\"data\":[{\"name\":\"groupNameInData\"},"
+				+ "{\"name\":\"otherGroup\"}]}}");
+	}
+
+	@Test
+	public void testWriteToOutputStreamIsUtf8() {
+		CoraDataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("atomic", "åäö字€");
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		converterFactory.factorStreamingUsingConvertible(atomic).writeTo(outputStream);
+
+		assertEquals(outputStream.toString(StandardCharsets.UTF_8),
+				"{\"name\":\"atomic\",\"value\":\"åäö字\\u20ac\"}");
+	}
+
+	@Test
+	public void testWriteToWriter() {
+		StringWriter writer = new StringWriter();
+
+		converterFactory.factorStreamingUsingConvertible(dataGroup).writeTo(writer);
+
+		assertEquals(writer.toString(), "{\"name\":\"groupNameInData\"}");
+	}
+
+	@Test
+	public void testErrorWhileWritingIsWrappedInConverterException() {
+		Writer failingWriter = new Writer() {
+			@Override
+			public void write(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("disk full");
+			}
+
+			@Override
+			public void flush() throws IOException {
+				// nothing to flush
+			}
+
+			@Override
+			public void close() throws IOException {
+				// nothing to close
+			}
+		};
+		try {
+			converterFactory.factorStreamingUsingConvertible(dataGroup).writeTo(failingWriter);
+			assertTrue(false);
+		} catch (ConverterException e) {
+			assertEquals(e.getMessage(), "Error writing json to stream: disk full");
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	private String toJson(se.uu.ub.cora.data.Convertible convertible) {
+		return converterFactory.factorStreamingUsingConvertible(convertible).toJsonCompactFormat();
+	}
+
+	private String toJsonWithExternalUrls(se.uu.ub.cora.data.Convertible convertible) {
+		return converterFactory
+				.factorStreamingUsingConvertibleAndExternalUrls(convertible, externalUrls)
+				.toJsonCompactFormat();
+	}
+
+	@Test
+	public void testDataListConvertedInParallelGivesSameJson() {
+		CoraDataList dataList = CoraDataList.withContainDataOfType("mix");
+		for (int i = 0; i < 50; i++) {
+			CoraDataGroup group = CoraDataGroup.withNameInData("group");
+			group.addChild(CoraDataAtomic.withNameInDataAndValue("number", String.valueOf(i)));
+			dataList.addData(group);
+		}
+		BasicDataToJsonConverterFactory parallelFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactoryAndParallelListConversion(new OrgJsonBuilderFactoryAdapter(),
+						ParallelListConversion.usingThresholdAndParallelism(10, 3));
+
+		String parallelJson = parallelFactory.factorStreamingUsingConvertible(dataList)
+				.toJsonCompactFormat();
+
+		assertEquals(parallelJson, toJson(dataList));
+		assertTrue(parallelJson.contains("{\"name\":\"number\",\"value\":\"0\"}]},"
+				+ "{\"name\":\"group\",\"children\":[{\"name\":\"number\",\"value\":\"1\"}"));
+	}
+
+	@Test
+	public void testRecordWithActions() {
+		CoraDataRecord dataRecord = createRecord();
+		dataRecord.addAction(Action.READ);
+		dataRecord.addAction(Action.DELETE);
+		dataRecord.addAction(Action.INDEX);
+		dataRecord.addAction(Action.CREATE);
+
+		String json = toJsonWithExternalUrls(dataRecord);
+
+		String baseUrl = "https://some.domain.now/rest/record/";
+		assertEquals(json, "{\"record\":{\"data\":" + expectedRecordGroupJson()
+				+ ",\"actionLinks\":{\"read\":{\"rel\":\"read\",\"url\":\"" + baseUrl
+				+ "someType/someId\",\"requestMethod\":\"GET\","
+				+ "\"accept\":\"application/vnd.cora.record+json\"},"
+				+ "\"delete\":{\"rel\":\"delete\",\"url\":\"" + baseUrl
+				+ "someType/someId\",\"requestMethod\":\"DELETE\"},"
+				+ "\"index\":{\"rel\":\"index\",\"url\":\"" + baseUrl + "workOrder/\","
+				+ "\"requestMethod\":\"POST\",\"accept\":\"application/vnd.cora.record+json\","
+				+ "\"contentType\":\"application/vnd.cora.recordgroup+json\","
+				+ "\"body\":{\"name\":\"workOrder\",\"children\":["
+				+ "{\"name\":\"recordType\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someType\"}]},"
+				+ "{\"name\":\"recordId\",\"value\":\"someId\"},"
+				+ "{\"name\":\"type\",\"value\":\"index\"}]}},"
+				+ "\"create\":{}}}}");
+	}
+
+	@Test
+	public void testFrozenGroupIsConvertedOnceAndThenTakenFromCache() {
+		JsonFragmentCache fragmentCache = JsonFragmentCache.usingMaxNoOfCharacters(1000);
+		BasicDataToJsonConverterFactory cachingFactory = converterFactory
+				.withFragmentCache(fragmentCache);
+		CoraDataGroup frozenGroup = createGroupWithAtomic("frozenGroup").freeze();
+		dataGroup.addChild(frozenGroup);
+		dataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("after", "afterValue"));
+		String expectedJson = toJson(dataGroup);
+
+		String firstJson = cachingFactory.factorStreamingUsingConvertible(dataGroup)
+				.toJsonCompactFormat();
+		fragmentCache.putFragment(frozenGroup, null, "{\"name\":\"fromCache\"}");
+		String secondJson = cachingFactory.factorStreamingUsingConvertible(dataGroup)
+				.toJsonCompactFormat();
+
+		assertEquals(firstJson, expectedJson);
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 1);
+		assertEquals(secondJson, "{\"name\":\"groupNameInData\",\"children\":["
+				+ "{\"name\":\"fromCache\"},{\"name\":\"after\",\"value\":\"afterValue\"}]}");
+	}
+
+	@Test
+	public void testRecordWithProjectionOnlyWritesIncludedChildren() {
+		CoraDataRecord dataRecord = createRecord();
+		dataRecord.getDataRecordGroup()
+				.addChild(CoraDataAtomic.withNameInDataAndValue("title", "someTitle"));
+		dataRecord.getDataRecordGroup().addChild(createGroupWithAtomic("skippedGroup"));
+		BasicDataToJsonConverterFactory projectingFactory = converterFactory
+				.withProjection(Projection.usingPaths("recordInfo/id", "title"));
+
+		String json = projectingFactory.factorStreamingUsingConvertible(dataRecord)
+				.toJsonCompactFormat();
+
+		assertEquals(json, "{\"record\":{\"data\":{\"name\":\"someRecord\",\"children\":["
+				+ "{\"name\":\"recordInfo\",\"children\":["
+				+ "{\"name\":\"id\",\"value\":\"someId\"}]},"
+				+ "{\"name\":\"title\",\"value\":\"someTitle\"}]}}}");
+	}
+
+	@Test
+	public void testProjectionWithAttributes() {
+		CoraDataAtomic swedishTitle = CoraDataAtomic.withNameInDataAndValue("title", "titel");
+		swedishTitle.addAttributeByIdWithValue("language", "sv");
+		CoraDataAtomic englishTitle = CoraDataAtomic.withNameInDataAndValue("title", "title");
+		englishTitle.addAttributeByIdWithValue("language", "en");
+		dataGroup.addChild(swedishTitle);
+		dataGroup.addChild(englishTitle);
+		BasicDataToJsonConverterFactory projectingFactory = converterFactory
+				.withProjection(Projection.usingPaths().withPathAndAttributes("title",
+						CoraDataAttribute.withNameInDataAndValue("language", "en")));
+
+		String json = projectingFactory.factorStreamingUsingConvertible(dataGroup)
+				.toJsonCompactFormat();
+
+		assertEquals(json, "{\"name\":\"groupNameInData\",\"children\":["
+				+ "{\"name\":\"title\",\"value\":\"title\","
+				+ "\"attributes\":{\"language\":\"en\"}}]}");
+	}
+
+	@Test
+	public void testProjectionIsNotUsedForActionLinkBodies() {
+		CoraDataRecord dataRecord = createRecord();
+		dataRecord.addAction(Action.INDEX);
+		BasicDataToJsonConverterFactory projectingFactory = converterFactory
+				.withProjection(Projection.usingPaths("recordInfo/id"));
+
+		String json = projectingFactory
+				.factorStreamingUsingConvertibleAndExternalUrls(dataRecord, externalUrls)
+				.toJsonCompactFormat();
+
+		assertTrue(json.contains("\"body\":{\"name\":\"workOrder\",\"children\":["
+				+ "{\"name\":\"recordType\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someType\"}]},"
+				+ "{\"name\":\"recordId\",\"value\":\"someId\"},"
+				+ "{\"name\":\"type\",\"value\":\"index\"}]}"));
+	}
+
+	@Test
+	public void testProjectionIsUsedForEachEntryInParallelList() {
+		CoraDataList dataList = CoraDataList.withContainDataOfType("mix");
+		for (int i = 0; i < 20; i++) {
+			CoraDataGroup group = CoraDataGroup.withNameInData("group");
+			group.addChild(CoraDataAtomic.withNameInDataAndValue("number", String.valueOf(i)));
+			group.addChild(CoraDataAtomic.withNameInDataAndValue("skipped", "skippedValue"));
+			dataList.addData(group);
+		}
+		Projection projection = Projection.usingPaths("number");
+		BasicDataToJsonConverterFactory parallelFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactoryAndParallelListConversion(new OrgJsonBuilderFactoryAdapter(),
+						ParallelListConversion.usingThresholdAndParallelism(10, 3))
+				.withProjection(projection);
+
+		String parallelJson = parallelFactory.factorStreamingUsingConvertible(dataList)
+				.toJsonCompactFormat();
+
+		assertEquals(parallelJson, converterFactory.withProjection(projection)
+				.factorStreamingUsingConvertible(dataList).toJsonCompactFormat());
+		assertFalse(parallelJson.contains("skippedValue"));
+		assertTrue(parallelJson.contains("{\"name\":\"number\",\"value\":\"19\"}"));
+	}
+
+	@Test
+	public void testFragmentCacheIsOnlyUsedForGroupsIncludedCompletely() {
+		JsonFragmentCache fragmentCache = JsonFragmentCache.usingMaxNoOfCharacters(1000);
+		CoraDataGroup partlyIncluded = createGroupWithAtomic("partlyIncluded");
+		partlyIncluded.addChild(CoraDataAtomic.withNameInDataAndValue("skipped", "skippedValue"));
+		dataGroup.addChild(partlyIncluded.freeze());
+		CoraDataGroup included = createGroupWithAtomic("included").freeze();
+		dataGroup.addChild(included);
+
+		String json = converterFactory.withFragmentCache(fragmentCache)
+				.withProjection(Projection.usingPaths("partlyIncluded/atomicNameInData",
+						"included"))
+				.factorStreamingUsingConvertible(dataGroup).toJsonCompactFormat();
+
+		assertFalse(json.contains("skippedValue"));
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 1);
+		assertEquals(fragmentCache.getFragment(included, null),
+				"{\"name\":\"included\",\"children\":["
+						+ "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"}]}");
+	}
+
+	@Test
+	public void testConversionIsMeasured() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		BasicDataToJsonConverterFactory measuringFactory = converterFactory
+				.withConversionMetrics(conversionMetrics);
+		dataGroup.addChild(createGroupWithAtomic("childGroup"));
+
+		String json = measuringFactory.factorStreamingUsingConvertible(dataGroup)
+				.toJsonCompactFormat();
+		measuringFactory.factorStreamingUsingConvertible(dataGroup).writeTo(new StringWriter());
+
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 2);
+		Measurement measurement = conversionMetrics.getMeasurement(0);
+		assertSame(measurement.getOperation(), MeasuredOperation.TO_JSON);
+		assertEquals(measurement.getNoOfNodes(), 3);
+		assertEquals(measurement.getPayloadSize(), json.length());
+		assertEquals(conversionMetrics.getMeasurement(1).getPayloadSize(),
+				Measurement.NOT_KNOWN);
+	}
+
+	@Test
+	public void testNodesAreNotCountedWhenMetricsDoNotCountNodes() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		conversionMetrics.countsNodes = false;
+
+		converterFactory.withConversionMetrics(conversionMetrics)
+				.factorStreamingUsingConvertible(dataGroup).toJsonCompactFormat();
+
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 1);
+		assertEquals(conversionMetrics.getMeasurement(0).getNoOfNodes(), Measurement.NOT_KNOWN);
+	}
+
+	@Test
+	public void testListConvertedInParallelIsMeasuredOnce() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		CoraDataList dataList = CoraDataList.withContainDataOfType("someType");
+		for (int i = 0; i < 20; i++) {
+			dataList.addData(createGroupWithAtomic("group"));
+		}
+		BasicDataToJsonConverterFactory parallelFactory = BasicDataToJsonConverterFactory
+				.usingBuilderFactoryAndParallelListConversion(new OrgJsonBuilderFactoryAdapter(),
+						ParallelListConversion.usingThresholdAndParallelism(10, 3))
+				.withConversionMetrics(conversionMetrics);
+
+		parallelFactory.factorStreamingUsingConvertible(dataList).toJsonCompactFormat();
+
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 1);
+		assertEquals(conversionMetrics.getMeasurement(0).getNoOfNodes(), 40);
+		assertEquals(conversionMetrics.getMeasurement(0).getRecordType().get(), "someType");
+	}
+
+	@Test
+	public void testNotMeasuredWhenMetricsAreNotEnabled() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		conversionMetrics.enabled = false;
+
+		converterFactory.withConversionMetrics(conversionMetrics)
+				.factorStreamingUsingConvertible(dataGroup).toJsonCompactFormat();
+
+		conversionMetrics.MCR.assertMethodNotCalled("measured");
+	}
+
+	private CoraDataGroup createGroupWithAtomic(String nameInData) {
+		CoraDataGroup group = CoraDataGroup.withNameInData(nameInData);
+		group.addChild(CoraDataAtomic.withNameInDataAndValue("atomicNameInData", "atomicValue"));
+		return group;
+	}
+
+	@Test
+	public void testGroupThatIsNotFrozenIsNotCached() {
+		JsonFragmentCache fragmentCache = JsonFragmentCache.usingMaxNoOfCharacters(1000);
+		dataGroup.addChild(createGroupWithAtomic("childGroup"));
+
+		String json = converterFactory.withFragmentCache(fragmentCache)
+				.factorStreamingUsingConvertible(dataGroup).toJsonCompactFormat();
+
+		assertEquals(json, toJson(dataGroup));
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 0);
+	}
+
+	@Test
+	public void testFrozenGroupIsCachedPerBaseUrl() {
+		JsonFragmentCache fragmentCache = JsonFragmentCache.usingMaxNoOfCharacters(1000);
+		BasicDataToJsonConverterFactory cachingFactory = converterFactory
+				.withFragmentCache(fragmentCache);
+		CoraDataRecordLink recordLink = CoraDataRecordLink.usingNameInDataAndTypeAndId("link",
+				"someType", "someId");
+		recordLink.addAction(Action.READ);
+		dataGroup.addChild(recordLink);
+		CoraDataGroup frozenGroup = dataGroup.freeze();
+
+		String jsonWithoutUrls = cachingFactory.factorStreamingUsingConvertible(frozenGroup)
+				.toJsonCompactFormat();
+		String jsonWithUrls = cachingFactory
+				.factorStreamingUsingConvertibleAndExternalUrls(frozenGroup, externalUrls)
+				.toJsonCompactFormat();
+
+		assertEquals(jsonWithoutUrls, toJson(frozenGroup));
+		assertEquals(jsonWithUrls, toJsonWithExternalUrls(frozenGroup));
+		assertTrue(jsonWithUrls.contains("actionLinks"));
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 3);
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+public class EscapedStringCacheTest {
+
+	@Test
+	public void testGetQuotedReturnsQuotedString() {
+		EscapedStringCache cache = new EscapedStringCache(10);
+
+		assertEquals(new String(cache.getQuoted("someName")), "\"someName\"");
+	}
+
+	@Test
+	public void testGetQuotedEscapes() {
+		EscapedStringCache cache = new EscapedStringCache(10);
+
+		assertEquals(new String(cache.getQuoted("a \"quote\"\\\n\t\u0001")),
+				"\"a \\\"quote\\\"\\\\\\n\\t\\u0001\"");
+	}
+
+	@Test
+	public void testGetQuotedReturnsSameInstanceForEqualStrings() {
+		EscapedStringCache cache = new EscapedStringCache(10);
+
+		char[] quoted = cache.getQuoted("someName");
+
+		assertSame(cache.getQuoted(new String("someName")), quoted);
+		assertEquals(cache.onlyForTestGetSize(), 1);
+	}
+
+	@Test
+	public void testCacheIsBounded() {
+		EscapedStringCache cache = new EscapedStringCache(1);
+
+		char[] first = cache.getQuoted("first");
+		char[] second = cache.getQuoted("second");
+
+		assertSame(cache.getQuoted("first"), first);
+		assertNotSame(cache.getQuoted("second"), second);
+		assertEquals(new String(cache.getQuoted("second")), "\"second\"");
+		assertEquals(cache.onlyForTestGetSize(), 1);
+	}
+
+	@Test
+	public void testSharedInstance() {
+		assertSame(EscapedStringCache.shared(), EscapedStringCache.shared());
+	}
+
+	@Test
+	public void testEncodeName() {
+		assertEquals(new String(JsonStreamWriter.encodeName("na\"me")), "\"na\\\"me\":");
+	}
+}
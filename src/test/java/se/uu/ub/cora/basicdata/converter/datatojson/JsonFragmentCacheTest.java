@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.data.spies.DataGroupSpy;
+
+public class JsonFragmentCacheTest {
+	private static final String BASE_URL = "https://some.domain.now/rest/record/";
+	private JsonFragmentCache fragmentCache;
+	private CoraDataGroup frozenGroup;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		fragmentCache = JsonFragmentCache.usingMaxNoOfCharacters(10);
+		frozenGroup = CoraDataGroup.withNameInData("someNameInData").freeze();
+	}
+
+	@Test
+	public void testNoneIsShared() {
+		assertSame(JsonFragmentCache.none(), JsonFragmentCache.none());
+	}
+
+	@Test
+	public void testNoneCanNotCache() {
+		assertFalse(JsonFragmentCache.none().canCache(frozenGroup));
+	}
+
+	@Test
+	public void testMaxNoOfCharacters() {
+		assertEquals(fragmentCache.onlyForTestGetMaxNoOfCharacters(), 10);
+	}
+
+	@Test
+	public void testCanCacheOnlyFrozenGroups() {
+		assertTrue(fragmentCache.canCache(frozenGroup));
+		assertFalse(fragmentCache.canCache(CoraDataGroup.withNameInData("someNameInData")));
+		assertFalse(fragmentCache.canCache(new DataGroupSpy()));
+	}
+
+	@Test
+	public void testGetFragmentNotInCache() {
+		assertNull(fragmentCache.getFragment(frozenGroup, null));
+	}
+
+	@Test
+	public void testPutAndGetFragment() {
+		fragmentCache.putFragment(frozenGroup, null, "{}");
+
+		assertEquals(fragmentCache.getFragment(frozenGroup, null), "{}");
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 1);
+		assertEquals(fragmentCache.onlyForTestGetNoOfCharacters(), 2);
+	}
+
+	@Test
+	public void testFragmentsAreFoundByIdentityOfGroup() {
+		CoraDataGroup equalGroup = CoraDataGroup.withNameInData("someNameInData").freeze();
+
+		fragmentCache.putFragment(frozenGroup, null, "{}");
+
+		assertNull(fragmentCache.getFragment(equalGroup, null));
+	}
+
+	@Test
+	public void testFragmentsAreFoundByBaseUrl() {
+		fragmentCache.putFragment(frozenGroup, null, "{}");
+		fragmentCache.putFragment(frozenGroup, BASE_URL, "{\"a\":1}");
+
+		assertEquals(fragmentCache.getFragment(frozenGroup, null), "{}");
+		assertEquals(fragmentCache.getFragment(frozenGroup, BASE_URL), "{\"a\":1}");
+		assertNull(fragmentCache.getFragment(frozenGroup, "https://other.domain.now/"));
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 2);
+	}
+
+	@Test
+	public void testPutSameGroupAgainReplacesFragment() {
+		fragmentCache.putFragment(frozenGroup, null, "{\"a\":1}");
+		fragmentCache.putFragment(frozenGroup, null, "{}");
+
+		assertEquals(fragmentCache.getFragment(frozenGroup, null), "{}");
+		assertEquals(fragmentCache.onlyForTestGetNoOfFragments(), 1);
+		assertEquals(fragmentCache.onlyForTestGetNoOfCharacters(), 2);
+	}
+
+	@Test
+	public void testFragmentLargerThanCacheIsNotStored() {
+		fragmentCache.putFragment(frozenGroup, null, "{\"a\":\"bcdef\"}");
+
+		assertNull(fragmentCache.getFragment(frozenGroup, null));
+		assertEquals(fragmentCache.onlyForTestGetNoOfCharacters(), 0);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedFragmentsAreRemovedWhenFull() {
+		CoraDataGroup first = CoraDataGroup.withNameInData("first").freeze();
+		CoraDataGroup second = CoraDataGroup.withNameInData("second").freeze();
+		CoraDataGroup third = CoraDataGroup.withNameInData("third").freeze();
+		fragmentCache.putFragment(first, null, "{\"a\":1}");
+		fragmentCache.putFragment(second, null, "{}");
+		fragmentCache.getFragment(first, null);
+
+		fragmentCache.putFragment(third, null, "[]");
+
+		assertEquals(fragmentCache.getFragment(first, null), "{\"a\":1}");
+		assertNull(fragmentCache.getFragment(second, null));
+		assertEquals(fragmentCache.getFragment(third, null), "[]");
+		assertEquals(fragmentCache.onlyForTestGetNoOfCharacters(), 9);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.data.Data;
+
+public class ParallelListConversionTest {
+
+	@Test
+	public void testSequential() {
+		ParallelListConversion listConversion = ParallelListConversion.sequential();
+
+		assertSame(listConversion, ParallelListConversion.SEQUENTIAL);
+		assertFalse(listConversion.shouldConvertInParallel(createEntries(100_000)));
+		assertEquals(listConversion.onlyForTestGetParallelism(), 1);
+	}
+
+	@Test
+	public void testUsingThresholdAndParallelism() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(10, 3);
+
+		assertEquals(listConversion.onlyForTestGetThreshold(), 10);
+		assertEquals(listConversion.onlyForTestGetParallelism(), 3);
+		assertFalse(listConversion.shouldConvertInParallel(createEntries(9)));
+		assertTrue(listConversion.shouldConvertInParallel(createEntries(10)));
+	}
+
+	@Test
+	public void testCloseShutsDownPool() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(2, 2);
+
+		listConversion.close();
+
+		assertFalse(listConversion.shouldConvertInParallel(createEntries(4)));
+		List<Thread> threads = listConversion.convertInOrder(createEntries(2),
+				_ -> Thread.currentThread());
+		assertEquals(threads, List.of(Thread.currentThread(), Thread.currentThread()));
+	}
+
+	@Test
+	public void testCloseSequential() {
+		ParallelListConversion.sequential().close();
+
+		assertEquals(ParallelListConversion.sequential().convertInOrder(createEntries(2),
+				_ -> "converted"), List.of("converted", "converted"));
+	}
+
+	@Test
+	public void testListWithOneEntryIsNeverConvertedInParallel() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(0, 3);
+
+		assertFalse(listConversion.shouldConvertInParallel(createEntries(1)));
+	}
+
+	@Test
+	public void testSequentialConvertsInCallingThread() {
+		List<Data> entries = createEntries(5);
+
+		List<Thread> threads = ParallelListConversion.sequential().convertInOrder(entries,
+				_ -> Thread.currentThread());
+
+		assertEquals(threads, List.of(Thread.currentThread(), Thread.currentThread(),
+				Thread.currentThread(), Thread.currentThread(), Thread.currentThread()));
+	}
+
+	@Test
+	public void testConvertInOrderKeepsOrder() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(2, 4);
+		List<Data> entries = createEntries(1003);
+
+		List<String> values = listConversion.convertInOrder(entries,
+				data -> ((CoraDataGroup) data).getRepeatId());
+
+		assertEquals(values.size(), 1003);
+		for (int i = 0; i < values.size(); i++) {
+			assertEquals(values.get(i), String.valueOf(i));
+		}
+	}
+
+	@Test
+	public void testConvertInParallelUsesOtherThreads() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(2, 2);
+
+		List<Thread> threads = listConversion.convertInOrder(createEntries(4),
+				_ -> Thread.currentThread());
+
+		assertNotEquals(threads.get(0), Thread.currentThread());
+		assertNotEquals(threads.get(3), Thread.currentThread());
+	}
+
+	@Test
+	public void testRuntimeExceptionFromConverterIsRethrown() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(2, 2);
+		RuntimeException error = new IllegalStateException("some error");
+
+		try {
+			listConversion.convertInOrder(createEntries(4), _ -> {
+				throw error;
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e == error || e.getCause() == error);
+		}
+	}
+
+	@Test
+	public void testPartsRejectedByClosedPoolAreConvertedInCallingThread() {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(2, 2);
+		listConversion.close();
+
+		List<Thread> threads = listConversion.convertInParts(createEntries(4),
+				_ -> Thread.currentThread());
+
+		assertEquals(threads, List.of(Thread.currentThread(), Thread.currentThread(),
+				Thread.currentThread(), Thread.currentThread()));
+	}
+
+	@Test
+	public void testOtherPartsAreCancelledWhenOnePartFails() throws InterruptedException {
+		ParallelListConversion listConversion = ParallelListConversion
+				.usingThresholdAndParallelism(2, 2);
+		CountDownLatch secondPartStarted = new CountDownLatch(1);
+		CountDownLatch secondPartInterrupted = new CountDownLatch(1);
+		RuntimeException error = new IllegalStateException("some error");
+
+		try {
+			listConversion.convertInOrder(createEntries(2), data -> {
+				if ("0".equals(((CoraDataGroup) data).getRepeatId())) {
+					awaitQuietly(secondPartStarted);
+					throw error;
+				}
+				secondPartStarted.countDown();
+				waitUntilInterrupted(secondPartInterrupted);
+				return "converted";
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e == error || e.getCause() == error);
+		}
+
+		assertTrue(secondPartInterrupted.await(10, TimeUnit.SECONDS));
+		listConversion.close();
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void waitUntilInterrupted(CountDownLatch interrupted) {
+		try {
+			new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			interrupted.countDown();
+		}
+	}
+
+	private List<Data> createEntries(int noOfEntries) {
+		List<Data> entries = new ArrayList<>(noOfEntries);
+		for (int i = 0; i < noOfEntries; i++) {
+			CoraDataGroup entry = CoraDataGroup.withNameInData("entry");
+			entry.setRepeatId(String.valueOf(i));
+			entries.add(entry);
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.datatojson;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.converter.ConverterException;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+
+public class ProjectionTest {
+
+	@Test
+	public void testAllIncludesAll() {
+		Projection all = Projection.all();
+
+		assertTrue(all.includesAll());
+		assertSame(all.projectionForChild(createAtomic("anyName")).get(), all);
+		assertSame(all.withPath("some/path"), all);
+	}
+
+	@Test
+	public void testUsingNoPathsIncludesNothing() {
+		Projection projection = Projection.usingPaths();
+
+		assertFalse(projection.includesAll());
+		assertTrue(projection.projectionForChild(createAtomic("anyName")).isEmpty());
+	}
+
+	@Test
+	public void testUsingPathsCreatesTree() {
+		Projection projection = Projection.usingPaths("recordInfo/id", "recordInfo/type",
+				"title");
+
+		List<Projection> children = projection.onlyForTestGetChildren();
+		assertEquals(children.size(), 2);
+		Projection recordInfo = children.get(0);
+		assertEquals(recordInfo.onlyForTestGetNameInData(), "recordInfo");
+		assertFalse(recordInfo.includesAll());
+		assertEquals(recordInfo.onlyForTestGetChildren().size(), 2);
+		assertEquals(recordInfo.onlyForTestGetChildren().get(0).onlyForTestGetNameInData(), "id");
+		assertEquals(recordInfo.onlyForTestGetChildren().get(1).onlyForTestGetNameInData(),
+				"type");
+		assertEquals(children.get(1).onlyForTestGetNameInData(), "title");
+		assertTrue(children.get(1).includesAll());
+	}
+
+	@Test
+	public void testWithPathReturnsNewProjection() {
+		Projection projection = Projection.usingPaths("title");
+
+		Projection extended = projection.withPath("recordInfo/id");
+
+		assertNotSame(extended, projection);
+		assertEquals(projection.onlyForTestGetChildren().size(), 1);
+		assertEquals(extended.onlyForTestGetChildren().size(), 2);
+	}
+
+	@Test
+	public void testShorterPathIncludesEverythingBelow() {
+		Projection projection = Projection.usingPaths("recordInfo/id", "recordInfo",
+				"recordInfo/type");
+
+		Projection recordInfo = projection.projectionForChild(createGroup("recordInfo")).get();
+
+		assertTrue(recordInfo.includesAll());
+		assertTrue(recordInfo.onlyForTestGetChildren().isEmpty());
+	}
+
+	@Test
+	public void testProjectionForChild() {
+		Projection projection = Projection.usingPaths("recordInfo/id", "title");
+
+		Projection recordInfo = projection.projectionForChild(createGroup("recordInfo")).get();
+
+		assertFalse(recordInfo.includesAll());
+		assertTrue(recordInfo.projectionForChild(createAtomic("id")).get().includesAll());
+		assertTrue(recordInfo.projectionForChild(createAtomic("type")).isEmpty());
+		assertTrue(projection.projectionForChild(createAtomic("title")).get().includesAll());
+		assertTrue(projection.projectionForChild(createAtomic("other")).isEmpty());
+	}
+
+	@Test
+	public void testProjectionForChildWithAttributes() {
+		Projection projection = Projection.usingPaths().withPathAndAttributes("title",
+				CoraDataAttribute.withNameInDataAndValue("language", "en"));
+		CoraDataAtomic englishTitle = createAtomic("title");
+		englishTitle.addAttributeByIdWithValue("language", "en");
+		englishTitle.addAttributeByIdWithValue("type", "main");
+		CoraDataAtomic swedishTitle = createAtomic("title");
+		swedishTitle.addAttributeByIdWithValue("language", "sv");
+
+		assertEquals(projection.onlyForTestGetChildren().get(0).onlyForTestGetAttributes(),
+				Map.of("language", "en"));
+		assertTrue(projection.projectionForChild(englishTitle).isPresent());
+		assertTrue(projection.projectionForChild(swedishTitle).isEmpty());
+		assertTrue(projection.projectionForChild(createAtomic("title")).isEmpty());
+	}
+
+	@Test
+	public void testSameNameWithDifferentAttributesAreDifferentPaths() {
+		Projection projection = Projection.usingPaths("title/main").withPathAndAttributes(
+				"title/sub", CoraDataAttribute.withNameInDataAndValue("language", "en"));
+
+		assertEquals(projection.onlyForTestGetChildren().size(), 1);
+		Projection title = projection.onlyForTestGetChildren().get(0);
+		assertEquals(title.onlyForTestGetChildren().size(), 2);
+		assertTrue(title.onlyForTestGetChildren().get(1).onlyForTestGetAttributes()
+				.containsKey("language"));
+	}
+
+	@Test
+	public void testChildMatchingSeveralPathsGetsMergedProjection() {
+		Projection projection = Projection.usingPaths("title/main")
+				.withPathAndAttributes("title/sub",
+						CoraDataAttribute.withNameInDataAndValue("language", "en"))
+				.withPathAndAttributes("title",
+						CoraDataAttribute.withNameInDataAndValue("type", "x"))
+				.withPathAndAttributes("title",
+						CoraDataAttribute.withNameInDataAndValue("type", "y"));
+		CoraDataGroup title = createGroup("title");
+		title.addAttributeByIdWithValue("type", "z");
+
+		Projection titleProjection = projection.projectionForChild(title).get();
+
+		assertFalse(titleProjection.includesAll());
+		assertTrue(titleProjection.projectionForChild(createAtomic("main")).isPresent());
+		assertTrue(titleProjection.projectionForChild(createAtomic("sub")).isEmpty());
+		assertTrue(titleProjection.projectionForChild(createAtomic("other")).isEmpty());
+	}
+
+	@Test
+	public void testMergedProjectionIncludesAllIfOneMatchIncludesAll() {
+		Projection projection = Projection.usingPaths("title/main").withPathAndAttributes(
+				"title", CoraDataAttribute.withNameInDataAndValue("type", "x"));
+		CoraDataGroup title = createGroup("title");
+		title.addAttributeByIdWithValue("type", "x");
+
+		assertSame(projection.projectionForChild(title).get(), Projection.all());
+	}
+
+	@Test(expectedExceptions = ConverterException.class, expectedExceptionsMessageRegExp = ""
+			+ "Invalid projection path: recordInfo//id")
+	public void testEmptyNameInPath() {
+		Projection.usingPaths("recordInfo//id");
+	}
+
+	@Test(expectedExceptions = ConverterException.class, expectedExceptionsMessageRegExp = ""
+			+ "Invalid projection path: ")
+	public void testEmptyPath() {
+		Projection.usingPaths("");
+	}
+
+	private CoraDataAtomic createAtomic(String nameInData) {
+		return CoraDataAtomic.withNameInDataAndValue(nameInData, "someValue");
+	}
+
+	private CoraDataGroup createGroup(String nameInData) {
+		return CoraDataGroup.withNameInData(nameInData);
+	}
+}
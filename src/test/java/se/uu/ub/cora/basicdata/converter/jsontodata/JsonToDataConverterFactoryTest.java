@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2025 Uppsala University Library
+ * Copyright 2015, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,12 +19,25 @@
 
 package se.uu.ub.cora.basicdata.converter.jsontodata;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsProvider;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsSpy;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.DataRecordLink;
 import se.uu.ub.cora.data.converter.JsonToDataConverter;
 import se.uu.ub.cora.data.converter.JsonToDataConverterFactory;
 import se.uu.ub.cora.json.parser.JsonObject;
@@ -34,6 +47,9 @@ import se.uu.ub.cora.json.parser.JsonValue;
 import se.uu.ub.cora.json.parser.org.OrgJsonParser;
 
 public class JsonToDataConverterFactoryTest {
+	private static final String GROUP_JSON = "{\"name\":\"group\",\"children\":["
+			+ "{\"name\":\"atomic\",\"value\":\"value\"},"
+			+ "{\"name\":\"atomic2\",\"value\":\"value2\"}]}";
 	private JsonToDataConverterFactory jsonToDataConverterFactory;
 	private JsonParser jsonParser;
 
@@ -61,6 +77,35 @@ public class JsonToDataConverterFactoryTest {
 		assertTrue(jsonToDataConverter instanceof JsonToDataGroupConverter);
 	}
 
+	@Test
+	public void testFactoredGroupConverterUsesFactory() {
+		String json = "{\"name\":\"id\",\"children\":[{\"name\":\"someNameInData\",\"value\":\"id2\"}]}";
+		JsonValue jsonValue = jsonParser.parseString(json);
+		JsonToDataGroupConverter jsonToDataConverter = (JsonToDataGroupConverter) jsonToDataConverterFactory
+				.createForJsonObject(jsonValue);
+		assertSame(jsonToDataConverter.onlyForTestGetFactory(), jsonToDataConverterFactory);
+	}
+
+	@Test
+	public void testFactoredRecordLinkConverterUsesFactory() {
+		String json = "{\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},{\"name\":\"linkedRecordId\",\"value\":\"place\"}],\"name\":\"someLink\"}";
+		JsonValue jsonValue = jsonParser.parseString(json);
+		JsonToDataRecordLinkConverter jsonToDataConverter = (JsonToDataRecordLinkConverter) jsonToDataConverterFactory
+				.createForJsonObject(jsonValue);
+		assertSame(jsonToDataConverter.onlyForTestGetFactory(), jsonToDataConverterFactory);
+	}
+
+	@Test
+	public void testConvertJsonObjectConvertsNestedData() {
+		String json = "{\"name\":\"id\",\"children\":[{\"name\":\"someNameInData\",\"value\":\"id2\"},{\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},{\"name\":\"linkedRecordId\",\"value\":\"place\"}],\"name\":\"someLink\"}],\"attributes\":{\"type\":\"someType\"}}";
+		JsonObject jsonObject = (JsonObject) jsonParser.parseString(json);
+		DataGroup dataGroup = (DataGroup) ((JsonToDataConverterFactoryImp) jsonToDataConverterFactory)
+				.convertJsonObject(jsonObject);
+		assertEquals(dataGroup.getFirstAtomicValueWithNameInData("someNameInData"), "id2");
+		assertTrue(dataGroup.getFirstChildWithNameInData("someLink") instanceof DataRecordLink);
+		assertEquals(dataGroup.getAttribute("type").getValue(), "someType");
+	}
+
 	@Test
 	public void testFactorOnJsonStringOnlyRecordTypeFactorsGroupConverter() {
 		String json = "{\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"recordType\"},{\"name\":\"NOTlinkedRecordId\",\"value\":\"place\"}],\"name\":\"type\"}";
@@ -176,6 +221,45 @@ public class JsonToDataConverterFactoryTest {
 		assertFalse(jsonToDataConverter instanceof JsonToDataRecordLinkConverter);
 	}
 
+	@Test
+	public void testFactorOnJsonStringWithLinkedPathAndLinkedRepeatIdButNoTypeOrIdFactorsDataGroup() {
+		String json = "{\"children\":[{\"name\":\"NOTlinkedRecordType\",\"value\":\"coraText\"},{\"name\":\"NOTlinkedRecordId\",\"value\":\"exampleGroupText\"},{\"name\":\"linkedRepeatId\",\"value\":\"one\"},{\"name\":\"linkedPath\",\"value\":\"path\"}],\"name\":\"from\"}";
+		JsonValue jsonValue = jsonParser.parseString(json);
+		JsonToDataConverter jsonToDataConverter = jsonToDataConverterFactory
+				.createForJsonObject(jsonValue);
+		assertTrue(jsonToDataConverter instanceof JsonToDataGroupConverter);
+		assertFalse(jsonToDataConverter instanceof JsonToDataRecordLinkConverter);
+	}
+
+	@Test
+	public void testFactorOnJsonStringWithDuplicateLinkedRecordTypeFactorsDataGroup() {
+		String json = "{\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"coraText\"},{\"name\":\"linkedRecordType\",\"value\":\"coraText\"},{\"name\":\"linkedRecordId\",\"value\":\"exampleGroupText\"}],\"name\":\"from\"}";
+		JsonValue jsonValue = jsonParser.parseString(json);
+		JsonToDataConverter jsonToDataConverter = jsonToDataConverterFactory
+				.createForJsonObject(jsonValue);
+		assertTrue(jsonToDataConverter instanceof JsonToDataGroupConverter);
+		assertFalse(jsonToDataConverter instanceof JsonToDataRecordLinkConverter);
+	}
+
+	@Test
+	public void testFactorOnJsonStringWithFiveLinkChildrenFactorsDataGroup() {
+		String json = "{\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"coraText\"},{\"name\":\"linkedRecordId\",\"value\":\"exampleGroupText\"},{\"name\":\"linkedRepeatId\",\"value\":\"one\"},{\"name\":\"linkedPath\",\"value\":\"path\"},{\"name\":\"mimeType\",\"value\":\"image/png\"}],\"name\":\"from\"}";
+		JsonValue jsonValue = jsonParser.parseString(json);
+		JsonToDataConverter jsonToDataConverter = jsonToDataConverterFactory
+				.createForJsonObject(jsonValue);
+		assertTrue(jsonToDataConverter instanceof JsonToDataGroupConverter);
+		assertFalse(jsonToDataConverter instanceof JsonToDataRecordLinkConverter);
+	}
+
+	@Test
+	public void testFactorOnJsonStringWithUnknownChildFirstDoesNotReadOtherChildren() {
+		String json = "{\"children\":[{\"name\":\"someNameInData\",\"value\":\"id2\"},{\"noName\":\"x\"}],\"name\":\"from\"}";
+		JsonValue jsonValue = jsonParser.parseString(json);
+		JsonToDataConverter jsonToDataConverter = jsonToDataConverterFactory
+				.createForJsonObject(jsonValue);
+		assertTrue(jsonToDataConverter instanceof JsonToDataGroupConverter);
+	}
+
 	@Test
 	public void testFactorOnJsonToDataResourceLink() {
 		String json = "{\"children\":[{\"name\":\"streamId\",\"value\":\"soundBinary:18269669168741\"},{\"name\":\"NOTfilename\",\"value\":\"adele.png\"},{\"name\":\"NOTfilesize\",\"value\":\"8\"},{\"name\":\"NOTmimeType\",\"value\":\"application/octet-stream\"}],\"name\":\"master\"}";
@@ -335,4 +419,97 @@ public class JsonToDataConverterFactoryTest {
 		jsonToDataConverterFactory.createForJsonObject(jsonValue);
 	}
 
+	@Test
+	public void testGroupChildrenAreConvertedDirectlyByDefault() {
+		assertFalse(new JsonToDataConverterFactoryImp().convertsGroupChildrenOnFirstUse());
+	}
+
+	@Test
+	public void testWithGroupChildrenConvertedOnFirstUse() {
+		JsonToDataConverterFactoryImp factory = JsonToDataConverterFactoryImp
+				.withGroupChildrenConvertedOnFirstUse();
+
+		assertTrue(factory.convertsGroupChildrenOnFirstUse());
+	}
+
+	@Test
+	public void testConversionMetricsFromProvider() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(conversionMetrics);
+
+		JsonToDataConverterFactoryImp factory = new JsonToDataConverterFactoryImp();
+		JsonToDataConverterFactoryImp lazyFactory = JsonToDataConverterFactoryImp
+				.withGroupChildrenConvertedOnFirstUse();
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(null);
+
+		assertSame(factory.getConversionMetrics(), conversionMetrics);
+		assertSame(lazyFactory.getConversionMetrics(), conversionMetrics);
+	}
+
+	@Test
+	public void testWithConversionMetrics() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		JsonToDataConverterFactoryImp factory = JsonToDataConverterFactoryImp
+				.withGroupChildrenConvertedOnFirstUse();
+
+		JsonToDataConverterFactoryImp measuringFactory = factory
+				.withConversionMetrics(conversionMetrics);
+
+		assertSame(measuringFactory.getConversionMetrics(), conversionMetrics);
+		assertTrue(measuringFactory.convertsGroupChildrenOnFirstUse());
+		assertSame(factory.getConversionMetrics(), ConversionMetrics.noOp());
+	}
+
+	@Test
+	public void testNoMeasuringConverterWhenMetricsAreNotEnabled() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		conversionMetrics.enabled = false;
+		JsonToDataConverterFactoryImp factory = new JsonToDataConverterFactoryImp()
+				.withConversionMetrics(conversionMetrics);
+		JsonValue jsonValue = jsonParser.parseString(GROUP_JSON);
+
+		JsonToDataConverter converter = factory.createForJsonObject(jsonValue);
+
+		assertTrue(converter instanceof JsonToDataGroupConverter);
+		assertTrue(factory.createForReader(
+				new StringReader(GROUP_JSON)) instanceof JsonToDataStreamingConverter);
+	}
+
+	@Test
+	public void testConversionIsMeasured() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		JsonToDataConverterFactoryImp factory = new JsonToDataConverterFactoryImp()
+				.withConversionMetrics(conversionMetrics);
+		JsonValue jsonValue = jsonParser.parseString(GROUP_JSON);
+
+		MeasuringJsonToDataConverter converter = (MeasuringJsonToDataConverter) factory
+				.createForJsonObject(jsonValue);
+		DataGroup dataGroup = (DataGroup) converter.toInstance();
+
+		JsonToDataGroupConverter groupConverter = (JsonToDataGroupConverter) converter
+				.onlyForTestGetConverter();
+		JsonToDataConverterFactoryImp usedFactory = (JsonToDataConverterFactoryImp) groupConverter
+				.onlyForTestGetFactory();
+		assertSame(usedFactory.getConversionMetrics(), ConversionMetrics.noOp());
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 1);
+		Measurement measurement = conversionMetrics.getMeasurement(0);
+		assertSame(measurement.getOperation(), MeasuredOperation.TO_INSTANCE);
+		assertEquals(measurement.getNoOfNodes(), 3);
+		assertEquals(measurement.getPayloadSize(), Measurement.NOT_KNOWN);
+		assertEquals(dataGroup.getNameInData(), "group");
+	}
+
+	@Test
+	public void testConversionFromReaderIsMeasured() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		JsonToDataConverterFactoryImp factory = new JsonToDataConverterFactoryImp()
+				.withConversionMetrics(conversionMetrics);
+
+		JsonToDataConverter converter = factory.createForInputStream(
+				new ByteArrayInputStream(GROUP_JSON.getBytes(StandardCharsets.UTF_8)));
+		converter.toInstance();
+
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 1);
+		assertEquals(conversionMetrics.getMeasurement(0).getNoOfNodes(), 3);
+	}
 }
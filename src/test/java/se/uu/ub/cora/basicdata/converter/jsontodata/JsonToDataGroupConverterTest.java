@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019 Uppsala University Library
+ * Copyright 2015, 2019, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -20,6 +20,9 @@
 package se.uu.ub.cora.basicdata.converter.jsontodata;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.util.Iterator;
 
@@ -305,4 +308,94 @@ public class JsonToDataGroupConverterTest {
 				""";
 		createDataGroupForJsonString(json);
 	}
+
+	@Test
+	public void testNamesInDataAreShared() {
+		String json = """
+				{
+				  "name": "recordInfo",
+				  "attributes": {"type": "someType"},
+				  "children": [{"name": "someNameInData", "value": "value1"},
+				               {"name": "someNameInData", "value": "value2"}]
+				}
+				""";
+		DataGroup dataGroup = createDataGroupForJsonString(json);
+
+		assertSame(dataGroup.getNameInData(), "recordInfo");
+		assertSame(dataGroup.getAttributes().iterator().next().getNameInData(), "type");
+		assertSame(dataGroup.getChildren().get(0).getNameInData(),
+				dataGroup.getChildren().get(1).getNameInData());
+	}
+
+	@Test
+	public void testChildrenConvertedOnFirstUseGivesSameData() {
+		String json = """
+				{"name":"book","attributes":{"type":"printed"},"children":[
+				  {"name":"recordInfo","children":[{"name":"id","value":"book:1"}]},
+				  {"name":"title","value":"someTitle","repeatId":"0"}]}""";
+
+		DataGroup dataGroup = createDataGroupWithChildrenConvertedOnFirstUse(json);
+
+		assertEquals(dataGroup.getNameInData(), "book");
+		assertEquals(dataGroup.getAttributeValue("type").get(), "printed");
+		assertEquals(dataGroup.getChildren().size(), 2);
+		assertEquals(dataGroup.getFirstGroupWithNameInData("recordInfo")
+				.getFirstAtomicValueWithNameInData("id"), "book:1");
+		assertEquals(dataGroup.getFirstChildWithNameInData("title").getRepeatId(), "0");
+	}
+
+	private DataGroup createDataGroupWithChildrenConvertedOnFirstUse(String json) {
+		JsonObject jsonObject = (JsonObject) new OrgJsonParser().parseString(json);
+		JsonToDataConverterFactoryImp factory = JsonToDataConverterFactoryImp
+				.withGroupChildrenConvertedOnFirstUse();
+		return (DataGroup) JsonToDataGroupConverter.usingFactoryAndJsonObject(factory, jsonObject)
+				.toInstance();
+	}
+
+	@Test
+	public void testChildrenConvertedOnFirstUseOnlyConvertsUsedGroups() {
+		String json = """
+				{"name":"book","children":[
+				  {"name":"recordInfo","children":[{"name":"id","value":"book:1"}]},
+				  {"name":"broken","children":[{"name":"title","value":""}]}]}""";
+
+		DataGroup dataGroup = createDataGroupWithChildrenConvertedOnFirstUse(json);
+
+		assertEquals(dataGroup.getFirstGroupWithNameInData("recordInfo")
+				.getFirstAtomicValueWithNameInData("id"), "book:1");
+		DataGroup brokenGroup = dataGroup.getFirstGroupWithNameInData("broken");
+		assertChildrenThrowEmptyTitleException(brokenGroup);
+		assertChildrenThrowEmptyTitleException(brokenGroup);
+	}
+
+	private void assertChildrenThrowEmptyTitleException(DataGroup brokenGroup) {
+		try {
+			brokenGroup.getChildren().size();
+			fail("an exception should have been thrown");
+		} catch (JsonParseException e) {
+			assertEquals(e.getMessage(), "Error parsing jsonObject: Atomic data with "
+					+ "nameInData: title has no value. Empty values are not allowed.");
+		}
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Group data with nameInData: groupNameInData has no children. "
+			+ "Groups must have at least one child.")
+	public void testChildrenConvertedOnFirstUseNoChildrenIsValidatedDirectly() {
+		createDataGroupWithChildrenConvertedOnFirstUse("""
+				{"name":"groupNameInData", "children":[]}""");
+	}
+
+	@Test
+	public void testChildrenConvertedOnFirstUseAttributeAsChild() {
+		DataGroup dataGroup = createDataGroupWithChildrenConvertedOnFirstUse("""
+				{"name":"groupNameInData", "children":[{"type":"someType"}]}""");
+		try {
+			dataGroup.getChildren().size();
+			fail("an exception should have been thrown");
+		} catch (JsonParseException e) {
+			assertTrue(e.getMessage().startsWith("Error parsing jsonObject: "));
+			assertTrue(e.getCause() instanceof ClassCastException);
+		}
+	}
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataAttribute;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
+import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataGroup;
+import se.uu.ub.cora.data.converter.JsonToDataConverter;
+import se.uu.ub.cora.json.parser.JsonParseException;
+
+public class JsonToDataStreamingConverterTest {
+	private JsonToDataConverterFactoryImp factory;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		factory = new JsonToDataConverterFactoryImp();
+	}
+
+	@Test
+	public void testFactorForReader() {
+		StringReader reader = new StringReader("{}");
+		JsonToDataStreamingConverter converter = (JsonToDataStreamingConverter) factory
+				.createForReader(reader);
+
+		assertSame(converter.onlyForTestGetReader(), reader);
+	}
+
+	@Test
+	public void testAtomic() {
+		CoraDataAtomic atomic = (CoraDataAtomic) convert(
+				"{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"}");
+
+		assertEquals(atomic.getNameInData(), "atomicNameInData");
+		assertEquals(atomic.getValue(), "atomicValue");
+		assertFalse(atomic.hasRepeatId());
+	}
+
+	@Test
+	public void testNamesInDataAreShared() {
+		DataGroup group = (DataGroup) convert("{\"name\":\"recordInfo\",\"attributes\":"
+				+ "{\"type\":\"someType\"},\"children\":[{\"name\":\"id\",\"value\":\"1\"}]}");
+
+		assertSame(group.getNameInData(), "recordInfo");
+		assertSame(group.getAttributes().iterator().next().getNameInData(), "type");
+		assertSame(group.getChildren().get(0).getNameInData(), "id");
+	}
+
+	@Test
+	public void testAtomicWithRepeatIdAndAttributes() {
+		CoraDataAtomic atomic = (CoraDataAtomic) convert("{\"attributes\":{\"lang\":\"sv\"},"
+				+ "\"name\":\"atomicNameInData\",\"value\":\"atomicValue\",\"repeatId\":\"3\"}");
+
+		assertEquals(atomic.getRepeatId(), "3");
+		assertEquals(atomic.getAttribute("lang").getValue(), "sv");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Atomic data with nameInData: atomicNameInData has no "
+			+ "value. Empty values are not allowed.")
+	public void testAtomicWithBlankValue() {
+		convert("{\"name\":\"atomicNameInData\",\"value\":\" \"}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Atomic data can only contain string value for name, "
+			+ "value, repeatId and attributes")
+	public void testAtomicWithExtraKey() {
+		convert("{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\",\"extra\":\"x\"}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Value of \"value\" must be a String")
+	public void testAtomicWithNonStringValue() {
+		convert("{\"name\":\"atomicNameInData\",\"value\":true}");
+	}
+
+	@Test
+	public void testAttribute() {
+		CoraDataAttribute attribute = (CoraDataAttribute) convert("{\"type\":\"someType\"}");
+
+		assertEquals(attribute.getNameInData(), "type");
+		assertEquals(attribute.getValue(), "someType");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Attribute data can only contain one key value pair")
+	public void testAttributeWithTwoKeys() {
+		convert("{\"type\":\"someType\",\"other\":\"otherType\"}");
+	}
+
+	@Test
+	public void testGroupWithNestedChildren() {
+		CoraDataGroup dataGroup = (CoraDataGroup) convert("{\"name\":\"groupNameInData\","
+				+ "\"attributes\":{\"type\":\"someType\"},\"repeatId\":\"1\",\"children\":["
+				+ "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"},"
+				+ "{\"name\":\"childGroup\",\"children\":["
+				+ "{\"name\":\"grandChild\",\"value\":\"grandChildValue\"}]}]}");
+
+		assertEquals(dataGroup.getNameInData(), "groupNameInData");
+		assertEquals(dataGroup.getRepeatId(), "1");
+		assertEquals(dataGroup.getAttribute("type").getValue(), "someType");
+		assertEquals(dataGroup.getChildren().size(), 2);
+		assertEquals(dataGroup.getFirstAtomicValueWithNameInData("atomicNameInData"),
+				"atomicValue");
+		DataGroup childGroup = dataGroup.getFirstGroupWithNameInData("childGroup");
+		assertEquals(childGroup.getFirstAtomicValueWithNameInData("grandChild"),
+				"grandChildValue");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Group data with nameInData: groupNameInData has no "
+			+ "children. Groups must have at least one child.")
+	public void testGroupWithoutChildren() {
+		convert("{\"name\":\"groupNameInData\",\"children\":[]}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Group data must contain key: name")
+	public void testGroupWithoutName() {
+		convert("{\"children\":[{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"}]}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Group data must contain name and children, and may "
+			+ "contain attributes or repeatId")
+	public void testGroupWithExtraKey() {
+		convert("{\"name\":\"groupNameInData\",\"extra\":\"x\",\"children\":["
+				+ "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"}]}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: Group data must contain name and children, and may "
+			+ "contain attributes or repeatId")
+	public void testGroupWithActionLinks() {
+		convert("{\"name\":\"groupNameInData\",\"actionLinks\":{},\"children\":["
+				+ "{\"name\":\"atomicNameInData\",\"value\":\"atomicValue\"}]}");
+	}
+
+	@Test
+	public void testRecordLinkWithActionLinks() {
+		CoraDataRecordLink recordLink = (CoraDataRecordLink) convert("{\"name\":\"someLink\","
+				+ "\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"someType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someId\"}],"
+				+ "\"actionLinks\":{\"read\":{\"rel\":\"read\",\"url\":\"http://x/someType/someId\","
+				+ "\"requestMethod\":\"GET\",\"count\":1,\"public\":false,\"empty\":null,"
+				+ "\"list\":[[],{}]}}}");
+
+		assertEquals(recordLink.getNameInData(), "someLink");
+		assertEquals(recordLink.getLinkedRecordType(), "someType");
+		assertEquals(recordLink.getLinkedRecordId(), "someId");
+	}
+
+	@Test
+	public void testRecordLinkWithLinkedPathAndRepeatId() {
+		CoraDataRecordLink recordLink = (CoraDataRecordLink) convert("{\"name\":\"from\","
+				+ "\"children\":[{\"name\":\"linkedRecordType\",\"value\":\"someType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someId\"},"
+				+ "{\"name\":\"linkedRepeatId\",\"value\":\"one\"},"
+				+ "{\"name\":\"linkedPath\",\"children\":[{\"name\":\"nameInData\","
+				+ "\"value\":\"recordInfo\"}]}]}");
+
+		assertEquals(recordLink.getChildren().size(), 4);
+		assertTrue(recordLink.containsChildWithNameInData("linkedPath"));
+	}
+
+	@Test
+	public void testFourLinkChildrenWithoutLinkedRecordTypeIsGroup() {
+		Convertible convertible = convert("{\"name\":\"from\",\"children\":["
+				+ "{\"name\":\"other\",\"value\":\"someType\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"someId\"},"
+				+ "{\"name\":\"linkedRepeatId\",\"value\":\"one\"},"
+				+ "{\"name\":\"linkedPath\",\"value\":\"path\"}]}");
+
+		assertTrue(convertible instanceof CoraDataGroup);
+		assertFalse(convertible instanceof CoraDataRecordLink);
+	}
+
+	@Test
+	public void testResourceLink() {
+		CoraDataResourceLink resourceLink = (CoraDataResourceLink) convert("{\"name\":\"master\","
+				+ "\"repeatId\":\"0\",\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"binary\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"binary:1\"},"
+				+ "{\"name\":\"mimeType\",\"value\":\"image/png\"}],"
+				+ "\"actionLinks\":{\"read\":{\"rel\":\"read\"}}}");
+
+		assertEquals(resourceLink.getNameInData(), "master");
+		assertEquals(resourceLink.getRepeatId(), "0");
+		assertEquals(resourceLink.getType(), "binary");
+		assertEquals(resourceLink.getId(), "binary:1");
+		assertEquals(resourceLink.getMimeType(), "image/png");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing jsonObject: ResourceLink must contain name,children"
+			+ "\\[linkedRecordType,linkedRecordId,mimeType\\] and repeatId.")
+	public void testResourceLinkWithAttributes() {
+		convert("{\"name\":\"master\",\"attributes\":{\"type\":\"x\"},\"children\":["
+				+ "{\"name\":\"linkedRecordType\",\"value\":\"binary\"},"
+				+ "{\"name\":\"linkedRecordId\",\"value\":\"binary:1\"},"
+				+ "{\"name\":\"mimeType\",\"value\":\"image/png\"}]}");
+	}
+
+	@Test
+	public void testEscapedStrings() {
+		CoraDataAtomic atomic = (CoraDataAtomic) convert(
+				"{\"name\":\"atomic\",\"value\":\"a \\\"quote\\\"\\\\\\n\\u00e5\\/\"}");
+
+		assertEquals(atomic.getValue(), "a \"quote\"\\\nå/");
+	}
+
+	@Test
+	public void testWhitespaceBetweenTokens() {
+		CoraDataAtomic atomic = (CoraDataAtomic) convert(
+				"\n{ \"name\" :\t\"atomic\" ,\r\n \"value\" : \"value\" }\n ");
+
+		assertEquals(atomic.getValue(), "value");
+	}
+
+	@Test
+	public void testInputStreamIsReadAsUtf8() {
+		String json = "{\"name\":\"atomic\",\"value\":\"åäö€\"}";
+		ByteArrayInputStream inputStream = new ByteArrayInputStream(
+				json.getBytes(StandardCharsets.UTF_8));
+
+		JsonToDataConverter converter = factory.createForInputStream(inputStream);
+		CoraDataAtomic atomic = (CoraDataAtomic) converter.toInstance();
+
+		assertEquals(atomic.getValue(), "åäö€");
+	}
+
+	@Test
+	public void testLargeDocumentSpanningSeveralBuffers() {
+		StringBuilder json = new StringBuilder("{\"name\":\"groupNameInData\",\"children\":[");
+		int noOfChildren = 2000;
+		for (int i = 0; i < noOfChildren; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"name\":\"child\",\"value\":\"value\\n").append(i)
+					.append("\",\"repeatId\":\"").append(i).append("\"}");
+		}
+		json.append("]}");
+
+		CoraDataGroup dataGroup = (CoraDataGroup) convert(json.toString());
+
+		assertEquals(dataGroup.getChildren().size(), noOfChildren);
+		CoraDataAtomic last = (CoraDataAtomic) dataGroup.getChildren().get(noOfChildren - 1);
+		assertEquals(last.getValue(), "value\n1999");
+		assertEquals(last.getRepeatId(), "1999");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Json value is not an object, can not convert")
+	public void testTopLevelArray() {
+		convert("[]");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Unexpected content after end of json at position 40")
+	public void testTrailingContent() {
+		convert("{\"name\":\"atomic\",\"value\":\"atomicValue\"}{");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Unterminated string at position 37")
+	public void testUnterminatedString() {
+		convert("{\"name\":\"atomic\",\"value\":\"atomicValue");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Expected , or } in object at position 18")
+	public void testMissingComma() {
+		convert("{\"name\":\"atomic\" \"value\":\"atomicValue\"}");
+	}
+
+	@Test(expectedExceptions = JsonParseException.class, expectedExceptionsMessageRegExp = ""
+			+ "Error parsing json: Unexpected end of json at position 27")
+	public void testTruncatedDocument() {
+		convert("{\"name\":\"group\",\"children\":");
+	}
+
+	private Convertible convert(String json) {
+		JsonToDataConverter converter = factory.createForReader(new StringReader(json));
+		return converter.toInstance();
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.converter.jsontodata;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.data.DataChild;
+
+public class LinkClassifierTest {
+
+	@Test
+	public void testNoChildrenIsGroup() {
+		assertEquals(classify(), LinkClassifier.GROUP);
+	}
+
+	@Test
+	public void testTypeAndIdIsRecordLink() {
+		assertEquals(classify("linkedRecordId", "linkedRecordType"), LinkClassifier.RECORD_LINK);
+	}
+
+	@Test
+	public void testTypeAndIdAndOneOptionalIsRecordLink() {
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "linkedPath"),
+				LinkClassifier.RECORD_LINK);
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "linkedRepeatId"),
+				LinkClassifier.RECORD_LINK);
+	}
+
+	@Test
+	public void testTypeAndIdAndBothOptionalIsRecordLink() {
+		assertEquals(classify("linkedRepeatId", "linkedRecordType", "linkedPath",
+				"linkedRecordId"), LinkClassifier.RECORD_LINK);
+	}
+
+	@Test
+	public void testTypeAndIdAndMimeTypeIsResourceLink() {
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "mimeType"),
+				LinkClassifier.RESOURCE_LINK);
+	}
+
+	@Test
+	public void testOnlyTypeIsGroup() {
+		assertEquals(classify("linkedRecordType"), LinkClassifier.GROUP);
+	}
+
+	@Test
+	public void testDuplicateNameIsGroup() {
+		assertEquals(classify("linkedRecordType", "linkedRecordType"), LinkClassifier.GROUP);
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "linkedRecordId"),
+				LinkClassifier.GROUP);
+	}
+
+	@Test
+	public void testMimeTypeWithOptionalIsGroup() {
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "mimeType", "linkedPath"),
+				LinkClassifier.GROUP);
+	}
+
+	@Test
+	public void testUnknownNameIsGroup() {
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "other"),
+				LinkClassifier.GROUP);
+	}
+
+	@Test
+	public void testMoreThanFourChildrenIsGroup() {
+		assertEquals(classify("linkedRecordType", "linkedRecordId", "linkedPath",
+				"linkedRepeatId", "mimeType"), LinkClassifier.GROUP);
+	}
+
+	private int classify(String... childNames) {
+		List<DataChild> children = new ArrayList<>();
+		for (String childName : childNames) {
+			children.add(CoraDataAtomic.withNameInDataAndValue(childName, "someValue"));
+		}
+		return LinkClassifier.classifyDataChildren(children);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2023 Uppsala University Library
+ * Copyright 2019, 2026, 2023 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,6 +18,8 @@
  */
 package se.uu.ub.cora.basicdata.copier;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
@@ -26,6 +28,11 @@ import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
 import se.uu.ub.cora.basicdata.data.CoraDataGroup;
 import se.uu.ub.cora.basicdata.data.CoraDataRecordLink;
 import se.uu.ub.cora.basicdata.data.CoraDataResourceLink;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetrics;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsProvider;
+import se.uu.ub.cora.basicdata.metrics.ConversionMetricsSpy;
+import se.uu.ub.cora.basicdata.metrics.MeasuredOperation;
+import se.uu.ub.cora.basicdata.metrics.Measurement;
 import se.uu.ub.cora.data.DataChild;
 import se.uu.ub.cora.data.DataGroup;
 import se.uu.ub.cora.data.copier.DataCopier;
@@ -73,4 +80,76 @@ public class CoraDataCopierFactoryTest {
 		DataCopier dataCopier = dataCopierFactoryImp.factorForDataElement(resourceLink);
 		assertTrue(dataCopier instanceof CoraDataResourceLinkCopier);
 	}
+
+	@Test
+	public void testFactorDataGroupCopierUsesSameFactory() {
+		DataGroup dataGroup = CoraDataGroup.withNameInData("someDataGroup");
+		DataCopierFactory dataCopierFactoryImp = new CoraDataCopierFactoryImp();
+
+		CoraDataGroupCopier dataGroupCopier = (CoraDataGroupCopier) dataCopierFactoryImp
+				.factorForDataElement(dataGroup);
+
+		assertSame(dataGroupCopier.getCopierFactory(), dataCopierFactoryImp);
+	}
+
+	@Test
+	public void testConversionMetricsFromProvider() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(conversionMetrics);
+
+		CoraDataCopierFactoryImp copierFactory = new CoraDataCopierFactoryImp();
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(null);
+
+		assertSame(copierFactory.getConversionMetrics(), conversionMetrics);
+	}
+
+	@Test
+	public void testNoMeasuringCopierWhenMetricsAreNotEnabled() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		conversionMetrics.enabled = false;
+		DataCopierFactory copierFactory = new CoraDataCopierFactoryImp()
+				.withConversionMetrics(conversionMetrics);
+
+		DataCopier dataCopier = copierFactory
+				.factorForDataElement(CoraDataGroup.withNameInData("someDataGroup"));
+
+		assertTrue(dataCopier instanceof CoraDataGroupCopier);
+	}
+
+	@Test
+	public void testCopyIsMeasured() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		DataCopierFactory copierFactory = new CoraDataCopierFactoryImp()
+				.withConversionMetrics(conversionMetrics);
+		DataGroup dataGroup = CoraDataGroup.withNameInData("someDataGroup");
+		dataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("aName", "aValue"));
+
+		MeasuringDataCopier dataCopier = (MeasuringDataCopier) copierFactory
+				.factorForDataElement(dataGroup);
+		DataGroup copy = (DataGroup) dataCopier.copy();
+
+		CoraDataGroupCopier groupCopier = (CoraDataGroupCopier) dataCopier.onlyForTestGetCopier();
+		CoraDataCopierFactoryImp usedFactory = (CoraDataCopierFactoryImp) groupCopier
+				.getCopierFactory();
+		assertSame(usedFactory.getConversionMetrics(), ConversionMetrics.noOp());
+		assertEquals(copy.getFirstAtomicValueWithNameInData("aName"), "aValue");
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 1);
+		Measurement measurement = conversionMetrics.getMeasurement(0);
+		assertSame(measurement.getOperation(), MeasuredOperation.COPY);
+		assertEquals(measurement.getNoOfNodes(), 2);
+	}
+
+	@Test
+	public void testNodesAreNotCountedWhenMetricsDoNotCountNodes() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+		conversionMetrics.countsNodes = false;
+		DataCopierFactory copierFactory = new CoraDataCopierFactoryImp()
+				.withConversionMetrics(conversionMetrics);
+		DataGroup dataGroup = CoraDataGroup.withNameInData("someDataGroup");
+
+		copierFactory.factorForDataElement(dataGroup).copy();
+
+		conversionMetrics.MCR.assertNumberOfCallsToMethod("measured", 1);
+		assertEquals(conversionMetrics.getMeasurement(0).getNoOfNodes(), Measurement.NOT_KNOWN);
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 Uppsala University Library
+ * Copyright 2019, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,6 +19,7 @@
 package se.uu.ub.cora.basicdata.copier;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
@@ -173,4 +174,59 @@ public class CoraDataGroupCopierTest {
 		assertChildReturnedFromCopierIsAddedToGroupUsingIndex(copiedDataGroup, 2);
 		assertEquals(copiedDataGroup.getChildren().size(), 3);
 	}
+
+	@Test
+	public void testCopyFrozenDataGroupCopiesChildrenOnFirstUse() {
+		createAndAddAtomicChildToOrginalDataGroup("someAtomicChild", "someAtomicValue");
+		originalDataGroup = ((CoraDataGroup) originalDataGroup).freeze();
+		dataGroupCopier = CoraDataGroupCopier.usingDataGroupAndCopierFactory(originalDataGroup,
+				copierFactory);
+
+		DataGroup dataGroupCopy = dataGroupCopier.copy();
+
+		assertTrue(copierFactory.dataElements.isEmpty());
+		assertEquals(dataGroupCopy.getChildren().size(), 1);
+		assertChildIsSentToCopierUsingIndex(0);
+		assertChildReturnedFromCopierIsAddedToGroupUsingIndex(dataGroupCopy, 0);
+	}
+
+	@Test
+	public void testCopyFrozenDataGroupIsNotFrozen() {
+		originalDataGroup.setRepeatId("1");
+		originalDataGroup.addAttributeByIdWithValue("type", "someTypeAttribute");
+		originalDataGroup = ((CoraDataGroup) originalDataGroup).freeze();
+		dataGroupCopier = CoraDataGroupCopier.usingDataGroupAndCopierFactory(originalDataGroup,
+				copierFactory);
+
+		CoraDataGroup dataGroupCopy = (CoraDataGroup) dataGroupCopier.copy();
+
+		assertFalse(dataGroupCopy.isFrozen());
+		assertEquals(dataGroupCopy.getRepeatId(), "1");
+		assertEquals(dataGroupCopy.getAttribute("type").getValue(), "someTypeAttribute");
+		dataGroupCopy.addChild(CoraDataAtomic.withNameInDataAndValue("added", "addedValue"));
+		assertEquals(dataGroupCopy.getChildren().size(), 1);
+	}
+
+	@Test
+	public void testChangeDeepInCopyOfFrozenDataGroupDoesNotChangeOriginal() {
+		DataGroup childGroup = CoraDataGroup.withNameInData("childGroup");
+		DataGroup grandChildGroup = CoraDataGroup.withNameInData("grandChildGroup");
+		grandChildGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "value"));
+		childGroup.addChild(grandChildGroup);
+		originalDataGroup.addChild(childGroup);
+		CoraDataGroup frozenGroup = ((CoraDataGroup) originalDataGroup).freeze();
+
+		DataGroup dataGroupCopy = (DataGroup) new CoraDataCopierFactoryImp()
+				.factorForDataElement(frozenGroup).copy();
+		DataGroup copiedGrandChild = dataGroupCopy.getFirstGroupWithNameInData("childGroup")
+				.getFirstGroupWithNameInData("grandChildGroup");
+		copiedGrandChild.removeFirstChildWithNameInData("atomic");
+		copiedGrandChild.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "changed"));
+
+		assertEquals(copiedGrandChild.getFirstAtomicValueWithNameInData("atomic"), "changed");
+		DataGroup frozenGrandChild = frozenGroup.getFirstGroupWithNameInData("childGroup")
+				.getFirstGroupWithNameInData("grandChildGroup");
+		assertEquals(frozenGrandChild.getFirstAtomicValueWithNameInData("atomic"), "value");
+		assertNotSame(copiedGrandChild, frozenGrandChild);
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2022 Uppsala University Library
+ * Copyright 2015, 2022, 2026 Uppsala University Library
  * Copyright 2023 Olov McKie
  *
  * This file is part of Cora.
@@ -22,6 +22,7 @@ package se.uu.ub.cora.basicdata.data;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Collection;
@@ -141,4 +142,35 @@ public class CoraDataAtomicTest {
 		assertEquals(attributeValue.get(), "someValue");
 	}
 
+	@Test
+	public void testFreeze() {
+		dataAtomic.setRepeatId("1");
+		dataAtomic.addAttributeByIdWithValue("type", "someType");
+
+		CoraDataAtomic frozen = dataAtomic.freeze();
+
+		assertTrue(frozen.isFrozen());
+		assertFalse(dataAtomic.isFrozen());
+		assertEquals(frozen.getNameInData(), "nameInData");
+		assertEquals(frozen.getValue(), "value");
+		assertEquals(frozen.getRepeatId(), "1");
+		assertEquals(frozen.getAttributeValue("type").get(), "someType");
+		assertSame(frozen.freeze(), frozen);
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenSetRepeatId() {
+		CoraDataAtomic frozen = dataAtomic.freeze();
+
+		frozen.setRepeatId("1");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenAddAttribute() {
+		CoraDataAtomic frozen = dataAtomic.freeze();
+
+		frozen.addAttributeByIdWithValue("type", "someType");
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2022 Uppsala University Library
+ * Copyright 2015, 2019, 2022, 2026 Uppsala University Library
  * Copyright 2023 Olov McKie
  *
  * This file is part of Cora.
@@ -25,10 +25,13 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -1203,4 +1206,302 @@ public class CoraDataGroupTest {
 		assertEquals(defaultDataGroup.getChildren().size(), 4);
 
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testLookupsInGroupWithManyChildren() {
+		for (int i = 0; i < 20; i++) {
+			defaultDataGroup
+					.addChild(CoraDataAtomic.withNameInDataAndValue("atomic" + i % 5, "" + i));
+		}
+		CoraDataGroup childGroup = CoraDataGroup.withNameInData("childGroup");
+		defaultDataGroup.addChild(childGroup);
+
+		assertEquals(defaultDataGroup.getFirstAtomicValueWithNameInData("atomic3"), "3");
+		assertEquals(defaultDataGroup.getAllDataAtomicsWithNameInData("atomic3").size(), 4);
+		assertSame(defaultDataGroup.getFirstGroupWithNameInData("childGroup"), childGroup);
+		assertFalse(defaultDataGroup.containsChildWithNameInData("notFound"));
+
+		assertTrue(defaultDataGroup.removeAllChildrenWithNameInData("atomic3"));
+
+		assertEquals(defaultDataGroup.getChildren().size(), 17);
+		assertFalse(defaultDataGroup.containsChildWithNameInData("atomic3"));
+		assertEquals(defaultDataGroup.getAllChildrenWithNameInData("atomic4").size(), 4);
+	}
+
+	@Test
+	public void testRemoveAllChildrenWithNameInDataAndAttributesOnlyRemovesChildrenWithName() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic1", "value"));
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic2", "value"));
+
+		assertTrue(defaultDataGroup.removeAllChildrenWithNameInDataAndAttributes("atomic1"));
+
+		assertEquals(defaultDataGroup.getChildren().size(), 1);
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic2"));
+	}
+
+	@Test
+	public void testChildAddedThroughGetChildrenIsFoundByName() {
+		DataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("atomic1", "value");
+
+		defaultDataGroup.getChildren().add(atomic);
+
+		assertSame(defaultDataGroup.getFirstChildWithNameInData("atomic1"), atomic);
+	}
+
+	@Test
+	public void testGetAllChildrenWithNameInDataReturnsCopy() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic1", "value"));
+
+		defaultDataGroup.getAllChildrenWithNameInData("atomic1").clear();
+
+		assertTrue(defaultDataGroup.containsChildWithNameInData("atomic1"));
+	}
+
+	@Test
+	public void testFreezeReturnsFrozenCopy() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someDataGroup");
+		group.setRepeatId("2");
+		group.addAttributeByIdWithValue("type", "someType");
+		CoraDataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("atomic", "value");
+		group.addChild(atomic);
+		CoraDataGroup childGroup = CoraDataGroup.withNameInData("childGroup");
+		group.addChild(childGroup);
+
+		CoraDataGroup frozen = group.freeze();
+
+		assertTrue(frozen.isFrozen());
+		assertFalse(group.isFrozen());
+		assertEquals(frozen.getClass(), CoraDataGroup.class);
+		assertEquals(frozen.getNameInData(), "someDataGroup");
+		assertEquals(frozen.getRepeatId(), "2");
+		assertEquals(frozen.getAttributeValue("type").get(), "someType");
+		assertEquals(frozen.getFirstAtomicValueWithNameInData("atomic"), "value");
+		assertTrue(((CoraDataAtomic) frozen.getFirstChildWithNameInData("atomic")).isFrozen());
+		assertTrue(((CoraDataGroup) frozen.getFirstGroupWithNameInData("childGroup")).isFrozen());
+		assertFalse(atomic.isFrozen());
+		assertFalse(childGroup.isFrozen());
+	}
+
+	@Test
+	public void testFreezeFrozenGroupReturnsSameGroup() {
+		CoraDataGroup frozen = CoraDataGroup.withNameInData("someDataGroup").freeze();
+
+		assertSame(frozen.freeze(), frozen);
+	}
+
+	@Test
+	public void testFreezeKeepsOtherChildrenAsTheyAre() {
+		DataAtomicSpy atomicSpy = createAtomic("atomic1");
+		defaultDataGroup.addChild(atomicSpy);
+
+		CoraDataGroup frozen = ((CoraDataGroup) defaultDataGroup).freeze();
+
+		assertSame(frozen.getChildren().get(0), atomicSpy);
+	}
+
+	@Test
+	public void testChangesAfterFreezeAreNotSeenInFrozenGroup() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "value"));
+		CoraDataGroup frozen = ((CoraDataGroup) defaultDataGroup).freeze();
+
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("atomic2", "value"));
+
+		assertEquals(frozen.getChildren().size(), 1);
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenAddChild() {
+		CoraDataGroup frozen = CoraDataGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.addChild(CoraDataAtomic.withNameInDataAndValue("atomic", "value"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenRemoveChild() {
+		CoraDataGroup frozen = CoraDataGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.removeAllChildrenWithNameInData("atomic");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenGetChildrenAdd() {
+		CoraDataGroup frozen = CoraDataGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.getChildren().add(CoraDataAtomic.withNameInDataAndValue("atomic", "value"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenAddAttribute() {
+		CoraDataGroup frozen = CoraDataGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.addAttributeByIdWithValue("type", "someType");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenSetRepeatId() {
+		CoraDataGroup frozen = CoraDataGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.setRepeatId("1");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenChildGroupCanNotBeModified() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someDataGroup");
+		group.addChild(CoraDataGroup.withNameInData("childGroup"));
+		CoraDataGroup frozen = group.freeze();
+
+		frozen.getFirstGroupWithNameInData("childGroup").setRepeatId("1");
+	}
+
+	@Test
+	public void testTypedLookupsWithDifferentTypesForSameName() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("someName", "someValue"));
+		CoraDataGroup group = CoraDataGroup.withNameInData("someName");
+		defaultDataGroup.addChild(group);
+
+		assertTrue(defaultDataGroup.containsChildOfTypeAndName(DataGroup.class, "someName"));
+		assertTrue(defaultDataGroup.containsChildOfTypeAndName(DataAtomic.class, "someName"));
+		assertFalse(defaultDataGroup.containsChildOfTypeAndName(DataRecordLink.class, "someName"));
+		assertEquals(defaultDataGroup.getChildrenOfTypeAndName(DataGroup.class, "someName"),
+				List.of(group));
+		assertSame(defaultDataGroup.getFirstGroupWithNameInData("someName"), group);
+	}
+
+	@Test(expectedExceptions = ClassCastException.class)
+	public void testGetFirstChildOfTypeAndNameFirstChildWithNameHasOtherType() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("someName", "someValue"));
+		defaultDataGroup.addChild(CoraDataGroup.withNameInData("someName"));
+
+		defaultDataGroup.getFirstChildOfTypeAndName(DataGroup.class, "someName");
+	}
+
+	@Test
+	public void testWithNameInDataAndExpectedNoOfChildren() {
+		CoraDataGroup group = CoraDataGroup.withNameInDataAndExpectedNoOfChildren("someName", 3);
+
+		assertEquals(group.getNameInData(), "someName");
+		assertEquals(group.onlyForTestGetChildCapacity(), 3);
+		group.addChildren(List.of(CoraDataAtomic.withNameInDataAndValue("a", "1"),
+				CoraDataAtomic.withNameInDataAndValue("b", "2"),
+				CoraDataAtomic.withNameInDataAndValue("a", "3")));
+		assertEquals(group.onlyForTestGetChildCapacity(), 3);
+		assertEquals(group.getAllChildrenWithNameInData("a").size(), 2);
+	}
+
+	@Test
+	public void testViewAsRecordGroupSharesChildren() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someName");
+		CoraDataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("a", "1");
+		group.addChild(atomic);
+
+		CoraDataRecordGroup recordGroup = group.viewAsRecordGroup();
+		CoraDataAtomic otherAtomic = CoraDataAtomic.withNameInDataAndValue("b", "2");
+		recordGroup.addChild(otherAtomic);
+		group.removeFirstChildWithNameInData("a");
+
+		assertEquals(recordGroup.getNameInData(), "someName");
+		assertEquals(group.getChildren(), List.of(otherAtomic));
+		assertEquals(recordGroup.getChildren(), List.of(otherAtomic));
+	}
+
+	@Test
+	public void testViewAsGroupSharesAttributesAddedLater() {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData("someName");
+
+		CoraDataGroup group = recordGroup.viewAsGroup();
+		group.addAttributeByIdWithValue("someAttribute", "someValue");
+
+		assertFalse(group instanceof CoraDataRecordGroup);
+		assertEquals(recordGroup.getAttributeValue("someAttribute").get(), "someValue");
+		assertSame(group.getAttributes(), recordGroup.getAttributes());
+	}
+
+	@Test
+	public void testViewDoesNotShareRepeatId() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someName");
+		group.setRepeatId("1");
+
+		CoraDataGroup view = group.viewAsGroup();
+
+		assertFalse(view.hasRepeatId());
+	}
+
+	@Test
+	public void testViewOfFrozenGroupIsFrozen() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someName");
+		group.addChild(CoraDataAtomic.withNameInDataAndValue("a", "1"));
+		CoraDataGroup frozenGroup = group.freeze();
+
+		CoraDataRecordGroup view = frozenGroup.viewAsRecordGroup();
+
+		assertTrue(view.isFrozen());
+		assertFalse(view.hasAttributes());
+		assertSame(view.getFirstChildWithNameInData("a"),
+				frozenGroup.getFirstChildWithNameInData("a"));
+	}
+
+	@Test
+	public void testChildrenAreLoaded() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someGroup");
+		assertTrue(group.childrenAreLoaded());
+
+		group.addChildrenOnFirstUse(() -> List
+				.<DataChild> of(CoraDataAtomic.withNameInDataAndValue("someChild", "value")));
+
+		assertFalse(group.childrenAreLoaded());
+		assertTrue(group.hasChildren());
+		assertTrue(group.childrenAreLoaded());
+	}
+
+	@Test
+	public void testIteratingChildrenWhileRemovingThroughGroupFailsFast() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("first", "value"));
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("second", "value"));
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("third", "value"));
+		Iterator<DataChild> iterator = defaultDataGroup.getChildren().iterator();
+		iterator.next();
+
+		defaultDataGroup.removeFirstChildWithNameInData("first");
+
+		try {
+			iterator.next();
+			fail("ConcurrentModificationException expected");
+		} catch (ConcurrentModificationException e) {
+			assertEquals(defaultDataGroup.getChildren().size(), 2);
+		}
+	}
+
+	@Test
+	public void testIteratingChildrenWhileAddingThroughGroupFailsFast() {
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("first", "value"));
+		Iterator<DataChild> iterator = defaultDataGroup.getChildren().iterator();
+
+		defaultDataGroup.addChild(CoraDataAtomic.withNameInDataAndValue("second", "value"));
+
+		try {
+			iterator.next();
+			fail("ConcurrentModificationException expected");
+		} catch (ConcurrentModificationException e) {
+			assertEquals(defaultDataGroup.getChildren().size(), 2);
+		}
+	}
+
+	@Test
+	public void testIteratingChildrenLoadedOnFirstUse() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("someGroup");
+		group.addChildrenOnFirstUse(() -> List.<DataChild> of(
+				CoraDataAtomic.withNameInDataAndValue("first", "value"),
+				CoraDataAtomic.withNameInDataAndValue("second", "value")));
+		Iterator<DataChild> iterator = group.getChildren().iterator();
+
+		assertEquals(iterator.next().getNameInData(), "first");
+		assertEquals(iterator.next().getNameInData(), "second");
+		assertFalse(iterator.hasNext());
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2019, 2025 Uppsala University Library
+ * Copyright 2015, 2019, 2025, 2026 Uppsala University Library
  * Copyright 2022, 2024 Olov McKie
  *
  * This file is part of Cora.
@@ -1536,4 +1536,97 @@ public class CoraDataRecordGroupTest {
 		assertEquals(defaultRecordInfo.getFirstAtomicValueWithNameInData("inTrashBin"), "true");
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testFreeze() {
+		defaultRecordGroupWithRecordInfo.setId("someId");
+
+		CoraDataRecordGroup frozen = ((CoraDataRecordGroup) defaultRecordGroupWithRecordInfo)
+				.freeze();
+
+		assertTrue(frozen.isFrozen());
+		assertEquals(frozen.getId(), "someId");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenSetId() {
+		CoraDataRecordGroup frozen = CoraDataRecordGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.setId("someId");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenAddUpdated() {
+		CoraDataRecordGroup frozen = CoraDataRecordGroup.withNameInData("someDataGroup").freeze();
+
+		frozen.addUpdatedUsingUserIdAndTs("someUserId", "someTs");
+	}
+
+	@Test
+	public void testRecordInfoCacheIsReusedWhileUnchanged() {
+		resetDefaultRecordGroupWithRecordInfoAndAtomic("id", "someId");
+		CoraDataRecordGroup recordGroup = (CoraDataRecordGroup) defaultRecordGroup;
+
+		recordGroup.getId();
+		RecordInfoCache cache = recordGroup.onlyForTestGetRecordInfoCache();
+		recordGroup.getId();
+
+		assertSame(recordGroup.onlyForTestGetRecordInfoCache(), cache);
+	}
+
+	@Test
+	public void testGetIdAfterRecordInfoIsChangedDirectly() {
+		resetDefaultRecordGroupWithRecordInfoAndAtomic("id", "someId");
+		assertEquals(defaultRecordGroup.getId(), "someId");
+
+		defaultRecordInfo.removeFirstChildWithNameInData("id");
+		defaultRecordInfo.addChild(CoraDataAtomic.withNameInDataAndValue("id", "otherId"));
+
+		assertEquals(defaultRecordGroup.getId(), "otherId");
+	}
+
+	@Test
+	public void testGetTypeAfterRecordInfoIsReplaced() {
+		resetDefaultRecordGroupWithRecordInfoAndLink("type", "recordType", "someType");
+		assertEquals(defaultRecordGroup.getType(), "someType");
+
+		defaultRecordGroup.removeFirstChildWithNameInData(RECORD_INFO);
+		CoraDataGroup otherRecordInfo = CoraDataGroup.withNameInData(RECORD_INFO);
+		otherRecordInfo.addChild(
+				CoraDataRecordLink.usingNameInDataAndTypeAndId("type", "recordType", "otherType"));
+		defaultRecordGroup.addChild(otherRecordInfo);
+
+		assertEquals(defaultRecordGroup.getType(), "otherType");
+	}
+
+	@Test
+	public void testOptionalValueAfterRecordInfoIsChangedThroughChildrenList() {
+		resetDefaultRecordGroupWithRecordInfo();
+		assertTrue(defaultRecordGroup.getVisibility().isEmpty());
+
+		defaultRecordInfo.getChildren()
+				.add(CoraDataAtomic.withNameInDataAndValue("visibility", "published"));
+
+		assertEquals(defaultRecordGroup.getVisibility().get(), "published");
+		defaultRecordInfo.getChildren().clear();
+		assertTrue(defaultRecordGroup.getVisibility().isEmpty());
+	}
+
+	@Test
+	public void testFirstChildIsUsedWhenRecordInfoHasSeveral() {
+		resetDefaultRecordGroupWithRecordInfoAndAtomic("id", "firstId");
+		defaultRecordInfo.addChild(CoraDataAtomic.withNameInDataAndValue("id", "secondId"));
+
+		assertEquals(defaultRecordGroup.getId(), "firstId");
+	}
+
+	@Test
+	public void testWithNameInDataAndExpectedNoOfChildren() {
+		CoraDataRecordGroup group = CoraDataRecordGroup
+				.withNameInDataAndExpectedNoOfChildren("someName", 5);
+
+		assertEquals(group.getNameInData(), "someName");
+		assertEquals(group.onlyForTestGetChildCapacity(), 5);
+	}
+}
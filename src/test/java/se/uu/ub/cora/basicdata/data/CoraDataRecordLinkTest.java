@@ -1,5 +1,5 @@
 /*
- * Copyright 2015, 2016, 2019, 2025 Uppsala University Library
+ * Copyright 2015, 2016, 2019, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -208,4 +208,22 @@ public class CoraDataRecordLinkTest {
 
 	}
 
+	@Test
+	public void testFreeze() {
+		recordLink.addAction(Action.READ);
+
+		CoraDataRecordLink frozen = recordLink.freeze();
+
+		assertTrue(frozen.isFrozen());
+		assertTrue(frozen.hasReadAction());
+		assertEquals(frozen.getLinkedRecordType(), "myLinkedRecordType");
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenAddAction() {
+		CoraDataRecordLink frozen = recordLink.freeze();
+
+		frozen.addAction(Action.READ);
+	}
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2015, 2016, 2023, 2025 Uppsala University Library
+ * Copyright 2015, 2016, 2023, 2025, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -21,6 +21,7 @@ package se.uu.ub.cora.basicdata.data;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Collection;
@@ -166,4 +167,24 @@ public class CoraDataResourceLinkTest {
 		assertEquals(attributeValue.get(), "someValue");
 	}
 
+	@Test
+	public void testFreeze() {
+		resourceLink.addAction(Action.READ);
+		resourceLink.setRepeatId("1");
+
+		CoraDataResourceLink frozen = ((CoraDataResourceLink) resourceLink).freeze();
+
+		assertTrue(frozen.hasReadAction());
+		assertEquals(frozen.getRepeatId(), "1");
+		assertEquals(frozen.getMimeType(), SOME_MIME_TYPE);
+		assertSame(frozen.freeze(), frozen);
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class,
+			expectedExceptionsMessageRegExp = "Frozen data can not be modified")
+	public void testFrozenSetMimeType() {
+		CoraDataResourceLink frozen = ((CoraDataResourceLink) resourceLink).freeze();
+
+		frozen.setMimeType("someOtherMimeType");
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 Uppsala University Library
+ * Copyright 2022, 2026 Uppsala University Library
  * 
  * This file is part of Cora.
  *
@@ -20,6 +20,7 @@ package se.uu.ub.cora.basicdata.data;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.List;
@@ -267,4 +268,26 @@ public class DataChildFilterTest {
 		assertTrue(childMatches);
 		assertDataFetchedFromChildOneAttribute();
 	}
+
+	@Test
+	public void testAddAttributeAfterMatchingIsUsedInNextMatch() {
+		assertFalse(filterOnlyNameInData.childMatches(childOneAttribute));
+
+		filterOnlyNameInData.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+
+		assertTrue(filterOnlyNameInData.childMatches(childOneAttribute));
+	}
+
+	@Test
+	public void testAddAttributeCompilesNewMatcher() {
+		CoraDataChildFilter filter = (CoraDataChildFilter) filterOnlyNameInData;
+		DataChildMatcher matcherBeforeAdd = filter.onlyForTestGetMatcher();
+
+		filter.addAttributeUsingNameInDataAndPossibleValues("attributeOne",
+				Set.of("attributeOneValue"));
+
+		assertNotSame(filter.onlyForTestGetMatcher(), matcherBeforeAdd);
+		assertEquals(filter.onlyForTestGetMatcher().getNameInData(), nameInData);
+	}
 }
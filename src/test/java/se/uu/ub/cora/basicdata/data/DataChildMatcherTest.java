@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DataChildMatcherTest {
+	private DataChildMatcher matcher;
+	private CoraDataGroup child;
+
+	@BeforeMethod
+	public void setUp() {
+		matcher = DataChildMatcher.usingNameInData("someChild");
+		child = CoraDataGroup.withNameInData("someChild");
+	}
+
+	@Test
+	public void testNameInData() {
+		assertEquals(matcher.getNameInData(), "someChild");
+	}
+
+	@Test
+	public void testMatchesOnNameWithoutAttributes() {
+		assertTrue(matcher.childMatches(child));
+		assertFalse(matcher.childMatches(CoraDataGroup.withNameInData("otherChild")));
+	}
+
+	@Test
+	public void testWithAttributeReturnsNewMatcherAndKeepsOriginal() {
+		DataChildMatcher matcherWithAttribute = matcher
+				.withAttributeUsingNameAndPossibleValues("type", Set.of("someType"));
+		child.addAttributeByIdWithValue("type", "someType");
+
+		assertNotSame(matcherWithAttribute, matcher);
+		assertTrue(matcherWithAttribute.childMatches(child));
+		assertFalse(matcher.childMatches(child));
+	}
+
+	@Test
+	public void testChangedPossibleValuesAfterAddDoesNotChangeMatcher() {
+		Set<String> possibleValues = new HashSet<>(Set.of("someType"));
+		matcher = matcher.withAttributeUsingNameAndPossibleValues("type", possibleValues);
+		child.addAttributeByIdWithValue("type", "someType");
+
+		possibleValues.clear();
+
+		assertTrue(matcher.childMatches(child));
+	}
+
+	@Test
+	public void testSameAttributeNameTwiceMergesPossibleValuesButCountsBoth() {
+		matcher = matcher.withAttributeUsingNameAndPossibleValues("type", Set.of("someType"))
+				.withAttributeUsingNameAndPossibleValues("type", Set.of("otherType"));
+		child.addAttributeByIdWithValue("type", "otherType");
+
+		assertFalse(matcher.childMatches(child));
+	}
+
+	@Test
+	public void testAttributeValueNotInPossibleValues() {
+		matcher = matcher.withAttributeUsingNameAndPossibleValues("type", Set.of("someType"));
+		child.addAttributeByIdWithValue("type", "otherType");
+
+		assertFalse(matcher.childMatches(child));
+	}
+
+	@Test
+	public void testTwoAttributesInDifferentOrder() {
+		matcher = matcher.withAttributeUsingNameAndPossibleValues("type", Set.of("someType"))
+				.withAttributeUsingNameAndPossibleValues("lang", Set.of("sv", "en"));
+		child.addAttributeByIdWithValue("lang", "en");
+		child.addAttributeByIdWithValue("type", "someType");
+
+		assertTrue(matcher.childMatches(child));
+	}
+}
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.data.DataChild;
+
+public class DataChildStorageTest {
+	private static final int INDEX_THRESHOLD = 4;
+	private DataChildStorage storage;
+	private CoraDataAtomic atomicA1;
+	private CoraDataAtomic atomicB;
+	private CoraDataAtomic atomicA2;
+
+	@BeforeMethod
+	public void setUp() {
+		storage = new DataChildStorage(INDEX_THRESHOLD);
+		atomicA1 = CoraDataAtomic.withNameInDataAndValue("a", "1");
+		atomicB = CoraDataAtomic.withNameInDataAndValue("b", "2");
+		atomicA2 = CoraDataAtomic.withNameInDataAndValue("a", "3");
+	}
+
+	@Test
+	public void testDefaultIndexThreshold() {
+		int expectedThreshold = Integer.getInteger(DataChildStorage.INDEX_THRESHOLD_PROPERTY,
+				DataChildStorage.DEFAULT_INDEX_THRESHOLD);
+
+		DataChildStorage defaultStorage = new DataChildStorage();
+
+		assertEquals(defaultStorage.onlyForTestGetIndexThreshold(), expectedThreshold);
+	}
+
+	@Test
+	public void testEmpty() {
+		assertTrue(storage.isEmpty());
+		assertEquals(storage.size(), 0);
+		assertFalse(storage.containsName("a"));
+		assertNull(storage.findFirst("a", null));
+		assertTrue(storage.findAll("a", null).isEmpty());
+		assertFalse(storage.removeFirst("a", null));
+		assertFalse(storage.removeAll("a", null));
+	}
+
+	@Test
+	public void testAddKeepsInsertionOrder() {
+		addThreeChildren();
+
+		assertEquals(storage.size(), 3);
+		assertSame(storage.get(0), atomicA1);
+		assertSame(storage.get(1), atomicB);
+		assertSame(storage.get(2), atomicA2);
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void testGetOutsideSize() {
+		addThreeChildren();
+
+		storage.get(3);
+	}
+
+	@Test
+	public void testSmallStorageHasNoIndex() {
+		addThreeChildren();
+
+		assertTrue(storage.containsName("a"));
+		assertFalse(storage.onlyForTestHasIndex());
+	}
+
+	@Test
+	public void testIndexIsBuiltOnLookupWhenThresholdIsReached() {
+		addThreeChildren();
+		storage.add(CoraDataAtomic.withNameInDataAndValue("c", "4"));
+		assertFalse(storage.onlyForTestHasIndex());
+
+		assertTrue(storage.containsName("c"));
+
+		assertTrue(storage.onlyForTestHasIndex());
+	}
+
+	@Test
+	public void testFindFirstAndFindAllWithoutIndex() {
+		addThreeChildren();
+
+		assertFindResults();
+		assertFalse(storage.onlyForTestHasIndex());
+	}
+
+	private void assertFindResults() {
+		assertSame(storage.findFirst("a", null), atomicA1);
+		assertSame(storage.findFirst("a", child -> child == atomicA2), atomicA2);
+		assertNull(storage.findFirst("a", child -> false));
+		assertNull(storage.findFirst("notFound", null));
+		assertEquals(storage.findAll("a", null), List.of(atomicA1, atomicA2));
+		assertEquals(storage.findAll("a", child -> child == atomicA2), List.of(atomicA2));
+		assertTrue(storage.findAll("notFound", null).isEmpty());
+		assertFalse(storage.containsName("notFound"));
+	}
+
+	@Test
+	public void testFindFirstAndFindAllWithIndex() {
+		storage = new DataChildStorage(1);
+		addThreeChildren();
+
+		assertFindResults();
+		assertTrue(storage.onlyForTestHasIndex());
+	}
+
+	@Test
+	public void testAddAfterIndexIsBuiltUpdatesIndex() {
+		storage = new DataChildStorage(1);
+		addThreeChildren();
+		storage.containsName("a");
+		CoraDataAtomic atomicA3 = CoraDataAtomic.withNameInDataAndValue("a", "5");
+
+		storage.add(atomicA3);
+
+		assertTrue(storage.onlyForTestHasIndex());
+		assertEquals(storage.findAll("a", null), List.of(atomicA1, atomicA2, atomicA3));
+	}
+
+	@Test
+	public void testFindAllReturnsNewList() {
+		addThreeChildren();
+
+		List<DataChild> found = storage.findAll("a", null);
+		found.clear();
+
+		assertEquals(storage.findAll("a", null).size(), 2);
+	}
+
+	@Test
+	public void testRemoveFirst() {
+		addThreeChildren();
+
+		assertTrue(storage.removeFirst("a", null));
+
+		assertEquals(storage.asList(), List.of(atomicB, atomicA2));
+	}
+
+	@Test
+	public void testRemoveFirstUsingFilter() {
+		addThreeChildren();
+
+		assertTrue(storage.removeFirst("a", child -> child == atomicA2));
+
+		assertEquals(storage.asList(), List.of(atomicA1, atomicB));
+	}
+
+	@Test
+	public void testRemoveAll() {
+		addThreeChildren();
+
+		assertTrue(storage.removeAll("a", null));
+
+		assertEquals(storage.asList(), List.of(atomicB));
+		assertFalse(storage.containsName("a"));
+	}
+
+	@Test
+	public void testRemoveAllOnlyRemovesChildrenWithName() {
+		addThreeChildren();
+
+		assertFalse(storage.removeAll("notFound", null));
+
+		assertEquals(storage.size(), 3);
+	}
+
+	@Test
+	public void testRemoveByNameKeepsIndex() {
+		storage = new DataChildStorage(1);
+		addThreeChildren();
+		storage.containsName("a");
+
+		storage.removeFirst("a", null);
+
+		assertTrue(storage.onlyForTestHasIndex());
+		assertEquals(storage.findAll("a", null), List.of(atomicA2));
+		assertFalse(storage.containsName("x"));
+	}
+
+	@Test
+	public void testAsListIsLiveView() {
+		List<DataChild> view = storage.asList();
+
+		addThreeChildren();
+
+		assertSame(storage.asList(), view);
+		assertEquals(view, List.of(atomicA1, atomicB, atomicA2));
+	}
+
+	@Test
+	public void testChangesThroughViewAreVisibleInLookups() {
+		storage = new DataChildStorage(1);
+		addThreeChildren();
+		List<DataChild> view = storage.asList();
+		CoraDataAtomic atomicC = CoraDataAtomic.withNameInDataAndValue("c", "4");
+
+		view.add(atomicC);
+		view.set(0, atomicB);
+		view.remove(1);
+		view.add(0, atomicA1);
+
+		assertEquals(view, List.of(atomicA1, atomicB, atomicA2, atomicC));
+		assertEquals(storage.findAll("a", null), List.of(atomicA1, atomicA2));
+		assertEquals(storage.findAll("b", null), List.of(atomicB));
+		assertSame(storage.findFirst("c", null), atomicC);
+	}
+
+	@Test
+	public void testManyChildrenGrowsStorage() {
+		for (int i = 0; i < 100; i++) {
+			storage.add(CoraDataAtomic.withNameInDataAndValue("name" + i % 10, "" + i));
+		}
+
+		assertEquals(storage.size(), 100);
+		assertEquals(storage.findAll("name3", null).size(), 10);
+		assertEquals(storage.get(99).getNameInData(), "name9");
+	}
+
+	private void addThreeChildren() {
+		storage.add(atomicA1);
+		storage.add(atomicB);
+		storage.add(atomicA2);
+	}
+
+	@Test
+	public void testReadOnlyCopyUsing() {
+		addThreeChildren();
+		CoraDataAtomic atomicC = CoraDataAtomic.withNameInDataAndValue("a", "4");
+
+		DataChildStorage copy = storage
+				.readOnlyCopyUsing(child -> child == atomicA2 ? atomicC : child);
+
+		assertTrue(copy.isReadOnly());
+		assertFalse(storage.isReadOnly());
+		assertEquals(copy.asList(), List.of(atomicA1, atomicB, atomicC));
+		assertEquals(copy.onlyForTestGetCapacity(), 3);
+		assertEquals(storage.asList(), List.of(atomicA1, atomicB, atomicA2));
+	}
+
+	@Test
+	public void testReadOnlyCopyHasIndexFromStartIfLargeEnough() {
+		addThreeChildren();
+		assertFalse(storage.readOnlyCopyUsing(child -> child).onlyForTestHasIndex());
+
+		storage.add(CoraDataAtomic.withNameInDataAndValue("c", "4"));
+
+		assertTrue(storage.readOnlyCopyUsing(child -> child).onlyForTestHasIndex());
+	}
+
+	@Test
+	public void testReadOnlyCopyThrowsOnChange() {
+		addThreeChildren();
+		DataChildStorage copy = storage.readOnlyCopyUsing(child -> child);
+
+		assertReadOnly(() -> copy.add(atomicA1));
+		assertReadOnly(() -> copy.removeFirst("notFound", null));
+		assertReadOnly(() -> copy.removeAll("a", null));
+		assertReadOnly(() -> copy.asList().add(atomicA1));
+		assertReadOnly(() -> copy.asList().set(0, atomicA1));
+		assertReadOnly(() -> copy.asList().remove(0));
+		assertEquals(copy.size(), 3);
+	}
+
+	private void assertReadOnly(Runnable change) {
+		try {
+			change.run();
+			fail("UnsupportedOperationException expected");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(e.getMessage(), "Frozen data can not be modified");
+		}
+	}
+
+	@Test
+	public void testLoadOnFirstUseIsNotCalledUntilUsed() {
+		storage.loadOnFirstUse(() -> {
+			throw new RuntimeException("loader should not be called");
+		});
+
+		assertFalse(storage.isLoaded());
+		assertFalse(storage.isReadOnly());
+	}
+
+	@Test
+	public void testLoadOnFirstUseLoadsOnceBeforeAddedChildren() {
+		int[] noOfCalls = { 0 };
+		storage.loadOnFirstUse(() -> {
+			noOfCalls[0]++;
+			return List.of(atomicA1, atomicB);
+		});
+
+		storage.add(atomicA2);
+
+		assertTrue(storage.isLoaded());
+		assertEquals(storage.asList(), List.of(atomicA1, atomicB, atomicA2));
+		assertSame(storage.findFirst("b", null), atomicB);
+		int calls = noOfCalls[0];
+		assertEquals(calls, 1);
+	}
+
+	@Test
+	public void testLoadOnFirstUseLoadsOnViewSize() {
+		storage.loadOnFirstUse(() -> List.of(atomicA1, atomicB));
+
+		assertEquals(storage.asList().size(), 2);
+		assertTrue(storage.isLoaded());
+	}
+
+	@Test
+	public void testLoadOnFirstUseFailingLoaderFailsOnEachUse() {
+		int[] noOfCalls = { 0 };
+		storage.loadOnFirstUse(() -> {
+			noOfCalls[0]++;
+			throw new RuntimeException("loading failed");
+		});
+
+		assertLoadingFails();
+		assertLoadingFails();
+
+		assertFalse(storage.isLoaded());
+		int calls = noOfCalls[0];
+		assertEquals(calls, 2);
+	}
+
+	private void assertLoadingFails() {
+		try {
+			storage.size();
+			fail("RuntimeException expected");
+		} catch (RuntimeException e) {
+			assertEquals(e.getMessage(), "loading failed");
+		}
+	}
+
+	@Test
+	public void testLoadOnFirstUseOnReadOnlyStorage() {
+		DataChildStorage copy = storage.readOnlyCopyUsing(child -> child);
+
+		assertReadOnly(() -> copy.loadOnFirstUse(() -> List.of(atomicA1)));
+	}
+
+	@Test
+	public void testModCountChangesOnEachChange() {
+		int modCount = storage.modCount();
+		addThreeChildren();
+		modCount = assertModCountChanged(modCount);
+
+		storage.asList().set(0, atomicB);
+		modCount = assertModCountChanged(modCount);
+		storage.asList().add(0, atomicA1);
+		modCount = assertModCountChanged(modCount);
+		storage.removeFirst("a", null);
+		modCount = assertModCountChanged(modCount);
+		storage.removeAll("b", null);
+		modCount = assertModCountChanged(modCount);
+
+		storage.removeAll("notFound", null);
+		storage.findAll("a", null);
+		int unchangedModCount = storage.modCount();
+		assertEquals(unchangedModCount, modCount);
+	}
+
+	private int assertModCountChanged(int previousModCount) {
+		int modCount = storage.modCount();
+		assertTrue(modCount != previousModCount);
+		return modCount;
+	}
+
+	@Test
+	public void testModCountLoadsChildren() {
+		storage.loadOnFirstUse(() -> List.of(atomicA1));
+
+		storage.modCount();
+
+		assertTrue(storage.isLoaded());
+	}
+
+	@Test
+	public void testRemoveFirstLeavesTombstoneAndKeepsOrder() {
+		addThreeChildren();
+		storage.add(atomicA1);
+
+		storage.removeFirst("b", null);
+
+		assertEquals(storage.onlyForTestGetNoOfTombstones(), 1);
+		assertEquals(storage.size(), 3);
+		assertEquals(storage.asList(), List.of(atomicA1, atomicA2, atomicA1));
+		assertEquals(storage.onlyForTestGetNoOfTombstones(), 0);
+	}
+
+	@Test
+	public void testRemoveLastChildLeavesNoTombstone() {
+		addThreeChildren();
+
+		storage.removeFirst("a", child -> child == atomicA2);
+
+		assertEquals(storage.onlyForTestGetNoOfTombstones(), 0);
+		assertEquals(storage.findAll("a", null), List.of(atomicA1));
+	}
+
+	@Test
+	public void testFindSkipsTombstonesWithoutIndex() {
+		addThreeChildren();
+		storage.removeFirst("a", null);
+
+		assertFalse(storage.onlyForTestHasIndex());
+		assertSame(storage.findFirst("a", null), atomicA2);
+		assertEquals(storage.findAll("a", null), List.of(atomicA2));
+		assertTrue(storage.containsName("b"));
+		assertTrue(storage.removeAll("a", null));
+		assertEquals(storage.asList(), List.of(atomicB));
+	}
+
+	@Test
+	public void testRemoveAllWithIndexKeepsNonMatching() {
+		storage = new DataChildStorage(1);
+		addThreeChildren();
+		CoraDataAtomic atomicA3 = CoraDataAtomic.withNameInDataAndValue("a", "5");
+		storage.add(atomicA3);
+		storage.add(atomicB);
+
+		boolean removed = storage.removeAll("a", child -> child != atomicA2);
+
+		assertTrue(removed);
+		assertTrue(storage.onlyForTestHasIndex());
+		assertEquals(storage.findAll("a", null), List.of(atomicA2));
+		assertFalse(storage.removeAll("a", child -> child != atomicA2));
+		assertTrue(storage.removeAll("a", null));
+		assertFalse(storage.containsName("a"));
+		assertEquals(storage.asList(), List.of(atomicB, atomicB));
+	}
+
+	@Test
+	public void testRemoveManyFromFrontWithIndex() {
+		storage = new DataChildStorage(1);
+		for (int i = 0; i < 100; i++) {
+			storage.add(CoraDataAtomic.withNameInDataAndValue("name" + i % 2, String.valueOf(i)));
+		}
+
+		for (int i = 0; i < 40; i++) {
+			storage.removeFirst("name0", null);
+		}
+
+		assertEquals(storage.size(), 60);
+		assertEquals(storage.findAll("name0", null).size(), 10);
+		assertEquals(((CoraDataAtomic) storage.findFirst("name0", null)).getValue(), "80");
+		assertEquals(((CoraDataAtomic) storage.get(0)).getValue(), "1");
+		assertEquals(((CoraDataAtomic) storage.get(59)).getValue(), "99");
+	}
+
+	@Test
+	public void testAddWhenHalfIsTombstonesCompactsInsteadOfGrowing() {
+		for (int i = 0; i < 6; i++) {
+			storage.add(CoraDataAtomic.withNameInDataAndValue("name" + i % 2, String.valueOf(i)));
+		}
+		int capacity = storage.onlyForTestGetCapacity();
+		storage.removeAll("name0", null);
+		storage.removeFirst("name1", null);
+
+		storage.add(atomicA1);
+		storage.add(atomicB);
+		storage.add(atomicA2);
+		storage.add(atomicA1);
+
+		assertEquals(storage.onlyForTestGetCapacity(), capacity);
+		assertEquals(storage.size(), 6);
+		assertSame(storage.get(2), atomicA1);
+		assertSame(storage.get(5), atomicA1);
+	}
+
+	@Test
+	public void testChangeByPositionAfterTombstones() {
+		addThreeChildren();
+		storage.add(atomicB);
+		storage.removeFirst("b", null);
+		List<DataChild> view = storage.asList();
+
+		view.add(1, atomicB);
+		view.set(0, atomicA2);
+		view.remove(2);
+
+		assertEquals(view, List.of(atomicA2, atomicB, atomicB));
+		assertEquals(storage.findAll("b", null), List.of(atomicB, atomicB));
+	}
+
+	@Test
+	public void testReadOnlyCopySkipsTombstones() {
+		addThreeChildren();
+		storage.removeFirst("b", null);
+
+		DataChildStorage copy = storage.readOnlyCopyUsing(child -> child);
+
+		assertEquals(copy.onlyForTestGetNoOfTombstones(), 0);
+		assertEquals(copy.onlyForTestGetCapacity(), 2);
+		assertEquals(copy.asList(), List.of(atomicA1, atomicA2));
+	}
+
+	@Test
+	public void testAddAllKeepsOrderAndGrowsOnce() {
+		storage.add(atomicB);
+
+		storage.addAll(List.of(atomicA1, atomicB, atomicA2));
+
+		assertEquals(storage.onlyForTestGetCapacity(), 4);
+		assertEquals(storage.asList(), List.of(atomicB, atomicA1, atomicB, atomicA2));
+		assertEquals(storage.findAll("a", null), List.of(atomicA1, atomicA2));
+	}
+
+	@Test
+	public void testAddAllUpdatesExistingIndex() {
+		storage = new DataChildStorage(1);
+		storage.add(atomicB);
+		storage.containsName("b");
+
+		storage.addAll(List.of(atomicA1, atomicB, atomicA2));
+
+		assertTrue(storage.onlyForTestHasIndex());
+		assertEquals(storage.findAll("a", null), List.of(atomicA1, atomicA2));
+		assertEquals(storage.findAll("b", null), List.of(atomicB, atomicB));
+	}
+
+	@Test
+	public void testAddAllCompactsTombstonesInsteadOfGrowing() {
+		addThreeChildren();
+		storage.add(atomicB);
+		storage.removeFirst("a", null);
+
+		storage.addAll(List.of(atomicA1));
+
+		assertEquals(storage.onlyForTestGetCapacity(), 4);
+		assertEquals(storage.asList(), List.of(atomicB, atomicA2, atomicB, atomicA1));
+	}
+
+	@Test
+	public void testAddAllChangesModCount() {
+		int modCount = storage.modCount();
+
+		storage.addAll(List.of());
+		assertEquals(storage.modCount(), modCount);
+
+		storage.addAll(List.of(atomicA1, atomicB));
+		assertModCountChanged(modCount);
+	}
+
+	@Test
+	public void testAddAllReadOnly() {
+		DataChildStorage copy = storage.readOnlyCopyUsing(child -> child);
+
+		assertReadOnly(() -> copy.addAll(List.of(atomicA1)));
+		assertReadOnly(() -> copy.ensureCapacity(10));
+	}
+
+	@Test
+	public void testEnsureCapacity() {
+		storage.ensureCapacity(10);
+		assertEquals(storage.onlyForTestGetCapacity(), 10);
+
+		storage.ensureCapacity(5);
+		assertEquals(storage.onlyForTestGetCapacity(), 10);
+	}
+
+	@Test
+	public void testIndexPositionsArePresizedFromCount() {
+		storage = new DataChildStorage(1);
+		List<DataChild> newChildren = new ArrayList<>();
+		for (int i = 0; i < 37; i++) {
+			newChildren.add(CoraDataAtomic.withNameInDataAndValue("name" + i % 2, "v"));
+		}
+		storage.addAll(newChildren);
+
+		storage.containsName("name0");
+
+		assertEquals(storage.onlyForTestGetNoOfPositionSlots("name0"), 19);
+		assertEquals(storage.onlyForTestGetNoOfPositionSlots("name1"), 18);
+	}
+}
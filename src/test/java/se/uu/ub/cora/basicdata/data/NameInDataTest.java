@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class NameInDataTest {
+
+	@Test
+	public void testCanonicalizeReturnsSameInstanceForEqualNames() {
+		String name = new String("someNameOnlyUsedInNameInDataTest");
+		String equalName = new String("someNameOnlyUsedInNameInDataTest");
+
+		String canonical = NameInData.canonicalize(name);
+
+		assertSame(canonical, name);
+		assertSame(NameInData.canonicalize(equalName), canonical);
+	}
+
+	@Test
+	public void testKnownNamesAreSameAsLiterals() {
+		String linkedRecordType = new String("linkedRecordType");
+		String recordInfo = new String("recordInfo");
+
+		assertSame(NameInData.canonicalize(linkedRecordType), "linkedRecordType");
+		assertSame(NameInData.canonicalize(recordInfo), "recordInfo");
+	}
+
+	@Test
+	public void testCanonicalizeNull() {
+		assertNull(NameInData.canonicalize(null));
+	}
+
+	@Test
+	public void testDefaultInstanceIsUsed() {
+		String name = new String("anotherNameOnlyUsedInNameInDataTest");
+
+		NameInData.canonicalize(name);
+
+		assertSame(NameInData.onlyForTestGetInstance().canonicalizeName(
+				new String("anotherNameOnlyUsedInNameInDataTest")), name);
+	}
+
+	@Test
+	public void testTableIsBounded() {
+		NameInData nameInData = new NameInData(0);
+		int noOfKnownNames = nameInData.onlyForTestGetSize();
+		nameInData = new NameInData(noOfKnownNames + 1);
+
+		String first = nameInData.canonicalizeName(new String("first"));
+		String second = new String("second");
+
+		assertSame(nameInData.canonicalizeName(new String("first")), first);
+		assertSame(nameInData.canonicalizeName(second), second);
+		assertNotSame(nameInData.canonicalizeName(new String("second")), second);
+		assertEquals(nameInData.onlyForTestGetSize(), noOfKnownNames + 1);
+	}
+
+	@Test
+	public void testSameName() {
+		String name = "someName";
+
+		assertTrue(NameInData.sameName(name, name));
+		assertTrue(NameInData.sameName(name, new String("someName")));
+		assertFalse(NameInData.sameName(name, "otherName"));
+		assertFalse(NameInData.sameName(name, null));
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.data;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.data.RecordInfoCache.Field;
+
+public class RecordInfoCacheTest {
+	private CoraDataRecordGroup recordGroup;
+	private CoraDataGroup recordInfo;
+
+	@BeforeMethod
+	public void setUp() {
+		recordGroup = CoraDataRecordGroup.withNameInData("someRecord");
+		recordInfo = CoraDataGroup.withNameInData("recordInfo");
+		recordGroup.addChild(recordInfo);
+	}
+
+	@Test
+	public void testNoRecordInfo() {
+		RecordInfoCache cache = RecordInfoCache
+				.forRecordGroup(CoraDataRecordGroup.withNameInData("someRecord"));
+
+		assertNull(cache.getRecordInfo());
+		assertNull(cache.getFirstChild(Field.ID));
+	}
+
+	@Test
+	public void testRecordInfoThatIsNotAGroupIsNotCached() {
+		CoraDataRecordGroup otherRecordGroup = CoraDataRecordGroup.withNameInData("someRecord");
+		otherRecordGroup.addChild(CoraDataAtomic.withNameInDataAndValue("recordInfo", "value"));
+
+		assertNull(RecordInfoCache.forRecordGroup(otherRecordGroup).getRecordInfo());
+	}
+
+	@Test
+	public void testFirstChildForEachField() {
+		CoraDataAtomic id = CoraDataAtomic.withNameInDataAndValue("id", "someId");
+		CoraDataRecordLink type = CoraDataRecordLink.usingNameInDataAndTypeAndId("type",
+				"recordType", "someType");
+		recordInfo.addChild(id);
+		recordInfo.addChild(CoraDataAtomic.withNameInDataAndValue("id", "otherId"));
+		recordInfo.addChild(type);
+
+		RecordInfoCache cache = RecordInfoCache.forRecordGroup(recordGroup);
+
+		assertSame(cache.getRecordInfo(), recordInfo);
+		assertSame(cache.getFirstChild(Field.ID), id);
+		assertSame(cache.getFirstChild(Field.TYPE), type);
+		assertNull(cache.getFirstChild(Field.VISIBILITY));
+	}
+
+	@Test
+	public void testIsValidUntilRecordGroupChanges() {
+		RecordInfoCache cache = RecordInfoCache.forRecordGroup(recordGroup);
+		assertTrue(cache.isValidFor(recordGroup));
+
+		recordGroup.addChild(CoraDataAtomic.withNameInDataAndValue("other", "value"));
+
+		assertFalse(cache.isValidFor(recordGroup));
+	}
+
+	@Test
+	public void testIsValidUntilRecordInfoChanges() {
+		RecordInfoCache cache = RecordInfoCache.forRecordGroup(recordGroup);
+
+		recordInfo.addChild(CoraDataAtomic.withNameInDataAndValue("id", "someId"));
+
+		assertFalse(cache.isValidFor(recordGroup));
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+public class ConversionMetricsProviderTest {
+
+	@Test
+	public void testNoOpIsNotEnabled() {
+		ConversionMetrics noOp = ConversionMetrics.noOp();
+
+		assertFalse(noOp.isEnabled());
+		assertFalse(noOp.countsNodes());
+		noOp.measured(null);
+		assertSame(ConversionMetrics.noOp(), noOp);
+	}
+
+	@Test
+	public void testNoOpIsUsedWhenNoImplementationIsFound() {
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(null);
+
+		ConversionMetrics conversionMetrics = ConversionMetricsProvider.getConversionMetrics();
+
+		assertSame(conversionMetrics, ConversionMetrics.noOp());
+		assertSame(ConversionMetricsProvider.getConversionMetrics(), conversionMetrics);
+	}
+
+	@Test
+	public void testOnlyForTestSetConversionMetrics() {
+		ConversionMetricsSpy conversionMetrics = new ConversionMetricsSpy();
+
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(conversionMetrics);
+
+		assertSame(ConversionMetricsProvider.getConversionMetrics(), conversionMetrics);
+		ConversionMetricsProvider.onlyForTestSetConversionMetrics(null);
+	}
+}
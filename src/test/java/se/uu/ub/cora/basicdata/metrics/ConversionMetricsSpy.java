@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+import se.uu.ub.cora.testutils.mcr.MethodCallRecorder;
+
+public class ConversionMetricsSpy implements ConversionMetrics {
+	public MethodCallRecorder MCR = new MethodCallRecorder();
+	public boolean enabled = true;
+	public boolean countsNodes = true;
+
+	@Override
+	public boolean isEnabled() {
+		MCR.addCall();
+		MCR.addReturned(enabled);
+		return enabled;
+	}
+
+	@Override
+	public boolean countsNodes() {
+		MCR.addCall();
+		MCR.addReturned(countsNodes);
+		return countsNodes;
+	}
+
+	@Override
+	public void measured(Measurement measurement) {
+		MCR.addCall("measurement", measurement);
+	}
+
+	public Measurement getMeasurement(int callNumber) {
+		return (Measurement) MCR.getValueForMethodNameAndCallNumberAndParameterName("measured",
+				callNumber, "measurement");
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.metrics;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataGroup;
+import se.uu.ub.cora.basicdata.data.CoraDataList;
+import se.uu.ub.cora.basicdata.data.CoraDataRecord;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.data.Convertible;
+import se.uu.ub.cora.data.DataChild;
+
+public class MeasurementTest {
+
+	@Test
+	public void testMeasurement() {
+		CoraDataAtomic atomic = CoraDataAtomic.withNameInDataAndValue("atomic", "value");
+
+		Measurement measurement = Measurement.forOperationOnData(MeasuredOperation.TO_JSON,
+				atomic, 1234L, 56L, true);
+
+		assertSame(measurement.getOperation(), MeasuredOperation.TO_JSON);
+		assertEquals(measurement.getDurationInNanos(), 1234L);
+		assertEquals(measurement.getPayloadSize(), 56L);
+		assertEquals(measurement.getNoOfNodes(), 1);
+		assertTrue(measurement.getRecordType().isEmpty());
+	}
+
+	@Test
+	public void testNodesAreNotCountedWhenNotAsked() {
+		CoraDataGroup group = createGroupWithTwoAtomics("group");
+
+		Measurement measurement = Measurement.forOperationOnData(MeasuredOperation.TO_JSON, group,
+				1234L, 56L, false);
+
+		assertEquals(measurement.getNoOfNodes(), Measurement.NOT_KNOWN);
+		assertEquals(measurement.getPayloadSize(), 56L);
+	}
+
+	@Test
+	public void testNodesInGroupAreCounted() {
+		CoraDataGroup group = createGroupWithTwoAtomics("group");
+		group.addChild(createGroupWithTwoAtomics("childGroup"));
+
+		assertEquals(measure(group).getNoOfNodes(), 6);
+		assertTrue(measure(group).getRecordType().isEmpty());
+	}
+
+	@Test
+	public void testRecordGroup() {
+		CoraDataRecordGroup recordGroup = createRecordGroup();
+
+		Measurement measurement = measure(recordGroup);
+
+		assertEquals(measurement.getRecordType().get(), "someType");
+		assertEquals(measurement.getNoOfNodes(), 7);
+	}
+
+	private CoraDataRecordGroup createRecordGroup() {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData("someRecord");
+		recordGroup.setType("someType");
+		recordGroup.setId("someId");
+		recordGroup.addChild(CoraDataAtomic.withNameInDataAndValue("title", "someTitle"));
+		return recordGroup;
+	}
+
+	@Test
+	public void testRecord() {
+		CoraDataRecord dataRecord = CoraDataRecord.withDataRecordGroup(createRecordGroup());
+
+		Measurement measurement = measure(dataRecord);
+
+		assertEquals(measurement.getRecordType().get(), "someType");
+		assertEquals(measurement.getNoOfNodes(), 7);
+	}
+
+	@Test
+	public void testRecordGroupWithoutType() {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData("someRecord");
+
+		assertTrue(measure(recordGroup).getRecordType().isEmpty());
+		assertTrue(measure(CoraDataRecord.withDataRecordGroup(recordGroup)).getRecordType()
+				.isEmpty());
+	}
+
+	@Test
+	public void testList() {
+		CoraDataList dataList = CoraDataList.withContainDataOfType("someType");
+		dataList.addData(createGroupWithTwoAtomics("group"));
+		dataList.addData(CoraDataRecord.withDataRecordGroup(createRecordGroup()));
+
+		Measurement measurement = measure(dataList);
+
+		assertEquals(measurement.getRecordType().get(), "someType");
+		assertEquals(measurement.getNoOfNodes(), 10);
+	}
+
+	@Test
+	public void testChildrenNotLoadedAreNotCountedOrLoaded() {
+		CoraDataGroup group = CoraDataGroup.withNameInData("group");
+		group.addChildrenOnFirstUse(
+				() -> List.<DataChild> of(CoraDataAtomic.withNameInDataAndValue("a", "b")));
+
+		Measurement measurement = measure(group);
+
+		assertEquals(measurement.getNoOfNodes(), 1);
+		assertFalse(group.childrenAreLoaded());
+	}
+
+	@Test
+	public void testRecordGroupWithChildrenNotLoadedHasNoType() {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData("someRecord");
+		recordGroup.addChildrenOnFirstUse(() -> createRecordGroup().getChildren());
+
+		Measurement measurement = measure(recordGroup);
+
+		assertTrue(measurement.getRecordType().isEmpty());
+		assertFalse(recordGroup.childrenAreLoaded());
+	}
+
+	@Test
+	public void testNoData() {
+		assertEquals(measure(null).getNoOfNodes(), 0);
+		assertTrue(measure(null).getRecordType().isEmpty());
+	}
+
+	private Measurement measure(Convertible data) {
+		return Measurement.forOperationOnData(MeasuredOperation.COPY, data, 0,
+				Measurement.NOT_KNOWN, true);
+	}
+
+	private CoraDataGroup createGroupWithTwoAtomics(String nameInData) {
+		CoraDataGroup group = CoraDataGroup.withNameInData(nameInData);
+		group.addChild(CoraDataAtomic.withNameInDataAndValue("atomic1", "value1"));
+		group.addChild(CoraDataAtomic.withNameInDataAndValue("atomic2", "value2"));
+		return group;
+	}
+}
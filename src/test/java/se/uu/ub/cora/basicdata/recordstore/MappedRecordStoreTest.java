@@ -0,0 +1,315 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.basicdata.recordstore;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.basicdata.converter.binary.DataToBinaryConverter;
+import se.uu.ub.cora.basicdata.data.CoraDataAtomic;
+import se.uu.ub.cora.basicdata.data.CoraDataRecordGroup;
+import se.uu.ub.cora.data.DataRecordGroup;
+
+public class MappedRecordStoreTest {
+	private static final int SEGMENT_SIZE = 1024;
+	private Path directory;
+	private MappedRecordStore recordStore;
+
+	@BeforeMethod
+	public void beforeMethod() throws IOException {
+		directory = Files.createTempDirectory("mappedRecordStoreTest").resolve("store");
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+	}
+
+	@AfterMethod
+	public void afterMethod() throws IOException {
+		recordStore.close();
+		try (Stream<Path> paths = Files.walk(directory.getParent())) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Test
+	public void testDirectoryIsCreated() {
+		assertTrue(Files.isDirectory(directory));
+		assertEquals(recordStore.getNoOfRecords(), 0);
+		assertTrue(recordStore.onlyForTestGetSegments().isEmpty());
+	}
+
+	@Test
+	public void testReadRecordNotInStore() {
+		assertTrue(recordStore.read("book", "book:1").isEmpty());
+	}
+
+	@Test
+	public void testWriteAndRead() {
+		recordStore.write(createRecordGroup("book", "book:1", "someTitle"));
+
+		DataRecordGroup recordGroup = recordStore.read("book", "book:1").get();
+
+		assertEquals(recordGroup.getNameInData(), "book");
+		assertEquals(recordGroup.getType(), "book");
+		assertEquals(recordGroup.getId(), "book:1");
+		assertEquals(recordGroup.getFirstAtomicValueWithNameInData("title"), "someTitle");
+		assertEquals(recordGroup.getAttributeValue("type").get(), "printed");
+		assertEquals(recordStore.getNoOfRecords(), 1);
+	}
+
+	private CoraDataRecordGroup createRecordGroup(String type, String id, String title) {
+		CoraDataRecordGroup recordGroup = CoraDataRecordGroup.withNameInData(type);
+		recordGroup.addAttributeByIdWithValue("type", "printed");
+		recordGroup.setType(type);
+		recordGroup.setId(id);
+		recordGroup.addChild(CoraDataAtomic.withNameInDataAndValue("title", title));
+		return recordGroup;
+	}
+
+	@Test
+	public void testRecordsAreFoundByTypeAndId() {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		recordStore.write(createRecordGroup("book", "book:2", "secondTitle"));
+		recordStore.write(createRecordGroup("article", "book:1", "articleTitle"));
+
+		assertTitle(recordStore.read("book", "book:1"), "firstTitle");
+		assertTitle(recordStore.read("book", "book:2"), "secondTitle");
+		assertTitle(recordStore.read("article", "book:1"), "articleTitle");
+		assertEquals(recordStore.getNoOfRecords(), 3);
+	}
+
+	private void assertTitle(Optional<DataRecordGroup> recordGroup, String title) {
+		assertEquals(recordGroup.get().getFirstAtomicValueWithNameInData("title"), title);
+	}
+
+	@Test
+	public void testWriteSameRecordAgainReadsLatest() {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		recordStore.write(createRecordGroup("book", "book:1", "secondTitle"));
+
+		assertTitle(recordStore.read("book", "book:1"), "secondTitle");
+		assertEquals(recordStore.getNoOfRecords(), 1);
+	}
+
+	@Test
+	public void testRecordsAreFoundAfterReopen() {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		recordStore.write(createRecordGroup("book", "book:1", "secondTitle"));
+		recordStore.write(createRecordGroup("book", "book:2", "otherTitle"));
+		recordStore.close();
+
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+
+		assertTitle(recordStore.read("book", "book:1"), "secondTitle");
+		assertTitle(recordStore.read("book", "book:2"), "otherTitle");
+		assertEquals(recordStore.getNoOfRecords(), 2);
+	}
+
+	@Test
+	public void testWriteAfterReopenAppendsToLastSegment() {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		recordStore.close();
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+
+		recordStore.write(createRecordGroup("book", "book:2", "secondTitle"));
+
+		assertEquals(recordStore.onlyForTestGetSegments().size(), 1);
+		assertTitle(recordStore.read("book", "book:1"), "firstTitle");
+		assertTitle(recordStore.read("book", "book:2"), "secondTitle");
+	}
+
+	@Test
+	public void testNewSegmentIsCreatedWhenSegmentIsFull() {
+		for (int i = 0; i < 20; i++) {
+			recordStore.write(createRecordGroup("book", "book:" + i, "title" + i));
+		}
+
+		List<Segment> segments = recordStore.onlyForTestGetSegments();
+		assertTrue(segments.size() > 1);
+		assertEquals(segments.get(0).getPath().getFileName().toString(),
+				"segment-00000000.bin");
+		assertEquals(segments.get(1).getPath().getFileName().toString(),
+				"segment-00000001.bin");
+		for (int i = 0; i < 20; i++) {
+			assertTitle(recordStore.read("book", "book:" + i), "title" + i);
+		}
+	}
+
+	@Test
+	public void testRecordLargerThanSegmentGetsOwnSegment() {
+		String longTitle = "x".repeat(SEGMENT_SIZE * 2);
+
+		recordStore.write(createRecordGroup("book", "book:1", longTitle));
+
+		Segment segment = recordStore.onlyForTestGetSegments().getFirst();
+		assertTrue(segment.getSize() > SEGMENT_SIZE * 2);
+		assertEquals(segment.getWritePosition(), segment.getSize());
+		assertTitle(recordStore.read("book", "book:1"), longTitle);
+	}
+
+	@Test
+	public void testEntryThatWasNotCompletelyWrittenIsIgnoredOnOpen() throws IOException {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		Segment segment = recordStore.onlyForTestGetSegments().getFirst();
+		int endOfFirstEntry = segment.getWritePosition();
+		recordStore.write(createRecordGroup("book", "book:2", "secondTitle"));
+		recordStore.close();
+		writeIntToSegment(segment.getPath(), endOfFirstEntry, 0);
+
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+
+		assertTitle(recordStore.read("book", "book:1"), "firstTitle");
+		assertTrue(recordStore.read("book", "book:2").isEmpty());
+		assertEquals(recordStore.onlyForTestGetSegments().getFirst().getWritePosition(),
+				endOfFirstEntry);
+	}
+
+	@Test
+	public void testShorterEntryWrittenOverEntryNotCompletelyWritten() throws IOException {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		Segment segment = recordStore.onlyForTestGetSegments().getFirst();
+		int endOfFirstEntry = segment.getWritePosition();
+		recordStore.write(createRecordGroup("book", "book:2", "x".repeat(200)));
+		recordStore.close();
+		writeIntToSegment(segment.getPath(), endOfFirstEntry, 0);
+		DataRecordGroup thirdRecordGroup = createRecordGroup("book", "book:3", "thirdTitle");
+		int endOfThirdEntry = endOfFirstEntry + calculateEntrySize(thirdRecordGroup);
+		writeIntToSegment(segment.getPath(), endOfThirdEntry, 16);
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+
+		recordStore.write(thirdRecordGroup);
+		recordStore.close();
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+
+		assertTitle(recordStore.read("book", "book:1"), "firstTitle");
+		assertTrue(recordStore.read("book", "book:2").isEmpty());
+		assertTitle(recordStore.read("book", "book:3"), "thirdTitle");
+		assertEquals(recordStore.getNoOfRecords(), 2);
+		assertEquals(recordStore.onlyForTestGetSegments().getFirst().getWritePosition(),
+				endOfThirdEntry);
+	}
+
+	private int calculateEntrySize(DataRecordGroup recordGroup) {
+		return Segment.calculateEntrySize(recordGroup.getType().getBytes(StandardCharsets.UTF_8),
+				recordGroup.getId().getBytes(StandardCharsets.UTF_8),
+				DataToBinaryConverter.usingConvertible(recordGroup).toBytes());
+	}
+
+	private void writeIntToSegment(Path segmentPath, int position, int value)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+			buffer.putInt(value);
+			buffer.flip();
+			channel.write(buffer, position);
+		}
+	}
+
+	@Test
+	public void testDamagedEntry() throws IOException {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		Path segmentPath = recordStore.onlyForTestGetSegments().getFirst().getPath();
+		recordStore.close();
+		writeIntToSegment(segmentPath, Integer.BYTES, SEGMENT_SIZE);
+
+		try {
+			recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory,
+					SEGMENT_SIZE);
+			fail("an exception should have been thrown");
+		} catch (RecordStoreException e) {
+			assertEquals(e.getMessage(),
+					"Damaged entry in segment " + segmentPath + " at position 4");
+		}
+	}
+
+	@Test
+	public void testChildrenAreReadOnFirstUse() throws IOException {
+		recordStore.write(createRecordGroup("book", "book:1", "firstTitle"));
+		Segment segment = recordStore.onlyForTestGetSegments().getFirst();
+
+		DataRecordGroup recordGroup = recordStore.read("book", "book:1").get();
+		segment.slice(0, segment.getWritePosition()).put(segment.getWritePosition() - 1,
+				(byte) 'X');
+
+		assertEquals(recordGroup.getFirstAtomicValueWithNameInData("title"), "firstTitlX");
+	}
+
+	@Test
+	public void testOtherFilesInDirectoryAreIgnored() throws IOException {
+		recordStore.close();
+		Files.writeString(directory.resolve("notASegment.txt"), "some text");
+
+		recordStore = MappedRecordStore.openInDirectoryUsingSegmentSize(directory, SEGMENT_SIZE);
+
+		assertTrue(recordStore.onlyForTestGetSegments().isEmpty());
+	}
+
+	@Test
+	public void testOpenInDirectoryThatIsAFile() throws IOException {
+		Path file = directory.resolve("someFile");
+		Files.writeString(file, "some text");
+		try {
+			MappedRecordStore.openInDirectory(file);
+			fail("an exception should have been thrown");
+		} catch (RecordStoreException e) {
+			assertTrue(e.getMessage().startsWith("Could not open record store in " + file));
+			assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void testClosedStoreCanNotBeUsed() {
+		recordStore.close();
+		recordStore.close();
+
+		assertClosed(() -> recordStore.read("book", "book:1"));
+		assertClosed(() -> recordStore.write(createRecordGroup("book", "book:1", "title")));
+	}
+
+	private void assertClosed(Runnable call) {
+		try {
+			call.run();
+			fail("an exception should have been thrown");
+		} catch (RecordStoreException e) {
+			assertEquals(e.getMessage(), "Record store in " + directory + " is closed");
+		}
+	}
+
+	@Test
+	public void testDefaultSegmentSize() {
+		assertEquals(MappedRecordStore.DEFAULT_SEGMENT_SIZE, 64 * 1024 * 1024);
+	}
+}